@@ -0,0 +1,121 @@
+package com.interswitch.core.activity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+// A global ring plus one ring per recently active wallet. Reads are answered from memory when the ring covers
+// the requested number of items; the first read of a ring seeds it from the loader, and only requests beyond
+// the ring's horizon go to the loader every time. Wallet rings are dropped least recently used first once
+// more than maxWallets are held. Rings only see what is recorded on this node; items written or changed on
+// other nodes appear once a ring is reseeded from the loader, which a read does when the ring's last seed is
+// older than reseedMillis (never when 0).
+public class RecentActivityBuffer<T> {
+
+    private final RecentRing<T> global;
+    private final Map<UUID, WalletRing<T>> wallets = new ConcurrentHashMap<>();
+    private final int walletCapacity;
+    private final int maxWallets;
+    private final long reseedNanos;
+    private final Function<? super T, UUID> idOf;
+    private final Comparator<? super T> order;
+
+    public RecentActivityBuffer(int globalCapacity, int walletCapacity, int maxWallets,
+                                Function<? super T, UUID> idOf, Comparator<? super T> order) {
+        this(globalCapacity, walletCapacity, maxWallets, 0L, idOf, order);
+    }
+
+    public RecentActivityBuffer(int globalCapacity, int walletCapacity, int maxWallets, long reseedMillis,
+                                Function<? super T, UUID> idOf, Comparator<? super T> order) {
+        this.global = new RecentRing<>(globalCapacity, idOf, order);
+        this.walletCapacity = walletCapacity;
+        this.maxWallets = maxWallets;
+        this.reseedNanos = TimeUnit.MILLISECONDS.toNanos(reseedMillis);
+        this.idOf = idOf;
+        this.order = order;
+    }
+
+    public void record(UUID walletId, T item) {
+        global.add(item);
+        walletRing(walletId).add(item);
+    }
+
+    public Optional<T> find(UUID walletId, UUID id) {
+        WalletRing<T> ring = wallets.get(walletId);
+        Optional<T> item = ring != null ? ring.find(id) : Optional.empty();
+        return item.isPresent() ? item : global.find(id);
+    }
+
+    // Newest first; the loader returns the newest stored items up to the requested count
+    public List<T> recent(int limit, IntFunction<List<T>> loader) {
+        return read(global, limit, loader);
+    }
+
+    public List<T> recent(UUID walletId, int limit, IntFunction<List<T>> loader) {
+        return read(walletRing(walletId), limit, loader);
+    }
+
+    public int walletCount() {
+        return wallets.size();
+    }
+
+    // Helper methods
+    private List<T> read(RecentRing<T> ring, int limit, IntFunction<List<T>> loader) {
+        if (reseedNanos > 0 && ring.seededBefore(System.nanoTime() - reseedNanos)) {
+            ring.reseed(loader.apply(ring.capacity()));
+        }
+        Optional<List<T>> items = ring.newest(limit);
+        if (items.isPresent()) {
+            return items.get();
+        }
+        if (!ring.isSeeded()) {
+            ring.seed(loader.apply(ring.capacity()));
+            items = ring.newest(limit);
+            if (items.isPresent()) {
+                return items.get();
+            }
+        }
+        return loader.apply(limit);
+    }
+
+    private WalletRing<T> walletRing(UUID walletId) {
+        WalletRing<T> ring = wallets.get(walletId);
+        if (ring == null) {
+            ring = wallets.computeIfAbsent(walletId, id -> new WalletRing<>(walletCapacity, idOf, order));
+            if (wallets.size() > maxWallets) {
+                evictLeastRecentlyUsed();
+            }
+        }
+        ring.lastUsedNanos = System.nanoTime();
+        return ring;
+    }
+
+    // Drops a tenth of the wallet rings at a time so eviction stays off the common path
+    private synchronized void evictLeastRecentlyUsed() {
+        if (wallets.size() <= maxWallets) {
+            return;
+        }
+        List<Map.Entry<UUID, WalletRing<T>>> entries = new ArrayList<>(wallets.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos));
+        int evict = entries.size() - maxWallets + Math.max(1, maxWallets / 10);
+        for (int i = 0; i < evict && i < entries.size(); i++) {
+            wallets.remove(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+    }
+
+    private static final class WalletRing<T> extends RecentRing<T> {
+
+        volatile long lastUsedNanos;
+
+        WalletRing(int capacity, Function<? super T, UUID> idOf, Comparator<? super T> order) {
+            super(capacity, idOf, order);
+        }
+    }
+}
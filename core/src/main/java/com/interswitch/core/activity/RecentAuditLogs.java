@@ -0,0 +1,107 @@
+package com.interswitch.core.activity;
+
+import com.interswitch.model.entities.WalletAuditLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// Most recent audit logs, globally and per wallet, fed by the audit write path so the "recent" views poll
+// memory instead of sorting the audit table. Records from the async writer are materialized, payload JSON
+// included, only when a dashboard actually reads them. Only this node's writes are fed in; the rings are
+// reseeded from the database every reseed-ms to pick up the other nodes'.
+@Component
+public class RecentAuditLogs {
+
+    private final RecentActivityBuffer<Item> buffer;
+
+    public RecentAuditLogs(@Value("${wallet.recent.audit.global-capacity:1000}") int globalCapacity,
+                           @Value("${wallet.recent.audit.wallet-capacity:50}") int walletCapacity,
+                           @Value("${wallet.recent.max-wallets:10000}") int maxWallets,
+                           @Value("${wallet.recent.reseed-ms:30000}") long reseedMillis) {
+        this.buffer = new RecentActivityBuffer<>(globalCapacity, walletCapacity, maxWallets, reseedMillis,
+                Item::id, Comparator.comparing(Item::createdAt));
+    }
+
+    // Records a saved audit log; inside a transaction it only becomes visible once that transaction commits
+    public void record(WalletAuditLog auditLog) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer.record(auditLog.getWalletId(), Item.of(auditLog));
+                }
+            });
+            return;
+        }
+        buffer.record(auditLog.getWalletId(), Item.of(auditLog));
+    }
+
+    // Records a log queued for writing; the supplier builds it when it is first read
+    public void record(UUID walletId, UUID id, LocalDateTime createdAt, Supplier<WalletAuditLog> auditLog) {
+        buffer.record(walletId, new Item(id, createdAt, auditLog));
+    }
+
+    public List<WalletAuditLog> recent(int limit, IntFunction<List<WalletAuditLog>> loader) {
+        return toAuditLogs(buffer.recent(limit, count -> toItems(loader.apply(count))));
+    }
+
+    public List<WalletAuditLog> recent(UUID walletId, int limit, IntFunction<List<WalletAuditLog>> loader) {
+        return toAuditLogs(buffer.recent(walletId, limit, count -> toItems(loader.apply(count))));
+    }
+
+    // Helper methods
+    private static List<Item> toItems(List<WalletAuditLog> auditLogs) {
+        return auditLogs.stream().map(Item::of).toList();
+    }
+
+    private static List<WalletAuditLog> toAuditLogs(List<Item> items) {
+        return items.stream().map(Item::auditLog).toList();
+    }
+
+    private static final class Item {
+
+        private final UUID id;
+        private final LocalDateTime createdAt;
+        private final Supplier<WalletAuditLog> source;
+        private volatile WalletAuditLog auditLog;
+
+        Item(UUID id, LocalDateTime createdAt, Supplier<WalletAuditLog> source) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.source = source;
+        }
+
+        static Item of(WalletAuditLog auditLog) {
+            LocalDateTime createdAt = auditLog.getCreatedAt() != null ? auditLog.getCreatedAt() : LocalDateTime.now();
+            Item item = new Item(auditLog.getId(), createdAt, null);
+            item.auditLog = auditLog;
+            return item;
+        }
+
+        UUID id() {
+            return id;
+        }
+
+        LocalDateTime createdAt() {
+            return createdAt;
+        }
+
+        // Built at most once in practice; a racing second build yields an equal log
+        WalletAuditLog auditLog() {
+            WalletAuditLog built = auditLog;
+            if (built == null) {
+                built = source.get();
+                auditLog = built;
+            }
+            return built;
+        }
+    }
+}
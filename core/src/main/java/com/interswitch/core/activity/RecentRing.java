@@ -0,0 +1,157 @@
+package com.interswitch.core.activity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Fixed-size circular buffer of the newest items, kept in time order and unique by ID. A newer version of an
+// item replaces it in place; when full, the oldest item is overwritten. Until it is seeded from the database the
+// ring cannot tell whether it holds everything, so reads only succeed once seeded and, after anything has been
+// dropped, only for up to as many items as it holds. A reseed refreshes a seeded ring from the database, whose
+// versions then win, to pick up items and changes recorded on other nodes.
+public class RecentRing<T> {
+
+    private final Object[] slots;
+    private final Map<UUID, Integer> slotById;
+    private final Function<? super T, UUID> idOf;
+    private final Comparator<? super T> order;
+    private int start;
+    private int size;
+    private boolean seeded;
+    private long seededAtNanos;
+    private boolean truncated;
+
+    public RecentRing(int capacity, Function<? super T, UUID> idOf, Comparator<? super T> order) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.slotById = new HashMap<>(capacity * 2);
+        this.idOf = idOf;
+        this.order = order;
+    }
+
+    public synchronized void add(T item) {
+        Integer slot = slotById.get(idOf.apply(item));
+        if (slot != null) {
+            slots[slot] = item;
+            return;
+        }
+        if (size == slots.length) {
+            truncated = true;
+            if (order.compare(item, at(0)) < 0) {
+                // Older than everything kept, so it is beyond the horizon already
+                return;
+            }
+            slotById.remove(idOf.apply(at(0)));
+            slots[start] = null;
+            start = (start + 1) % slots.length;
+            size--;
+        }
+
+        // Items mostly arrive in order; shift the few newer ones up to keep the ring sorted
+        int position = size;
+        while (position > 0 && order.compare(at(position - 1), item) > 0) {
+            place(position, at(position - 1));
+            position--;
+        }
+        place(position, item);
+        size++;
+    }
+
+    // Newest first, or empty when the ring cannot answer for that many items
+    public synchronized Optional<List<T>> newest(int limit) {
+        if (!seeded || (limit > size && truncated)) {
+            return Optional.empty();
+        }
+        int count = Math.min(limit, size);
+        List<T> items = new ArrayList<>(count);
+        for (int i = size - 1; i >= size - count; i--) {
+            items.add(at(i));
+        }
+        return Optional.of(items);
+    }
+
+    public synchronized Optional<T> find(UUID id) {
+        Integer slot = slotById.get(id);
+        return slot != null ? Optional.of(item(slot)) : Optional.empty();
+    }
+
+    // Merges the newest stored items (newest first, at most capacity of them) with what has been recorded
+    public synchronized void seed(List<T> stored) {
+        merge(stored, false);
+    }
+
+    // Like seed, but the stored version of an item replaces the one recorded here
+    public synchronized void reseed(List<T> stored) {
+        merge(stored, true);
+    }
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    public synchronized boolean seededBefore(long nanos) {
+        return seeded && seededAtNanos - nanos < 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    // Helper methods
+    private void merge(List<T> stored, boolean storedWins) {
+        Map<UUID, T> merged = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            merged.put(idOf.apply(at(i)), at(i));
+        }
+        for (T item : stored) {
+            if (storedWins) {
+                merged.put(idOf.apply(item), item);
+            } else {
+                merged.putIfAbsent(idOf.apply(item), item);
+            }
+        }
+        List<T> items = new ArrayList<>(merged.values());
+        items.sort(order);
+        if (stored.size() >= slots.length || items.size() > slots.length) {
+            truncated = true;
+        }
+
+        Arrays.fill(slots, null);
+        slotById.clear();
+        start = 0;
+        size = 0;
+        for (T item : items.subList(Math.max(0, items.size() - slots.length), items.size())) {
+            place(size++, item);
+        }
+        seeded = true;
+        seededAtNanos = System.nanoTime();
+    }
+
+    private T at(int position) {
+        return item((start + position) % slots.length);
+    }
+
+    private void place(int position, T item) {
+        int slot = (start + position) % slots.length;
+        slots[slot] = item;
+        slotById.put(idOf.apply(item), slot);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int slot) {
+        return (T) slots[slot];
+    }
+}
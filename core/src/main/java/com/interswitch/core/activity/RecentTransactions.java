@@ -0,0 +1,99 @@
+package com.interswitch.core.activity;
+
+import com.interswitch.model.entities.WalletTransaction;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+// Latest transactions, globally and per wallet, refreshed after every committed create or status change on this
+// node and reseeded from the database every reseed-ms to pick up the other nodes' writes.
+// Rings hold detached copies without the lazy wallet association, so they can be served outside a session.
+@Component
+public class RecentTransactions {
+
+    private final RecentActivityBuffer<WalletTransaction> buffer;
+
+    public RecentTransactions(@Value("${wallet.recent.transactions.global-capacity:1000}") int globalCapacity,
+                              @Value("${wallet.recent.transactions.wallet-capacity:50}") int walletCapacity,
+                              @Value("${wallet.recent.max-wallets:10000}") int maxWallets,
+                              @Value("${wallet.recent.reseed-ms:30000}") long reseedMillis) {
+        this.buffer = new RecentActivityBuffer<>(globalCapacity, walletCapacity, maxWallets, reseedMillis,
+                WalletTransaction::getId, Comparator.comparing(WalletTransaction::getCreatedAt));
+    }
+
+    // Call with the saved transaction; inside a transaction it is recorded once that transaction commits
+    public void record(WalletTransaction transaction) {
+        Map<String, String> metadata = metadataOf(transaction);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer.record(transaction.getWalletId(), detach(transaction, metadata));
+                }
+            });
+            return;
+        }
+        buffer.record(transaction.getWalletId(), detach(transaction, metadata));
+    }
+
+    // Loaders run inside the caller's transaction, so lazy metadata can still be loaded while copying
+    public List<WalletTransaction> recent(int limit, IntFunction<List<WalletTransaction>> loader) {
+        return buffer.recent(limit, count -> copies(loader.apply(count)));
+    }
+
+    public List<WalletTransaction> recent(UUID walletId, int limit, IntFunction<List<WalletTransaction>> loader) {
+        return buffer.recent(walletId, limit, count -> copies(loader.apply(count)));
+    }
+
+    // Helper methods
+    private Map<String, String> metadataOf(WalletTransaction transaction) {
+        Map<String, String> metadata = transaction.getMetadata();
+        if (metadata == null) {
+            return null;
+        }
+        if (Hibernate.isInitialized(metadata)) {
+            return new HashMap<>(metadata);
+        }
+        // Status changes never touch metadata, so reuse the copy already held rather than loading it
+        return buffer.find(transaction.getWalletId(), transaction.getId())
+            .map(WalletTransaction::getMetadata)
+            .orElse(null);
+    }
+
+    private static List<WalletTransaction> copies(List<WalletTransaction> transactions) {
+        return transactions.stream()
+            .map(transaction -> detach(transaction,
+                transaction.getMetadata() != null ? new HashMap<>(transaction.getMetadata()) : null))
+            .toList();
+    }
+
+    private static WalletTransaction detach(WalletTransaction transaction, Map<String, String> metadata) {
+        return WalletTransaction.builder()
+            .id(transaction.getId())
+            .createdAt(transaction.getCreatedAt())
+            .updatedAt(transaction.getUpdatedAt())
+            .walletId(transaction.getWalletId())
+            .externalTransactionId(transaction.getExternalTransactionId())
+            .transactionType(transaction.getTransactionType())
+            .amount(transaction.getAmount())
+            .currency(transaction.getCurrency())
+            .referenceId(transaction.getReferenceId())
+            .description(transaction.getDescription())
+            .status(transaction.getStatus())
+            .balanceBefore(transaction.getBalanceBefore())
+            .balanceAfter(transaction.getBalanceAfter())
+            .metadata(metadata)
+            .processedAt(transaction.getProcessedAt())
+            .postingSequence(transaction.getPostingSequence())
+            .build();
+    }
+}
@@ -0,0 +1,348 @@
+package com.interswitch.core.archive;
+
+import com.interswitch.model.entities.WalletTransaction;
+import com.interswitch.model.enums.TransactionStatus;
+import com.interswitch.model.enums.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// On-disk layout of an archived transaction segment.
+//
+// Header (32 bytes): magic, version, flags, yyyymm, wallet count, row count, directory offset.
+// Blocks: one deflated block per wallet, rows sorted by createdAt, columns stored one after another.
+// Directory: one fixed-size entry per wallet, sorted by wallet ID so it can be binary searched in place.
+// From version 3 an entry also carries the wallet's row counts per transaction type and status, stored by
+// enum ordinal, so filtered counts need no inflating; reordering those enums needs a new version.
+final class SegmentFormat {
+
+    static final int MAGIC = 0x57545853; // "WTXS"
+    static final short VERSION = 3;
+    static final short FIRST_VERSION_WITH_POSTING_SEQUENCE = 2;
+    static final short FIRST_VERSION_WITH_FILTER_COUNTS = 3;
+    static final int HEADER_SIZE = 32;
+    static final int DIRECTORY_ENTRY_SIZE = 56;
+    static final int TYPE_COUNT_SLOTS = 4;
+    static final int STATUS_COUNT_SLOTS = 8;
+    static final int TYPE_COUNTS_OFFSET = DIRECTORY_ENTRY_SIZE;
+    static final int STATUS_COUNTS_OFFSET = TYPE_COUNTS_OFFSET + TYPE_COUNT_SLOTS * 4;
+    static final int COUNTED_DIRECTORY_ENTRY_SIZE = STATUS_COUNTS_OFFSET + STATUS_COUNT_SLOTS * 4;
+    static final long NULL_TIME = Long.MIN_VALUE;
+    static final long NULL_SEQUENCE = Long.MIN_VALUE;
+
+    static final Comparator<UUID> WALLET_ORDER = Comparator
+            .comparingLong(UUID::getMostSignificantBits)
+            .thenComparingLong(UUID::getLeastSignificantBits);
+
+    private SegmentFormat() {
+    }
+
+    static int directoryEntrySize(short version) {
+        return version >= FIRST_VERSION_WITH_FILTER_COUNTS ? COUNTED_DIRECTORY_ENTRY_SIZE : DIRECTORY_ENTRY_SIZE;
+    }
+
+    static int compare(long msb, long lsb, UUID walletId) {
+        int result = Long.compare(msb, walletId.getMostSignificantBits());
+        return result != 0 ? result : Long.compare(lsb, walletId.getLeastSignificantBits());
+    }
+
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NULL_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == NULL_TIME) {
+            return null;
+        }
+        long seconds = Math.floorDiv(micros, 1_000_000L);
+        int nanos = (int) Math.floorMod(micros, 1_000_000L) * 1_000;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    static byte[] deflate(byte[] raw, Deflater deflater) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int written = deflater.deflate(buffer);
+            out.write(buffer, 0, written);
+        }
+        return out.toByteArray();
+    }
+
+    static byte[] inflate(java.nio.ByteBuffer compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+            if (read != rawLength) {
+                throw new IOException("Truncated segment block: expected " + rawLength + " bytes, got " + read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt segment block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    static byte[] encodeBlock(List<WalletTransaction> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows.size() * 160);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(rows.size());
+        for (WalletTransaction row : rows) {
+            out.writeLong(row.getId().getMostSignificantBits());
+            out.writeLong(row.getId().getLeastSignificantBits());
+        }
+        for (WalletTransaction row : rows) {
+            out.writeLong(toMicros(row.getCreatedAt()));
+        }
+        for (WalletTransaction row : rows) {
+            out.writeLong(toMicros(row.getUpdatedAt()));
+        }
+        for (WalletTransaction row : rows) {
+            out.writeLong(toMicros(row.getProcessedAt()));
+        }
+        for (WalletTransaction row : rows) {
+            out.writeLong(row.getPostingSequence() != null ? row.getPostingSequence() : NULL_SEQUENCE);
+        }
+        writeDictionaryColumn(out, rows, row -> row.getTransactionType() != null ? row.getTransactionType().name() : null);
+        writeDictionaryColumn(out, rows, row -> row.getStatus() != null ? row.getStatus().name() : null);
+        writeDictionaryColumn(out, rows, WalletTransaction::getCurrency);
+        for (WalletTransaction row : rows) {
+            writeDecimal(out, row.getAmount());
+        }
+        for (WalletTransaction row : rows) {
+            writeDecimal(out, row.getBalanceBefore());
+        }
+        for (WalletTransaction row : rows) {
+            writeDecimal(out, row.getBalanceAfter());
+        }
+        for (WalletTransaction row : rows) {
+            writeUuid(out, row.getExternalTransactionId());
+        }
+        for (WalletTransaction row : rows) {
+            writeString(out, row.getReferenceId());
+        }
+        for (WalletTransaction row : rows) {
+            writeString(out, row.getDescription());
+        }
+        for (WalletTransaction row : rows) {
+            writeMetadata(out, row.getMetadata());
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static List<WalletTransaction> decodeBlock(UUID walletId, byte[] raw, short version) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+
+        int rows = in.readInt();
+        UUID[] ids = new UUID[rows];
+        for (int i = 0; i < rows; i++) {
+            ids[i] = new UUID(in.readLong(), in.readLong());
+        }
+        long[] createdAt = readLongColumn(in, rows);
+        long[] updatedAt = readLongColumn(in, rows);
+        long[] processedAt = readLongColumn(in, rows);
+        long[] postingSequences = version >= FIRST_VERSION_WITH_POSTING_SEQUENCE ? readLongColumn(in, rows) : null;
+        String[] types = readDictionaryColumn(in, rows);
+        String[] statuses = readDictionaryColumn(in, rows);
+        String[] currencies = readDictionaryColumn(in, rows);
+        BigDecimal[] amounts = new BigDecimal[rows];
+        for (int i = 0; i < rows; i++) {
+            amounts[i] = readDecimal(in);
+        }
+        BigDecimal[] balancesBefore = new BigDecimal[rows];
+        for (int i = 0; i < rows; i++) {
+            balancesBefore[i] = readDecimal(in);
+        }
+        BigDecimal[] balancesAfter = new BigDecimal[rows];
+        for (int i = 0; i < rows; i++) {
+            balancesAfter[i] = readDecimal(in);
+        }
+        UUID[] externalIds = new UUID[rows];
+        for (int i = 0; i < rows; i++) {
+            externalIds[i] = readUuid(in);
+        }
+        String[] references = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            references[i] = readString(in);
+        }
+        String[] descriptions = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            descriptions[i] = readString(in);
+        }
+
+        List<WalletTransaction> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            result.add(WalletTransaction.builder()
+                    .id(ids[i])
+                    .createdAt(fromMicros(createdAt[i]))
+                    .updatedAt(fromMicros(updatedAt[i]))
+                    .processedAt(fromMicros(processedAt[i]))
+                    .postingSequence(postingSequences != null && postingSequences[i] != NULL_SEQUENCE ? postingSequences[i] : null)
+                    .walletId(walletId)
+                    .transactionType(types[i] != null ? TransactionType.valueOf(types[i]) : null)
+                    .status(statuses[i] != null ? TransactionStatus.valueOf(statuses[i]) : null)
+                    .currency(currencies[i])
+                    .amount(amounts[i])
+                    .balanceBefore(balancesBefore[i])
+                    .balanceAfter(balancesAfter[i])
+                    .externalTransactionId(externalIds[i])
+                    .referenceId(references[i])
+                    .description(descriptions[i])
+                    .metadata(readMetadata(in))
+                    .build());
+        }
+        return result;
+    }
+
+    // Helper methods
+    private static long[] readLongColumn(DataInputStream in, int rows) throws IOException {
+        long[] values = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    private static void writeDictionaryColumn(DataOutputStream out, List<WalletTransaction> rows,
+                                              Function<WalletTransaction, String> column) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (WalletTransaction row : rows) {
+            String value = column.apply(row);
+            if (value != null) {
+                dictionary.putIfAbsent(value, dictionary.size());
+            }
+        }
+        out.writeShort(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            writeString(out, value);
+        }
+        for (WalletTransaction row : rows) {
+            String value = column.apply(row);
+            out.writeShort(value != null ? dictionary.get(value) : -1);
+        }
+    }
+
+    private static String[] readDictionaryColumn(DataInputStream in, int rows) throws IOException {
+        String[] dictionary = new String[in.readUnsignedShort()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(in);
+        }
+        String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            short index = in.readShort();
+            values[i] = index >= 0 ? dictionary[index] : null;
+        }
+        return values;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+        out.writeInt(value.scale());
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        short length = in.readShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), in.readInt());
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeMetadata(DataOutputStream out, Map<String, String> metadata) throws IOException {
+        if (metadata == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(metadata.size());
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readMetadata(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        Map<String, String> metadata = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            metadata.put(readString(in), readString(in));
+        }
+        return metadata;
+    }
+}
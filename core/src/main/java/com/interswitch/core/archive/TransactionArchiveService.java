@@ -0,0 +1,453 @@
+package com.interswitch.core.archive;
+
+import com.interswitch.infra.archive.ArchivedMetadataRepository;
+import com.interswitch.infra.archive.TransactionArchiveLeaseRepository;
+import com.interswitch.infra.repositories.WalletTransactionRepository;
+import com.interswitch.model.dtos.response.TransactionArchiveResponse;
+import com.interswitch.model.entities.WalletTransaction;
+import com.interswitch.model.enums.TransactionStatus;
+import com.interswitch.model.enums.TransactionType;
+import com.interswitch.shared.exceptions.ApiException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Moves closed months of settled transactions out of wallet_transactions into compressed segment files.
+// A segment is written to a .tmp file, its rows are deleted from the hot table in one transaction, and only
+// then is it renamed into place, so a crash leaves either the hot rows or the segment, never both or neither.
+// Segments carry each transaction's metadata, and its metadata rows are deleted together with the transaction.
+// The directory is shared by every node: only the holder of transaction_archive_lease writes or recovers segments,
+// and readers pick up new segment files whenever the directory changes.
+@Service
+@Slf4j
+public class TransactionArchiveService {
+
+    static final List<TransactionStatus> ARCHIVABLE_STATUSES =
+            List.of(TransactionStatus.COMPLETED, TransactionStatus.FAILED, TransactionStatus.CANCELLED);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TEMP_SUFFIX = ".seg.tmp";
+    private static final int DELETE_CHUNK_SIZE = 500;
+    private static final Comparator<WalletTransaction> NEWEST_FIRST =
+            Comparator.comparing(WalletTransaction::getCreatedAt).reversed();
+
+    private final WalletTransactionRepository transactionRepository;
+    private final ArchivedMetadataRepository metadataRepository;
+    private final TransactionArchiveLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock archiveLock = new ReentrantLock();
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile List<TransactionSegment> segments = List.of();
+    private volatile FileTime directoryModified;
+    private volatile long lastScan;
+
+    @Value("${wallet.archive.directory:data/transaction-archive}")
+    private String directory;
+
+    @Value("${wallet.archive.retain-months:3}")
+    private int retainMonths;
+
+    @Value("${wallet.archive.max-rows-per-segment:100000}")
+    private int maxRowsPerSegment;
+
+    @Value("${wallet.archive.lease-ms:300000}")
+    private long leaseMillis;
+
+    @Value("${wallet.archive.refresh-ms:60000}")
+    private long refreshMillis;
+
+    public TransactionArchiveService(WalletTransactionRepository transactionRepository,
+                                     ArchivedMetadataRepository metadataRepository,
+                                     TransactionArchiveLeaseRepository leaseRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.metadataRepository = metadataRepository;
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void loadSegments() throws IOException {
+        Files.createDirectories(root());
+        scanSegments();
+        log.info("Loaded {} transaction archive segments from {}", segments.size(), root());
+    }
+
+    @Scheduled(cron = "${wallet.archive.cron:-}")
+    public void archiveClosedMonths() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retainMonths);
+        Optional<LocalDateTime> oldest = transactionRepository.findOldestCreatedAt();
+        if (oldest.isEmpty()) {
+            return;
+        }
+        // Every node fires the schedule; all but the one holding the lease skip it
+        try {
+            withLease(() -> {
+                for (YearMonth month = YearMonth.from(oldest.get()); month.isBefore(cutoff); month = month.plusMonths(1)) {
+                    archive(month);
+                }
+                return null;
+            });
+        } catch (ApiException e) {
+            if (e.getStatus() != 409) {
+                throw e;
+            }
+            log.info("Skipping scheduled transaction archive: {}", e.getDescription());
+        }
+    }
+
+    public TransactionArchiveResponse archiveMonth(YearMonth month) {
+        if (!month.isBefore(YearMonth.now())) {
+            throw ApiException.builder()
+                .message("Month not closed")
+                .description("Only months before the current month can be archived: " + month)
+                .status(400)
+                .build();
+        }
+        return withLease(() -> archive(month));
+    }
+
+    private TransactionArchiveResponse archive(YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+        List<UUID> walletIds = new ArrayList<>(
+                transactionRepository.findArchivableWalletIds(start, end, ARCHIVABLE_STATUSES));
+        walletIds.sort(SegmentFormat.WALLET_ORDER);
+
+        List<String> files = new ArrayList<>();
+        long archivedRows = 0;
+        long compressedBytes = 0;
+        int walletCount = 0;
+
+        int index = 0;
+        List<WalletTransaction> carried = null;
+        while (index < walletIds.size()) {
+            renewLease();
+            Path target = nextSegmentPath(month);
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            List<UUID> archivedIds = new ArrayList<>();
+
+            try (TransactionSegmentWriter writer = new TransactionSegmentWriter(temp, month)) {
+                while (index < walletIds.size()) {
+                    UUID walletId = walletIds.get(index);
+                    List<WalletTransaction> rows = carried != null ? carried : transactionRepository
+                            .findArchivableTransactions(walletId, start, end, ARCHIVABLE_STATUSES);
+                    carried = null;
+                    if (writer.getRowCount() > 0 && writer.getRowCount() + rows.size() > maxRowsPerSegment) {
+                        carried = rows;
+                        break;
+                    }
+                    writer.appendWallet(walletId, rows);
+                    rows.forEach(row -> archivedIds.add(row.getId()));
+                    index++;
+                }
+                writer.finish();
+                walletCount += writer.getWalletCount();
+            } catch (IOException e) {
+                deleteQuietly(temp);
+                throw archiveFailure(month, e);
+            }
+
+            if (archivedIds.isEmpty()) {
+                deleteQuietly(temp);
+                continue;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    renewLease();
+                    for (int from = 0; from < archivedIds.size(); from += DELETE_CHUNK_SIZE) {
+                        List<UUID> chunk = archivedIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, archivedIds.size()));
+                        metadataRepository.deleteByTransactionIds(chunk);
+                        transactionRepository.deleteArchivedByIds(chunk);
+                    }
+                });
+            } catch (LeaseLostException e) {
+                deleteQuietly(temp);
+                throw e;
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                TransactionSegment segment = TransactionSegment.open(target);
+                files.add(target.getFileName().toString());
+                archivedRows += segment.getRowCount();
+                compressedBytes += Files.size(target);
+            } catch (IOException e) {
+                // Rows are already gone from the hot table; the .tmp file is promoted by the next archive run
+                throw archiveFailure(month, e);
+            }
+        }
+
+        log.info("Archived {} transactions for {} into {} segments ({} bytes)",
+                archivedRows, month, files.size(), compressedBytes);
+        return TransactionArchiveResponse.builder()
+            .month(month)
+            .segmentCount(files.size())
+            .walletCount(walletCount)
+            .archivedRows(archivedRows)
+            .compressedBytes(compressedBytes)
+            .segmentFiles(files)
+            .build();
+    }
+
+    public boolean hasArchive(UUID walletId) {
+        refreshSegments();
+        for (TransactionSegment segment : segments) {
+            if (segment.contains(walletId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Archived transactions for the wallet within [from, to] with the given type and status (any may be null);
+    // whole segments inside the range are counted from their directories without inflating
+    public long countTransactions(UUID walletId, LocalDateTime from, LocalDateTime to,
+                                  TransactionType type, TransactionStatus status) {
+        refreshSegments();
+        long count = 0;
+        for (TransactionSegment segment : segments) {
+            if (!segment.overlaps(walletId, from, to)) {
+                continue;
+            }
+            if (!segment.within(walletId, from, to)) {
+                count += read(segment, walletId).stream()
+                        .filter(row -> matches(row, from, to, type, status))
+                        .count();
+                continue;
+            }
+            try {
+                count += segment.countRows(walletId, type, status);
+            } catch (IOException e) {
+                throw readFailure(segment);
+            }
+        }
+        return count;
+    }
+
+    // Archived transactions for the wallet within [from, to] (either bound may be null), newest first
+    public List<WalletTransaction> findTransactions(UUID walletId, LocalDateTime from, LocalDateTime to) {
+        return findNewestTransactions(walletId, from, to, null, null, Integer.MAX_VALUE);
+    }
+
+    // The newest limit matching transactions, newest first. Segments are visited by the wallet's latest createdAt
+    // and the walk stops once no remaining segment can hold a row newer than the oldest one kept.
+    public List<WalletTransaction> findNewestTransactions(UUID walletId, LocalDateTime from, LocalDateTime to,
+                                                          TransactionType type, TransactionStatus status, int limit) {
+        refreshSegments();
+        List<TransactionSegment> candidates = new ArrayList<>();
+        for (TransactionSegment segment : segments) {
+            if (segment.overlaps(walletId, from, to)) {
+                candidates.add(segment);
+            }
+        }
+        candidates.sort(Comparator.comparing((TransactionSegment segment) -> segment.latestCreatedAt(walletId))
+                .reversed());
+
+        List<WalletTransaction> result = new ArrayList<>();
+        for (TransactionSegment segment : candidates) {
+            if (result.size() >= limit
+                    && segment.latestCreatedAt(walletId).isBefore(result.get(limit - 1).getCreatedAt())) {
+                break;
+            }
+            for (WalletTransaction row : read(segment, walletId)) {
+                if (matches(row, from, to, type, status)) {
+                    result.add(row);
+                }
+            }
+            result.sort(NEWEST_FIRST);
+        }
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    // Helper methods
+    private <T> T withLease(Supplier<T> work) {
+        archiveLock.lock();
+        try {
+            if (!claimLease()) {
+                throw ApiException.builder()
+                    .message("Archive in progress")
+                    .description("Another node is archiving transactions")
+                    .status(409)
+                    .build();
+            }
+            try {
+                recoverTemporarySegments(root());
+                scanSegments();
+                return work.get();
+            } catch (IOException e) {
+                throw ApiException.builder()
+                    .message("Archive failed")
+                    .description("Failed to recover archive segments: " + e.getMessage())
+                    .status(500)
+                    .build();
+            } catch (LeaseLostException e) {
+                log.warn(e.getMessage());
+                throw ApiException.builder()
+                    .message("Archive interrupted")
+                    .description(e.getMessage())
+                    .status(409)
+                    .build();
+            } finally {
+                leaseRepository.release(nodeId);
+            }
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    private boolean claimLease() {
+        LocalDateTime now = LocalDateTime.now();
+        return leaseRepository.claim(nodeId, now, now.minus(leaseMillis, ChronoUnit.MILLIS));
+    }
+
+    private void renewLease() {
+        if (!claimLease()) {
+            throw new LeaseLostException();
+        }
+    }
+
+    // Rescans the directory when it has changed since the last scan, or at least every refresh interval
+    private void refreshSegments() {
+        try {
+            if (Files.getLastModifiedTime(root()).equals(directoryModified)
+                    && System.currentTimeMillis() - lastScan < refreshMillis) {
+                return;
+            }
+            scanSegments();
+        } catch (IOException e) {
+            log.warn("Failed to refresh transaction archive segments from {}", root(), e);
+        }
+    }
+
+    private synchronized void scanSegments() throws IOException {
+        Path root = root();
+        FileTime modified = Files.getLastModifiedTime(root);
+        Map<Path, TransactionSegment> known = new HashMap<>();
+        for (TransactionSegment segment : segments) {
+            known.put(segment.getFile(), segment);
+        }
+
+        List<TransactionSegment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                TransactionSegment segment = known.get(file);
+                loaded.add(segment != null ? segment : TransactionSegment.open(file));
+            }
+        }
+        loaded.sort(Comparator.comparing(TransactionSegment::getMonth).reversed()
+                .thenComparing(segment -> segment.getFile().getFileName().toString(), Comparator.reverseOrder()));
+        segments = List.copyOf(loaded);
+        directoryModified = modified;
+        lastScan = System.currentTimeMillis();
+    }
+
+    private List<WalletTransaction> read(TransactionSegment segment, UUID walletId) {
+        try {
+            return segment.read(walletId);
+        } catch (IOException e) {
+            throw readFailure(segment);
+        }
+    }
+
+    private static boolean matches(WalletTransaction row, LocalDateTime from, LocalDateTime to,
+                                   TransactionType type, TransactionStatus status) {
+        LocalDateTime createdAt = row.getCreatedAt();
+        return (from == null || !createdAt.isBefore(from)) && (to == null || !createdAt.isAfter(to))
+                && (type == null || row.getTransactionType() == type) && (status == null || row.getStatus() == status);
+    }
+
+    private static ApiException readFailure(TransactionSegment segment) {
+        return ApiException.builder()
+            .message("Archive read failed")
+            .description("Failed to read archived transactions from " + segment.getFile().getFileName())
+            .status(500)
+            .build();
+    }
+
+    private void recoverTemporarySegments(Path root) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "*" + TEMP_SUFFIX)) {
+            for (Path temp : files) {
+                Path target = temp.resolveSibling(temp.getFileName().toString()
+                        .substring(0, temp.getFileName().toString().length() - ".tmp".length()));
+                Optional<UUID> firstId;
+                try {
+                    firstId = TransactionSegment.open(temp).firstTransactionId();
+                } catch (IOException e) {
+                    log.warn("Discarding incomplete archive segment {}", temp, e);
+                    Files.delete(temp);
+                    continue;
+                }
+                if (firstId.isEmpty() || transactionRepository.existsById(firstId.get())) {
+                    log.warn("Discarding archive segment {} whose rows were never purged", temp);
+                    Files.delete(temp);
+                } else {
+                    log.info("Promoting archive segment {} whose rows were already purged", temp);
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+        }
+    }
+
+    private Path nextSegmentPath(YearMonth month) {
+        int sequence = 1;
+        Path candidate;
+        do {
+            candidate = root().resolve(String.format("transactions-%s-%04d%s", month, sequence++, SEGMENT_SUFFIX));
+        } while (Files.exists(candidate) || Files.exists(candidate.resolveSibling(candidate.getFileName() + ".tmp")));
+        return candidate;
+    }
+
+    private Path root() {
+        return Paths.get(directory);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", file, e);
+        }
+    }
+
+    private ApiException archiveFailure(YearMonth month, IOException cause) {
+        log.error("Failed to archive transactions for {}", month, cause);
+        return ApiException.builder()
+            .message("Archive failed")
+            .description("Failed to archive transactions for " + month + ": " + cause.getMessage())
+            .status(500)
+            .build();
+    }
+
+    private static final class LeaseLostException extends IllegalStateException {
+
+        LeaseLostException() {
+            super("Transaction archive lease was taken by another node");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.interswitch.core.archive;
+
+import com.interswitch.model.entities.WalletTransaction;
+import com.interswitch.model.enums.TransactionStatus;
+import com.interswitch.model.enums.TransactionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Read-only, memory-mapped view of a segment file. Lookups binary search the wallet directory and
+// inflate only the block for the requested wallet.
+public class TransactionSegment {
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final short version;
+    private final YearMonth month;
+    private final int entrySize;
+    private final int walletCount;
+    private final long rowCount;
+    private final int directoryOffset;
+
+    private TransactionSegment(Path file, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < SegmentFormat.HEADER_SIZE || buffer.getInt(0) != SegmentFormat.MAGIC) {
+            throw new IOException("Not a transaction segment: " + file);
+        }
+        this.version = buffer.getShort(4);
+        if (version < 1 || version > SegmentFormat.VERSION) {
+            throw new IOException("Unsupported segment version " + version + ": " + file);
+        }
+        int yearMonth = buffer.getInt(8);
+        this.month = YearMonth.of(yearMonth / 100, yearMonth % 100);
+        this.entrySize = SegmentFormat.directoryEntrySize(version);
+        this.walletCount = buffer.getInt(12);
+        this.rowCount = buffer.getLong(16);
+        this.directoryOffset = Math.toIntExact(buffer.getLong(24));
+        if ((long) directoryOffset + (long) walletCount * entrySize > buffer.capacity()) {
+            throw new IOException("Truncated segment directory: " + file);
+        }
+    }
+
+    public static TransactionSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new TransactionSegment(file, buffer);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public int getWalletCount() {
+        return walletCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public boolean contains(UUID walletId) {
+        return findEntry(walletId) >= 0;
+    }
+
+    // Row count for the wallet, answered from the directory without inflating the block
+    public int countRows(UUID walletId) {
+        int entry = findEntry(walletId);
+        return entry < 0 ? 0 : buffer.getInt(entry + 32);
+    }
+
+    // Rows for the wallet with the given type and status (either may be null); the directory answers it from
+    // version 3 on, older segments inflate the block
+    public int countRows(UUID walletId, TransactionType type, TransactionStatus status) throws IOException {
+        int entry = findEntry(walletId);
+        if (entry < 0) {
+            return 0;
+        }
+        if (type == null && status == null) {
+            return buffer.getInt(entry + 32);
+        }
+        if (version >= SegmentFormat.FIRST_VERSION_WITH_FILTER_COUNTS && (type == null || status == null)) {
+            if (type != null && type.ordinal() < SegmentFormat.TYPE_COUNT_SLOTS) {
+                return buffer.getInt(entry + SegmentFormat.TYPE_COUNTS_OFFSET + type.ordinal() * 4);
+            }
+            if (status != null && status.ordinal() < SegmentFormat.STATUS_COUNT_SLOTS) {
+                return buffer.getInt(entry + SegmentFormat.STATUS_COUNTS_OFFSET + status.ordinal() * 4);
+            }
+        }
+        int count = 0;
+        for (WalletTransaction row : read(walletId)) {
+            if ((type == null || row.getTransactionType() == type) && (status == null || row.getStatus() == status)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Newest createdAt of the wallet's rows in this segment, or null when the wallet is absent
+    public LocalDateTime latestCreatedAt(UUID walletId) {
+        int entry = findEntry(walletId);
+        return entry < 0 ? null : SegmentFormat.fromMicros(buffer.getLong(entry + 48));
+    }
+
+    // True when every row of the wallet in this segment falls within [from, to]
+    public boolean within(UUID walletId, LocalDateTime from, LocalDateTime to) {
+        int entry = findEntry(walletId);
+        if (entry < 0) {
+            return false;
+        }
+        return (from == null || buffer.getLong(entry + 40) >= SegmentFormat.toMicros(from))
+                && (to == null || buffer.getLong(entry + 48) <= SegmentFormat.toMicros(to));
+    }
+
+    public boolean overlaps(UUID walletId, LocalDateTime from, LocalDateTime to) {
+        int entry = findEntry(walletId);
+        if (entry < 0) {
+            return false;
+        }
+        long min = buffer.getLong(entry + 40);
+        long max = buffer.getLong(entry + 48);
+        return (from == null || max >= SegmentFormat.toMicros(from))
+                && (to == null || min <= SegmentFormat.toMicros(to));
+    }
+
+    public List<WalletTransaction> read(UUID walletId) throws IOException {
+        int entry = findEntry(walletId);
+        if (entry < 0) {
+            return Collections.emptyList();
+        }
+        int offset = Math.toIntExact(buffer.getLong(entry + 16));
+        int compressedLength = buffer.getInt(entry + 24);
+        int rawLength = buffer.getInt(entry + 28);
+        ByteBuffer block = buffer.slice(offset, compressedLength);
+        return SegmentFormat.decodeBlock(walletId, SegmentFormat.inflate(block, rawLength), version);
+    }
+
+    // First transaction ID written to the segment; used to tell whether its rows were already purged
+    public Optional<UUID> firstTransactionId() throws IOException {
+        if (walletCount == 0) {
+            return Optional.empty();
+        }
+        UUID walletId = new UUID(buffer.getLong(directoryOffset), buffer.getLong(directoryOffset + 8));
+        List<WalletTransaction> rows = read(walletId);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0).getId());
+    }
+
+    // Returns the absolute offset of the wallet's directory entry, or -1
+    private int findEntry(UUID walletId) {
+        int low = 0;
+        int high = walletCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = directoryOffset + mid * entrySize;
+            int cmp = SegmentFormat.compare(buffer.getLong(entry), buffer.getLong(entry + 8), walletId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return entry;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,127 @@
+package com.interswitch.core.archive;
+
+import com.interswitch.model.entities.WalletTransaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+// Streams wallet blocks into a new segment file. Wallets must be appended in SegmentFormat.WALLET_ORDER
+// and each wallet's rows in createdAt order; finish() writes the directory and header and fsyncs.
+public class TransactionSegmentWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final YearMonth month;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final List<ByteBuffer> directory = new ArrayList<>();
+    private UUID lastWalletId;
+    private long position = SegmentFormat.HEADER_SIZE;
+    private long rowCount;
+    private boolean finished;
+
+    public TransactionSegmentWriter(Path file, YearMonth month) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.month = month;
+    }
+
+    public void appendWallet(UUID walletId, List<WalletTransaction> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (lastWalletId != null && SegmentFormat.WALLET_ORDER.compare(lastWalletId, walletId) >= 0) {
+            throw new IllegalStateException("Wallets must be appended in ascending order: " + walletId);
+        }
+
+        byte[] raw = SegmentFormat.encodeBlock(rows);
+        byte[] compressed = SegmentFormat.deflate(raw, deflater);
+        writeFully(ByteBuffer.wrap(compressed), position);
+
+        ByteBuffer entry = ByteBuffer.allocate(SegmentFormat.COUNTED_DIRECTORY_ENTRY_SIZE);
+        entry.putLong(walletId.getMostSignificantBits());
+        entry.putLong(walletId.getLeastSignificantBits());
+        entry.putLong(position);
+        entry.putInt(compressed.length);
+        entry.putInt(raw.length);
+        entry.putInt(rows.size());
+        entry.putInt(0);
+        entry.putLong(SegmentFormat.toMicros(rows.get(0).getCreatedAt()));
+        entry.putLong(SegmentFormat.toMicros(rows.get(rows.size() - 1).getCreatedAt()));
+        int[] typeCounts = new int[SegmentFormat.TYPE_COUNT_SLOTS];
+        int[] statusCounts = new int[SegmentFormat.STATUS_COUNT_SLOTS];
+        for (WalletTransaction row : rows) {
+            if (row.getTransactionType() != null && row.getTransactionType().ordinal() < typeCounts.length) {
+                typeCounts[row.getTransactionType().ordinal()]++;
+            }
+            if (row.getStatus() != null && row.getStatus().ordinal() < statusCounts.length) {
+                statusCounts[row.getStatus().ordinal()]++;
+            }
+        }
+        for (int count : typeCounts) {
+            entry.putInt(count);
+        }
+        for (int count : statusCounts) {
+            entry.putInt(count);
+        }
+        entry.flip();
+        directory.add(entry);
+
+        position += compressed.length;
+        rowCount += rows.size();
+        lastWalletId = walletId;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getWalletCount() {
+        return directory.size();
+    }
+
+    public void finish() throws IOException {
+        long directoryOffset = position;
+        for (ByteBuffer entry : directory) {
+            writeFully(entry, position);
+            position += SegmentFormat.COUNTED_DIRECTORY_ENTRY_SIZE;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(SegmentFormat.HEADER_SIZE);
+        header.putInt(SegmentFormat.MAGIC);
+        header.putShort(SegmentFormat.VERSION);
+        header.putShort((short) 0);
+        header.putInt(month.getYear() * 100 + month.getMonthValue());
+        header.putInt(directory.size());
+        header.putLong(rowCount);
+        header.putLong(directoryOffset);
+        header.flip();
+        writeFully(header, 0);
+
+        channel.force(true);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        channel.close();
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    private void writeFully(ByteBuffer buffer, long at) throws IOException {
+        long offset = at;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.interswitch.core.audit;
+
+import com.interswitch.model.dtos.response.ActivityCountResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// Streaming activity counts per client IP, performer and wallet, fed by the audit pipeline. Each dimension is a
+// ring of time buckets holding a fixed-size HeavyHitterSketch, so memory stays bounded however many distinct
+// keys appear and a query merges at most bucketCount sketches. Results are ranked and thresholded on the count
+// each key is guaranteed to have; the Space-Saving upper bound is reported separately as upperBound. Counts are
+// at bucket granularity and per node: they only cover audit entries written by this process, so on a cluster
+// each node reports its own share. Ranges that start before the ring's horizon or before this process started
+// recording cannot be answered and are left to the caller.
+@Component
+public class AuditActivityMonitor {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final long startedMillis;
+    private final Window<String> ips;
+    private final Window<UUID> performers;
+    private final Window<UUID> wallets;
+
+    public AuditActivityMonitor(@Value("${wallet.audit.activity.bucket-seconds:60}") long bucketSeconds,
+                                @Value("${wallet.audit.activity.bucket-count:60}") int bucketCount,
+                                @Value("${wallet.audit.activity.sketch-capacity:256}") int sketchCapacity) {
+        this.bucketMillis = bucketSeconds * 1000;
+        this.bucketCount = bucketCount;
+        this.startedMillis = System.currentTimeMillis();
+        this.ips = new Window<>(bucketCount, sketchCapacity);
+        this.performers = new Window<>(bucketCount, sketchCapacity);
+        this.wallets = new Window<>(bucketCount, sketchCapacity);
+    }
+
+    public void record(String ipAddress, UUID performedBy, UUID walletId) {
+        record(ipAddress, performedBy, walletId, System.currentTimeMillis());
+    }
+
+    public void record(String ipAddress, UUID performedBy, UUID walletId, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        if (ipAddress != null) {
+            ips.add(ipAddress, epoch);
+        }
+        if (performedBy != null) {
+            performers.add(performedBy, epoch);
+        }
+        if (walletId != null) {
+            wallets.add(walletId, epoch);
+        }
+    }
+
+    // IPs certain to have more than threshold audited actions on this node since the given time, busiest first
+    public Optional<List<ActivityCountResponse>> findSuspiciousIps(LocalDateTime since, long threshold) {
+        return findSuspiciousIps(toMillis(since), threshold, System.currentTimeMillis());
+    }
+
+    public Optional<List<ActivityCountResponse>> findSuspiciousIps(long sinceMillis, long threshold, long nowMillis) {
+        if (!covers(sinceMillis, nowMillis)) {
+            return Optional.empty();
+        }
+        return Optional.of(ips.top(sinceMillis / bucketMillis, nowMillis / bucketMillis).stream()
+            .filter(count -> count.getCount() > threshold)
+            .toList());
+    }
+
+    public Optional<List<ActivityCountResponse>> findMostActiveUsers(LocalDateTime startDate, LocalDateTime endDate,
+                                                                     int limit) {
+        return top(performers, toMillis(startDate), toMillis(endDate), limit, System.currentTimeMillis());
+    }
+
+    public Optional<List<ActivityCountResponse>> findMostActiveUsers(long fromMillis, long toMillis, int limit,
+                                                                     long nowMillis) {
+        return top(performers, fromMillis, toMillis, limit, nowMillis);
+    }
+
+    public Optional<List<ActivityCountResponse>> findMostActiveWallets(LocalDateTime startDate, LocalDateTime endDate,
+                                                                       int limit) {
+        return top(wallets, toMillis(startDate), toMillis(endDate), limit, System.currentTimeMillis());
+    }
+
+    public Optional<List<ActivityCountResponse>> findMostActiveWallets(long fromMillis, long toMillis, int limit,
+                                                                       long nowMillis) {
+        return top(wallets, fromMillis, toMillis, limit, nowMillis);
+    }
+
+    // Helper methods
+    private <K> Optional<List<ActivityCountResponse>> top(Window<K> window, long fromMillis, long toMillis,
+                                                          int limit, long nowMillis) {
+        if (!covers(fromMillis, nowMillis)) {
+            return Optional.empty();
+        }
+        List<ActivityCountResponse> counts =
+                window.top(fromMillis / bucketMillis, Math.min(toMillis, nowMillis) / bucketMillis);
+        return Optional.of(counts.size() > limit ? counts.subList(0, limit) : counts);
+    }
+
+    private boolean covers(long fromMillis, long nowMillis) {
+        long oldestEpoch = nowMillis / bucketMillis - bucketCount + 1;
+        return fromMillis >= startedMillis && fromMillis / bucketMillis >= oldestEpoch;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Window<K> {
+
+        private final long[] epochs;
+        private final List<HeavyHitterSketch<K>> sketches;
+
+        Window(int bucketCount, int sketchCapacity) {
+            this.epochs = new long[bucketCount];
+            this.sketches = new ArrayList<>(bucketCount);
+            for (int i = 0; i < bucketCount; i++) {
+                epochs[i] = -1;
+                sketches.add(new HeavyHitterSketch<>(sketchCapacity));
+            }
+        }
+
+        synchronized void add(K key, long epoch) {
+            int index = (int) (epoch % epochs.length);
+            if (epochs[index] != epoch) {
+                epochs[index] = epoch;
+                sketches.get(index).clear();
+            }
+            sketches.get(index).add(key);
+        }
+
+        // Merges the buckets in [fromEpoch, toEpoch], ranked by guaranteed count. A key missing from a full bucket
+        // may still have occurred there up to that bucket's smallest count, which widens its upper bound.
+        synchronized List<ActivityCountResponse> top(long fromEpoch, long toEpoch) {
+            Map<K, long[]> merged = new HashMap<>();
+            long missingBound = 0;
+            for (int i = 0; i < epochs.length; i++) {
+                if (epochs[i] < fromEpoch || epochs[i] > toEpoch) {
+                    continue;
+                }
+                long min = sketches.get(i).minCount();
+                missingBound += min;
+                sketches.get(i).forEach((key, counter) -> {
+                    long[] total = merged.computeIfAbsent(key, k -> new long[3]);
+                    total[0] += counter[0];
+                    total[1] += counter[1];
+                    total[2] += min;
+                });
+            }
+
+            List<ActivityCountResponse> counts = new ArrayList<>(merged.size());
+            for (Map.Entry<K, long[]> entry : merged.entrySet()) {
+                long[] total = entry.getValue();
+                counts.add(ActivityCountResponse.builder()
+                    .key(entry.getKey().toString())
+                    .count(total[0] - total[1])
+                    .upperBound(total[0] + (missingBound - total[2]))
+                    .build());
+            }
+            counts.sort(Comparator.comparingLong(ActivityCountResponse::getCount).reversed()
+                .thenComparing(Comparator.comparingLong(ActivityCountResponse::getUpperBound).reversed()));
+            return counts;
+        }
+    }
+}
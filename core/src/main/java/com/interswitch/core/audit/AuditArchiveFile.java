@@ -0,0 +1,55 @@
+package com.interswitch.core.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// Archive of purged audit logs as JSON lines. Every batch is appended as its own gzip member, so the file
+// stays readable with zcat or GZIPInputStream, and the file is cut back to the last committed length before
+// each append, which drops a batch that was written but never purged. The file is on the disk of the node that
+// wrote it, so a run taken over by another node cannot continue it and starts a new file instead.
+public final class AuditArchiveFile {
+
+    private AuditArchiveFile() {
+    }
+
+    // Whether appends can continue the file: it is new, or holds at least the committed length
+    public static boolean isResumable(Path file, long committedBytes) throws IOException {
+        return committedBytes == 0 || (Files.exists(file) && Files.size(file) >= committedBytes);
+    }
+
+    // Appends the lines after the committed length and returns the new durable length of the file
+    public static long append(Path file, long committedBytes, List<String> lines) throws IOException {
+        ByteArrayOutputStream member = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(member), StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (channel.size() < committedBytes) {
+                throw new IOException("Archive " + file + " is shorter than its committed length " + committedBytes);
+            }
+            channel.truncate(committedBytes);
+            channel.position(committedBytes);
+            ByteBuffer buffer = ByteBuffer.wrap(member.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+            return channel.size();
+        }
+    }
+}
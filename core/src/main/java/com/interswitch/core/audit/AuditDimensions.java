@@ -0,0 +1,139 @@
+package com.interswitch.core.audit;
+
+import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Distinct actions, entity types and performers seen in the audit log, for filter drop-downs. Each dimension is
+// seeded from the audit table on its first read and then maintained by the audit write path. Action and entity
+// type columns hold AuditDictionary codes, which keeps the seed scans on small indexed values. A read older than
+// reseed-ms seeds the dimension again, which picks up values written by other nodes and drops values whose logs
+// were purged by retention; values recorded since the previous seed are kept, so entries still waiting in the
+// audit buffer do not disappear. Performers are unbounded in principle, so at most max-performers are held.
+@Component
+public class AuditDimensions {
+
+    private final WalletAuditLogRepository auditLogRepository;
+    private final Dimension<String> actions;
+    private final Dimension<String> entityTypes;
+    private final Dimension<UUID> performers;
+    private final int maxPerformers;
+
+    public AuditDimensions(WalletAuditLogRepository auditLogRepository,
+                           @Value("${wallet.audit.dimensions.reseed-ms:3600000}") long reseedMillis,
+                           @Value("${wallet.audit.dimensions.max-performers:10000}") int maxPerformers) {
+        this.auditLogRepository = auditLogRepository;
+        this.maxPerformers = maxPerformers;
+        this.actions = new Dimension<>(Comparator.naturalOrder(), reseedMillis, Integer.MAX_VALUE);
+        this.entityTypes = new Dimension<>(Comparator.naturalOrder(), reseedMillis, Integer.MAX_VALUE);
+        this.performers = new Dimension<>(Comparator.naturalOrder(), reseedMillis, maxPerformers);
+    }
+
+    public void record(String action, String entityType, UUID performedBy) {
+        actions.add(action);
+        entityTypes.add(entityType);
+        performers.add(performedBy);
+    }
+
+    public List<String> getActions() {
+        return actions.values(auditLogRepository::findDistinctActions);
+    }
+
+    public List<String> getEntityTypes() {
+        return entityTypes.values(auditLogRepository::findDistinctEntityTypes);
+    }
+
+    public List<UUID> getPerformers() {
+        return performers.values(() -> auditLogRepository.findDistinctPerformedBy(PageRequest.of(0, maxPerformers)));
+    }
+
+    private static final class Dimension<T> {
+
+        private final AtomicLong version = new AtomicLong();
+        private final Comparator<? super T> order;
+        private final long reseedMillis;
+        private final int limit;
+        private volatile Set<T> values = ConcurrentHashMap.newKeySet();
+        // Values recorded since the last seed started, carried into the next one
+        private volatile Set<T> recent = ConcurrentHashMap.newKeySet();
+        private volatile Snapshot<T> sorted;
+        private volatile long seededAt;
+        private volatile boolean seeded;
+
+        Dimension(Comparator<? super T> order, long reseedMillis, int limit) {
+            this.order = order;
+            this.reseedMillis = reseedMillis;
+            this.limit = limit;
+        }
+
+        void add(T value) {
+            if (value == null) {
+                return;
+            }
+            // Known values are the common case and cost a lookup per set
+            Set<T> current = values;
+            if (!current.contains(value) && current.size() < limit && current.add(value)) {
+                version.incrementAndGet();
+            }
+            Set<T> carried = recent;
+            if (!carried.contains(value) && carried.size() < limit) {
+                carried.add(value);
+            }
+        }
+
+        List<T> values(Supplier<Collection<T>> seed) {
+            long now = System.currentTimeMillis();
+            if (!seeded || now - seededAt >= reseedMillis) {
+                synchronized (this) {
+                    if (!seeded || now - seededAt >= reseedMillis) {
+                        reseed(seed, now);
+                    }
+                }
+            }
+            // A value added while sorting bumps the version, so the next read sorts again
+            long current = version.get();
+            Snapshot<T> snapshot = sorted;
+            if (snapshot == null || snapshot.version() != current) {
+                snapshot = new Snapshot<>(current, values.stream().sorted(order).limit(limit).toList());
+                sorted = snapshot;
+            }
+            return snapshot.values();
+        }
+
+        private void reseed(Supplier<Collection<T>> seed, long now) {
+            Set<T> carried = recent;
+            recent = ConcurrentHashMap.newKeySet();
+            Set<T> fresh = ConcurrentHashMap.newKeySet();
+            addAll(fresh, seed.get());
+            addAll(fresh, carried);
+            values = fresh;
+            // Values recorded into the old set while the seed ran
+            addAll(fresh, recent);
+            version.incrementAndGet();
+            seededAt = now;
+            seeded = true;
+        }
+
+        private void addAll(Set<T> target, Collection<T> source) {
+            for (T value : source) {
+                if (target.size() >= limit) {
+                    return;
+                }
+                target.add(value);
+            }
+        }
+    }
+
+    private record Snapshot<T>(long version, List<T> values) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.interswitch.core.audit;
+
+public enum AuditDurability {
+    // Inserted through the caller's transaction: commits and rolls back with the audited change
+    IN_TRANSACTION,
+    // Queued once the caller's transaction commits; rolled back changes leave no audit record
+    AFTER_COMMIT,
+    // Queued immediately, including attempts whose transaction later rolls back
+    ASYNC
+}
@@ -0,0 +1,407 @@
+package com.interswitch.core.audit;
+
+import com.interswitch.core.activity.RecentAuditLogs;
+import com.interswitch.infra.audit.AuditRollupRepository;
+import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import com.interswitch.model.converters.AuditDictionary;
+import com.interswitch.model.converters.AuditValueCodec;
+import com.interswitch.model.entities.WalletAuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Shared audit pipeline for the wallet services. Old and new values are snapshotted on the caller's thread
+// (see AuditPayloads); outside IN_TRANSACTION mode the records are queued in a bounded ring buffer and a single
+// writer thread serializes them and drains them with multi-row inserts, so business operations pay neither
+// the insert round trip nor the payload encoding. Every write also bumps its hourly rollup bucket, in the same
+// transaction as the audit row, for AuditStatisticsService, and is handed to RecentAuditLogs, AuditDimensions
+// and AuditActivityMonitor once accepted. Client IP and user agent come from AuditRequestContext.
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    // Performer recorded for actions the service takes on its own, such as lapsed freezes expiring
+    public static final UUID SYSTEM_USER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private static final String INSERT_PREFIX = "INSERT INTO wallet_audit_logs (id, created_at, updated_at, wallet_id, "
+            + "action_code, entity_type_code, entity_id, old_values, new_values, performed_by, ip_address, user_agent) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 12;
+    // Keeps a multi-row insert under the 65,535 placeholder limit of a prepared statement
+    private static final int MAX_BATCH_SIZE = 65_535 / COLUMNS;
+
+    private final WalletAuditLogRepository auditLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditDictionary auditDictionary;
+    private final AuditRollupRepository rollupRepository;
+    private final RecentAuditLogs recentAuditLogs;
+    private final AuditDimensions auditDimensions;
+    private final AuditActivityMonitor activityMonitor;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditDurability durability;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final AuditRingBuffer<Entry> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final int maxRetries;
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private final Counter enqueued;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter callerRuns;
+    private final Timer batchLatency;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public AuditLogWriter(WalletAuditLogRepository auditLogRepository,
+                          JdbcTemplate jdbcTemplate,
+                          AuditDictionary auditDictionary,
+                          AuditRollupRepository rollupRepository,
+                          RecentAuditLogs recentAuditLogs,
+                          AuditDimensions auditDimensions,
+                          AuditActivityMonitor activityMonitor,
+                          PlatformTransactionManager transactionManager,
+                          ObjectProvider<MeterRegistry> meterRegistry,
+                          @Value("${wallet.audit.durability:AFTER_COMMIT}") AuditDurability durability,
+                          @Value("${wallet.audit.overflow-policy:BLOCK}") AuditOverflowPolicy overflowPolicy,
+                          @Value("${wallet.audit.buffer-capacity:65536}") int bufferCapacity,
+                          @Value("${wallet.audit.batch-size:500}") int batchSize,
+                          @Value("${wallet.audit.flush-interval-ms:50}") long flushIntervalMs,
+                          @Value("${wallet.audit.offer-timeout-ms:200}") long offerTimeoutMs,
+                          @Value("${wallet.audit.max-retries:3}") int maxRetries) {
+        this.auditLogRepository = auditLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditDictionary = auditDictionary;
+        this.rollupRepository = rollupRepository;
+        this.recentAuditLogs = recentAuditLogs;
+        this.auditDimensions = auditDimensions;
+        this.activityMonitor = activityMonitor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.durability = durability;
+        this.overflowPolicy = overflowPolicy;
+        this.buffer = new AuditRingBuffer<>(bufferCapacity);
+        this.batchSize = Math.min(batchSize, MAX_BATCH_SIZE);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        this.maxRetries = maxRetries;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.enqueued = registry.counter("wallet.audit.enqueued");
+        this.written = registry.counter("wallet.audit.written");
+        this.dropped = registry.counter("wallet.audit.dropped");
+        this.failed = registry.counter("wallet.audit.failed");
+        this.callerRuns = registry.counter("wallet.audit.caller.runs");
+        this.batchLatency = registry.timer("wallet.audit.batch.latency");
+        Gauge.builder("wallet.audit.queue.depth", buffer, AuditRingBuffer::size).register(registry);
+        Gauge.builder("wallet.audit.lag.ms", lagMillis, AtomicLong::get).register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (durability == AuditDurability.IN_TRANSACTION) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "audit-log-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+        log.info("Audit log writer started in {} mode with capacity {}", durability, buffer.capacity());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (drainer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(drainer);
+        drainer.join(TimeUnit.SECONDS.toMillis(10));
+        flush();
+    }
+
+    public void write(UUID walletId, String action, String entityType, UUID entityId,
+                      Object oldValue, Object newValue, UUID performedBy) {
+        writeAll(List.of(new Event(walletId, action, entityType, entityId, oldValue, newValue, performedBy)));
+    }
+
+    // Several records at once: in IN_TRANSACTION mode one batched save and one rollup update, otherwise one
+    // commit hook that queues them all for the multi-row writer
+    public void writeAll(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        AuditRequestContext.Client client = AuditRequestContext.current();
+        LocalDateTime createdAt = LocalDateTime.now();
+        long enqueuedNanos = System.nanoTime();
+        List<Entry> entries = new ArrayList<>(events.size());
+        for (Event event : events) {
+            Object[] payload = AuditPayloads.diff(AuditPayloads.snapshot(event.oldValue()),
+                    AuditPayloads.snapshot(event.newValue()));
+            entries.add(new Entry(UUID.randomUUID(), event.walletId(), event.action(), event.entityType(),
+                    event.entityId(), payload[0], payload[1], event.performedBy(), client.ipAddress(),
+                    client.userAgent(), createdAt, enqueuedNanos));
+        }
+
+        if (durability == AuditDurability.IN_TRANSACTION) {
+            // The entity converters only look codes up, so new values are registered before the save
+            for (Entry entry : entries) {
+                auditDictionary.register(AuditDictionary.ACTION, entry.action());
+                auditDictionary.register(AuditDictionary.ENTITY_TYPE, entry.entityType());
+            }
+            List<WalletAuditLog> rows = entries.stream()
+                .<WalletAuditLog>map(entry -> WalletAuditLog.builder()
+                    .walletId(entry.walletId())
+                    .action(entry.action())
+                    .entityType(entry.entityType())
+                    .entityId(entry.entityId())
+                    .oldValues(AuditPayloads.toJson(entry.oldPayload()))
+                    .newValues(AuditPayloads.toJson(entry.newPayload()))
+                    .performedBy(entry.performedBy())
+                    .ipAddress(entry.ipAddress())
+                    .userAgent(entry.userAgent())
+                    .build())
+                .toList();
+            List<WalletAuditLog> saved = auditLogRepository.saveAll(rows);
+            rollupRepository.increment(rollups(entries));
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                recentAuditLogs.record(saved.get(i));
+                auditDimensions.record(entry.action(), entry.entityType(), entry.performedBy());
+                activityMonitor.record(entry.ipAddress(), entry.performedBy(), entry.walletId());
+            }
+            return;
+        }
+        if (durability == AuditDurability.AFTER_COMMIT && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.forEach(entry -> enqueue(entry));
+                }
+            });
+            return;
+        }
+        entries.forEach(this::enqueue);
+    }
+
+    // Writes everything queued so far on the calling thread
+    public int flush() {
+        int total = 0;
+        List<Entry> batch = new ArrayList<>(batchSize);
+        drainLock.lock();
+        try {
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                total += insert(batch);
+                batch.clear();
+            }
+        } finally {
+            drainLock.unlock();
+        }
+        return total;
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+
+    public AuditDurability getDurability() {
+        return durability;
+    }
+
+    // Helper methods
+    private void enqueue(Entry entry) {
+        if (buffer.offer(entry)) {
+            accepted(entry);
+            return;
+        }
+        switch (overflowPolicy) {
+            case CALLER_RUNS -> {
+                callerRuns.increment();
+                insert(List.of(entry));
+                recordAccepted(entry);
+            }
+            case BLOCK -> {
+                long deadline = System.nanoTime() + offerTimeoutNanos;
+                long backoff = 1_000;
+                while (System.nanoTime() < deadline) {
+                    LockSupport.unpark(drainer);
+                    LockSupport.parkNanos(backoff);
+                    if (buffer.offer(entry)) {
+                        accepted(entry);
+                        return;
+                    }
+                    backoff = Math.min(backoff * 2, 1_000_000);
+                }
+                drop(entry);
+            }
+            case DROP -> drop(entry);
+        }
+    }
+
+    private void accepted(Entry entry) {
+        enqueued.increment();
+        recordAccepted(entry);
+    }
+
+    private void recordAccepted(Entry entry) {
+        auditDimensions.record(entry.action(), entry.entityType(), entry.performedBy());
+        activityMonitor.record(entry.ipAddress(), entry.performedBy(), entry.walletId());
+        // Payload JSON is only built if a dashboard reads the record before it is evicted
+        recentAuditLogs.record(entry.walletId(), entry.id(), entry.createdAt(), () -> WalletAuditLog.builder()
+            .id(entry.id())
+            .createdAt(entry.createdAt())
+            .updatedAt(entry.createdAt())
+            .walletId(entry.walletId())
+            .action(entry.action())
+            .entityType(entry.entityType())
+            .entityId(entry.entityId())
+            .oldValues(AuditPayloads.toJson(entry.oldPayload()))
+            .newValues(AuditPayloads.toJson(entry.newPayload()))
+            .performedBy(entry.performedBy())
+            .ipAddress(entry.ipAddress())
+            .userAgent(entry.userAgent())
+            .build());
+    }
+
+    private void drop(Entry entry) {
+        dropped.increment();
+        log.warn("Audit buffer full, dropped {} for wallet {}", entry.action(), entry.walletId());
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            drainLock.lock();
+            try {
+                buffer.drainTo(batch, batchSize);
+                if (!batch.isEmpty()) {
+                    insert(batch);
+                }
+            } catch (RuntimeException e) {
+                log.error("Audit log writer failed to flush a batch", e);
+            } finally {
+                drainLock.unlock();
+            }
+            // A full batch means more is likely waiting; otherwise linger so records can accumulate
+            if (batch.size() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+            batch.clear();
+        }
+    }
+
+    private int insert(List<Entry> batch) {
+        long started = System.nanoTime();
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDERS.length() + 2))
+                .append(INSERT_PREFIX);
+        Object[] args = new Object[batch.size() * COLUMNS];
+        int i = 0;
+        for (Entry entry : batch) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+            Timestamp timestamp = Timestamp.valueOf(entry.createdAt());
+            args[i++] = bytes(entry.id());
+            args[i++] = timestamp;
+            args[i++] = timestamp;
+            args[i++] = bytes(entry.walletId());
+            args[i++] = auditDictionary.register(AuditDictionary.ACTION, entry.action());
+            args[i++] = auditDictionary.register(AuditDictionary.ENTITY_TYPE, entry.entityType());
+            args[i++] = bytes(entry.entityId());
+            args[i++] = AuditValueCodec.encode(AuditPayloads.toJson(entry.oldPayload()));
+            args[i++] = AuditValueCodec.encode(AuditPayloads.toJson(entry.newPayload()));
+            args[i++] = bytes(entry.performedBy());
+            args[i++] = entry.ipAddress();
+            args[i++] = entry.userAgent();
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update(sql.toString(), args);
+                    rollupRepository.increment(rollups(batch));
+                });
+                break;
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries) {
+                    failed.increment(batch.size());
+                    log.error("Failed to write {} audit records after {} attempts", batch.size(), attempt + 1, e);
+                    return 0;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50L << attempt));
+            }
+        }
+
+        long now = System.nanoTime();
+        written.increment(batch.size());
+        batchLatency.record(now - started, TimeUnit.NANOSECONDS);
+        lagMillis.set(TimeUnit.NANOSECONDS.toMillis(now - batch.get(0).enqueuedNanos()));
+        return batch.size();
+    }
+
+    private static List<AuditRollupRepository.Delta> rollups(List<Entry> batch) {
+        Map<List<Object>, Long> counts = new HashMap<>();
+        for (Entry entry : batch) {
+            counts.merge(List.of(AuditRollupRepository.bucketOf(entry.createdAt()), entry.walletId(), entry.action(),
+                    entry.entityType(), entry.performedBy()), 1L, Long::sum);
+        }
+        List<AuditRollupRepository.Delta> deltas = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> deltas.add(new AuditRollupRepository.Delta((LocalDateTime) key.get(0),
+                (UUID) key.get(1), (String) key.get(2), (String) key.get(3), (UUID) key.get(4), count)));
+        return deltas;
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        if (uuid == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public record Event(UUID walletId, String action, String entityType, UUID entityId,
+                        Object oldValue, Object newValue, UUID performedBy) {
+    }
+
+    private record Entry(UUID id, UUID walletId, String action, String entityType, UUID entityId,
+                         Object oldPayload, Object newPayload, UUID performedBy, String ipAddress,
+                         String userAgent, LocalDateTime createdAt, long enqueuedNanos) {
+    }
+}
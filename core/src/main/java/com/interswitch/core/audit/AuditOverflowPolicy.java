@@ -0,0 +1,10 @@
+package com.interswitch.core.audit;
+
+public enum AuditOverflowPolicy {
+    // Wait up to the offer timeout for space, then drop
+    BLOCK,
+    // Insert the record on the calling thread
+    CALLER_RUNS,
+    // Drop the record immediately
+    DROP
+}
@@ -0,0 +1,145 @@
+package com.interswitch.core.audit;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Builds audit payloads from entity state without toString(). Entities are captured as maps of their own
+// columns; associations are skipped and element collections are only read when already loaded, so building
+// a payload never issues a query. Two entity snapshots are reduced to the fields that changed.
+public final class AuditPayloads {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private static final Map<Class<?>, List<Field>> ENTITY_FIELDS = new ConcurrentHashMap<>();
+
+    private AuditPayloads() {
+    }
+
+    // Detached copy of the value: entities become column maps, collections are copied, scalars pass through
+    public static Object snapshot(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof HibernateProxy proxy) {
+            if (proxy.getHibernateLazyInitializer().isUninitialized()) {
+                return Map.of("id", proxy.getHibernateLazyInitializer().getIdentifier());
+            }
+            value = proxy.getHibernateLazyInitializer().getImplementation();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Hibernate.isInitialized(map) ? new LinkedHashMap<>(map) : null;
+        }
+        if (value instanceof Collection<?> collection) {
+            return Hibernate.isInitialized(collection) ? new ArrayList<>(collection) : null;
+        }
+        if (!value.getClass().isAnnotationPresent(Entity.class)) {
+            return value;
+        }
+
+        Map<String, Object> columns = new LinkedHashMap<>();
+        for (Field field : ENTITY_FIELDS.computeIfAbsent(value.getClass(), AuditPayloads::entityFields)) {
+            try {
+                Object fieldValue = field.get(value);
+                if (fieldValue instanceof Map<?, ?> || fieldValue instanceof Collection<?>) {
+                    fieldValue = snapshot(fieldValue);
+                }
+                if (fieldValue != null) {
+                    columns.put(field.getName(), fieldValue);
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + field, e);
+            }
+        }
+        return columns;
+    }
+
+    // Reduces two entity snapshots to the fields that differ; other values are returned unchanged
+    public static Object[] diff(Object oldSnapshot, Object newSnapshot) {
+        if (!(oldSnapshot instanceof Map<?, ?> oldMap) || !(newSnapshot instanceof Map<?, ?> newMap)) {
+            return new Object[]{oldSnapshot, newSnapshot};
+        }
+        Set<Object> keys = new LinkedHashSet<>(oldMap.keySet());
+        keys.addAll(newMap.keySet());
+        Map<Object, Object> oldChanged = new LinkedHashMap<>();
+        Map<Object, Object> newChanged = new LinkedHashMap<>();
+        for (Object key : keys) {
+            Object before = oldMap.get(key);
+            Object after = newMap.get(key);
+            if (!same(before, after)) {
+                oldChanged.put(key, before);
+                newChanged.put(key, after);
+            }
+        }
+        return new Object[]{oldChanged, newChanged};
+    }
+
+    public static String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(payload);
+        }
+    }
+
+    // Helper methods
+    private static boolean same(Object before, Object after) {
+        if (before instanceof BigDecimal left && after instanceof BigDecimal right) {
+            return left.compareTo(right) == 0;
+        }
+        return Objects.equals(before, after);
+    }
+
+    private static List<Field> entityFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                        || field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class)
+                        || field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToMany.class)) {
+                    continue;
+                }
+                if (!field.isAnnotationPresent(ElementCollection.class)
+                        && (Map.class.isAssignableFrom(field.getType()) || Collection.class.isAssignableFrom(field.getType()))) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,29 @@
+package com.interswitch.core.audit;
+
+// Client details of the request being served, bound to the request thread by the web layer so audit records
+// can carry them without every service passing them through
+public final class AuditRequestContext {
+
+    private static final ThreadLocal<Client> CURRENT = new ThreadLocal<>();
+
+    private AuditRequestContext() {
+    }
+
+    public static void set(String ipAddress, String userAgent) {
+        CURRENT.set(new Client(ipAddress, userAgent));
+    }
+
+    public static Client current() {
+        Client client = CURRENT.get();
+        return client != null ? client : Client.NONE;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public record Client(String ipAddress, String userAgent) {
+
+        static final Client NONE = new Client(null, null);
+    }
+}
@@ -0,0 +1,445 @@
+package com.interswitch.core.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interswitch.infra.audit.AuditRollupRepository;
+import com.interswitch.infra.repositories.AuditRetentionRunRepository;
+import com.interswitch.model.converters.AuditDictionary;
+import com.interswitch.model.converters.AuditValueCodec;
+import com.interswitch.model.entities.AuditRetentionRun;
+import com.interswitch.model.enums.RetentionRunStatus;
+import com.interswitch.shared.exceptions.ApiException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Purges audit logs older than the retention cutoff without one long-running DELETE. Expired rows are walked
+// in (created_at, id) keyset chunks; each chunk is appended to a compressed archive file and fsynced, then
+// deleted by primary key in a short transaction that also subtracts them from the hourly rollups and
+// checkpoints the keyset cursor and the archive length.
+// Between chunks the job sleeps for a pause that adapts to delete latency, audit writer lag and, when a probe
+// is configured, replication lag. An interrupted run resumes from its checkpoint on the next start. Runs are
+// claimed with a database lease renewed at every checkpoint, so only one node works a run at a time and
+// another node takes it over only once the owner has stopped checkpointing for lease-ms; the database also
+// allows a single RUNNING run. Archive files are written to the owner's directory; a node that takes over a
+// run whose file it cannot see starts a new file, recorded in the run, so one run's archive may be split
+// across the nodes that worked it. A chunk the previous owner archived but did not purge is archived again.
+@Service
+@Slf4j
+public class AuditRetentionService {
+
+    private static final String SELECT_EXPIRED = "SELECT id, created_at, wallet_id, action_code, entity_type_code, "
+            + "entity_id, old_values, new_values, performed_by, ip_address, user_agent FROM wallet_audit_logs "
+            + "WHERE created_at < ? AND (created_at > ? OR (created_at = ? AND id > ?)) "
+            + "ORDER BY created_at, id LIMIT ?";
+    private static final LocalDateTime KEYSET_START_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID KEYSET_START_ID = new UUID(0, 0);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final AuditRetentionRunRepository runRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditDictionary auditDictionary;
+    private final AuditRollupRepository rollupRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${wallet.audit.retention.retain-days:365}")
+    private int retainDays;
+
+    // Must exceed a chunk plus max-pause-ms, or a slow owner loses its run to another node
+    @Value("${wallet.audit.retention.lease-ms:60000}")
+    private long leaseMillis;
+
+    @Value("${wallet.audit.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${wallet.audit.retention.directory:data/audit-archive}")
+    private String directory;
+
+    @Value("${wallet.audit.retention.base-pause-ms:100}")
+    private long basePauseMillis;
+
+    @Value("${wallet.audit.retention.max-pause-ms:10000}")
+    private long maxPauseMillis;
+
+    @Value("${wallet.audit.retention.target-batch-ms:200}")
+    private long targetBatchMillis;
+
+    @Value("${wallet.audit.retention.max-writer-lag-ms:500}")
+    private long maxWriterLagMillis;
+
+    @Value("${wallet.audit.retention.max-replication-lag-ms:2000}")
+    private long maxReplicationLagMillis;
+
+    // Optional query returning replica lag in seconds, e.g. against a heartbeat table
+    @Value("${wallet.audit.retention.replication-lag-sql:}")
+    private String replicationLagSql;
+
+    public AuditRetentionService(AuditRetentionRunRepository runRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 AuditDictionary auditDictionary,
+                                 AuditRollupRepository rollupRepository,
+                                 AuditLogWriter auditLogWriter,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.runRepository = runRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditDictionary = auditDictionary;
+        this.rollupRepository = rollupRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${wallet.audit.retention.cron:-}")
+    public void purgeExpired() {
+        if (running.get()) {
+            log.info("Skipping scheduled audit retention; a run is already in progress");
+            return;
+        }
+        startRun(null);
+    }
+
+    // Starts a run for the given cutoff (the configured retention when null), or resumes an interrupted one;
+    // an interrupted run with a different cutoff has to finish first
+    public AuditRetentionRun startRun(LocalDateTime cutoff) {
+        LocalDateTime now = LocalDateTime.now();
+        if (cutoff != null && cutoff.isAfter(now)) {
+            throw ApiException.builder()
+                .message("Invalid retention cutoff")
+                .description("Retention cutoff must not be in the future: " + cutoff)
+                .status(400)
+                .build();
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw ApiException.builder()
+                .message("Audit retention in progress")
+                .description("An audit retention run is already in progress")
+                .status(409)
+                .build();
+        }
+
+        AuditRetentionRun run;
+        try {
+            run = transactionTemplate.execute(status -> claim(cutoff, now));
+        } catch (DataIntegrityViolationException e) {
+            running.set(false);
+            throw ApiException.builder()
+                .message("Audit retention in progress")
+                .description("An audit retention run was started on another node")
+                .status(409)
+                .build();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+
+        AuditRetentionRun started = run;
+        runner.submit(() -> {
+            try {
+                execute(started);
+            } finally {
+                running.set(false);
+            }
+        });
+        log.info("Audit retention run {} started (cutoff: {}, resuming after: {} {})",
+            run.getId(), run.getCutoff(), run.getLastCreatedAt(), run.getLastAuditId());
+        return run;
+    }
+
+    public AuditRetentionRun getRun(UUID runId) {
+        return runRepository.findById(runId)
+            .orElseThrow(() -> ApiException.builder()
+                .message("Audit retention run not found")
+                .description("Audit retention run not found for ID: " + runId)
+                .status(404)
+                .build());
+    }
+
+    public Page<AuditRetentionRun> getRuns(Pageable pageable) {
+        return runRepository.findAllByOrderByStartedAtDesc(pageable);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    // Helper methods
+    private AuditRetentionRun claim(LocalDateTime cutoff, LocalDateTime now) {
+        Optional<AuditRetentionRun> interrupted =
+            runRepository.findFirstByStatusOrderByStartedAtDesc(RetentionRunStatus.RUNNING);
+        if (interrupted.isEmpty()) {
+            return runRepository.saveAndFlush(AuditRetentionRun.builder()
+                .status(RetentionRunStatus.RUNNING)
+                .cutoff(cutoff != null ? cutoff : now.minusDays(retainDays))
+                .archiveFile(archiveFileName(now))
+                .startedAt(now)
+                .ownerNode(nodeId)
+                .heartbeatAt(now)
+                .build());
+        }
+
+        AuditRetentionRun run = interrupted.get();
+        if (cutoff != null && !cutoff.equals(run.getCutoff())) {
+            throw ApiException.builder()
+                .message("Audit retention in progress")
+                .description("Interrupted audit retention run " + run.getId() + " with cutoff " + run.getCutoff()
+                    + " must be resumed first")
+                .status(409)
+                .build();
+        }
+        if (!renewLease(run, now)) {
+            throw ApiException.builder()
+                .message("Audit retention in progress")
+                .description("Audit retention run " + run.getId() + " is in progress on another node")
+                .status(409)
+                .build();
+        }
+        return run;
+    }
+
+    // Takes or renews this node's lease on the run; false once another node holds it
+    private boolean renewLease(AuditRetentionRun run, LocalDateTime now) {
+        if (runRepository.claimLease(run.getId(), nodeId, now, now.minus(leaseMillis, ChronoUnit.MILLIS),
+                RetentionRunStatus.RUNNING) == 0) {
+            return false;
+        }
+        run.setOwnerNode(nodeId);
+        run.setHeartbeatAt(now);
+        return true;
+    }
+
+    // Saves the finished run unless another node has taken it over
+    private AuditRetentionRun finish(AuditRetentionRun run) {
+        return transactionTemplate.execute(status -> {
+            if (!renewLease(run, LocalDateTime.now())) {
+                throw new LeaseLostException(run.getId());
+            }
+            return runRepository.save(run);
+        });
+    }
+
+    // A run resumed without its archive file on this node continues in a new file from the current cursor
+    private AuditRetentionRun startNewArchiveIfMissing(AuditRetentionRun run) throws IOException {
+        if (AuditArchiveFile.isResumable(Paths.get(directory).resolve(run.getArchiveFile()), run.getArchiveBytes())) {
+            return run;
+        }
+        String previous = run.getArchiveFile();
+        run.setArchiveFile(archiveFileName(LocalDateTime.now()));
+        run.setArchiveBytes(0L);
+        AuditRetentionRun saved = transactionTemplate.execute(status -> {
+            if (!renewLease(run, LocalDateTime.now())) {
+                throw new LeaseLostException(run.getId());
+            }
+            return runRepository.save(run);
+        });
+        log.warn("Audit retention run {} archive {} is not on this node; archiving from {} {} to {}",
+            run.getId(), previous, run.getLastCreatedAt(), run.getLastAuditId(), saved.getArchiveFile());
+        return saved;
+    }
+
+    private String archiveFileName(LocalDateTime now) {
+        // The node suffix keeps two nodes' files apart when they share a directory
+        return "audit-" + now.format(FILE_TIMESTAMP) + "-" + nodeId.substring(0, 8) + ".jsonl.gz";
+    }
+
+    private void execute(AuditRetentionRun run) {
+        RetentionThrottle throttle = new RetentionThrottle(basePauseMillis, maxPauseMillis, targetBatchMillis,
+                maxWriterLagMillis, maxReplicationLagMillis);
+        LocalDateTime lastCreatedAt = run.getLastCreatedAt() != null ? run.getLastCreatedAt() : KEYSET_START_TIME;
+        UUID lastId = run.getLastAuditId() != null ? run.getLastAuditId() : KEYSET_START_ID;
+        Path archive = Paths.get(directory).resolve(run.getArchiveFile());
+
+        try {
+            run = startNewArchiveIfMissing(run);
+            archive = Paths.get(directory).resolve(run.getArchiveFile());
+            while (!Thread.currentThread().isInterrupted()) {
+                List<ExpiredRow> rows = jdbcTemplate.query(SELECT_EXPIRED, this::mapRow,
+                        Timestamp.valueOf(run.getCutoff()), Timestamp.valueOf(lastCreatedAt),
+                        Timestamp.valueOf(lastCreatedAt), bytes(lastId), chunkSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                List<String> lines = new ArrayList<>(rows.size());
+                for (ExpiredRow row : rows) {
+                    lines.add(row.json());
+                }
+                long archiveBytes = AuditArchiveFile.append(archive, run.getArchiveBytes(), lines);
+
+                ExpiredRow last = rows.get(rows.size() - 1);
+                AuditRetentionRun checkpoint = run;
+                long startedNanos = System.nanoTime();
+                run = transactionTemplate.execute(status -> {
+                    if (!renewLease(checkpoint, LocalDateTime.now())) {
+                        throw new LeaseLostException(checkpoint.getId());
+                    }
+                    int purged = delete(rows);
+                    rollupRepository.increment(rollbacks(rows));
+                    checkpoint.setLastCreatedAt(last.createdAt());
+                    checkpoint.setLastAuditId(last.id());
+                    checkpoint.setRowsPurged(checkpoint.getRowsPurged() + purged);
+                    checkpoint.setBatches(checkpoint.getBatches() + 1);
+                    checkpoint.setArchiveBytes(archiveBytes);
+                    return runRepository.save(checkpoint);
+                });
+                long batchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+                lastCreatedAt = last.createdAt();
+                lastId = last.id();
+
+                Thread.sleep(throttle.next(batchMillis, auditLogWriter.getLagMillis(), replicationLagMillis()));
+            }
+
+            run.setStatus(RetentionRunStatus.COMPLETED);
+            run.setCompletedAt(LocalDateTime.now());
+            run = finish(run);
+            log.info("Audit retention run {} completed: {} audit logs purged in {} batches, archived to {} ({} bytes)",
+                run.getId(), run.getRowsPurged(), run.getBatches(), archive, run.getArchiveBytes());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Audit retention run {} interrupted after {} {}; it will resume on the next start",
+                run.getId(), run.getLastCreatedAt(), run.getLastAuditId());
+        } catch (LeaseLostException e) {
+            log.warn("Audit retention run {} was taken over by another node after {} {}",
+                run.getId(), run.getLastCreatedAt(), run.getLastAuditId());
+        } catch (IOException | RuntimeException e) {
+            log.error("Audit retention run {} failed after {} {}", run.getId(), run.getLastCreatedAt(),
+                run.getLastAuditId(), e);
+            run.setStatus(RetentionRunStatus.FAILED);
+            run.setFailureReason(e.getMessage());
+            run.setCompletedAt(LocalDateTime.now());
+            try {
+                finish(run);
+            } catch (LeaseLostException lost) {
+                log.warn("Audit retention run {} was taken over by another node; not marking it failed", run.getId());
+            }
+        }
+    }
+
+    private int delete(List<ExpiredRow> rows) {
+        String placeholders = String.join(", ", Collections.nCopies(rows.size(), "?"));
+        Object[] ids = new Object[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = bytes(rows.get(i).id());
+        }
+        return jdbcTemplate.update("DELETE FROM wallet_audit_logs WHERE id IN (" + placeholders + ")", ids);
+    }
+
+    // Negative rollup deltas for the purged rows, so statistics stop counting them
+    private static List<AuditRollupRepository.Delta> rollbacks(List<ExpiredRow> rows) {
+        Map<List<Object>, Long> counts = new HashMap<>();
+        for (ExpiredRow row : rows) {
+            counts.merge(List.of(AuditRollupRepository.bucketOf(row.createdAt()), row.walletId(), row.action(),
+                    row.entityType(), row.performedBy()), -1L, Long::sum);
+        }
+        List<AuditRollupRepository.Delta> deltas = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> deltas.add(new AuditRollupRepository.Delta((LocalDateTime) key.get(0),
+                (UUID) key.get(1), (String) key.get(2), (String) key.get(3), (UUID) key.get(4), count)));
+        return deltas;
+    }
+
+    private long replicationLagMillis() {
+        if (replicationLagSql == null || replicationLagSql.isBlank()) {
+            return -1;
+        }
+        try {
+            Double seconds = jdbcTemplate.queryForObject(replicationLagSql, Double.class);
+            return seconds != null ? (long) (seconds * 1000) : -1;
+        } catch (RuntimeException e) {
+            // An unreadable probe counts as lagging so the job backs off instead of running blind
+            log.warn("Replication lag probe failed: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private ExpiredRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        UUID id = uuid(rs.getBytes("id"));
+        LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+        UUID walletId = uuid(rs.getBytes("wallet_id"));
+        String action = auditDictionary.decode(rs.getShort("action_code"));
+        String entityType = auditDictionary.decode(rs.getShort("entity_type_code"));
+        UUID performedBy = uuid(rs.getBytes("performed_by"));
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("id", id);
+        document.put("createdAt", createdAt.toString());
+        document.put("walletId", walletId);
+        document.put("action", action);
+        document.put("entityType", entityType);
+        document.put("entityId", uuid(rs.getBytes("entity_id")));
+        document.put("oldValues", AuditValueCodec.decode(rs.getString("old_values")));
+        document.put("newValues", AuditValueCodec.decode(rs.getString("new_values")));
+        document.put("performedBy", performedBy);
+        document.put("ipAddress", rs.getString("ip_address"));
+        document.put("userAgent", rs.getString("user_agent"));
+
+        try {
+            return new ExpiredRow(id, createdAt, walletId, action, entityType, performedBy,
+                    objectMapper.writeValueAsString(document));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize audit log " + id, e);
+        }
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private record ExpiredRow(UUID id, LocalDateTime createdAt, UUID walletId, String action, String entityType,
+                              UUID performedBy, String json) {
+    }
+
+    private static final class LeaseLostException extends IllegalStateException {
+
+        LeaseLostException(UUID runId) {
+            super("Lease on audit retention run " + runId + " was taken by another node");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.interswitch.core.audit;
+
+import com.interswitch.infra.audit.AuditRollupRepository;
+import com.interswitch.infra.audit.AuditRollupRepository.Dimension;
+import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Audit statistics from hourly rollups. Whole hours inside the requested period are read from the rollups
+// (per wallet when filtered by wallet, otherwise the global ones; see AuditRollupRepository); only the partial
+// hours at either end (including the current one) are counted from wallet_audit_logs. Results are cached briefly per (walletId, startDate, endDate) request.
+@Service
+@Slf4j
+public class AuditStatisticsService {
+
+    private final WalletAuditLogRepository auditLogRepository;
+    private final AuditRollupRepository rollupRepository;
+    private final long cacheTtlNanos;
+    private final int cacheMaxEntries;
+    private final Map<CacheKey, CachedStatistics> cache = new ConcurrentHashMap<>();
+
+    public AuditStatisticsService(WalletAuditLogRepository auditLogRepository,
+                                  AuditRollupRepository rollupRepository,
+                                  @Value("${wallet.audit.statistics.cache-ttl-seconds:30}") long cacheTtlSeconds,
+                                  @Value("${wallet.audit.statistics.cache-max-entries:1000}") int cacheMaxEntries) {
+        this.auditLogRepository = auditLogRepository;
+        this.rollupRepository = rollupRepository;
+        this.cacheTtlNanos = TimeUnit.SECONDS.toNanos(cacheTtlSeconds);
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public Map<String, Object> getStatistics(UUID walletId, LocalDateTime startDate, LocalDateTime endDate) {
+        CacheKey key = new CacheKey(walletId, startDate, endDate);
+        long now = System.nanoTime();
+        CachedStatistics cached = cache.get(key);
+        if (cached != null && now < cached.expiresAt()) {
+            return cached.statistics();
+        }
+
+        Map<String, Object> statistics = compute(walletId, startDate, endDate);
+        if (cache.size() >= cacheMaxEntries) {
+            cache.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (cache.size() >= cacheMaxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(key, new CachedStatistics(statistics, now + cacheTtlNanos));
+        return statistics;
+    }
+
+    // Helper methods
+    private Map<String, Object> compute(UUID walletId, LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = startDate != null ? startDate : now.minusMonths(1);
+        LocalDateTime end = endDate != null ? endDate : now;
+
+        Tally tally = new Tally();
+        LocalDateTime firstBucket = AuditRollupRepository.bucketOf(start);
+        if (firstBucket.isBefore(start)) {
+            firstBucket = firstBucket.plusHours(1);
+        }
+        LocalDateTime lastBucket = AuditRollupRepository.bucketOf(end.isBefore(now) ? end : now);
+
+        if (firstBucket.isBefore(lastBucket)) {
+            tally.addRollups(Dimension.ACTION, tally.actions, walletId, firstBucket, lastBucket);
+            tally.addRollups(Dimension.ENTITY_TYPE, tally.entityTypes, walletId, firstBucket, lastBucket);
+            tally.addRollups(Dimension.PERFORMED_BY, tally.users, walletId, firstBucket, lastBucket);
+            tally.addRollups(Dimension.DAY, tally.daily, walletId, firstBucket, lastBucket);
+            if (start.isBefore(firstBucket)) {
+                tally.addRaw(walletId, start, firstBucket.minusNanos(1_000));
+            }
+            if (!lastBucket.isAfter(end)) {
+                tally.addRaw(walletId, lastBucket, end);
+            }
+        } else {
+            tally.addRaw(walletId, start, end);
+        }
+
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("period", Map.of(
+            "startDate", start,
+            "endDate", end
+        ));
+        statistics.put("totalCount", tally.daily.values().stream().mapToLong(Long::longValue).sum());
+        statistics.put("actionStatistics", tally.actions);
+        statistics.put("entityTypeStatistics", tally.entityTypes);
+        statistics.put("userActivityStatistics", tally.users);
+        statistics.put("dailyActivity", tally.daily);
+        return statistics;
+    }
+
+    private final class Tally {
+        final Map<String, Long> actions = new HashMap<>();
+        final Map<String, Long> entityTypes = new HashMap<>();
+        final Map<String, Long> users = new HashMap<>();
+        final Map<String, Long> daily = new TreeMap<>();
+
+        void addRollups(Dimension dimension, Map<String, Long> target, UUID walletId,
+                        LocalDateTime fromBucket, LocalDateTime toBucket) {
+            rollupRepository.countBy(dimension, walletId, fromBucket, toBucket)
+                .forEach((value, count) -> target.merge(value, count, Long::sum));
+        }
+
+        void addRaw(UUID walletId, LocalDateTime from, LocalDateTime to) {
+            List<Object[]> rows = auditLogRepository.countActivityBetween(walletId, from, to);
+            for (Object[] row : rows) {
+                long count = (Long) row[4];
+                actions.merge((String) row[0], count, Long::sum);
+                entityTypes.merge((String) row[1], count, Long::sum);
+                users.merge(row[2].toString(), count, Long::sum);
+                daily.merge(row[3].toString(), count, Long::sum);
+            }
+        }
+    }
+
+    private record CacheKey(UUID walletId, LocalDateTime startDate, LocalDateTime endDate) {
+    }
+
+    private record CachedStatistics(Map<String, Object> statistics, long expiresAt) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.interswitch.core.audit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+// Space-Saving summary of the most frequent keys in a stream. At most capacity counters are kept; a new key
+// takes over the smallest counter and inherits its count as error, so every tracked count overestimates the
+// true one by at most its error and any key seen more than total / capacity times is guaranteed to be tracked.
+// Not thread-safe.
+public class HeavyHitterSketch<K> {
+
+    private final int capacity;
+    private final Map<K, long[]> counters;
+
+    public HeavyHitterSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void add(K key) {
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0]++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{1, 0});
+            return;
+        }
+
+        K smallest = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<K, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < min) {
+                min = entry.getValue()[0];
+                smallest = entry.getKey();
+            }
+        }
+        counter = counters.remove(smallest);
+        counter[0] = min + 1;
+        counter[1] = min;
+        counters.put(key, counter);
+    }
+
+    // Bound on the count of any key that is not tracked
+    public long minCount() {
+        if (counters.size() < capacity) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        for (long[] counter : counters.values()) {
+            min = Math.min(min, counter[0]);
+        }
+        return min;
+    }
+
+    // Visits every tracked key with its estimated count and error
+    public void forEach(BiConsumer<K, long[]> action) {
+        counters.forEach((key, counter) -> action.accept(key, new long[]{counter[0], counter[1]}));
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public void clear() {
+        counters.clear();
+    }
+}
@@ -0,0 +1,44 @@
+package com.interswitch.core.audit;
+
+// Pause between audit retention batches. The pause doubles (up to the maximum) whenever the last purge batch
+// ran past its target, the audit writer is lagging behind its inserts or replicas are behind, and then
+// halves its excess over the base pause for every healthy batch, so retention backs off quickly under load
+// and only creeps back up to full speed.
+public class RetentionThrottle {
+
+    private static final long MIN_BACKOFF_MILLIS = 10;
+
+    private final long basePauseMillis;
+    private final long maxPauseMillis;
+    private final long targetBatchMillis;
+    private final long maxWriterLagMillis;
+    private final long maxReplicationLagMillis;
+    private long pauseMillis;
+
+    public RetentionThrottle(long basePauseMillis, long maxPauseMillis, long targetBatchMillis,
+                             long maxWriterLagMillis, long maxReplicationLagMillis) {
+        this.basePauseMillis = basePauseMillis;
+        this.maxPauseMillis = Math.max(maxPauseMillis, basePauseMillis);
+        this.targetBatchMillis = targetBatchMillis;
+        this.maxWriterLagMillis = maxWriterLagMillis;
+        this.maxReplicationLagMillis = maxReplicationLagMillis;
+        this.pauseMillis = basePauseMillis;
+    }
+
+    // Replication lag is negative when it is not being measured
+    public long next(long batchMillis, long writerLagMillis, long replicationLagMillis) {
+        boolean overloaded = batchMillis > targetBatchMillis
+                || writerLagMillis > maxWriterLagMillis
+                || replicationLagMillis > maxReplicationLagMillis;
+        if (overloaded) {
+            pauseMillis = Math.min(maxPauseMillis, Math.max(pauseMillis, MIN_BACKOFF_MILLIS) * 2);
+        } else {
+            pauseMillis = Math.max(basePauseMillis, pauseMillis - (pauseMillis - basePauseMillis + 1) / 2);
+        }
+        return pauseMillis;
+    }
+
+    public long getPauseMillis() {
+        return pauseMillis;
+    }
+}
@@ -0,0 +1,127 @@
+package com.interswitch.core.debit;
+
+import com.interswitch.core.freeze.FreezeIndex;
+import com.interswitch.core.limit.LimitPeriods;
+import com.interswitch.core.limit.RollingLimitTracker;
+import com.interswitch.infra.debit.DebitEligibilityRepository;
+import com.interswitch.model.dtos.response.DebitEligibilityResponse;
+import com.interswitch.model.enums.DebitDeclineReason;
+import com.interswitch.model.enums.FreezeType;
+import com.interswitch.model.enums.LimitType;
+import com.interswitch.model.enums.WalletStatus;
+import com.interswitch.shared.exceptions.ApiException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Single debit pre-check: wallet status, freezes, balance net of frozen funds and every active limit, decided
+// together with all reasons. Status, balance and limits come from one joined query; freezes come from the
+// in-memory FreezeIndex, or from the same query while the index is still loading. Rolling limits are checked
+// against RollingLimitTracker usage, period limits against their usage in the current period (see LimitPeriods).
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DebitGate {
+
+    private final DebitEligibilityRepository eligibilityRepository;
+    private final FreezeIndex freezeIndex;
+    private final RollingLimitTracker rollingLimitTracker;
+
+    public DebitEligibilityResponse evaluate(UUID walletId, BigDecimal amount) {
+        boolean indexed = freezeIndex.isLoaded();
+        Optional<DebitEligibilityRepository.Snapshot> found = eligibilityRepository.find(walletId, !indexed);
+        if (found.isEmpty()) {
+            return DebitEligibilityResponse.builder()
+                .walletId(walletId)
+                .amount(amount)
+                .eligible(false)
+                .reasons(List.of(DebitDeclineReason.WALLET_NOT_FOUND))
+                .checkedLimits(List.of())
+                .exceededLimits(List.of())
+                .build();
+        }
+
+        DebitEligibilityRepository.Snapshot snapshot = found.get();
+        boolean fullyFrozen = indexed ? freezeIndex.isFrozen(walletId, FreezeType.FULL) : snapshot.fullyFrozen();
+        BigDecimal frozenAmount = indexed ? freezeIndex.getTotalFrozenAmount(walletId) : snapshot.frozenAmount();
+        BigDecimal availableBalance = snapshot.availableBalance() != null ? snapshot.availableBalance() : BigDecimal.ZERO;
+        BigDecimal effectiveAvailable = availableBalance.subtract(frozenAmount);
+
+        List<DebitDeclineReason> reasons = new ArrayList<>();
+        if (snapshot.status() != WalletStatus.ACTIVE) {
+            reasons.add(DebitDeclineReason.WALLET_NOT_ACTIVE);
+        }
+        if (fullyFrozen) {
+            reasons.add(DebitDeclineReason.WALLET_FROZEN);
+        }
+        if (effectiveAvailable.compareTo(amount) < 0) {
+            reasons.add(DebitDeclineReason.INSUFFICIENT_BALANCE);
+        }
+        LocalDate today = LocalDate.now();
+        List<LimitType> checkedLimits = new ArrayList<>();
+        List<LimitType> exceededLimits = new ArrayList<>();
+        for (DebitEligibilityRepository.Limit limit : snapshot.limits()) {
+            checkedLimits.add(limit.limitType());
+            BigDecimal currentUsage = RollingLimitTracker.isRolling(limit.limitType())
+                ? rollingLimitTracker.getUsage(walletId, limit.limitType())
+                : LimitPeriods.currentUsage(limit.limitType(), limit.currentUsage(), limit.usageEpoch(), today);
+            if (currentUsage.add(amount).compareTo(limit.limitAmount()) > 0) {
+                exceededLimits.add(limit.limitType());
+            }
+        }
+        if (!exceededLimits.isEmpty()) {
+            reasons.add(DebitDeclineReason.LIMIT_EXCEEDED);
+        }
+
+        return DebitEligibilityResponse.builder()
+            .walletId(walletId)
+            .amount(amount)
+            .eligible(reasons.isEmpty())
+            .reasons(reasons)
+            .checkedLimits(checkedLimits)
+            .exceededLimits(exceededLimits)
+            .walletStatus(snapshot.status())
+            .availableBalance(availableBalance)
+            .frozenAmount(frozenAmount)
+            .effectiveAvailableBalance(effectiveAvailable)
+            .build();
+    }
+
+    // Throws unless the debit is allowed; a shortfall alone keeps the existing insufficient-balance error
+    public DebitEligibilityResponse check(UUID walletId, BigDecimal amount) {
+        DebitEligibilityResponse decision = evaluate(walletId, amount);
+        if (decision.isEligible()) {
+            return decision;
+        }
+
+        List<DebitDeclineReason> reasons = decision.getReasons();
+        log.info("Debit of {} declined for wallet {}: {} {}", amount, walletId, reasons, decision.getExceededLimits());
+        if (reasons.contains(DebitDeclineReason.WALLET_NOT_FOUND)) {
+            throw ApiException.builder()
+                .message("Wallet not found")
+                .description("Wallet not found for ID: " + walletId)
+                .status(404)
+                .build();
+        }
+        if (reasons.equals(List.of(DebitDeclineReason.INSUFFICIENT_BALANCE))) {
+            throw ApiException.builder()
+                .message("Insufficient balance")
+                .description("Insufficient available balance for wallet ID: " + walletId)
+                .status(400)
+                .build();
+        }
+        throw ApiException.builder()
+            .message("Debit declined")
+            .description("Debit declined for wallet ID: " + walletId + " " + reasons
+                + (decision.getExceededLimits().isEmpty() ? "" : " " + decision.getExceededLimits()))
+            .status(403)
+            .build();
+    }
+}
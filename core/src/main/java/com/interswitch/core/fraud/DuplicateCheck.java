@@ -0,0 +1,41 @@
+package com.interswitch.core.fraud;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DuplicateCheck {
+
+    public enum Verdict {
+        // No matching fingerprint in the window
+        UNIQUE,
+        // Bloom filter hit outside the exact horizon; may be a false positive
+        SUSPECTED,
+        // Exact fingerprint match within the short horizon
+        DUPLICATE
+    }
+
+    static final DuplicateCheck UNIQUE = new DuplicateCheck(Verdict.UNIQUE, null, false);
+
+    private final Verdict verdict;
+    private final UUID originalTransactionId;
+    private final boolean hold;
+
+    static DuplicateCheck suspected() {
+        return new DuplicateCheck(Verdict.SUSPECTED, null, false);
+    }
+
+    static DuplicateCheck duplicate(UUID originalTransactionId, boolean hold) {
+        return new DuplicateCheck(Verdict.DUPLICATE, originalTransactionId, hold);
+    }
+
+    public boolean isFlagged() {
+        return verdict != Verdict.UNIQUE;
+    }
+}
@@ -0,0 +1,130 @@
+package com.interswitch.core.fraud;
+
+import com.interswitch.model.enums.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Screens new transactions against recently seen (wallet, amount, type, reference) fingerprints without
+// touching the database. A sliding Bloom filter covers the whole window; an exact map covers a shorter
+// horizon and identifies the original transaction. Check and record are not atomic: a fingerprint is only
+// recorded once its transaction commits, so concurrent submissions of the same fingerprint on one node, or
+// any repeat on another node, pass as unique. The detector is a screen, not a guarantee; callers that need
+// exactly-once posting rely on the unique external transaction ID.
+@Component
+@Slf4j
+public class DuplicateTransactionDetector {
+
+    private final boolean enabled;
+    private final long exactHorizonMillis;
+    private final int maxExactEntries;
+    private final boolean holdExactMatches;
+    private final SlidingBloomFilter bloomFilter;
+    private final Map<Fingerprint, Seen> recent = new ConcurrentHashMap<>();
+
+    public DuplicateTransactionDetector(
+            @Value("${wallet.duplicate-detection.enabled:true}") boolean enabled,
+            @Value("${wallet.duplicate-detection.window-seconds:600}") long windowSeconds,
+            @Value("${wallet.duplicate-detection.exact-horizon-seconds:120}") long exactHorizonSeconds,
+            @Value("${wallet.duplicate-detection.bloom-slices:6}") int bloomSlices,
+            @Value("${wallet.duplicate-detection.bloom-bits-per-slice:1048576}") int bloomBitsPerSlice,
+            @Value("${wallet.duplicate-detection.bloom-hashes:4}") int bloomHashes,
+            @Value("${wallet.duplicate-detection.max-exact-entries:200000}") int maxExactEntries,
+            @Value("${wallet.duplicate-detection.hold-exact-matches:true}") boolean holdExactMatches) {
+        this.enabled = enabled;
+        this.exactHorizonMillis = exactHorizonSeconds * 1000;
+        this.maxExactEntries = maxExactEntries;
+        this.holdExactMatches = holdExactMatches;
+        this.bloomFilter = new SlidingBloomFilter(windowSeconds * 1000, bloomSlices, bloomBitsPerSlice, bloomHashes);
+    }
+
+    public DuplicateCheck check(UUID walletId, BigDecimal amount, TransactionType type, String referenceId) {
+        return check(walletId, amount, type, referenceId, System.currentTimeMillis());
+    }
+
+    public DuplicateCheck check(UUID walletId, BigDecimal amount, TransactionType type, String referenceId, long nowMillis) {
+        if (!enabled) {
+            return DuplicateCheck.UNIQUE;
+        }
+        Fingerprint fingerprint = Fingerprint.of(walletId, amount, type, referenceId);
+        Seen seen = recent.get(fingerprint);
+        if (seen != null && nowMillis - seen.seenAt() <= exactHorizonMillis) {
+            // Without a reference, identical amounts are often legitimate repeats, so they are only flagged
+            return DuplicateCheck.duplicate(seen.transactionId(), holdExactMatches && referenceId != null);
+        }
+        if (bloomFilter.mightContain(fingerprint.hash(), nowMillis)) {
+            return DuplicateCheck.suspected();
+        }
+        return DuplicateCheck.UNIQUE;
+    }
+
+    // Inside a transaction the fingerprint is recorded once that transaction commits, so a rolled back
+    // submission cannot flag its own retry
+    public void record(UUID transactionId, UUID walletId, BigDecimal amount, TransactionType type, String referenceId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(transactionId, walletId, amount, type, referenceId, System.currentTimeMillis());
+                }
+            });
+            return;
+        }
+        record(transactionId, walletId, amount, type, referenceId, System.currentTimeMillis());
+    }
+
+    public void record(UUID transactionId, UUID walletId, BigDecimal amount, TransactionType type, String referenceId,
+                       long nowMillis) {
+        if (!enabled) {
+            return;
+        }
+        Fingerprint fingerprint = Fingerprint.of(walletId, amount, type, referenceId);
+        bloomFilter.put(fingerprint.hash(), nowMillis);
+        if (recent.size() < maxExactEntries) {
+            recent.put(fingerprint, new Seen(transactionId, nowMillis));
+        } else {
+            log.debug("Exact duplicate map is full; fingerprint for {} tracked by Bloom filter only", transactionId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.duplicate-detection.eviction-interval-ms:30000}")
+    public void evictExpired() {
+        evictExpired(System.currentTimeMillis());
+    }
+
+    public void evictExpired(long nowMillis) {
+        recent.values().removeIf(seen -> nowMillis - seen.seenAt() > exactHorizonMillis);
+    }
+
+    public int exactEntries() {
+        return recent.size();
+    }
+
+    record Seen(UUID transactionId, long seenAt) {
+    }
+
+    record Fingerprint(UUID walletId, BigDecimal amount, TransactionType type, String referenceId) {
+
+        static Fingerprint of(UUID walletId, BigDecimal amount, TransactionType type, String referenceId) {
+            // Normalise scale so 100, 100.0 and 100.00000000 fingerprint the same
+            return new Fingerprint(walletId, amount != null ? amount.stripTrailingZeros() : null, type, referenceId);
+        }
+
+        long hash() {
+            long h = SlidingBloomFilter.mix(walletId.getMostSignificantBits());
+            h = SlidingBloomFilter.mix(h ^ walletId.getLeastSignificantBits());
+            h = SlidingBloomFilter.mix(h ^ Objects.hashCode(amount));
+            h = SlidingBloomFilter.mix(h ^ (type != null ? type.ordinal() + 1 : 0));
+            return SlidingBloomFilter.mix(h ^ Objects.hashCode(referenceId));
+        }
+    }
+}
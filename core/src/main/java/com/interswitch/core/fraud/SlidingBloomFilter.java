@@ -0,0 +1,101 @@
+package com.interswitch.core.fraud;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Time-sliced Bloom filter. The window is split into a ring of slices; inserts go into the slice for the
+// current time and lookups consult every slice still inside the window, so old fingerprints age out by
+// clearing a whole slice instead of deleting entries.
+public class SlidingBloomFilter {
+
+    private final int slices;
+    private final long sliceMillis;
+    private final int hashes;
+    private final int mask;
+    private final AtomicLongArray[] bits;
+    private final AtomicLongArray sliceEpochs;
+
+    public SlidingBloomFilter(long windowMillis, int slices, int bitsPerSlice, int hashes) {
+        if (Integer.bitCount(bitsPerSlice) != 1 || bitsPerSlice < 64) {
+            throw new IllegalArgumentException("bitsPerSlice must be a power of two >= 64");
+        }
+        this.slices = slices;
+        this.sliceMillis = Math.max(1, windowMillis / slices);
+        this.hashes = hashes;
+        this.mask = bitsPerSlice - 1;
+        this.bits = new AtomicLongArray[slices];
+        this.sliceEpochs = new AtomicLongArray(slices);
+        for (int i = 0; i < slices; i++) {
+            bits[i] = new AtomicLongArray(bitsPerSlice / 64);
+            sliceEpochs.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    public void put(long fingerprint, long nowMillis) {
+        AtomicLongArray slice = currentSlice(nowMillis);
+        long h1 = fingerprint;
+        long h2 = mix(fingerprint ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) ((h1 + i * h2) & mask);
+            int word = bit >>> 6;
+            long flag = 1L << (bit & 63);
+            long current;
+            do {
+                current = slice.get(word);
+            } while ((current & flag) == 0 && !slice.compareAndSet(word, current, current | flag));
+        }
+    }
+
+    public boolean mightContain(long fingerprint, long nowMillis) {
+        long epoch = nowMillis / sliceMillis;
+        long h1 = fingerprint;
+        long h2 = mix(fingerprint ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int s = 0; s < slices; s++) {
+            long sliceEpoch = sliceEpochs.get(s);
+            if (sliceEpoch <= epoch - slices || sliceEpoch > epoch) {
+                continue;
+            }
+            if (containsIn(bits[s], h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // Helper methods
+    private boolean containsIn(AtomicLongArray slice, long h1, long h2) {
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) ((h1 + i * h2) & mask);
+            if ((slice.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private AtomicLongArray currentSlice(long nowMillis) {
+        long epoch = nowMillis / sliceMillis;
+        int index = (int) Math.floorMod(epoch, (long) slices);
+        if (sliceEpochs.get(index) != epoch) {
+            synchronized (this) {
+                if (sliceEpochs.get(index) != epoch) {
+                    AtomicLongArray slice = bits[index];
+                    for (int i = 0; i < slice.length(); i++) {
+                        slice.set(i, 0L);
+                    }
+                    sliceEpochs.set(index, epoch);
+                }
+            }
+        }
+        return bits[index];
+    }
+}
@@ -0,0 +1,259 @@
+package com.interswitch.core.fraud;
+
+import com.interswitch.model.dtos.response.VelocityResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Streaming per-wallet velocity counters. Every configured window is a ring of time buckets with running
+// totals; advancing the ring subtracts only the buckets that fell out, so recording and checking a wallet
+// cost O(windows) regardless of how many transactions it has.
+@Component
+@Slf4j
+public class TransactionVelocityEngine {
+
+    // Amounts are tracked in minor units (2 decimal places)
+    private static final int AMOUNT_SCALE = 2;
+
+    private final List<WindowConfig> windows;
+    private final int bucketsPerWindow;
+    private final long idleMillis;
+    private final boolean blockOnBreach;
+    private final Map<UUID, WalletVelocity> wallets = new ConcurrentHashMap<>();
+    private final Set<UUID> breachedWallets = ConcurrentHashMap.newKeySet();
+
+    public TransactionVelocityEngine(
+            @Value("${wallet.velocity.windows:60:20:1000000,3600:200:10000000}") String windows,
+            @Value("${wallet.velocity.buckets-per-window:12}") int bucketsPerWindow,
+            @Value("${wallet.velocity.block-on-breach:false}") boolean blockOnBreach) {
+        this.windows = parseWindows(windows);
+        this.bucketsPerWindow = bucketsPerWindow;
+        this.blockOnBreach = blockOnBreach;
+        this.idleMillis = this.windows.stream().mapToLong(WindowConfig::windowMillis).max().orElse(0);
+    }
+
+    public boolean isBlockOnBreach() {
+        return blockOnBreach;
+    }
+
+    // True when recording this amount now would take any window over its count or amount threshold
+    public boolean wouldBreach(UUID walletId, BigDecimal amount) {
+        return wouldBreach(walletId, amount, System.currentTimeMillis());
+    }
+
+    public boolean wouldBreach(UUID walletId, BigDecimal amount, long nowMillis) {
+        WalletVelocity velocity = wallets.get(walletId);
+        long minor = toMinor(amount);
+        if (velocity == null) {
+            for (WindowConfig window : windows) {
+                if (1 > window.maxCount() || minor > window.maxAmount()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        synchronized (velocity) {
+            for (int i = 0; i < windows.size(); i++) {
+                WindowRing ring = velocity.rings[i];
+                ring.advance(nowMillis);
+                if (ring.totalCount + 1 > windows.get(i).maxCount()
+                        || ring.totalAmount + minor > windows.get(i).maxAmount()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Inside a transaction the amount is recorded once that transaction commits, so a rolled back
+    // debit never counts toward the wallet's velocity
+    public void record(UUID walletId, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(walletId, amount, System.currentTimeMillis());
+                }
+            });
+            return;
+        }
+        record(walletId, amount, System.currentTimeMillis());
+    }
+
+    public void record(UUID walletId, BigDecimal amount, long nowMillis) {
+        WalletVelocity velocity = wallets.computeIfAbsent(walletId, id -> new WalletVelocity(windows, bucketsPerWindow));
+        long minor = toMinor(amount);
+        boolean breached = false;
+        synchronized (velocity) {
+            velocity.lastSeen = nowMillis;
+            for (int i = 0; i < windows.size(); i++) {
+                WindowRing ring = velocity.rings[i];
+                ring.add(nowMillis, minor);
+                breached |= windows.get(i).isBreachedBy(ring);
+            }
+        }
+        if (breached && breachedWallets.add(walletId)) {
+            log.warn("Velocity threshold breached for wallet {}", walletId);
+        }
+    }
+
+    public VelocityResponse snapshot(UUID walletId) {
+        return snapshot(walletId, System.currentTimeMillis());
+    }
+
+    public VelocityResponse snapshot(UUID walletId, long nowMillis) {
+        WalletVelocity velocity = wallets.get(walletId);
+        List<VelocityResponse.Window> result = new ArrayList<>(windows.size());
+        boolean breached = false;
+        for (int i = 0; i < windows.size(); i++) {
+            WindowConfig window = windows.get(i);
+            long count = 0;
+            long amount = 0;
+            if (velocity != null) {
+                synchronized (velocity) {
+                    WindowRing ring = velocity.rings[i];
+                    ring.advance(nowMillis);
+                    count = ring.totalCount;
+                    amount = ring.totalAmount;
+                }
+            }
+            boolean windowBreached = count > window.maxCount() || amount > window.maxAmount();
+            breached |= windowBreached;
+            result.add(VelocityResponse.Window.builder()
+                .windowSeconds(window.windowMillis() / 1000)
+                .count(count)
+                .amount(fromMinor(amount))
+                .maxCount(window.maxCount())
+                .maxAmount(fromMinor(window.maxAmount()))
+                .breached(windowBreached)
+                .build());
+        }
+        if (!breached) {
+            breachedWallets.remove(walletId);
+        }
+        return VelocityResponse.builder()
+            .walletId(walletId)
+            .breached(breached)
+            .windows(result)
+            .build();
+    }
+
+    // Wallets currently over a threshold; windows are re-evaluated so breaches that have aged out drop off
+    public List<VelocityResponse> breaches() {
+        long now = System.currentTimeMillis();
+        List<VelocityResponse> result = new ArrayList<>();
+        for (UUID walletId : breachedWallets) {
+            VelocityResponse snapshot = snapshot(walletId, now);
+            if (snapshot.isBreached()) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.velocity.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        wallets.entrySet().removeIf(entry -> entry.getValue().lastSeen < cutoff
+                && !breachedWallets.contains(entry.getKey()));
+    }
+
+    // Helper methods
+    private static long toMinor(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, AMOUNT_SCALE);
+    }
+
+    // Format: seconds:maxCount:maxAmount[,seconds:maxCount:maxAmount...]
+    private static List<WindowConfig> parseWindows(String spec) {
+        List<WindowConfig> result = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Invalid velocity window '" + part + "', expected seconds:maxCount:maxAmount");
+            }
+            result.add(new WindowConfig(Long.parseLong(fields[0]) * 1000, Long.parseLong(fields[1]),
+                    toMinor(new BigDecimal(fields[2]))));
+        }
+        return List.copyOf(result);
+    }
+
+    record WindowConfig(long windowMillis, long maxCount, long maxAmount) {
+
+        boolean isBreachedBy(WindowRing ring) {
+            return ring.totalCount > maxCount || ring.totalAmount > maxAmount;
+        }
+    }
+
+    static final class WalletVelocity {
+
+        final WindowRing[] rings;
+        volatile long lastSeen;
+
+        WalletVelocity(List<WindowConfig> windows, int buckets) {
+            rings = new WindowRing[windows.size()];
+            for (int i = 0; i < rings.length; i++) {
+                rings[i] = new WindowRing(Math.max(1, windows.get(i).windowMillis() / buckets), buckets);
+            }
+        }
+    }
+
+    static final class WindowRing {
+
+        final long bucketMillis;
+        final long[] counts;
+        final long[] amounts;
+        long epoch = Long.MIN_VALUE;
+        long totalCount;
+        long totalAmount;
+
+        WindowRing(long bucketMillis, int buckets) {
+            this.bucketMillis = bucketMillis;
+            this.counts = new long[buckets];
+            this.amounts = new long[buckets];
+        }
+
+        void advance(long nowMillis) {
+            long target = nowMillis / bucketMillis;
+            if (epoch == Long.MIN_VALUE) {
+                epoch = target;
+                return;
+            }
+            long steps = Math.min(target - epoch, counts.length);
+            for (long i = 1; i <= steps; i++) {
+                int index = (int) Math.floorMod(epoch + i, (long) counts.length);
+                totalCount -= counts[index];
+                totalAmount -= amounts[index];
+                counts[index] = 0;
+                amounts[index] = 0;
+            }
+            if (target > epoch) {
+                epoch = target;
+            }
+        }
+
+        void add(long nowMillis, long amount) {
+            advance(nowMillis);
+            int index = (int) Math.floorMod(epoch, (long) counts.length);
+            counts[index]++;
+            amounts[index] += amount;
+            totalCount++;
+            totalAmount += amount;
+        }
+    }
+}
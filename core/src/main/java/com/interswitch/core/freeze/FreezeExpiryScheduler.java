@@ -0,0 +1,174 @@
+package com.interswitch.core.freeze;
+
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.outbox.OutboxPublisher;
+import com.interswitch.infra.repositories.WalletFreezeRepository;
+import com.interswitch.model.entities.WalletFreeze;
+import com.interswitch.model.enums.FreezeStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Expires freezes when they lapse instead of sweeping the table. Upcoming expiries are held in a TimingWheel,
+// rebuilt from idx_freeze_expires at startup and fed by FreezeIndex whenever a wallet's freezes change on any
+// node. A dedicated thread advances the wheel every tick and expires exactly the due freezes with one bulk
+// UPDATE per batch, followed by their audit records and outbox events, so a freeze lifts at most two ticks
+// (one second by default) after it expires. The UPDATE only touches rows that are still active and due,
+// which makes stale timers (removed or extended freezes) and concurrent nodes harmless; each batch stamps
+// removed_at with its own time so only the node that actually expired a row emits its events.
+@Component
+@Slf4j
+public class FreezeExpiryScheduler {
+
+    private final WalletFreezeRepository freezeRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TimingWheel<UUID> wheel;
+    private final long tickMillis;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "freeze-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${wallet.freeze.expiry.batch-size:500}")
+    private int batchSize;
+
+    public FreezeExpiryScheduler(WalletFreezeRepository freezeRepository,
+                                 AuditLogWriter auditLogWriter,
+                                 OutboxPublisher outboxPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${wallet.freeze.expiry.tick-ms:500}") long tickMillis,
+                                 @Value("${wallet.freeze.expiry.wheel-size:64}") int wheelSize) {
+        this.freezeRepository = freezeRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tickMillis = tickMillis;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<UUID> overdue = new ArrayList<>();
+        synchronized (wheel) {
+            for (Object[] row : freezeRepository.findActiveFreezeExpiries()) {
+                UUID freezeId = (UUID) row[0];
+                if (!wheel.add(freezeId, toMillis((LocalDateTime) row[1]))) {
+                    overdue.add(freezeId);
+                }
+            }
+            log.info("Scheduled {} freeze expiries, {} already overdue", wheel.size(), overdue.size());
+        }
+        expire(overdue);
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    // Schedules (or reschedules) a freeze; one that is already due is expired on the next tick
+    public void schedule(UUID freezeId, LocalDateTime expiresAt) {
+        if (expiresAt == null) {
+            return;
+        }
+        synchronized (wheel) {
+            if (!wheel.add(freezeId, toMillis(expiresAt))) {
+                wheel.add(freezeId, System.currentTimeMillis());
+            }
+        }
+    }
+
+    // Expires every overdue freeze now; a fallback for timers lost with a node that went down
+    public int expireOverdue() {
+        List<UUID> overdue = freezeRepository.findExpiredActiveFreezeIds();
+        return expire(overdue);
+    }
+
+    public int getScheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    // Helper methods
+    private void tick() {
+        try {
+            List<UUID> due;
+            synchronized (wheel) {
+                due = wheel.advance(System.currentTimeMillis());
+            }
+            expire(due);
+        } catch (Exception e) {
+            log.error("Freeze expiry tick failed", e);
+        }
+    }
+
+    private int expire(List<UUID> freezeIds) {
+        int expired = 0;
+        for (int from = 0; from < freezeIds.size(); from += batchSize) {
+            List<UUID> batch = freezeIds.subList(from, Math.min(from + batchSize, freezeIds.size()));
+            try {
+                Integer count = transactionTemplate.execute(status -> expireBatch(batch));
+                expired += count == null ? 0 : count;
+            } catch (Exception e) {
+                // Put the batch back so it is retried on a later tick
+                log.error("Failed to expire {} freezes, retrying", batch.size(), e);
+                long retryAt = System.currentTimeMillis() + tickMillis;
+                synchronized (wheel) {
+                    batch.forEach(freezeId -> wheel.add(freezeId, retryAt));
+                }
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} freezes", expired);
+        }
+        return expired;
+    }
+
+    private int expireBatch(List<UUID> freezeIds) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (freezeRepository.expireFreezes(freezeIds, now) == 0) {
+            return 0;
+        }
+
+        List<WalletFreeze> expired = freezeRepository.findByIdInAndRemovedAt(freezeIds, now);
+        for (WalletFreeze freeze : expired) {
+            try {
+                auditLogWriter.write(freeze.getWalletId(), "FREEZE_EXPIRED", "freeze", freeze.getId(),
+                        FreezeStatus.ACTIVE, FreezeStatus.EXPIRED, AuditLogWriter.SYSTEM_USER);
+            } catch (Exception e) {
+                log.error("Failed to log audit for freeze: {}, action: FREEZE_EXPIRED", freeze.getId(), e);
+            }
+            outboxPublisher.publish(freeze.getWalletId(), OutboxPublisher.FREEZE, freeze.getId(), "FREEZE_EXPIRED",
+                    OutboxPublisher.fields(
+                            "freezeType", freeze.getFreezeType(),
+                            "frozenAmount", freeze.getFrozenAmount(),
+                            "status", freeze.getStatus(),
+                            "expiresAt", freeze.getExpiresAt()));
+        }
+        return expired.size();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,317 @@
+package com.interswitch.core.freeze;
+
+import com.interswitch.infra.repositories.WalletFreezeRepository;
+import com.interswitch.model.enums.FreezeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Active freezes per wallet, held in memory so frozen checks on the debit path never reach the database. Only
+// wallets with at least one active freeze have an entry. The index is loaded at startup and reloaded
+// periodically as a safety net; in between, every freeze change refreshes its wallet from the database after
+// commit and is broadcast on a Redis channel so the other nodes refresh it too. Expiry is applied on read
+// against each wallet's nearest expiry, so a lapsed freeze stops counting before its status is updated;
+// refreshed expiries are handed to FreezeExpiryScheduler, which updates the status.
+// Until the first load completes, callers fall back to the repository.
+@Component
+@Slf4j
+public class FreezeIndex {
+
+    private final WalletFreezeRepository freezeRepository;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectProvider<FreezeExpiryScheduler> expiryScheduler;
+    private final Map<UUID, WalletFreezes> wallets = new ConcurrentHashMap<>();
+    private final Set<UUID> refreshedDuringReload = ConcurrentHashMap.newKeySet();
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean loaded;
+    private volatile boolean reloading;
+
+    @Value("${wallet.freeze.index.pubsub-enabled:true}")
+    private boolean pubSubEnabled;
+
+    @Value("${wallet.freeze.index.channel:wallet-freeze-index}")
+    private String channel;
+
+    public FreezeIndex(WalletFreezeRepository freezeRepository, ObjectProvider<StringRedisTemplate> redisTemplate,
+                       ObjectProvider<FreezeExpiryScheduler> expiryScheduler) {
+        this.freezeRepository = freezeRepository;
+        this.redisTemplate = redisTemplate;
+        this.expiryScheduler = expiryScheduler;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isFrozen(UUID walletId) {
+        return current(walletId, LocalDateTime.now()) != null;
+    }
+
+    public boolean isFrozen(UUID walletId, FreezeType freezeType) {
+        WalletFreezes freezes = current(walletId, LocalDateTime.now());
+        return freezes != null && freezes.has(freezeType);
+    }
+
+    public BigDecimal getTotalFrozenAmount(UUID walletId) {
+        WalletFreezes freezes = current(walletId, LocalDateTime.now());
+        return freezes == null ? BigDecimal.ZERO : freezes.totalAmount();
+    }
+
+    public int walletCount() {
+        return wallets.size();
+    }
+
+    // Refreshes the wallet once the surrounding transaction commits, here and on the other nodes
+    public void invalidate(UUID walletId) {
+        if (walletId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshAndPublish(walletId);
+                }
+            });
+            return;
+        }
+        refreshAndPublish(walletId);
+    }
+
+    // Bulk variant for sweeps: the wallets are re-read with one query and broadcast in one message
+    public void invalidate(Collection<UUID> walletIds) {
+        if (walletIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(walletIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshAndPublish(ids);
+                }
+            });
+            return;
+        }
+        refreshAndPublish(ids);
+    }
+
+    // Invalidation from another node, as "<nodeId>:<walletId>[,<walletId>...]"
+    public void onInvalidation(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0 || message.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        try {
+            String[] walletIds = message.substring(separator + 1).split(",");
+            if (walletIds.length == 1) {
+                refresh(UUID.fromString(walletIds[0]));
+                return;
+            }
+            List<UUID> ids = new ArrayList<>(walletIds.length);
+            for (String walletId : walletIds) {
+                ids.add(UUID.fromString(walletId));
+            }
+            refresh(ids);
+        } catch (Exception e) {
+            log.warn("Ignoring freeze index invalidation '{}': {}", message, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.freeze.index.reload-interval-ms:300000}",
+               initialDelayString = "${wallet.freeze.index.reload-interval-ms:300000}")
+    public synchronized void reload() {
+        long started = System.currentTimeMillis();
+        reloading = true;
+        refreshedDuringReload.clear();
+        try {
+            Map<UUID, WalletFreezes> fresh = group(freezeRepository.findActiveFreezeSummaries());
+            wallets.keySet().retainAll(fresh.keySet());
+            wallets.putAll(fresh);
+            loaded = true;
+        } catch (Exception e) {
+            log.error("Failed to load freeze index", e);
+            return;
+        } finally {
+            reloading = false;
+        }
+        // The snapshot may predate changes that committed while it was being read
+        for (UUID walletId : refreshedDuringReload) {
+            refresh(walletId);
+        }
+        log.info("Loaded {} frozen wallets into freeze index in {} ms",
+                wallets.size(), System.currentTimeMillis() - started);
+    }
+
+    // Helper methods
+    private WalletFreezes current(UUID walletId, LocalDateTime now) {
+        WalletFreezes freezes = wallets.get(walletId);
+        if (freezes == null || !freezes.expiredAt(now)) {
+            return freezes;
+        }
+        WalletFreezes remaining = freezes.without(now);
+        if (remaining == null) {
+            wallets.remove(walletId, freezes);
+        } else {
+            wallets.replace(walletId, freezes, remaining);
+        }
+        return remaining;
+    }
+
+    private void refreshAndPublish(UUID walletId) {
+        refresh(walletId);
+        publish(walletId.toString());
+    }
+
+    private void refreshAndPublish(List<UUID> walletIds) {
+        refresh(walletIds);
+        StringBuilder message = new StringBuilder(walletIds.size() * 37);
+        for (UUID walletId : walletIds) {
+            message.append(message.isEmpty() ? "" : ",").append(walletId);
+        }
+        publish(message.toString());
+    }
+
+    private void publish(String walletIds) {
+        if (!pubSubEnabled) {
+            return;
+        }
+        try {
+            StringRedisTemplate template = redisTemplate.getIfAvailable();
+            if (template != null) {
+                template.convertAndSend(channel, nodeId + ":" + walletIds);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to publish freeze index invalidation for wallets {}: {}", walletIds, e.getMessage());
+        }
+    }
+
+    private void refresh(UUID walletId) {
+        if (reloading) {
+            refreshedDuringReload.add(walletId);
+        }
+        try {
+            List<Object[]> rows = freezeRepository.findActiveFreezeSummariesForWallet(walletId);
+            WalletFreezes freezes = group(rows).get(walletId);
+            FreezeExpiryScheduler scheduler = expiryScheduler.getIfAvailable();
+            if (scheduler != null) {
+                rows.forEach(row -> scheduler.schedule((UUID) row[1], (LocalDateTime) row[4]));
+            }
+            if (freezes == null) {
+                wallets.remove(walletId);
+            } else {
+                wallets.put(walletId, freezes);
+            }
+        } catch (Exception e) {
+            // Better to fall back to the database than to answer from a stale entry
+            log.error("Failed to refresh freeze index for wallet {}", walletId, e);
+            loaded = false;
+        }
+    }
+
+    private void refresh(List<UUID> walletIds) {
+        if (reloading) {
+            refreshedDuringReload.addAll(walletIds);
+        }
+        try {
+            List<Object[]> rows = freezeRepository.findActiveFreezeSummariesForWallets(walletIds);
+            Map<UUID, WalletFreezes> grouped = group(rows);
+            FreezeExpiryScheduler scheduler = expiryScheduler.getIfAvailable();
+            if (scheduler != null) {
+                rows.forEach(row -> scheduler.schedule((UUID) row[1], (LocalDateTime) row[4]));
+            }
+            for (UUID walletId : walletIds) {
+                WalletFreezes freezes = grouped.get(walletId);
+                if (freezes == null) {
+                    wallets.remove(walletId);
+                } else {
+                    wallets.put(walletId, freezes);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh freeze index for {} wallets", walletIds.size(), e);
+            loaded = false;
+        }
+    }
+
+    private static Map<UUID, WalletFreezes> group(List<Object[]> rows) {
+        Map<UUID, List<Freeze>> byWallet = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row[0] == null) {
+                continue;
+            }
+            byWallet.computeIfAbsent((UUID) row[0], id -> new ArrayList<>())
+                .add(new Freeze((UUID) row[1], (FreezeType) row[2], (BigDecimal) row[3], (LocalDateTime) row[4]));
+        }
+        Map<UUID, WalletFreezes> grouped = new HashMap<>(byWallet.size() * 2);
+        byWallet.forEach((walletId, freezes) -> grouped.put(walletId, WalletFreezes.of(freezes)));
+        return grouped;
+    }
+
+    private record Freeze(UUID id, FreezeType freezeType, BigDecimal frozenAmount, LocalDateTime expiresAt) {
+    }
+
+    // Totals are precomputed; they stay valid until the nearest expiry passes
+    private record WalletFreezes(List<Freeze> freezes, BigDecimal totalAmount, LocalDateTime nearestExpiry) {
+
+        static WalletFreezes of(List<Freeze> freezes) {
+            if (freezes.isEmpty()) {
+                return null;
+            }
+            BigDecimal total = BigDecimal.ZERO;
+            LocalDateTime nearest = null;
+            for (Freeze freeze : freezes) {
+                // Only PARTIAL freezes hold back an amount, as in WalletFreezeRepository.getTotalFrozenAmount
+                if (freeze.freezeType() == FreezeType.PARTIAL && freeze.frozenAmount() != null) {
+                    total = total.add(freeze.frozenAmount());
+                }
+                if (freeze.expiresAt() != null && (nearest == null || freeze.expiresAt().isBefore(nearest))) {
+                    nearest = freeze.expiresAt();
+                }
+            }
+            return new WalletFreezes(List.copyOf(freezes), total, nearest);
+        }
+
+        boolean expiredAt(LocalDateTime now) {
+            return nearestExpiry != null && !nearestExpiry.isAfter(now);
+        }
+
+        WalletFreezes without(LocalDateTime now) {
+            return of(freezes.stream()
+                .filter(freeze -> freeze.expiresAt() == null || freeze.expiresAt().isAfter(now))
+                .toList());
+        }
+
+        boolean has(FreezeType freezeType) {
+            for (Freeze freeze : freezes) {
+                if (freeze.freezeType() == freezeType) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.interswitch.core.freeze;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+// Subscribes the freeze index to invalidations published by the other nodes
+@Configuration
+@ConditionalOnProperty(name = "wallet.freeze.index.pubsub-enabled", havingValue = "true", matchIfMissing = true)
+public class FreezeIndexPubSubConfig {
+
+    @Bean
+    public RedisMessageListenerContainer freezeIndexListenerContainer(
+            RedisConnectionFactory connectionFactory, FreezeIndex freezeIndex,
+            @Value("${wallet.freeze.index.channel:wallet-freeze-index}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> freezeIndex.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(channel));
+        return container;
+    }
+}
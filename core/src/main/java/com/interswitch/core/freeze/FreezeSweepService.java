@@ -0,0 +1,391 @@
+package com.interswitch.core.freeze;
+
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.outbox.OutboxPublisher;
+import com.interswitch.infra.freeze.BulkFreezeRepository;
+import com.interswitch.infra.freeze.FreezeSweepItemRepository;
+import com.interswitch.infra.repositories.FreezeSweepRepository;
+import com.interswitch.infra.repositories.WalletFreezeRepository;
+import com.interswitch.infra.repositories.WalletRepository;
+import com.interswitch.model.entities.FreezeSweep;
+import com.interswitch.model.entities.WalletFreeze;
+import com.interswitch.model.enums.FreezeStatus;
+import com.interswitch.model.enums.FreezeSweepOperation;
+import com.interswitch.model.enums.FreezeSweepOutcome;
+import com.interswitch.model.enums.FreezeSweepStatus;
+import com.interswitch.model.enums.FreezeType;
+import com.interswitch.shared.exceptions.ApiException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Bulk freeze and unfreeze for regulatory sweeps. The request's wallet IDs are staged (and de-duplicated) in
+// freeze_sweep_items, then applied in the background in wallet_id keyset chunks. Each chunk costs a handful of
+// set-based statements: one existence query, one active-freeze query and one multi-row INSERT for a freeze, or
+// one guarded bulk UPDATE and one read-back for an unfreeze, plus the per-wallet outcome updates and the
+// checkpoint, all in one transaction. Audit records and outbox events are still written per freeze, and
+// FreezeIndex is refreshed once per chunk. Progress and outcomes are read back through the sweep endpoints.
+// Each sweep is claimed with a database lease renewed in every chunk transaction, so only one node applies it;
+// every node periodically resumes running sweeps whose lease has expired, so a sweep interrupted by a
+// shutdown or a lost node continues from its checkpoint.
+@Service
+@Slf4j
+public class FreezeSweepService {
+
+    private final FreezeSweepRepository sweepRepository;
+    private final FreezeSweepItemRepository itemRepository;
+    private final BulkFreezeRepository bulkFreezeRepository;
+    private final WalletFreezeRepository freezeRepository;
+    private final WalletRepository walletRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final OutboxPublisher outboxPublisher;
+    private final FreezeIndex freezeIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Must exceed the time to apply a chunk, and the wait behind this node's other sweeps, or another node
+    // takes the sweep over
+    @Value("${wallet.freeze.sweep.lease-ms:300000}")
+    private long leaseMillis;
+
+    @Value("${wallet.freeze.sweep.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${wallet.freeze.sweep.max-wallets:200000}")
+    private int maxWallets;
+
+    public FreezeSweepService(FreezeSweepRepository sweepRepository,
+                              FreezeSweepItemRepository itemRepository,
+                              BulkFreezeRepository bulkFreezeRepository,
+                              WalletFreezeRepository freezeRepository,
+                              WalletRepository walletRepository,
+                              AuditLogWriter auditLogWriter,
+                              OutboxPublisher outboxPublisher,
+                              FreezeIndex freezeIndex,
+                              PlatformTransactionManager transactionManager) {
+        this.sweepRepository = sweepRepository;
+        this.itemRepository = itemRepository;
+        this.bulkFreezeRepository = bulkFreezeRepository;
+        this.freezeRepository = freezeRepository;
+        this.walletRepository = walletRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.outboxPublisher = outboxPublisher;
+        this.freezeIndex = freezeIndex;
+        // The staged wallets must be committed before the runner reads them, even when called inside a transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public FreezeSweep startFreeze(List<UUID> walletIds, FreezeType freezeType, BigDecimal frozenAmount,
+                                   String reason, LocalDateTime expiresAt, UUID performedBy) {
+        if (expiresAt != null && !expiresAt.isAfter(LocalDateTime.now())) {
+            throw ApiException.builder()
+                .message("Invalid freeze expiry")
+                .description("Freeze expiry must be in the future: " + expiresAt)
+                .status(400)
+                .build();
+        }
+        return start(FreezeSweep.builder()
+            .operation(FreezeSweepOperation.FREEZE)
+            .freezeType(freezeType)
+            .frozenAmount(frozenAmount)
+            .reason(reason)
+            .expiresAt(expiresAt)
+            .performedBy(performedBy), walletIds);
+    }
+
+    // Lifts active freezes of the given type, or all of them when freezeType is null
+    public FreezeSweep startUnfreeze(List<UUID> walletIds, FreezeType freezeType, UUID performedBy) {
+        return start(FreezeSweep.builder()
+            .operation(FreezeSweepOperation.UNFREEZE)
+            .freezeType(freezeType)
+            .performedBy(performedBy), walletIds);
+    }
+
+    public FreezeSweep getSweep(UUID sweepId) {
+        return sweepRepository.findById(sweepId)
+            .orElseThrow(() -> ApiException.builder()
+                .message("Freeze sweep not found")
+                .description("Freeze sweep not found for ID: " + sweepId)
+                .status(404)
+                .build());
+    }
+
+    public Page<FreezeSweep> getSweeps(Pageable pageable) {
+        return sweepRepository.findAllByOrderByStartedAtDesc(pageable);
+    }
+
+    public List<UUID> getSweepWallets(UUID sweepId, FreezeSweepOutcome outcome, UUID afterWalletId, int limit) {
+        getSweep(sweepId);
+        return itemRepository.findByOutcome(sweepId, outcome, afterWalletId, Math.max(1, Math.min(limit, 10000)));
+    }
+
+    // Resumes running sweeps whose owner stopped renewing its lease, including this node before a restart
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${wallet.freeze.sweep.resume-interval-ms:60000}",
+        initialDelayString = "${wallet.freeze.sweep.resume-interval-ms:60000}")
+    public void resume() {
+        for (FreezeSweep sweep : sweepRepository.findByStatusOrderByStartedAt(FreezeSweepStatus.RUNNING)) {
+            // Sweeps this node owns are already queued or running here
+            if (nodeId.equals(sweep.getOwnerNode())
+                    || !Boolean.TRUE.equals(transactionTemplate.execute(status -> renewLease(sweep, LocalDateTime.now())))) {
+                continue;
+            }
+            log.info("Resuming freeze sweep {} after wallet {}", sweep.getId(), sweep.getLastWalletId());
+            runner.submit(() -> execute(sweep));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    // One wallet ID per line; blank lines, '#' comments and a non-UUID header line are skipped, and only the
+    // first comma-separated column is read, so plain lists and CSV exports both work
+    public static List<UUID> readWalletIds(InputStream input) {
+        Set<UUID> walletIds = new LinkedHashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int comma = line.indexOf(',');
+                String value = (comma < 0 ? line : line.substring(0, comma)).replace("\"", "").strip();
+                if (value.isEmpty() || value.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    walletIds.add(UUID.fromString(value));
+                } catch (IllegalArgumentException e) {
+                    if (lineNumber == 1) {
+                        continue;
+                    }
+                    throw ApiException.builder()
+                        .message("Invalid wallet ID file")
+                        .description("Invalid wallet ID on line " + lineNumber + ": " + value)
+                        .status(400)
+                        .build();
+                }
+            }
+        } catch (IOException e) {
+            throw ApiException.builder()
+                .message("Invalid wallet ID file")
+                .description("Failed to read wallet ID file: " + e.getMessage())
+                .status(400)
+                .build();
+        }
+        return new ArrayList<>(walletIds);
+    }
+
+    // Helper methods
+    private FreezeSweep start(FreezeSweep.FreezeSweepBuilder<?, ?> builder, List<UUID> walletIds) {
+        if (walletIds == null || walletIds.isEmpty()) {
+            throw ApiException.builder()
+                .message("No wallets to sweep")
+                .description("At least one wallet ID is required")
+                .status(400)
+                .build();
+        }
+        if (walletIds.size() > maxWallets) {
+            throw ApiException.builder()
+                .message("Too many wallets")
+                .description("A sweep accepts at most " + maxWallets + " wallet IDs, got " + walletIds.size())
+                .status(400)
+                .build();
+        }
+
+        FreezeSweep sweep = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            FreezeSweep created = sweepRepository.save(builder.startedAt(now).ownerNode(nodeId).heartbeatAt(now).build());
+            created.setWalletsRequested((long) itemRepository.insert(created.getId(), walletIds, chunkSize));
+            return sweepRepository.save(created);
+        });
+        runner.submit(() -> execute(sweep));
+        log.info("Freeze sweep {} started: {} {} for {} wallets", sweep.getId(), sweep.getOperation(),
+            sweep.getFreezeType(), sweep.getWalletsRequested());
+        return sweep;
+    }
+
+    // Takes or renews this node's lease on the sweep; false once another node holds it
+    private boolean renewLease(FreezeSweep sweep, LocalDateTime now) {
+        if (sweepRepository.claimLease(sweep.getId(), nodeId, now, now.minus(leaseMillis, ChronoUnit.MILLIS),
+                FreezeSweepStatus.RUNNING) == 0) {
+            return false;
+        }
+        sweep.setOwnerNode(nodeId);
+        sweep.setHeartbeatAt(now);
+        return true;
+    }
+
+    // Saves the sweep unless another node has taken it over
+    private FreezeSweep finish(FreezeSweep sweep) {
+        return transactionTemplate.execute(status -> {
+            if (!renewLease(sweep, LocalDateTime.now())) {
+                throw new LeaseLostException(sweep.getId());
+            }
+            return sweepRepository.save(sweep);
+        });
+    }
+
+    private void execute(FreezeSweep sweep) {
+        long started = System.currentTimeMillis();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<UUID> chunk = itemRepository.next(sweep.getId(), sweep.getLastWalletId(), chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                FreezeSweep checkpoint = sweep;
+                sweep = transactionTemplate.execute(status -> {
+                    if (!renewLease(checkpoint, LocalDateTime.now())) {
+                        throw new LeaseLostException(checkpoint.getId());
+                    }
+                    applyChunk(checkpoint, chunk);
+                    checkpoint.setLastWalletId(chunk.get(chunk.size() - 1));
+                    return sweepRepository.save(checkpoint);
+                });
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                log.warn("Freeze sweep {} interrupted after wallet {}; it will resume on the next start",
+                    sweep.getId(), sweep.getLastWalletId());
+                return;
+            }
+
+            sweep.setStatus(FreezeSweepStatus.COMPLETED);
+            sweep.setCompletedAt(LocalDateTime.now());
+            sweep = finish(sweep);
+            log.info("Freeze sweep {} completed in {} ms: {} applied, {} skipped, {} not found", sweep.getId(),
+                System.currentTimeMillis() - started, sweep.getWalletsApplied(), sweep.getWalletsSkipped(),
+                sweep.getWalletsNotFound());
+        } catch (LeaseLostException e) {
+            log.warn("Freeze sweep {} was taken over by another node after wallet {}", sweep.getId(),
+                sweep.getLastWalletId());
+        } catch (RuntimeException e) {
+            log.error("Freeze sweep {} failed after wallet {}", sweep.getId(), sweep.getLastWalletId(), e);
+            sweep.setStatus(FreezeSweepStatus.FAILED);
+            sweep.setFailureReason(e.getMessage());
+            sweep.setCompletedAt(LocalDateTime.now());
+            try {
+                finish(sweep);
+            } catch (LeaseLostException lost) {
+                log.warn("Freeze sweep {} was taken over by another node; not marking it failed", sweep.getId());
+            }
+        }
+    }
+
+    private void applyChunk(FreezeSweep sweep, List<UUID> chunk) {
+        Set<UUID> existing = new HashSet<>(walletRepository.findExistingIds(chunk));
+        List<UUID> notFound = chunk.stream().filter(walletId -> !existing.contains(walletId)).toList();
+        Set<UUID> applied = existing.isEmpty() ? Set.of()
+            : sweep.getOperation() == FreezeSweepOperation.FREEZE ? freeze(sweep, existing) : unfreeze(sweep, existing);
+        List<UUID> skipped = existing.stream().filter(walletId -> !applied.contains(walletId)).toList();
+
+        itemRepository.markOutcome(sweep.getId(), applied, FreezeSweepOutcome.APPLIED);
+        itemRepository.markOutcome(sweep.getId(), skipped, FreezeSweepOutcome.SKIPPED);
+        itemRepository.markOutcome(sweep.getId(), notFound, FreezeSweepOutcome.NOT_FOUND);
+        sweep.setWalletsApplied(sweep.getWalletsApplied() + applied.size());
+        sweep.setWalletsSkipped(sweep.getWalletsSkipped() + skipped.size());
+        sweep.setWalletsNotFound(sweep.getWalletsNotFound() + notFound.size());
+        freezeIndex.invalidate(applied);
+    }
+
+    private Set<UUID> freeze(FreezeSweep sweep, Set<UUID> walletIds) {
+        Set<UUID> alreadyFrozen = new HashSet<>(
+            freezeRepository.findWalletIdsWithActiveFreeze(walletIds, sweep.getFreezeType()));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<WalletFreeze> freezes = new ArrayList<>();
+        for (UUID walletId : walletIds) {
+            if (alreadyFrozen.contains(walletId)) {
+                continue;
+            }
+            WalletFreeze freeze = WalletFreeze.builder()
+                .walletId(walletId)
+                .freezeType(sweep.getFreezeType())
+                .frozenAmount(sweep.getFrozenAmount())
+                .reason(sweep.getReason())
+                .createdBy(sweep.getPerformedBy())
+                .status(FreezeStatus.ACTIVE)
+                .expiresAt(sweep.getExpiresAt())
+                .build();
+            freeze.setId(UUID.randomUUID());
+            freeze.setCreatedAt(now);
+            freeze.setUpdatedAt(now);
+            freezes.add(freeze);
+        }
+        bulkFreezeRepository.insert(freezes);
+
+        Set<UUID> applied = new HashSet<>();
+        for (WalletFreeze freeze : freezes) {
+            record(freeze, "FREEZE_CREATED", null, freeze, sweep.getPerformedBy());
+            applied.add(freeze.getWalletId());
+        }
+        return applied;
+    }
+
+    private Set<UUID> unfreeze(FreezeSweep sweep, Set<UUID> walletIds) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int removed = sweep.getFreezeType() == null
+            ? freezeRepository.removeActiveFreezes(walletIds, sweep.getPerformedBy(), now)
+            : freezeRepository.removeActiveFreezesByType(walletIds, sweep.getFreezeType(), sweep.getPerformedBy(), now);
+        if (removed == 0) {
+            return Set.of();
+        }
+
+        Set<UUID> applied = new HashSet<>();
+        for (WalletFreeze freeze : freezeRepository.findByWalletIdInAndStatusAndRemovedAtAndRemovedBy(
+                walletIds, FreezeStatus.REMOVED, now, sweep.getPerformedBy())) {
+            record(freeze, "FREEZE_REMOVED", FreezeStatus.ACTIVE, FreezeStatus.REMOVED, sweep.getPerformedBy());
+            applied.add(freeze.getWalletId());
+        }
+        return applied;
+    }
+
+    private void record(WalletFreeze freeze, String action, Object oldValue, Object newValue, UUID performedBy) {
+        try {
+            auditLogWriter.write(freeze.getWalletId(), action, "freeze", freeze.getId(), oldValue, newValue, performedBy);
+        } catch (Exception e) {
+            log.error("Failed to log audit for freeze: {}, action: {}", freeze.getId(), action, e);
+        }
+        outboxPublisher.publish(freeze.getWalletId(), OutboxPublisher.FREEZE, freeze.getId(), action,
+                OutboxPublisher.fields(
+                        "freezeType", freeze.getFreezeType(),
+                        "frozenAmount", freeze.getFrozenAmount(),
+                        "status", freeze.getStatus(),
+                        "expiresAt", freeze.getExpiresAt()));
+    }
+
+    private static final class LeaseLostException extends IllegalStateException {
+
+        LeaseLostException(UUID sweepId) {
+            super("Lease on freeze sweep " + sweepId + " was taken by another node");
+        }
+    }
+}
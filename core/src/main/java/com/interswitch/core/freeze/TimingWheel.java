@@ -0,0 +1,138 @@
+package com.interswitch.core.freeze;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Hierarchical timing wheel. Level k has wheelSize slots of tickMillis * wheelSize^k each; a timer sits in the
+// lowest level whose span reaches its expiry and moves down a level each time the level above turns over, so
+// adding, cancelling and firing a timer are O(1) however far out it is. A timer fires on the first advance at
+// or after the end of its tick, i.e. at most one tick late and never early. Not thread-safe.
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<List<Set<T>>> levels = new ArrayList<>();
+    private final Map<T, Timer<T>> timers = new HashMap<>();
+    private long cursor;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick " + tickMillis + ", size " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.cursor = startMillis / tickMillis;
+    }
+
+    // Schedules or reschedules a timer; returns false, without scheduling it, if it is already due
+    public boolean add(T item, long expiryMillis) {
+        Timer<T> existing = timers.get(item);
+        if (existing != null) {
+            if (existing.expiryMillis() == expiryMillis) {
+                return true;
+            }
+            cancel(item);
+        }
+        long tick = expiryMillis / tickMillis;
+        if (tick < cursor) {
+            return false;
+        }
+        Set<T> slot = slotFor(tick);
+        slot.add(item);
+        timers.put(item, new Timer<>(expiryMillis, slot));
+        return true;
+    }
+
+    public boolean cancel(T item) {
+        Timer<T> timer = timers.remove(item);
+        if (timer == null) {
+            return false;
+        }
+        timer.slot().remove(item);
+        return true;
+    }
+
+    // Fires every timer whose tick has ended by nowMillis
+    public List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long until = nowMillis / tickMillis;
+        while (cursor < until) {
+            Set<T> slot = slot(0, cursor);
+            for (T item : slot) {
+                timers.remove(item);
+                due.add(item);
+            }
+            slot.clear();
+            cursor++;
+            cascade();
+        }
+        return due;
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    public boolean isEmpty() {
+        return timers.isEmpty();
+    }
+
+    // Helper methods
+    private Set<T> slotFor(long tick) {
+        long levelTick = tick;
+        long levelCursor = cursor;
+        int level = 0;
+        while (levelTick - levelCursor >= wheelSize) {
+            levelTick /= wheelSize;
+            levelCursor /= wheelSize;
+            level++;
+        }
+        return slot(level, levelTick);
+    }
+
+    private Set<T> slot(int level, long levelTick) {
+        while (levels.size() <= level) {
+            List<Set<T>> slots = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                slots.add(new HashSet<>());
+            }
+            levels.add(slots);
+        }
+        return levels.get(level).get((int) (levelTick % wheelSize));
+    }
+
+    // When the cursor crosses a level boundary, the timers in that level's new current slot move down
+    private void cascade() {
+        int turned = 0;
+        long span = 1;
+        while (turned + 1 < levels.size() && cursor % (span * wheelSize) == 0) {
+            span *= wheelSize;
+            turned++;
+        }
+        for (int level = turned; level >= 1; level--) {
+            long levelSpan = 1;
+            for (int i = 0; i < level; i++) {
+                levelSpan *= wheelSize;
+            }
+            Set<T> slot = slot(level, cursor / levelSpan);
+            if (slot.isEmpty()) {
+                continue;
+            }
+            List<T> items = new ArrayList<>(slot);
+            slot.clear();
+            for (T item : items) {
+                Timer<T> timer = timers.get(item);
+                Set<T> lower = slotFor(timer.expiryMillis() / tickMillis);
+                lower.add(item);
+                timers.put(item, new Timer<>(timer.expiryMillis(), lower));
+            }
+        }
+    }
+
+    private record Timer<T>(long expiryMillis, Set<T> slot) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.interswitch.core.limit;
+
+import com.interswitch.model.enums.LimitType;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// Period epochs behind the lazy reset of DAILY, WEEKLY and MONTHLY limits. A limit row stores its usage with the
+// epoch of the period it was counted in; usage from an older epoch counts as zero and is overwritten by the next
+// consume, so nothing has to reset limits at period boundaries. Other limit types are always in epoch 0.
+public final class LimitPeriods {
+
+    private LimitPeriods() {
+    }
+
+    // DAILY: days since 1970-01-01, WEEKLY: that day number of the week's Monday, MONTHLY: months since year 0
+    public static long epoch(LimitType limitType, LocalDate date) {
+        return switch (limitType) {
+            case DAILY -> date.toEpochDay();
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay();
+            case MONTHLY -> date.getYear() * 12L + date.getMonthValue() - 1;
+            default -> 0L;
+        };
+    }
+
+    public static BigDecimal currentUsage(LimitType limitType, BigDecimal usage, long usageEpoch, LocalDate today) {
+        return usageEpoch == epoch(limitType, today) ? usage : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,29 @@
+package com.interswitch.core.limit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+// Subscribes the rolling limit tracker to consumes committed on the other nodes
+@Configuration
+@ConditionalOnProperty(name = "wallet.limit.rolling.pubsub-enabled", havingValue = "true", matchIfMissing = true)
+public class RollingLimitPubSubConfig {
+
+    @Bean
+    public RedisMessageListenerContainer rollingLimitListenerContainer(
+            RedisConnectionFactory connectionFactory, RollingLimitTracker rollingLimitTracker,
+            @Value("${wallet.limit.rolling.channel:wallet-rolling-usage}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> rollingLimitTracker.onConsume(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(channel));
+        return container;
+    }
+}
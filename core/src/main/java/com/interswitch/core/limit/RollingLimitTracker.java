@@ -0,0 +1,291 @@
+package com.interswitch.core.limit;
+
+import com.interswitch.infra.limit.UsageBucketRepository;
+import com.interswitch.model.enums.LimitType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Usage behind the rolling-window limits. The persisted buckets are authoritative; each wallet gets one primitive
+// ring per rolling limit type (5-minute buckets over 24 hours, hourly buckets over 30 days) as a cache of them,
+// so checks never touch transaction history. A consume first increments the wallet's sequence in
+// wallet_usage_heads, which locks it for the rest of the debit transaction, so consumes of one wallet are
+// serialized across nodes. The ring is only trusted for the check if it has seen exactly the consumes before
+// that sequence; otherwise it is reloaded from the buckets with a locking read. The amount is then added to the
+// buckets in the same transaction, and a rollback releases it from the ring. Committed consumes are broadcast on
+// a Redis channel so the other nodes keep their rings current; a missed broadcast only costs a reload. Rings are
+// reloaded after reseed-ms for reads and evicted when idle.
+@Component
+@Slf4j
+public class RollingLimitTracker {
+
+    // Amounts are tracked in minor units (2 decimal places); debits round up and limits round down
+    private static final int AMOUNT_SCALE = 2;
+    private static final long MINUTE = 60_000L;
+    // Sequence of a ring that missed a consume; it is reloaded before its next use
+    private static final long STALE = -1L;
+    private static final Map<LimitType, Window> WINDOWS = new EnumMap<>(Map.of(
+            LimitType.ROLLING_24H, new Window(5 * MINUTE, 288),
+            LimitType.ROLLING_30D, new Window(60 * MINUTE, 720)));
+
+    private final UsageBucketRepository bucketRepository;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final Map<UUID, WalletUsage> wallets = new ConcurrentHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${wallet.limit.rolling.pubsub-enabled:true}")
+    private boolean pubSubEnabled;
+
+    @Value("${wallet.limit.rolling.channel:wallet-rolling-usage}")
+    private String channel;
+
+    @Value("${wallet.limit.rolling.idle-ms:1800000}")
+    private long idleMillis;
+
+    @Value("${wallet.limit.rolling.reseed-ms:300000}")
+    private long reseedMillis;
+
+    @Value("${wallet.limit.rolling.purge-batch-size:5000}")
+    private int purgeBatchSize;
+
+    public RollingLimitTracker(UsageBucketRepository bucketRepository,
+                               ObjectProvider<StringRedisTemplate> redisTemplate) {
+        this.bucketRepository = bucketRepository;
+        this.redisTemplate = redisTemplate;
+    }
+
+    public static boolean isRolling(LimitType limitType) {
+        return WINDOWS.containsKey(limitType);
+    }
+
+    public BigDecimal getUsage(UUID walletId, LimitType limitType) {
+        return getUsage(walletId, limitType, System.currentTimeMillis());
+    }
+
+    // Read from the ring, which may trail other nodes by a missed broadcast until its next reseed
+    public BigDecimal getUsage(UUID walletId, LimitType limitType, long nowMillis) {
+        Window window = WINDOWS.get(limitType);
+        if (window == null) {
+            return BigDecimal.ZERO;
+        }
+        WalletUsage usage = usage(walletId, nowMillis);
+        synchronized (usage) {
+            return fromMinor(usage.rings.get(limitType).total(window.epoch(nowMillis)));
+        }
+    }
+
+    // Reserves the amount against every given rolling limit, or none of them; returns the limits it would exceed.
+    // Must run in the debit transaction: the wallet's usage stays locked until it ends.
+    public List<LimitType> consume(UUID walletId, BigDecimal amount, Map<LimitType, BigDecimal> limits) {
+        return consume(walletId, amount, limits, System.currentTimeMillis());
+    }
+
+    public List<LimitType> consume(UUID walletId, BigDecimal amount, Map<LimitType, BigDecimal> limits,
+                                   long nowMillis) {
+        long minor = amount.setScale(AMOUNT_SCALE, RoundingMode.UP).unscaledValue().longValueExact();
+        long sequence = bucketRepository.advanceSequence(walletId);
+
+        WalletUsage usage = usage(walletId, nowMillis);
+        synchronized (usage) {
+            if (usage.sequence != sequence - 1) {
+                usage = null;
+            }
+        }
+        if (usage == null) {
+            usage = load(walletId, nowMillis, sequence - 1, true);
+            wallets.put(walletId, usage);
+        }
+
+        List<LimitType> exceeded = new ArrayList<>();
+        List<UsageBucketRepository.Bucket> buckets = new ArrayList<>(WINDOWS.size());
+        WalletUsage current = usage;
+        synchronized (current) {
+            current.lastSeen = nowMillis;
+            limits.forEach((limitType, limitAmount) -> {
+                Window window = WINDOWS.get(limitType);
+                if (window != null && current.rings.get(limitType).total(window.epoch(nowMillis)) + minor
+                        > limitAmount.setScale(AMOUNT_SCALE, RoundingMode.DOWN).unscaledValue().longValueExact()) {
+                    exceeded.add(limitType);
+                }
+            });
+            // Every rolling window is recorded, so a rolling limit added later sees the wallet's usage so far
+            if (exceeded.isEmpty()) {
+                WINDOWS.forEach((limitType, window) -> {
+                    long epoch = window.epoch(nowMillis);
+                    current.rings.get(limitType).add(epoch, minor);
+                    buckets.add(new UsageBucketRepository.Bucket(limitType, epoch, minor));
+                });
+            }
+            current.sequence = sequence;
+        }
+
+        long applied = exceeded.isEmpty() ? minor : 0L;
+        bucketRepository.add(walletId, buckets);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        publish(walletId, sequence, nowMillis, applied);
+                    } else {
+                        release(walletId, current, sequence, nowMillis, applied);
+                    }
+                }
+            });
+        } else {
+            publish(walletId, sequence, nowMillis, applied);
+        }
+        return exceeded;
+    }
+
+    // Consume committed on another node, as "<nodeId>:<walletId>:<sequence>:<epochMillis>:<amountMinor>"
+    public void onConsume(String message) {
+        String[] fields = message.split(":");
+        if (fields.length != 5 || fields[0].equals(nodeId)) {
+            return;
+        }
+        try {
+            WalletUsage usage = wallets.get(UUID.fromString(fields[1]));
+            if (usage == null) {
+                return;
+            }
+            long sequence = Long.parseLong(fields[2]);
+            synchronized (usage) {
+                if (usage.sequence == sequence - 1) {
+                    long atMillis = Long.parseLong(fields[3]);
+                    long minor = Long.parseLong(fields[4]);
+                    WINDOWS.forEach((limitType, window) -> usage.rings.get(limitType).add(window.epoch(atMillis), minor));
+                    usage.sequence = sequence;
+                } else if (usage.sequence < sequence) {
+                    usage.sequence = STALE;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring rolling usage update '{}': {}", message, e.getMessage());
+        }
+    }
+
+    public int walletCount() {
+        return wallets.size();
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.limit.rolling.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        wallets.values().removeIf(usage -> usage.lastSeen < cutoff);
+    }
+
+    // Deletes persisted buckets that have left their window, in small batches
+    @Scheduled(fixedDelayString = "${wallet.limit.rolling.purge-interval-ms:3600000}")
+    public void purgeExpiredBuckets() {
+        long now = System.currentTimeMillis();
+        WINDOWS.forEach((limitType, window) -> {
+            long before = window.epoch(now) - window.buckets();
+            int purged = 0;
+            int deleted;
+            do {
+                deleted = bucketRepository.deleteBefore(limitType, before, purgeBatchSize);
+                purged += deleted;
+            } while (deleted == purgeBatchSize);
+            if (purged > 0) {
+                log.info("Purged {} expired {} usage buckets", purged, limitType);
+            }
+        });
+    }
+
+    // Helper methods
+    private WalletUsage usage(UUID walletId, long nowMillis) {
+        WalletUsage usage = wallets.get(walletId);
+        if (usage != null && usage.sequence != STALE && nowMillis - usage.loadedAt < reseedMillis) {
+            return usage;
+        }
+        WalletUsage loaded = load(walletId, nowMillis, bucketRepository.findSequence(walletId), false);
+        if (usage == null) {
+            usage = wallets.putIfAbsent(walletId, loaded);
+            return usage != null ? usage : loaded;
+        }
+        return wallets.replace(walletId, usage, loaded) ? loaded : wallets.getOrDefault(walletId, loaded);
+    }
+
+    // The sequence is read before the buckets, so a ring never claims a consume it does not contain
+    private WalletUsage load(UUID walletId, long nowMillis, long sequence, boolean locking) {
+        WalletUsage usage = new WalletUsage(nowMillis, sequence);
+        Map<LimitType, Long> fromEpochs = new EnumMap<>(LimitType.class);
+        WINDOWS.forEach((limitType, window) -> {
+            long epoch = window.epoch(nowMillis);
+            usage.rings.get(limitType).total(epoch);
+            fromEpochs.put(limitType, usage.rings.get(limitType).firstEpoch(epoch));
+        });
+        for (UsageBucketRepository.Bucket bucket : bucketRepository.find(walletId, fromEpochs, locking)) {
+            usage.rings.get(bucket.limitType()).add(bucket.bucketEpoch(), bucket.amountMinor());
+        }
+        return usage;
+    }
+
+    // A rolled back consume never happened: the database sequence is back at sequence - 1
+    private void release(UUID walletId, WalletUsage usage, long sequence, long atMillis, long minor) {
+        synchronized (usage) {
+            if (usage.sequence != sequence) {
+                wallets.remove(walletId, usage);
+                return;
+            }
+            WINDOWS.forEach((limitType, window) -> usage.rings.get(limitType).add(window.epoch(atMillis), -minor));
+            usage.sequence = sequence - 1;
+        }
+    }
+
+    private void publish(UUID walletId, long sequence, long atMillis, long minor) {
+        if (!pubSubEnabled) {
+            return;
+        }
+        try {
+            StringRedisTemplate template = redisTemplate.getIfAvailable();
+            if (template != null) {
+                template.convertAndSend(channel, nodeId + ":" + walletId + ":" + sequence + ":" + atMillis + ":" + minor);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to publish rolling usage for wallet {}: {}", walletId, e.getMessage());
+        }
+    }
+
+    private static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, AMOUNT_SCALE);
+    }
+
+    record Window(long bucketMillis, int buckets) {
+
+        long epoch(long millis) {
+            return millis / bucketMillis;
+        }
+    }
+
+    static final class WalletUsage {
+
+        final Map<LimitType, UsageRing> rings = new EnumMap<>(LimitType.class);
+        final long loadedAt;
+        // Last consume sequence the rings contain, or STALE
+        long sequence;
+        volatile long lastSeen;
+
+        WalletUsage(long nowMillis, long sequence) {
+            WINDOWS.forEach((limitType, window) -> rings.put(limitType, new UsageRing(window.buckets())));
+            this.loadedAt = nowMillis;
+            this.sequence = sequence;
+            lastSeen = nowMillis;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.interswitch.core.limit;
+
+// Rolling total over the last `length` time buckets, held in a primitive ring. Buckets are addressed by epoch
+// (time divided by bucket width); moving forward clears only the buckets that fell out of the window, so adds
+// and reads are O(1) amortised and never worse than O(length). Not thread-safe.
+public final class UsageRing {
+
+    private final long[] amounts;
+    private long epoch = Long.MIN_VALUE;
+    private long total;
+
+    public UsageRing(int length) {
+        this.amounts = new long[length];
+    }
+
+    // Total over the window ending at the given bucket
+    public long total(long bucketEpoch) {
+        advance(bucketEpoch);
+        return total;
+    }
+
+    // Adds to a bucket; buckets that are already outside the window are ignored. Negative amounts release.
+    public void add(long bucketEpoch, long amount) {
+        advance(bucketEpoch);
+        if (bucketEpoch <= epoch - amounts.length) {
+            return;
+        }
+        amounts[index(bucketEpoch)] += amount;
+        total += amount;
+    }
+
+    // Oldest bucket still inside the window ending at the given bucket
+    public long firstEpoch(long bucketEpoch) {
+        return bucketEpoch - amounts.length + 1;
+    }
+
+    private void advance(long bucketEpoch) {
+        if (epoch == Long.MIN_VALUE) {
+            epoch = bucketEpoch;
+            return;
+        }
+        if (bucketEpoch <= epoch) {
+            return;
+        }
+        long steps = Math.min(bucketEpoch - epoch, amounts.length);
+        for (long i = 1; i <= steps; i++) {
+            int index = index(epoch + i);
+            total -= amounts[index];
+            amounts[index] = 0;
+        }
+        epoch = bucketEpoch;
+    }
+
+    private int index(long bucketEpoch) {
+        return (int) Math.floorMod(bucketEpoch, (long) amounts.length);
+    }
+}
@@ -0,0 +1,55 @@
+package com.interswitch.core.outbox;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Producer for the outbox relay. Payloads are already serialized JSON, so values go out as plain strings.
+// The producer is idempotent, which keeps retried records from being duplicated or reordered within a
+// partition; linger and batch size let records from one relay batch share produce requests.
+@Configuration
+public class OutboxKafkaConfig {
+
+    @Value("${wallet.outbox.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${wallet.outbox.producer-batch-bytes:65536}")
+    private int producerBatchBytes;
+
+    @Value("${wallet.outbox.send-timeout-ms:15000}")
+    private int sendTimeoutMs;
+
+    @Bean
+    public ProducerFactory<String, String> outboxProducerFactory(KafkaProperties kafkaProperties,
+                                                                 ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> properties = new HashMap<>(kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable()));
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        properties.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchBytes);
+        properties.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, sendTimeoutMs);
+        properties.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, sendTimeoutMs + lingerMs);
+        properties.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, sendTimeoutMs);
+        return new DefaultKafkaProducerFactory<>(properties);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate(ProducerFactory<String, String> outboxProducerFactory) {
+        return new KafkaTemplate<>(outboxProducerFactory);
+    }
+}
@@ -0,0 +1,77 @@
+package com.interswitch.core.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interswitch.infra.repositories.OutboxEventRepository;
+import com.interswitch.model.dtos.event.WalletEvent;
+import com.interswitch.model.entities.OutboxEvent;
+import com.interswitch.shared.exceptions.ApiException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Records wallet events in the outbox table. Runs inside the caller's transaction, so an event is stored
+// if and only if the change it describes commits; OutboxRelay takes care of delivery to Kafka.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxPublisher {
+
+    public static final String BALANCE = "balance";
+    public static final String TRANSACTION = "transaction";
+    public static final String FREEZE = "freeze";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public OutboxEvent publish(UUID walletId, String aggregateType, UUID aggregateId,
+                               String eventType, Map<String, Object> data) {
+        WalletEvent event = WalletEvent.builder()
+            .eventId(UUID.randomUUID())
+            .eventType(eventType)
+            .walletId(walletId)
+            .aggregateType(aggregateType)
+            .aggregateId(aggregateId)
+            .occurredAt(LocalDateTime.now())
+            .data(data)
+            .build();
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} event for wallet {}", eventType, walletId, e);
+            throw ApiException.builder()
+                .message("Event serialization failed")
+                .description("Failed to serialize " + eventType + " event for wallet ID: " + walletId)
+                .status(500)
+                .build();
+        }
+
+        return outboxEventRepository.save(OutboxEvent.builder()
+            .walletId(walletId)
+            .aggregateType(aggregateType)
+            .aggregateId(aggregateId)
+            .eventType(eventType)
+            .payload(payload)
+            .build());
+    }
+
+    // Builds an event data map from key/value pairs, leaving out null values
+    public static Map<String, Object> fields(Object... keyValues) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            if (keyValues[i + 1] != null) {
+                data.put(String.valueOf(keyValues[i]), keyValues[i + 1]);
+            }
+        }
+        return data;
+    }
+}
@@ -0,0 +1,278 @@
+package com.interswitch.core.outbox;
+
+import com.interswitch.infra.outbox.OutboxRelayLeaseRepository;
+import com.interswitch.infra.repositories.OutboxEventRepository;
+import com.interswitch.model.entities.OutboxEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Drains the outbox into Kafka in insert order. Rows are marked published only once the broker has acknowledged
+// them, so a crash or failed send leads to redelivery rather than loss. Records are keyed by wallet ID, which
+// keeps a wallet's events on one partition. A batch is sent in rounds of at most one event per wallet, and a
+// round is acknowledged before the next is sent, so a wallet's next event never goes out before the previous one
+// is confirmed; once a wallet's event fails, its later events are not sent and are retried behind it. An event
+// that fails max-attempts times is parked with failed_at set and no longer blocks its wallet.
+//
+// Every node runs the relay, but only the holder of the outbox_relay_lease row drains; it renews the lease before
+// every batch and waits gap-grace-ms after taking it over, so a previous owner's last sends settle first.
+// event_seq is allocated at insert but becomes visible at commit, so an event can appear after a higher
+// sequence has already been read. The relay therefore only reads pending events up to its committed horizon:
+// the last sequence before the first gap in event_seq. Since the gap's wallet is unknown, relaying stops at
+// the gap for every wallet until it fills, or until it has been open for gap-grace-ms, after which it is
+// taken to be a rolled back insert (or a purged row) and skipped.
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayLeaseRepository leaseRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final String nodeId = UUID.randomUUID().toString();
+    // Open gaps above the watermark, keyed by their first missing sequence, with when they were first seen
+    private final Map<Long, Long> gaps = new HashMap<>();
+    // Every event up to this sequence is committed or given up on; -1 until first read under the lease
+    private long watermark = -1;
+    private long leasedSince = -1;
+
+    @Value("${wallet.outbox.relay-enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${wallet.outbox.topic:wallet-events}")
+    private String topic;
+
+    @Value("${wallet.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${wallet.outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${wallet.outbox.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${wallet.outbox.send-timeout-ms:15000}")
+    private int sendTimeoutMs;
+
+    @Value("${wallet.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${wallet.outbox.retention-hours:72}")
+    private int retentionHours;
+
+    // Must exceed the time to send a batch, or another node starts relaying while this one still is
+    @Value("${wallet.outbox.lease-ms:60000}")
+    private long leaseMillis;
+
+    @Value("${wallet.outbox.gap-grace-ms:10000}")
+    private long gapGraceMillis;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxRelayLeaseRepository leaseRepository,
+                       KafkaTemplate<String, String> outboxKafkaTemplate,
+                       PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.leaseRepository = leaseRepository;
+        this.kafkaTemplate = outboxKafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (relayEnabled) {
+            drain();
+        }
+    }
+
+    // Relays pending events until the outbox is empty, a batch publishes nothing or the per-poll cap is reached
+    public int drain() {
+        if (!drainLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int published = 0;
+            for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+                long now = System.currentTimeMillis();
+                if (!renewLease(now) || now - leasedSince < gapGraceMillis) {
+                    break;
+                }
+                // One snapshot for the horizon and the pending read, so every event up to the horizon is seen
+                List<OutboxEvent> events = transactionTemplate.execute(status -> outboxEventRepository.findPendingUpTo(
+                        committedHorizon(now), PageRequest.of(0, batchSize)));
+                if (events == null || events.isEmpty()) {
+                    break;
+                }
+                int sent = relay(events);
+                published += sent;
+                if (sent == 0 || events.size() < batchSize) {
+                    break;
+                }
+            }
+            if (published > 0) {
+                log.info("Relayed {} outbox events to {}", published, topic);
+            }
+            return published;
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${wallet.outbox.cleanup-cron:-}")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        log.info("Purged {} published outbox events older than {}", deleted, cutoff);
+    }
+
+    @PreDestroy
+    void releaseLease() {
+        if (leasedSince >= 0) {
+            leaseRepository.release(nodeId);
+        }
+    }
+
+    public long countPending() {
+        return outboxEventRepository.countByPublishedAtIsNullAndFailedAtIsNull();
+    }
+
+    public long countFailed() {
+        return outboxEventRepository.countByFailedAtIsNotNull();
+    }
+
+    // Helper methods
+    private boolean renewLease(long nowMillis) {
+        LocalDateTime now = LocalDateTime.now();
+        Boolean held = transactionTemplate.execute(status ->
+                leaseRepository.claim(nodeId, now, now.minus(leaseMillis, ChronoUnit.MILLIS)));
+        if (!Boolean.TRUE.equals(held)) {
+            if (leasedSince >= 0) {
+                log.warn("Outbox relay lease was taken over by another node");
+            }
+            leasedSince = -1;
+            watermark = -1;
+            gaps.clear();
+            return false;
+        }
+        if (leasedSince < 0) {
+            leasedSince = nowMillis;
+            log.info("Outbox relay lease taken by this node");
+        }
+        return true;
+    }
+
+    // Highest sequence up to which every event is committed, or missing for longer than gap-grace-ms
+    private long committedHorizon(long nowMillis) {
+        if (watermark < 0) {
+            Long first = outboxEventRepository.findFirstPendingSequence();
+            Long last = outboxEventRepository.findLastSequence();
+            watermark = first != null ? first - 1 : last != null ? last : 0;
+        }
+        long horizon = watermark;
+        for (long sequence : outboxEventRepository.findSequencesAfter(watermark, PageRequest.of(0, batchSize))) {
+            if (sequence > horizon + 1 && nowMillis - gaps.computeIfAbsent(horizon + 1, gap -> nowMillis) < gapGraceMillis) {
+                break;
+            }
+            horizon = sequence;
+        }
+        long committed = horizon;
+        watermark = committed;
+        gaps.keySet().removeIf(gap -> gap <= committed);
+        return committed;
+    }
+
+    private int relay(List<OutboxEvent> events) {
+        Map<UUID, ArrayDeque<OutboxEvent>> queues = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            queues.computeIfAbsent(event.getWalletId(), walletId -> new ArrayDeque<>()).add(event);
+        }
+
+        List<UUID> published = new ArrayList<>();
+        List<UUID> failed = new ArrayList<>();
+        int failedWallets = 0;
+        String error = null;
+        boolean interrupted = false;
+
+        while (!queues.isEmpty() && !interrupted) {
+            List<OutboxEvent> round = new ArrayList<>(queues.size());
+            List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(queues.size());
+            for (ArrayDeque<OutboxEvent> queue : queues.values()) {
+                OutboxEvent event = queue.poll();
+                round.add(event);
+                sends.add(send(event));
+            }
+            kafkaTemplate.flush();
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs + lingerMs);
+            for (int i = 0; i < round.size(); i++) {
+                OutboxEvent event = round.get(i);
+                try {
+                    sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    published.add(event.getId());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    interrupted = true;
+                    break;
+                } catch (ExecutionException | TimeoutException e) {
+                    Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                    error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+                    queues.remove(event.getWalletId());
+                    failed.add(event.getId());
+                    failedWallets++;
+                }
+            }
+            queues.values().removeIf(ArrayDeque::isEmpty);
+        }
+
+        String lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!published.isEmpty()) {
+                outboxEventRepository.markPublished(published, now);
+            }
+            if (!failed.isEmpty()) {
+                outboxEventRepository.markFailed(failed, lastError, maxAttempts, now);
+            }
+        });
+        if (!failed.isEmpty()) {
+            log.warn("Failed to relay {} outbox events for {} wallets: {}", failed.size(), failedWallets, lastError);
+        }
+        return published.size();
+    }
+
+    private CompletableFuture<SendResult<String, String>> send(OutboxEvent event) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, event.getWalletId().toString(), event.getPayload());
+        record.headers().add("eventType", event.getEventType().getBytes(StandardCharsets.UTF_8));
+        try {
+            return kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
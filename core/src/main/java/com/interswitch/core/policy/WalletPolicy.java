@@ -0,0 +1,84 @@
+package com.interswitch.core.policy;
+
+import com.interswitch.model.entities.WalletLimit;
+import com.interswitch.model.entities.WalletSettings;
+import com.interswitch.model.enums.LimitType;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// Immutable snapshot of a wallet's active limit definitions and its settings. Limit usage is not part of the
+// policy; it changes with every debit and is read where it is checked.
+public final class WalletPolicy {
+
+    private final UUID walletId;
+    private final long version;
+    private final long loadedAt;
+    private final Map<LimitType, Limit> limits;
+    private final Map<String, String> settings;
+
+    public record Limit(UUID id, LimitType limitType, BigDecimal limitAmount) {
+    }
+
+    private WalletPolicy(UUID walletId, long version, long loadedAt, Map<LimitType, Limit> limits,
+                         Map<String, String> settings) {
+        this.walletId = walletId;
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.limits = limits;
+        this.settings = settings;
+    }
+
+    public static WalletPolicy of(UUID walletId, long version, long loadedAt, List<WalletLimit> activeLimits,
+                                  List<WalletSettings> walletSettings) {
+        Map<LimitType, Limit> limits = new EnumMap<>(LimitType.class);
+        for (WalletLimit limit : activeLimits) {
+            limits.put(limit.getLimitType(), new Limit(limit.getId(), limit.getLimitType(), limit.getLimitAmount()));
+        }
+        // Settings may hold null values, which Map.copyOf would reject
+        Map<String, String> settings = new HashMap<>(walletSettings.size() * 2);
+        for (WalletSettings setting : walletSettings) {
+            settings.put(setting.getSettingKey(), setting.getSettingValue());
+        }
+        return new WalletPolicy(walletId, version, loadedAt, Collections.unmodifiableMap(limits),
+                Collections.unmodifiableMap(settings));
+    }
+
+    public UUID walletId() {
+        return walletId;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long loadedAt() {
+        return loadedAt;
+    }
+
+    public Optional<Limit> limit(LimitType limitType) {
+        return Optional.ofNullable(limits.get(limitType));
+    }
+
+    public Map<LimitType, Limit> limits() {
+        return limits;
+    }
+
+    public boolean hasSetting(String settingKey) {
+        return settings.containsKey(settingKey);
+    }
+
+    public String setting(String settingKey) {
+        return settings.get(settingKey);
+    }
+
+    public Map<String, String> settings() {
+        return settings;
+    }
+}
@@ -0,0 +1,144 @@
+package com.interswitch.core.policy;
+
+import com.interswitch.infra.repositories.WalletLimitRepository;
+import com.interswitch.infra.repositories.WalletSettingsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-wallet WalletPolicy snapshots, so limit and setting lookups on the transaction path skip the database for
+// warm wallets. A snapshot is loaded on first use and kept until its TTL passes or the wallet's limits or
+// settings change. Every invalidation gives the wallet a new version; a snapshot whose load overlapped an
+// invalidation of the same wallet is returned but not cached, so a slow load cannot put back what was just
+// invalidated, while loads of other wallets are unaffected. Versions are stamps from a monotonic nano clock and
+// are forgotten once older than the TTL, far longer than any load. Changes invalidate now
+// and again when the transaction completes, and committed ones are broadcast on a Redis channel so the other
+// nodes drop their snapshot too.
+@Component
+@Slf4j
+public class WalletPolicyCache {
+
+    private final WalletLimitRepository limitRepository;
+    private final WalletSettingsRepository settingsRepository;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final Map<UUID, WalletPolicy> policies = new ConcurrentHashMap<>();
+    // Version of each recently invalidated wallet; a wallet without one is at version 0
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong lastVersion = new AtomicLong();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final long ttlMillis;
+    private final int maxWallets;
+
+    @Value("${wallet.policy.cache.pubsub-enabled:true}")
+    private boolean pubSubEnabled;
+
+    @Value("${wallet.policy.cache.channel:wallet-policy-cache}")
+    private String channel;
+
+    public WalletPolicyCache(WalletLimitRepository limitRepository, WalletSettingsRepository settingsRepository,
+                             ObjectProvider<StringRedisTemplate> redisTemplate,
+                             @Value("${wallet.policy.cache.ttl-ms:300000}") long ttlMillis,
+                             @Value("${wallet.policy.cache.max-wallets:100000}") int maxWallets) {
+        this.limitRepository = limitRepository;
+        this.settingsRepository = settingsRepository;
+        this.redisTemplate = redisTemplate;
+        this.ttlMillis = ttlMillis;
+        this.maxWallets = maxWallets;
+    }
+
+    public WalletPolicy get(UUID walletId) {
+        long now = System.currentTimeMillis();
+        WalletPolicy policy = policies.get(walletId);
+        if (policy != null && now - policy.loadedAt() < ttlMillis) {
+            return policy;
+        }
+
+        long loadVersion = versions.getOrDefault(walletId, 0L);
+        WalletPolicy loaded = WalletPolicy.of(walletId, loadVersion, now,
+                limitRepository.findByWalletIdAndIsActiveTrue(walletId),
+                settingsRepository.findByWalletIdOrderBySettingKey(walletId));
+        if (policy != null || policies.size() < maxWallets) {
+            policies.compute(walletId,
+                    (id, existing) -> versions.getOrDefault(walletId, 0L) == loadVersion ? loaded : existing);
+        }
+        return loaded;
+    }
+
+    // Drops the wallet's snapshot now and when the surrounding transaction completes, here and on the other nodes
+    public void invalidate(UUID walletId) {
+        if (walletId == null) {
+            return;
+        }
+        evict(walletId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // Also after a rollback: a load inside the transaction may have seen its uncommitted rows
+                    evict(walletId);
+                    if (status == STATUS_COMMITTED) {
+                        publish(walletId);
+                    }
+                }
+            });
+            return;
+        }
+        publish(walletId);
+    }
+
+    // Invalidation from another node, as "<nodeId>:<walletId>"
+    public void onInvalidation(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0 || message.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        try {
+            evict(UUID.fromString(message.substring(separator + 1)));
+        } catch (Exception e) {
+            log.warn("Ignoring wallet policy invalidation '{}': {}", message, e.getMessage());
+        }
+    }
+
+    public int walletCount() {
+        return policies.size();
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.policy.cache.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        policies.values().removeIf(policy -> policy.loadedAt() < cutoff);
+        long versionCutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        versions.values().removeIf(version -> version - versionCutoff < 0);
+    }
+
+    // Helper methods
+    private void evict(UUID walletId) {
+        versions.put(walletId, lastVersion.updateAndGet(last -> Math.max(last + 1, System.nanoTime())));
+        policies.remove(walletId);
+    }
+
+    private void publish(UUID walletId) {
+        if (!pubSubEnabled) {
+            return;
+        }
+        try {
+            StringRedisTemplate template = redisTemplate.getIfAvailable();
+            if (template != null) {
+                template.convertAndSend(channel, nodeId + ":" + walletId);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to publish wallet policy invalidation for wallet {}: {}", walletId, e.getMessage());
+        }
+    }
+}
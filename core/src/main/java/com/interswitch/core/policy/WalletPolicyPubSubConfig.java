@@ -0,0 +1,29 @@
+package com.interswitch.core.policy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+// Subscribes the wallet policy cache to limit and setting changes committed on the other nodes
+@Configuration
+@ConditionalOnProperty(name = "wallet.policy.cache.pubsub-enabled", havingValue = "true", matchIfMissing = true)
+public class WalletPolicyPubSubConfig {
+
+    @Bean
+    public RedisMessageListenerContainer walletPolicyListenerContainer(
+            RedisConnectionFactory connectionFactory, WalletPolicyCache walletPolicyCache,
+            @Value("${wallet.policy.cache.channel:wallet-policy-cache}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> walletPolicyCache.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -0,0 +1,53 @@
+package com.interswitch.core.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free token bucket kept as a single theoretical arrival time (GCRA): each acquire pushes it one token
+// interval forward, and an acquire is refused while that would put it more than `burst` tokens ahead of now.
+// Equivalent to a bucket of `burst` tokens refilled at `tokensPerSecond`, with one CAS per acquire.
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong arrival;
+    private volatile long lastUsed;
+
+    public TokenBucket(double tokensPerSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.arrival = new AtomicLong(nowNanos);
+        this.lastUsed = nowNanos;
+    }
+
+    // Takes one token; returns 0 when granted, otherwise the nanos until one is available
+    public long tryAcquire(long nowNanos) {
+        lastUsed = nowNanos;
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current - nowNanos, 0L) + nowNanos + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    public void touch(long nowNanos) {
+        lastUsed = nowNanos;
+    }
+
+    public long intervalNanos() {
+        return intervalNanos;
+    }
+
+    public long burstNanos() {
+        return burstNanos;
+    }
+
+    public boolean idleSince(long cutoffNanos) {
+        return lastUsed - cutoffNanos < 0;
+    }
+}
@@ -0,0 +1,180 @@
+package com.interswitch.core.ratelimit;
+
+import com.interswitch.infra.repositories.WalletRepository;
+import com.interswitch.model.enums.WalletType;
+import com.interswitch.shared.exceptions.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Per-wallet and per-API-client request throttling for transaction creation, checked before any transaction
+// work. Every wallet and client gets a TokenBucket; wallet rates come from the tier of the wallet's WalletType
+// (looked up once when the bucket is created), client rates from one shared setting. Clients are keyed by the
+// web layer on something the caller cannot choose freely. Wallet IDs that do not exist get no bucket and are
+// remembered for a while, so random IDs cost neither memory nor a lookup each; the client bucket still throttles
+// them. In shared mode the buckets live in Redis, so all nodes draw from the same tokens; the local bucket then
+// only carries the rate and takes over while Redis is unreachable. Idle buckets are evicted.
+@Component
+@Slf4j
+public class TransactionRateLimiter {
+
+    // GCRA in Redis, in microseconds of Redis server time; returns 0 when granted, else the wait in micros.
+    // Uses TIME in a write script, which needs effect replication (the default since Redis 5).
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "local time = redis.call('TIME') "
+                    + "local now = tonumber(time[1]) * 1000000 + tonumber(time[2]) "
+                    + "local arrival = tonumber(redis.call('GET', KEYS[1]) or now) "
+                    + "if arrival < now then arrival = now end "
+                    + "local nextArrival = arrival + tonumber(ARGV[1]) "
+                    + "local wait = nextArrival - now - tonumber(ARGV[2]) "
+                    + "if wait > 0 then return wait end "
+                    + "redis.call('SET', KEYS[1], string.format('%.0f', nextArrival), "
+                    + "'PX', string.format('%d', math.ceil((nextArrival - now) / 1000) + 1)) "
+                    + "return 0", Long.class);
+
+    private final WalletRepository walletRepository;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final Map<UUID, TokenBucket> wallets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> clients = new ConcurrentHashMap<>();
+    // Wallet IDs found missing, with the nanos until which that is trusted
+    private final Map<UUID, Long> unknownWallets = new ConcurrentHashMap<>();
+    private final Map<WalletType, Tier> tiers = new EnumMap<>(WalletType.class);
+    private final Tier walletTier;
+    private final Tier clientTier;
+
+    @Value("${wallet.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${wallet.rate-limit.shared:false}")
+    private boolean shared;
+
+    @Value("${wallet.rate-limit.key-prefix:wallet-rate:}")
+    private String keyPrefix;
+
+    @Value("${wallet.rate-limit.idle-ms:600000}")
+    private long idleMillis;
+
+    @Value("${wallet.rate-limit.unknown-wallet-ttl-ms:60000}")
+    private long unknownWalletTtlMillis;
+
+    @Value("${wallet.rate-limit.max-unknown-wallets:100000}")
+    private int maxUnknownWallets;
+
+    public TransactionRateLimiter(WalletRepository walletRepository,
+                                  ObjectProvider<StringRedisTemplate> redisTemplate,
+                                  Environment environment) {
+        this.walletRepository = walletRepository;
+        this.redisTemplate = redisTemplate;
+        this.walletTier = tier(environment, "wallet.rate-limit.wallet.", new Tier(10, 10));
+        this.clientTier = tier(environment, "wallet.rate-limit.client.", new Tier(100, 200));
+        for (WalletType walletType : WalletType.values()) {
+            tiers.put(walletType, tier(environment,
+                    "wallet.rate-limit.tier." + walletType.name().toLowerCase() + ".", walletTier));
+        }
+    }
+
+    // Takes a token from the client's and the wallet's bucket, or throws a 429 for the first one that is empty
+    public void acquire(UUID walletId, String clientId) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (clientId != null && !clientId.isBlank()) {
+            TokenBucket bucket = clients.computeIfAbsent(clientId,
+                    id -> new TokenBucket(clientTier.ratePerSecond(), clientTier.burst(), now));
+            check(bucket, "client:" + clientId, now, "API client " + clientId);
+        }
+        if (walletId != null) {
+            TokenBucket bucket = walletBucket(walletId, now);
+            if (bucket != null) {
+                check(bucket, "wallet:" + walletId, now, "wallet " + walletId);
+            }
+        }
+    }
+
+    public int bucketCount() {
+        return wallets.size() + clients.size();
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        wallets.values().removeIf(bucket -> bucket.idleSince(cutoff));
+        clients.values().removeIf(bucket -> bucket.idleSince(cutoff));
+        long now = System.nanoTime();
+        unknownWallets.values().removeIf(until -> until - now < 0);
+    }
+
+    // Helper methods
+    // Null for a wallet that does not exist; the transaction itself then fails on the missing wallet
+    private TokenBucket walletBucket(UUID walletId, long now) {
+        TokenBucket bucket = wallets.get(walletId);
+        if (bucket != null) {
+            return bucket;
+        }
+        Long unknownUntil = unknownWallets.get(walletId);
+        if (unknownUntil != null && unknownUntil - now > 0) {
+            return null;
+        }
+        Optional<WalletType> walletType = walletRepository.findWalletTypeById(walletId);
+        if (walletType.isEmpty()) {
+            if (unknownWallets.size() < maxUnknownWallets) {
+                unknownWallets.put(walletId, now + TimeUnit.MILLISECONDS.toNanos(unknownWalletTtlMillis));
+            }
+            return null;
+        }
+        unknownWallets.remove(walletId);
+        Tier tier = tiers.getOrDefault(walletType.get(), walletTier);
+        TokenBucket created = new TokenBucket(tier.ratePerSecond(), tier.burst(), now);
+        bucket = wallets.putIfAbsent(walletId, created);
+        return bucket != null ? bucket : created;
+    }
+
+    private void check(TokenBucket bucket, String key, long now, String subject) {
+        long waitNanos = shared ? acquireShared(bucket, key, now) : bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException("Request rate exceeded for " + subject,
+                    Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+        }
+    }
+
+    private long acquireShared(TokenBucket bucket, String key, long now) {
+        bucket.touch(now);
+        try {
+            StringRedisTemplate template = redisTemplate.getIfAvailable();
+            if (template != null) {
+                Long waitMicros = template.execute(ACQUIRE_SCRIPT, List.of(keyPrefix + key),
+                        String.valueOf(Math.max(1L, bucket.intervalNanos() / 1000)),
+                        String.valueOf(bucket.burstNanos() / 1000));
+                if (waitMicros != null) {
+                    return TimeUnit.MICROSECONDS.toNanos(waitMicros);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Shared rate limit unavailable for {}, using the local bucket: {}", key, e.getMessage());
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    private static Tier tier(Environment environment, String prefix, Tier defaults) {
+        return new Tier(environment.getProperty(prefix + "rate-per-second", Double.class, defaults.ratePerSecond()),
+                environment.getProperty(prefix + "burst", Integer.class, defaults.burst()));
+    }
+
+    record Tier(double ratePerSecond, int burst) {
+    }
+}
@@ -0,0 +1,331 @@
+package com.interswitch.core.reconciliation;
+
+import com.interswitch.core.services.WalletStatementService;
+import com.interswitch.infra.repositories.ReconciliationMismatchRepository;
+import com.interswitch.infra.repositories.ReconciliationRunRepository;
+import com.interswitch.infra.repositories.WalletBalanceRepository;
+import com.interswitch.model.dtos.response.StatementVerificationResponse;
+import com.interswitch.model.entities.ReconciliationMismatch;
+import com.interswitch.model.entities.ReconciliationRun;
+import com.interswitch.model.enums.ReconciliationStatus;
+import com.interswitch.shared.exceptions.ApiException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Reconciles wallet balances against their posting chains. Wallets are walked in wallet-ID keyset chunks;
+// each chunk is verified in parallel on virtual threads and the keyset cursor is checkpointed on the run
+// after every chunk, so an interrupted run resumes where it stopped, in the mode it was started in. Incremental
+// runs only visit wallets with postings beyond their last verified sequence or whose available balance no
+// longer matches the verified balance, which catches balance changes made outside the posting chain. Runs
+// are claimed with a database lease renewed at every checkpoint, as audit retention runs are, so only one
+// node works a run at a time and another node takes it over only once the owner has stopped checkpointing for
+// lease-ms; the database also allows a single RUNNING run.
+@Service
+@Slf4j
+public class BalanceReconciliationService {
+
+    private static final UUID KEYSET_START = new UUID(0L, 0L);
+
+    private final WalletBalanceRepository balanceRepository;
+    private final WalletStatementService walletStatementService;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationMismatchRepository mismatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Must exceed the time to verify a chunk, or a slow owner loses its run to another node
+    @Value("${wallet.reconciliation.lease-ms:120000}")
+    private long leaseMillis;
+
+    @Value("${wallet.reconciliation.chunk-size:500}")
+    private int chunkSize;
+
+    // Bounded so verification workers cannot exhaust the connection pool
+    @Value("${wallet.reconciliation.parallelism:8}")
+    private int parallelism;
+
+    public BalanceReconciliationService(WalletBalanceRepository balanceRepository,
+                                        WalletStatementService walletStatementService,
+                                        ReconciliationRunRepository runRepository,
+                                        ReconciliationMismatchRepository mismatchRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.balanceRepository = balanceRepository;
+        this.walletStatementService = walletStatementService;
+        this.runRepository = runRepository;
+        this.mismatchRepository = mismatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${wallet.reconciliation.cron:-}")
+    public void scheduledRun() {
+        if (running.get()) {
+            log.info("Skipping scheduled reconciliation; a run is already in progress");
+            return;
+        }
+        // Every node fires the schedule; all but the one that claims the run skip it
+        try {
+            start(null);
+        } catch (ApiException e) {
+            log.info("Skipping scheduled reconciliation: {}", e.getDescription());
+        }
+    }
+
+    // Resumes an interrupted run of the same mode; an interrupted run of the other mode has to finish first
+    public ReconciliationRun startRun(boolean fullRun) {
+        return start(fullRun);
+    }
+
+    public ReconciliationRun getRun(UUID runId) {
+        return runRepository.findById(runId)
+            .orElseThrow(() -> ApiException.builder()
+                .message("Reconciliation run not found")
+                .description("Reconciliation run not found for ID: " + runId)
+                .status(404)
+                .build());
+    }
+
+    public Page<ReconciliationRun> getRuns(Pageable pageable) {
+        return runRepository.findAllByOrderByStartedAtDesc(pageable);
+    }
+
+    public Page<ReconciliationMismatch> getMismatches(UUID runId, Pageable pageable) {
+        getRun(runId);
+        return mismatchRepository.findByRunIdOrderByWalletId(runId, pageable);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    // Helper methods
+    // A null fullRun resumes whichever run was interrupted, or starts an incremental one
+    private ReconciliationRun start(Boolean fullRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw ApiException.builder()
+                .message("Reconciliation in progress")
+                .description("A reconciliation run is already in progress")
+                .status(409)
+                .build();
+        }
+
+        ReconciliationRun run;
+        try {
+            run = transactionTemplate.execute(status -> claim(fullRun, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            running.set(false);
+            throw ApiException.builder()
+                .message("Reconciliation in progress")
+                .description("A reconciliation run was started on another node")
+                .status(409)
+                .build();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+
+        ReconciliationRun started = run;
+        runner.submit(() -> {
+            try {
+                execute(started);
+            } finally {
+                running.set(false);
+            }
+        });
+        log.info("Reconciliation run {} started (full: {}, resuming after: {})",
+            run.getId(), run.getFullRun(), run.getLastWalletId());
+        return run;
+    }
+
+    // Resumes a run interrupted by a restart instead of starting over, unless another node holds its lease
+    private ReconciliationRun claim(Boolean fullRun, LocalDateTime now) {
+        Optional<ReconciliationRun> interrupted =
+            runRepository.findFirstByStatusOrderByStartedAtDesc(ReconciliationStatus.RUNNING);
+        if (interrupted.isEmpty()) {
+            return runRepository.saveAndFlush(ReconciliationRun.builder()
+                .status(ReconciliationStatus.RUNNING)
+                .fullRun(Boolean.TRUE.equals(fullRun))
+                .startedAt(now)
+                .ownerNode(nodeId)
+                .heartbeatAt(now)
+                .build());
+        }
+
+        ReconciliationRun run = interrupted.get();
+        if (fullRun != null && !run.getFullRun().equals(fullRun)) {
+            throw ApiException.builder()
+                .message("Reconciliation in progress")
+                .description("Interrupted " + (run.getFullRun() ? "full" : "incremental")
+                    + " reconciliation run " + run.getId() + " must be resumed first")
+                .status(409)
+                .build();
+        }
+        if (!renewLease(run, now)) {
+            throw ApiException.builder()
+                .message("Reconciliation in progress")
+                .description("Reconciliation run " + run.getId() + " is in progress on another node")
+                .status(409)
+                .build();
+        }
+        return run;
+    }
+
+    // Takes or renews this node's lease on the run; false once another node holds it
+    private boolean renewLease(ReconciliationRun run, LocalDateTime now) {
+        if (runRepository.claimLease(run.getId(), nodeId, now, now.minus(leaseMillis, ChronoUnit.MILLIS),
+                ReconciliationStatus.RUNNING) == 0) {
+            return false;
+        }
+        run.setOwnerNode(nodeId);
+        run.setHeartbeatAt(now);
+        return true;
+    }
+
+    // Saves the run, and the chunk's mismatches, unless another node has taken it over
+    private ReconciliationRun checkpoint(ReconciliationRun run, List<ReconciliationMismatch> mismatches) {
+        return transactionTemplate.execute(status -> {
+            if (!renewLease(run, LocalDateTime.now())) {
+                throw new LeaseLostException(run.getId());
+            }
+            if (!mismatches.isEmpty()) {
+                mismatchRepository.saveAll(mismatches);
+            }
+            return runRepository.save(run);
+        });
+    }
+
+    private void execute(ReconciliationRun run) {
+        UUID cursor = run.getLastWalletId() != null ? run.getLastWalletId() : KEYSET_START;
+        Semaphore permits = new Semaphore(parallelism);
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (!Thread.currentThread().isInterrupted()) {
+                PageRequest page = PageRequest.of(0, chunkSize);
+                List<UUID> walletIds = run.getFullRun()
+                    ? balanceRepository.findWalletIdsAfter(cursor, page)
+                    : balanceRepository.findUnverifiedWalletIdsAfter(cursor, page);
+                if (walletIds.isEmpty()) {
+                    break;
+                }
+
+                UUID runId = run.getId();
+                List<Future<ReconciliationMismatch>> futures = new ArrayList<>(walletIds.size());
+                for (UUID walletId : walletIds) {
+                    futures.add(workers.submit(() -> {
+                        permits.acquire();
+                        try {
+                            return reconcile(runId, walletId);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+
+                List<ReconciliationMismatch> mismatches = new ArrayList<>();
+                for (Future<ReconciliationMismatch> future : futures) {
+                    ReconciliationMismatch mismatch = future.get();
+                    if (mismatch != null) {
+                        mismatches.add(mismatch);
+                    }
+                }
+
+                // Checkpoint the keyset cursor
+                cursor = walletIds.get(walletIds.size() - 1);
+                run.setLastWalletId(cursor);
+                run.setWalletsChecked(run.getWalletsChecked() + walletIds.size());
+                run.setMismatchCount(run.getMismatchCount() + mismatches.size());
+                run = checkpoint(run, mismatches);
+            }
+
+            run.setStatus(ReconciliationStatus.COMPLETED);
+            run.setCompletedAt(LocalDateTime.now());
+            run = checkpoint(run, List.of());
+            log.info("Reconciliation run {} completed: {} wallets checked, {} mismatches",
+                run.getId(), run.getWalletsChecked(), run.getMismatchCount());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Reconciliation run {} interrupted after wallet {}; it will resume on the next start",
+                run.getId(), run.getLastWalletId());
+        } catch (LeaseLostException e) {
+            log.warn("Reconciliation run {} was taken over by another node after wallet {}",
+                run.getId(), run.getLastWalletId());
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Reconciliation run {} failed after wallet {}", run.getId(), run.getLastWalletId(), e);
+            run.setStatus(ReconciliationStatus.FAILED);
+            run.setFailureReason(e.getMessage());
+            run.setCompletedAt(LocalDateTime.now());
+            try {
+                checkpoint(run, List.of());
+            } catch (LeaseLostException lost) {
+                log.warn("Reconciliation run {} was taken over by another node; not marking it failed", run.getId());
+            }
+        }
+    }
+
+    private ReconciliationMismatch reconcile(UUID runId, UUID walletId) {
+        StatementVerificationResponse verification;
+        try {
+            verification = walletStatementService.verifyStatement(walletId);
+        } catch (RuntimeException e) {
+            return ReconciliationMismatch.builder()
+                .runId(runId)
+                .walletId(walletId)
+                .reason("Verification failed: " + e.getMessage())
+                .build();
+        }
+
+        String reason = null;
+        if (!verification.isConsistent()) {
+            reason = verification.getFailureReason();
+        } else if (verification.getVerifiedSequence() < verification.getLastPostingSequence()) {
+            reason = "Postings after sequence " + verification.getVerifiedSequence() + " are missing";
+        } else if (verification.getVerifiedBalance().compareTo(verification.getAvailableBalance()) != 0) {
+            reason = "Available balance does not match the posting chain";
+        }
+        if (reason == null) {
+            return null;
+        }
+
+        return ReconciliationMismatch.builder()
+            .runId(runId)
+            .walletId(walletId)
+            .bookBalance(verification.getBookBalance())
+            .ledgerBalance(verification.getVerifiedBalance())
+            .difference(verification.getAvailableBalance().subtract(verification.getVerifiedBalance()))
+            .verifiedSequence(verification.getVerifiedSequence())
+            .lastPostingSequence(verification.getLastPostingSequence())
+            .reason(reason)
+            .build();
+    }
+
+    private static final class LeaseLostException extends IllegalStateException {
+
+        LeaseLostException(UUID runId) {
+            super("Lease on reconciliation run " + runId + " was taken by another node");
+        }
+    }
+}
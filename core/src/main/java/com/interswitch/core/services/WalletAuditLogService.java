@@ -1,6 +1,16 @@
 package com.interswitch.core.services;
 
+import com.interswitch.core.activity.RecentAuditLogs;
+import com.interswitch.core.audit.AuditActivityMonitor;
+import com.interswitch.core.audit.AuditDimensions;
+import com.interswitch.core.audit.AuditPayloads;
+import com.interswitch.core.audit.AuditRetentionService;
+import com.interswitch.core.audit.AuditStatisticsService;
+import com.interswitch.infra.audit.AuditRollupRepository;
 import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import com.interswitch.model.dtos.response.ActivityCountResponse;
+import com.interswitch.model.converters.AuditDictionary;
+import com.interswitch.model.entities.AuditRetentionRun;
 import com.interswitch.model.entities.WalletAuditLog;
 import com.interswitch.shared.exceptions.ApiException;
 import lombok.RequiredArgsConstructor;
@@ -12,9 +22,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -23,6 +31,13 @@ import java.util.UUID;
 public class WalletAuditLogService {
 
     private final WalletAuditLogRepository auditLogRepository;
+    private final AuditRollupRepository rollupRepository;
+    private final AuditStatisticsService auditStatisticsService;
+    private final AuditRetentionService auditRetentionService;
+    private final RecentAuditLogs recentAuditLogs;
+    private final AuditDimensions auditDimensions;
+    private final AuditActivityMonitor activityMonitor;
+    private final AuditDictionary auditDictionary;
 
     public WalletAuditLog getAuditLog(UUID auditLogId) {
         log.info("Getting audit log: {}", auditLogId);
@@ -71,13 +86,17 @@ public class WalletAuditLogService {
         return auditLogRepository.findByEntityTypeOrderByCreatedAtDesc(entityType, pageable);
     }
 
+    // Served from memory; the database is only read to seed the buffer or beyond its horizon
     public List<WalletAuditLog> getRecentAuditLogs(int limit) {
-        log.info("Getting recent audit logs with limit: {}", limit);
-        
-        Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<WalletAuditLog> page = auditLogRepository.findAll(pageable);
-        
-        return page.getContent();
+        log.debug("Getting recent audit logs with limit: {}", limit);
+        return recentAuditLogs.recent(limit,
+            count -> auditLogRepository.findRecentAuditLogs(PageRequest.of(0, count)).getContent());
+    }
+
+    public List<WalletAuditLog> getRecentWalletAuditLogs(UUID walletId, int limit) {
+        log.debug("Getting recent audit logs for wallet: {} with limit: {}", walletId, limit);
+        return recentAuditLogs.recent(walletId, limit, count -> auditLogRepository
+            .findByWalletIdOrderByCreatedAtDesc(walletId, PageRequest.of(0, count)).getContent());
     }
 
     public Page<WalletAuditLog> searchAuditLogs(UUID walletId, String action, String entityType, 
@@ -90,85 +109,7 @@ public class WalletAuditLogService {
 
     public Object getAuditLogStatistics(UUID walletId, LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Getting audit log statistics");
-        
-        LocalDateTime effectiveStartDate = startDate != null ? startDate : LocalDateTime.now().minusMonths(1);
-        LocalDateTime effectiveEndDate = endDate != null ? endDate : LocalDateTime.now();
-        
-        Map<String, Object> statistics = new HashMap<>();
-        
-        // Total count
-        long totalCount;
-        if (walletId != null) {
-            totalCount = auditLogRepository.countByWalletIdAndCreatedAtBetween(walletId, effectiveStartDate, effectiveEndDate);
-        } else {
-            totalCount = auditLogRepository.countByCreatedAtBetween(effectiveStartDate, effectiveEndDate);
-        }
-        
-        // Action statistics
-        Map<String, Long> actionStats = new HashMap<>();
-        List<Object[]> actionCounts;
-        if (walletId != null) {
-            actionCounts = auditLogRepository.countByWalletIdAndActionGroupByAction(walletId, effectiveStartDate, effectiveEndDate);
-        } else {
-            actionCounts = auditLogRepository.countByActionGroupByAction(effectiveStartDate, effectiveEndDate);
-        }
-        
-        for (Object[] row : actionCounts) {
-            actionStats.put((String) row[0], (Long) row[1]);
-        }
-        
-        // Entity type statistics
-        Map<String, Long> entityTypeStats = new HashMap<>();
-        List<Object[]> entityTypeCounts;
-        if (walletId != null) {
-            entityTypeCounts = auditLogRepository.countByWalletIdAndEntityTypeGroupByEntityType(walletId, effectiveStartDate, effectiveEndDate);
-        } else {
-            entityTypeCounts = auditLogRepository.countByEntityTypeGroupByEntityType(effectiveStartDate, effectiveEndDate);
-        }
-        
-        for (Object[] row : entityTypeCounts) {
-            entityTypeStats.put((String) row[0], (Long) row[1]);
-        }
-        
-        // User activity statistics
-        Map<String, Long> userStats = new HashMap<>();
-        List<Object[]> userCounts;
-        if (walletId != null) {
-            userCounts = auditLogRepository.countByWalletIdAndPerformedByGroupByPerformedBy(walletId, effectiveStartDate, effectiveEndDate);
-        } else {
-            userCounts = auditLogRepository.countByPerformedByGroupByPerformedBy(effectiveStartDate, effectiveEndDate);
-        }
-        
-        for (Object[] row : userCounts) {
-            userStats.put(row[0].toString(), (Long) row[1]);
-        }
-        
-        // Daily activity (last 30 days)
-        Map<String, Long> dailyActivity = new HashMap<>();
-        List<Object[]> dailyCounts;
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        
-        if (walletId != null) {
-            dailyCounts = auditLogRepository.countByWalletIdAndDayGroupByDay(walletId, thirtyDaysAgo, effectiveEndDate);
-        } else {
-            dailyCounts = auditLogRepository.countByDayGroupByDay(thirtyDaysAgo, effectiveEndDate);
-        }
-        
-        for (Object[] row : dailyCounts) {
-            dailyActivity.put(row[0].toString(), (Long) row[1]);
-        }
-        
-        statistics.put("period", Map.of(
-            "startDate", effectiveStartDate,
-            "endDate", effectiveEndDate
-        ));
-        statistics.put("totalCount", totalCount);
-        statistics.put("actionStatistics", actionStats);
-        statistics.put("entityTypeStatistics", entityTypeStats);
-        statistics.put("userActivityStatistics", userStats);
-        statistics.put("dailyActivity", dailyActivity);
-        
-        return statistics;
+        return auditStatisticsService.getStatistics(walletId, startDate, endDate);
     }
 
     public List<WalletAuditLog> getAuditLogsByEntity(UUID entityId, String entityType) {
@@ -211,21 +152,54 @@ public class WalletAuditLogService {
     }
 
     public List<String> getDistinctActions() {
-        log.info("Getting distinct actions from audit logs");
-        return auditLogRepository.findDistinctActions();
+        log.debug("Getting distinct actions from audit logs");
+        return auditDimensions.getActions();
     }
 
     public List<String> getDistinctEntityTypes() {
-        log.info("Getting distinct entity types from audit logs");
-        return auditLogRepository.findDistinctEntityTypes();
+        log.debug("Getting distinct entity types from audit logs");
+        return auditDimensions.getEntityTypes();
+    }
+
+    public List<UUID> getDistinctPerformers() {
+        log.debug("Getting distinct performers from audit logs");
+        return auditDimensions.getPerformers();
+    }
+
+    // Activity rankings come from the streaming monitor, which only counts this node's traffic; the GROUP BY
+    // queries answer ranges it cannot cover, across all nodes
+    public List<ActivityCountResponse> getSuspiciousIpActivity(LocalDateTime since, long threshold) {
+        log.debug("Getting IPs with more than {} actions since {}", threshold, since);
+        return activityMonitor.findSuspiciousIps(since, threshold)
+            .orElseGet(() -> toActivityCounts(auditLogRepository.findSuspiciousIpActivity(since, threshold)));
+    }
+
+    public List<ActivityCountResponse> getMostActiveUsers(LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        log.debug("Getting {} most active users between {} and {}", limit, startDate, endDate);
+        return activityMonitor.findMostActiveUsers(startDate, endDate, limit)
+            .orElseGet(() -> toActivityCounts(
+                auditLogRepository.findMostActiveUsers(startDate, endDate, PageRequest.of(0, limit))));
     }
 
-    public void cleanupOldAuditLogs(LocalDateTime cutoffDate) {
+    public List<ActivityCountResponse> getMostActiveWallets(LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        log.debug("Getting {} most active wallets between {} and {}", limit, startDate, endDate);
+        return activityMonitor.findMostActiveWallets(startDate, endDate, limit)
+            .orElseGet(() -> toActivityCounts(
+                auditLogRepository.findMostActiveWallets(startDate, endDate, PageRequest.of(0, limit))));
+    }
+
+    // Archives and purges in throttled background batches; poll the returned run for progress
+    public AuditRetentionRun cleanupOldAuditLogs(LocalDateTime cutoffDate) {
         log.info("Cleaning up audit logs older than: {}", cutoffDate);
-        
-        long deletedCount = auditLogRepository.deleteByCreatedAtBefore(cutoffDate);
-        
-        log.info("Cleaned up {} old audit logs", deletedCount);
+        return auditRetentionService.startRun(cutoffDate);
+    }
+
+    public AuditRetentionRun getRetentionRun(UUID runId) {
+        return auditRetentionService.getRun(runId);
+    }
+
+    public Page<AuditRetentionRun> getRetentionRuns(Pageable pageable) {
+        return auditRetentionService.getRuns(pageable);
     }
 
     // Helper method to create audit log programmatically
@@ -233,19 +207,39 @@ public class WalletAuditLogService {
                                         Object oldValues, Object newValues, UUID performedBy,
                                         String ipAddress, String userAgent) {
         log.info("Creating audit log for wallet: {} with action: {}", walletId, action);
+        auditDictionary.register(AuditDictionary.ACTION, action);
+        auditDictionary.register(AuditDictionary.ENTITY_TYPE, entityType);
         
         WalletAuditLog auditLog = WalletAuditLog.builder()
             .walletId(walletId)
             .action(action)
             .entityType(entityType)
             .entityId(entityId)
-            .oldValues(oldValues != null ? oldValues.toString() : null)
-            .newValues(newValues != null ? newValues.toString() : null)
+            .oldValues(AuditPayloads.toJson(AuditPayloads.snapshot(oldValues)))
+            .newValues(AuditPayloads.toJson(AuditPayloads.snapshot(newValues)))
             .performedBy(performedBy)
             .ipAddress(ipAddress)
             .userAgent(userAgent)
             .build();
         
-        return auditLogRepository.save(auditLog);
+        auditLog = auditLogRepository.save(auditLog);
+        rollupRepository.increment(List.of(new AuditRollupRepository.Delta(
+            LocalDateTime.now(), walletId, action, entityType, performedBy, 1)));
+        recentAuditLogs.record(auditLog);
+        auditDimensions.record(action, entityType, performedBy);
+        activityMonitor.record(ipAddress, performedBy, walletId);
+        return auditLog;
+    }
+
+    // Helper methods
+    private static List<ActivityCountResponse> toActivityCounts(List<Object[]> rows) {
+        return rows.stream()
+            .filter(row -> row[0] != null)
+            .map(row -> ActivityCountResponse.builder()
+                .key(row[0].toString())
+                .count(((Number) row[1]).longValue())
+                .upperBound(((Number) row[1]).longValue())
+                .build())
+            .toList();
     }
 }
\ No newline at end of file
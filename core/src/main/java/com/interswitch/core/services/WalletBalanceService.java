@@ -1,9 +1,14 @@
 package com.interswitch.core.services;
-import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.debit.DebitGate;
+import com.interswitch.core.outbox.OutboxPublisher;
+import com.interswitch.infra.repositories.WalletBalanceAdjustmentRepository;
 import com.interswitch.infra.repositories.WalletBalanceRepository;
 import com.interswitch.infra.repositories.WalletRepository;
-import com.interswitch.model.entities.WalletAuditLog;
+import com.interswitch.model.dtos.response.DebitEligibilityResponse;
 import com.interswitch.model.entities.WalletBalance;
+import com.interswitch.model.entities.WalletBalanceAdjustment;
+import com.interswitch.model.enums.BalanceAdjustmentType;
 import com.interswitch.shared.exceptions.ApiException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -22,12 +27,16 @@ public class WalletBalanceService {
 
     private final WalletBalanceRepository balanceRepository;
     private final WalletRepository walletRepository;
-    private final WalletAuditLogRepository auditLogRepository;
+    private final WalletBalanceAdjustmentRepository adjustmentRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final OutboxPublisher outboxPublisher;
+    private final DebitGate debitGate;
 
     public Optional<WalletBalance> getBalance(UUID walletId) {
         return balanceRepository.findByWalletId(walletId);
     }
 
+    // Manual adjustment, recorded as an ADJUSTMENT posting so the statement chain continues through it
     public WalletBalance updateBalance(UUID walletId, BigDecimal amount, UUID performedBy) {
         WalletBalance balance = balanceRepository.findByWalletIdWithLock(walletId)
                 .orElseThrow(() -> ApiException.builder()
@@ -47,28 +56,49 @@ public class WalletBalanceService {
                     .build();
         }
 
-        int updated = balanceRepository.updateBalanceAtomically(walletId, amount, balance.getVersion());
-        if (updated == 0) {
-            throw ApiException.builder()
-                    .message("Concurrent modification")
-                    .description("Balance was modified by another transaction for wallet ID: " + walletId)
-                    .status(409)
-                    .build();
-        }
+        balance = recordAdjustment(balance, BalanceAdjustmentType.ADJUSTMENT, amount, performedBy);
+
+        // Log audit
+        logAudit(walletId, "BALANCE_UPDATED", balance.getId(),
+                oldBalance, balance.getAvailableBalance(), performedBy);
+        publishBalanceEvent(balance, "BALANCE_UPDATED", amount);
 
-        // Refresh balance
-        balance = balanceRepository.findByWalletId(walletId)
+        log.info("Balance updated for wallet {}: {} -> {}", walletId, oldBalance, balance.getAvailableBalance());
+        return balance;
+    }
+
+    // Applies a signed amount for a transaction posting and advances the wallet's posting sequence.
+    // The row stays locked until commit, so the returned balance is the exact after-image of this posting.
+    public WalletBalance postTransaction(UUID walletId, BigDecimal amount, UUID performedBy) {
+        WalletBalance balance = balanceRepository.findByWalletIdWithLock(walletId)
                 .orElseThrow(() -> ApiException.builder()
                         .message("Balance not found")
-                        .description("Wallet balance not found after update for wallet ID: " + walletId)
+                        .description("Wallet balance not found for wallet ID: " + walletId)
                         .status(404)
                         .build());
 
+        BigDecimal oldBalance = balance.getAvailableBalance();
+        BigDecimal newBalance = oldBalance.add(amount);
+
+        if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
+            throw ApiException.builder()
+                    .message("Insufficient balance")
+                    .description("Insufficient balance for wallet ID: " + walletId)
+                    .status(400)
+                    .build();
+        }
+
+        balance.setAvailableBalance(newBalance);
+        balance.setLastPostingSequence(balance.getLastPostingSequence() + 1);
+        balance = balanceRepository.saveAndFlush(balance);
+
         // Log audit
         logAudit(walletId, "BALANCE_UPDATED", balance.getId(),
                 oldBalance, balance.getAvailableBalance(), performedBy);
+        publishBalanceEvent(balance, "BALANCE_UPDATED", amount);
 
-        log.info("Balance updated for wallet {}: {} -> {}", walletId, oldBalance, balance.getAvailableBalance());
+        log.info("Posting {} applied to wallet {}: {} -> {}",
+                balance.getLastPostingSequence(), walletId, oldBalance, newBalance);
         return balance;
     }
 
@@ -76,6 +106,11 @@ public class WalletBalanceService {
         return balanceRepository.hasSufficientBalance(walletId, amount);
     }
 
+    // Status, freezes, balance net of frozen funds and limits in one decision
+    public DebitEligibilityResponse checkDebitEligibility(UUID walletId, BigDecimal amount) {
+        return debitGate.evaluate(walletId, amount);
+    }
+
     public BigDecimal getTotalBalanceByUser(UUID userId, String currency) {
         return balanceRepository.getTotalBalanceByUserAndCurrency(userId, currency);
     }
@@ -100,14 +135,13 @@ public class WalletBalanceService {
                     .build();
         }
 
-        balance.setAvailableBalance(balance.getAvailableBalance().subtract(amount));
         balance.setReservedBalance(balance.getReservedBalance().add(amount));
-
-        balanceRepository.save(balance);
+        balance = recordAdjustment(balance, BalanceAdjustmentType.RESERVE, amount.negate(), performedBy);
 
         // Log audit
         logAudit(walletId, "BALANCE_RESERVED", balance.getId(),
                 null, amount, performedBy);
+        publishBalanceEvent(balance, "BALANCE_RESERVED", amount);
 
         log.info("Balance reserved for wallet {}: {}", walletId, amount);
     }
@@ -129,30 +163,49 @@ public class WalletBalanceService {
         }
 
         balance.setReservedBalance(balance.getReservedBalance().subtract(amount));
-        balance.setAvailableBalance(balance.getAvailableBalance().add(amount));
-
-        balanceRepository.save(balance);
+        balance = recordAdjustment(balance, BalanceAdjustmentType.RELEASE, amount, performedBy);
 
         // Log audit
         logAudit(walletId, "BALANCE_RELEASED", balance.getId(),
                 null, amount, performedBy);
+        publishBalanceEvent(balance, "BALANCE_RELEASED", amount);
 
         log.info("Reserved balance released for wallet {}: {}", walletId, amount);
     }
 
-    private void logAudit(UUID walletId, String action, UUID entityId,
-                          Object oldValue, Object newValue, UUID performedBy) {
-        WalletAuditLog auditLog = WalletAuditLog.builder()
-                .walletId(walletId)
-                .action(action)
-                .entityType("balance")
-                .entityId(entityId)
-                .oldValues(oldValue != null ? oldValue.toString() : null)
-                .newValues(newValue != null ? newValue.toString() : null)
+    // Moves the locked balance by a signed amount under the next posting sequence and records the adjustment
+    private WalletBalance recordAdjustment(WalletBalance balance, BalanceAdjustmentType type, BigDecimal amount,
+                                           UUID performedBy) {
+        BigDecimal balanceBefore = balance.getAvailableBalance();
+        balance.setAvailableBalance(balanceBefore.add(amount));
+        balance.setLastPostingSequence(balance.getLastPostingSequence() + 1);
+        balance = balanceRepository.saveAndFlush(balance);
+
+        adjustmentRepository.save(WalletBalanceAdjustment.builder()
+                .walletId(balance.getWalletId())
+                .postingSequence(balance.getLastPostingSequence())
+                .adjustmentType(type)
+                .amount(amount)
+                .balanceBefore(balanceBefore)
+                .balanceAfter(balance.getAvailableBalance())
                 .performedBy(performedBy)
-                .build();
+                .build());
+        return balance;
+    }
 
-        auditLogRepository.save(auditLog);
+    private void publishBalanceEvent(WalletBalance balance, String eventType, BigDecimal amount) {
+        outboxPublisher.publish(balance.getWalletId(), OutboxPublisher.BALANCE, balance.getId(), eventType,
+                OutboxPublisher.fields(
+                        "amount", amount,
+                        "availableBalance", balance.getAvailableBalance(),
+                        "reservedBalance", balance.getReservedBalance(),
+                        "currency", balance.getCurrency(),
+                        "postingSequence", balance.getLastPostingSequence()));
+    }
+
+    private void logAudit(UUID walletId, String action, UUID entityId,
+                          Object oldValue, Object newValue, UUID performedBy) {
+        auditLogWriter.write(walletId, action, "balance", entityId, oldValue, newValue, performedBy);
     }
 
     public WalletRepository getWalletRepository() {
@@ -1,14 +1,22 @@
 package com.interswitch.core.services;
 
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.freeze.FreezeExpiryScheduler;
+import com.interswitch.core.freeze.FreezeIndex;
+import com.interswitch.core.freeze.FreezeSweepService;
+import com.interswitch.core.outbox.OutboxPublisher;
 import com.interswitch.infra.repositories.WalletFreezeRepository;
-import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import com.interswitch.model.entities.FreezeSweep;
 import com.interswitch.model.entities.WalletFreeze;
-import com.interswitch.model.entities.WalletAuditLog;
+import com.interswitch.model.enums.FreezeStatus;
+import com.interswitch.model.enums.FreezeSweepOutcome;
 import com.interswitch.model.enums.FreezeType;
 import com.interswitch.shared.exceptions.ApiException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -23,7 +31,11 @@ import java.util.UUID;
 public class WalletFreezeService {
 
     private final WalletFreezeRepository freezeRepository;
-    private final WalletAuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final OutboxPublisher outboxPublisher;
+    private final FreezeIndex freezeIndex;
+    private final FreezeExpiryScheduler freezeExpiryScheduler;
+    private final FreezeSweepService freezeSweepService;
 
     public WalletFreeze createFreeze(UUID walletId, FreezeType freezeType, BigDecimal frozenAmount, 
                                     String reason, LocalDateTime expiresAt, UUID performedBy) {
@@ -31,7 +43,7 @@ public class WalletFreezeService {
 
         // Check if wallet already has an active freeze of the same type
         List<WalletFreeze> existingFreezes = freezeRepository.findByWalletIdAndFreezeTypeAndStatus(
-            walletId, freezeType, "active");
+            walletId, freezeType, FreezeStatus.ACTIVE);
         
         if (!existingFreezes.isEmpty()) {
             throw ApiException.builder()
@@ -42,11 +54,12 @@ public class WalletFreezeService {
         }
 
         WalletFreeze freeze = WalletFreeze.builder()
+            .walletId(walletId)
             .freezeType(freezeType)
             .frozenAmount(frozenAmount)
             .reason(reason)
             .createdBy(performedBy)
-            .status("active")
+            .status(FreezeStatus.ACTIVE)
             .expiresAt(expiresAt)
             .build();
 
@@ -54,6 +67,8 @@ public class WalletFreezeService {
 
         // Log audit
         logAudit(walletId, "FREEZE_CREATED", freeze.getId(), null, freeze, performedBy);
+        publishFreezeEvent(walletId, freeze, "FREEZE_CREATED");
+        freezeIndex.invalidate(walletId);
 
         log.info("Freeze created successfully: {}", freeze.getId());
         return freeze;
@@ -77,7 +92,7 @@ public class WalletFreezeService {
 
     public List<WalletFreeze> getActiveWalletFreezes(UUID walletId) {
         log.info("Getting active freezes for wallet: {}", walletId);
-        return freezeRepository.findByWalletIdAndStatusOrderByCreatedAtDesc(walletId, "active");
+        return freezeRepository.findByWalletIdAndStatusOrderByCreatedAtDesc(walletId, FreezeStatus.ACTIVE);
     }
 
     public List<WalletFreeze> getWalletFreezesByType(UUID walletId, FreezeType freezeType) {
@@ -90,7 +105,7 @@ public class WalletFreezeService {
         
         WalletFreeze freeze = getFreeze(freezeId);
         
-        if (!"active".equals(freeze.getStatus())) {
+        if (freeze.getStatus() != FreezeStatus.ACTIVE) {
             throw ApiException.builder()
                 .message("Invalid freeze status")
                 .description("Only active freezes can be removed")
@@ -98,77 +113,90 @@ public class WalletFreezeService {
                 .build();
         }
         
-        freeze.setStatus("removed");
+        freeze.setStatus(FreezeStatus.REMOVED);
         freeze.setRemovedAt(LocalDateTime.now());
         freeze.setRemovedBy(performedBy);
         
         freeze = freezeRepository.save(freeze);
         
         // Log audit
-        logAudit(freeze.getWallet().getId(), "FREEZE_REMOVED", freezeId, "active", "removed", performedBy);
+        logAudit(freeze.getWalletId(), "FREEZE_REMOVED", freezeId, FreezeStatus.ACTIVE, FreezeStatus.REMOVED, performedBy);
+        publishFreezeEvent(freeze.getWalletId(), freeze, "FREEZE_REMOVED");
+        freezeIndex.invalidate(freeze.getWalletId());
         
         log.info("Freeze removed successfully: {}", freezeId);
         return freeze;
     }
 
+    // Frozen checks are answered by the in-memory index once it has loaded
     public boolean isWalletFrozen(UUID walletId) {
-        log.info("Checking if wallet is frozen: {}", walletId);
+        log.debug("Checking if wallet is frozen: {}", walletId);
         
-        List<WalletFreeze> activeFreezes = getActiveWalletFreezes(walletId);
-        
-        // Check for any non-expired freezes
-        LocalDateTime now = LocalDateTime.now();
-        return activeFreezes.stream()
-            .anyMatch(freeze -> freeze.getExpiresAt() == null || freeze.getExpiresAt().isAfter(now));
+        if (freezeIndex.isLoaded()) {
+            return freezeIndex.isFrozen(walletId);
+        }
+        return freezeRepository.hasActiveFreeze(walletId);
     }
 
     public boolean isWalletFrozenByType(UUID walletId, FreezeType freezeType) {
-        log.info("Checking if wallet is frozen by type: {} for wallet: {}", freezeType, walletId);
+        log.debug("Checking if wallet is frozen by type: {} for wallet: {}", freezeType, walletId);
         
-        List<WalletFreeze> activeFreezes = freezeRepository.findByWalletIdAndFreezeTypeAndStatus(
-            walletId, freezeType, "active");
-        
-        LocalDateTime now = LocalDateTime.now();
-        return activeFreezes.stream()
-            .anyMatch(freeze -> freeze.getExpiresAt() == null || freeze.getExpiresAt().isAfter(now));
+        if (freezeIndex.isLoaded()) {
+            return freezeIndex.isFrozen(walletId, freezeType);
+        }
+        return freezeRepository.hasActiveFreezeByType(walletId, freezeType);
     }
 
     public BigDecimal getTotalFrozenAmount(UUID walletId) {
-        log.info("Getting total frozen amount for wallet: {}", walletId);
-        
-        List<WalletFreeze> activeFreezes = getActiveWalletFreezes(walletId);
-        LocalDateTime now = LocalDateTime.now();
+        log.debug("Getting total frozen amount for wallet: {}", walletId);
         
+        if (freezeIndex.isLoaded()) {
+            return freezeIndex.getTotalFrozenAmount(walletId);
+        }
+        List<WalletFreeze> activeFreezes = freezeRepository.findActiveFreezesForWallet(walletId);
         return activeFreezes.stream()
-            .filter(freeze -> freeze.getExpiresAt() == null || freeze.getExpiresAt().isAfter(now))
             .filter(freeze -> freeze.getFrozenAmount() != null)
             .map(WalletFreeze::getFrozenAmount)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    // Freezes are expired by FreezeExpiryScheduler as they lapse; this only catches up on overdue ones
     public int cleanupExpiredFreezes() {
         log.info("Cleaning up expired freezes");
         
-        LocalDateTime now = LocalDateTime.now();
-        List<WalletFreeze> expiredFreezes = freezeRepository.findExpiredActiveFreezes();
-        
-        int cleanedUp = 0;
-        for (WalletFreeze freeze : expiredFreezes) {
-            freeze.setStatus("expired");
-            freeze.setRemovedAt(now);
-            freezeRepository.save(freeze);
-            
-            // Log audit
-            logAudit(freeze.getWallet().getId(), "FREEZE_EXPIRED", freeze.getId(), 
-                    "active", "expired", UUID.randomUUID()); // System user
-            
-            cleanedUp++;
-        }
+        int cleanedUp = freezeExpiryScheduler.expireOverdue();
         
         log.info("Cleaned up {} expired freezes", cleanedUp);
         return cleanedUp;
     }
 
+    // Bulk sweeps run in the background; the returned sweep reports progress and per-wallet outcomes
+    public FreezeSweep bulkFreeze(List<UUID> walletIds, FreezeType freezeType, BigDecimal frozenAmount,
+                                  String reason, LocalDateTime expiresAt, UUID performedBy) {
+        log.info("Starting bulk freeze of {} wallets with type: {}", walletIds.size(), freezeType);
+        return freezeSweepService.startFreeze(walletIds, freezeType, frozenAmount, reason, expiresAt, performedBy);
+    }
+
+    public FreezeSweep bulkUnfreeze(List<UUID> walletIds, FreezeType freezeType, UUID performedBy) {
+        log.info("Starting bulk unfreeze of {} wallets with type: {}", walletIds.size(), freezeType);
+        return freezeSweepService.startUnfreeze(walletIds, freezeType, performedBy);
+    }
+
+    public FreezeSweep getFreezeSweep(UUID sweepId) {
+        log.info("Getting freeze sweep: {}", sweepId);
+        return freezeSweepService.getSweep(sweepId);
+    }
+
+    public Page<FreezeSweep> getFreezeSweeps(Pageable pageable) {
+        log.info("Getting freeze sweeps");
+        return freezeSweepService.getSweeps(pageable);
+    }
+
+    public List<UUID> getFreezeSweepWallets(UUID sweepId, FreezeSweepOutcome outcome, UUID afterWalletId, int limit) {
+        log.info("Getting {} wallets of freeze sweep: {}", outcome, sweepId);
+        return freezeSweepService.getSweepWallets(sweepId, outcome, afterWalletId, limit);
+    }
+
     public List<WalletFreeze> getFreezesByCreator(UUID createdBy) {
         log.info("Getting freezes created by user: {}", createdBy);
         return freezeRepository.findByCreatedByOrderByCreatedAtDesc(createdBy);
@@ -176,22 +204,21 @@ public class WalletFreezeService {
 
     public List<WalletFreeze> getFreezesExpiringBefore(LocalDateTime dateTime) {
         log.info("Getting freezes expiring before: {}", dateTime);
-        return freezeRepository.findByExpiresAtBeforeAndStatus(dateTime, "active");
+        return freezeRepository.findByExpiresAtBeforeAndStatus(dateTime, FreezeStatus.ACTIVE);
+    }
+
+    private void publishFreezeEvent(UUID walletId, WalletFreeze freeze, String eventType) {
+        outboxPublisher.publish(walletId, OutboxPublisher.FREEZE, freeze.getId(), eventType,
+                OutboxPublisher.fields(
+                        "freezeType", freeze.getFreezeType(),
+                        "frozenAmount", freeze.getFrozenAmount(),
+                        "status", freeze.getStatus(),
+                        "expiresAt", freeze.getExpiresAt()));
     }
 
     private void logAudit(UUID walletId, String action, UUID entityId, Object oldValue, Object newValue, UUID performedBy) {
         try {
-            WalletAuditLog auditLog = WalletAuditLog.builder()
-                .walletId(walletId)
-                .action(action)
-                .entityType("freeze")
-                .entityId(entityId)
-                .oldValues(oldValue != null ? oldValue.toString() : null)
-                .newValues(newValue != null ? newValue.toString() : null)
-                .performedBy(performedBy)
-                .build();
-
-            auditLogRepository.save(auditLog);
+            auditLogWriter.write(walletId, action, "freeze", entityId, oldValue, newValue, performedBy);
         } catch (Exception e) {
             log.error("Failed to log audit for freeze: {}, action: {}", entityId, action, e);
         }
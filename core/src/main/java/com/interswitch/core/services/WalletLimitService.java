@@ -1,10 +1,13 @@
 package com.interswitch.core.services;
 
-import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.limit.LimitPeriods;
+import com.interswitch.core.limit.RollingLimitTracker;
+import com.interswitch.core.policy.WalletPolicy;
+import com.interswitch.core.policy.WalletPolicyCache;
 import com.interswitch.infra.repositories.WalletLimitRepository;
 import com.interswitch.infra.repositories.WalletRepository;
 import com.interswitch.model.entities.Wallet;
-import com.interswitch.model.entities.WalletAuditLog;
 import com.interswitch.model.entities.WalletLimit;
 import com.interswitch.model.enums.LimitType;
 import com.interswitch.shared.exceptions.ApiException;
@@ -14,9 +17,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 // Wallet Limit Service
@@ -26,9 +34,15 @@ import java.util.UUID;
 @Slf4j
 public class WalletLimitService {
 
+    // Limits whose usage is a counter on the limit row, consumed by consumeWalletUsage and reset lazily by
+    // period epoch (see LimitPeriods)
+    private static final Set<LimitType> PERIOD_LIMITS = EnumSet.of(LimitType.DAILY, LimitType.WEEKLY, LimitType.MONTHLY);
+
     private final WalletLimitRepository limitRepository;
     private final WalletRepository walletRepository;
-    private final WalletAuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final RollingLimitTracker rollingLimitTracker;
+    private final WalletPolicyCache walletPolicyCache;
 
     public WalletLimit createLimit(UUID walletId, LimitType limitType, BigDecimal limitAmount,
                                    String resetPeriod, UUID performedBy) {
@@ -60,6 +74,7 @@ public class WalletLimitService {
                 .build();
 
         limit = limitRepository.save(limit);
+        walletPolicyCache.invalidate(walletId);
 
         // Log audit
         logAudit(walletId, "LIMIT_CREATED", limit.getId(),
@@ -78,25 +93,44 @@ public class WalletLimitService {
     }
 
     public boolean checkLimit(UUID walletId, LimitType limitType, BigDecimal amount) {
-        Optional<WalletLimit> limitOpt = getLimit(walletId, limitType);
-        if (limitOpt.isEmpty()) {
+        Optional<WalletPolicy.Limit> policyLimit = walletPolicyCache.get(walletId).limit(limitType);
+        if (policyLimit.isEmpty()) {
             return true; // No limit set
         }
+        if (RollingLimitTracker.isRolling(limitType)) {
+            return rollingLimitTracker.getUsage(walletId, limitType).add(amount)
+                    .compareTo(policyLimit.get().limitAmount()) <= 0;
+        }
 
+        Optional<WalletLimit> limitOpt = getLimit(walletId, limitType);
+        if (limitOpt.isEmpty()) {
+            return true;
+        }
         WalletLimit limit = limitOpt.get();
-        return limit.getCurrentUsage().add(amount).compareTo(limit.getLimitAmount()) <= 0;
+        return currentUsage(limit).add(amount).compareTo(limit.getLimitAmount()) <= 0;
     }
 
     public void updateUsage(UUID walletId, LimitType limitType, BigDecimal amount, UUID performedBy) {
+        if (walletPolicyCache.get(walletId).limit(limitType).isEmpty()) {
+            return; // No limit to update
+        }
         Optional<WalletLimit> limitOpt = getLimit(walletId, limitType);
         if (limitOpt.isEmpty()) {
             return; // No limit to update
         }
 
         WalletLimit limit = limitOpt.get();
-        BigDecimal oldUsage = limit.getCurrentUsage();
-
-        limitRepository.updateCurrentUsage(limit.getId(), amount);
+        BigDecimal oldUsage = currentUsage(limit);
+
+        if (RollingLimitTracker.isRolling(limitType)) {
+            if (!rollingLimitTracker.consume(walletId, amount, Map.of(limitType, limit.getLimitAmount())).isEmpty()) {
+                throw limitExceeded(walletId, List.of(limitType));
+            }
+        } else if (limitRepository.consumeUsage(limit.getId(), amount,
+                LimitPeriods.epoch(limitType, LocalDate.now())) == 0) {
+            // The check happens in the UPDATE itself, so concurrent debits cannot both pass it
+            throw limitExceeded(walletId, List.of(limitType));
+        }
 
         // Log audit
         logAudit(walletId, "LIMIT_USAGE_UPDATED", limit.getId(),
@@ -106,13 +140,55 @@ public class WalletLimitService {
                 walletId, oldUsage, oldUsage.add(amount));
     }
 
+    // Checks and consumes every period limit of the wallet with one guarded UPDATE, and every rolling limit
+    // through RollingLimitTracker. checkedLimits are the limits the caller evaluated (see DebitGate); if any of
+    // them had no room left, the partial consumption is undone by rolling back the surrounding transaction,
+    // which the thrown exception triggers.
+    public void consumeLimits(UUID walletId, BigDecimal amount, Collection<LimitType> checkedLimits) {
+        long expected = checkedLimits.stream().filter(PERIOD_LIMITS::contains).count();
+        if (expected > 0) {
+            LocalDate today = LocalDate.now();
+            int consumed = limitRepository.consumeWalletUsage(walletId, amount,
+                    LimitPeriods.epoch(LimitType.DAILY, today),
+                    LimitPeriods.epoch(LimitType.WEEKLY, today),
+                    LimitPeriods.epoch(LimitType.MONTHLY, today));
+            if (consumed < expected) {
+                log.info("Limit consumption of {} failed for wallet {}: {} of {} limits had room",
+                        amount, walletId, consumed, expected);
+                throw limitExceeded(walletId, checkedLimits);
+            }
+        }
+
+        if (checkedLimits.stream().anyMatch(RollingLimitTracker::isRolling)) {
+            Map<LimitType, BigDecimal> rollingLimits = new EnumMap<>(LimitType.class);
+            for (WalletPolicy.Limit limit : walletPolicyCache.get(walletId).limits().values()) {
+                if (RollingLimitTracker.isRolling(limit.limitType())) {
+                    rollingLimits.put(limit.limitType(), limit.limitAmount());
+                }
+            }
+            List<LimitType> exceeded = rollingLimitTracker.consume(walletId, amount, rollingLimits);
+            if (!exceeded.isEmpty()) {
+                throw limitExceeded(walletId, exceeded);
+            }
+        }
+    }
+
     public BigDecimal getRemainingLimit(UUID walletId, LimitType limitType) {
+        Optional<WalletPolicy.Limit> policyLimit = walletPolicyCache.get(walletId).limit(limitType);
+        if (policyLimit.isEmpty()) {
+            return BigDecimal.valueOf(Double.MAX_VALUE); // No limit
+        }
+        if (RollingLimitTracker.isRolling(limitType)) {
+            return policyLimit.get().limitAmount().subtract(rollingLimitTracker.getUsage(walletId, limitType));
+        }
+
         Optional<WalletLimit> limitOpt = getLimit(walletId, limitType);
         if (limitOpt.isEmpty()) {
-            return BigDecimal.valueOf(Double.MAX_VALUE); // No limit
+            return BigDecimal.valueOf(Double.MAX_VALUE);
         }
 
-        return limitRepository.getRemainingLimit(limitOpt.get().getId());
+        WalletLimit limit = limitOpt.get();
+        return limit.getLimitAmount().subtract(currentUsage(limit));
     }
 
     public void resetLimit(UUID limitId, UUID performedBy) {
@@ -123,7 +199,7 @@ public class WalletLimitService {
                         .status(404)
                         .build());
 
-        BigDecimal oldUsage = limit.getCurrentUsage();
+        BigDecimal oldUsage = currentUsage(limit);
         limitRepository.resetUsage(limitId);
 
         // Log audit
@@ -133,17 +209,6 @@ public class WalletLimitService {
         log.info("Limit reset: {}", limitId);
     }
 
-    public void resetLimitsForPeriod(String resetPeriod) {
-        LocalDateTime resetTime = calculateResetTime(resetPeriod);
-        List<WalletLimit> limits = limitRepository.findLimitsNeedingReset(resetTime);
-
-        for (WalletLimit limit : limits) {
-            resetLimit(limit.getId(), UUID.randomUUID()); // System user
-        }
-
-        log.info("Reset {} limits for period: {}", limits.size(), resetPeriod);
-    }
-
     public WalletLimit updateLimit(UUID limitId, BigDecimal newAmount, UUID performedBy) {
         WalletLimit limit = limitRepository.findById(limitId)
                 .orElseThrow(() -> ApiException.builder()
@@ -155,6 +220,7 @@ public class WalletLimitService {
         BigDecimal oldAmount = limit.getLimitAmount();
         limit.setLimitAmount(newAmount);
         limit = limitRepository.save(limit);
+        walletPolicyCache.invalidate(limit.getWalletId());
 
         // Log audit
         logAudit(limit.getWalletId(), "LIMIT_UPDATED", limitId,
@@ -173,6 +239,7 @@ public class WalletLimitService {
                         .build());
 
         limitRepository.deactivateLimit(limitId);
+        walletPolicyCache.invalidate(limit.getWalletId());
 
         // Log audit
         logAudit(limit.getWalletId(), "LIMIT_DEACTIVATED", limitId,
@@ -181,36 +248,23 @@ public class WalletLimitService {
         log.info("Limit deactivated: {}", limitId);
     }
 
-    private LocalDateTime calculateResetTime(String resetPeriod) {
-        LocalDateTime now = LocalDateTime.now();
-        switch (resetPeriod.toLowerCase()) {
-            case "daily":
-                return now.minusDays(1);
-            case "weekly":
-                return now.minusWeeks(1);
-            case "monthly":
-                return now.minusMonths(1);
-            default:
-                throw ApiException.builder()
-                        .message("Invalid reset period")
-                        .description("Invalid reset period: " + resetPeriod + ". Valid options are: daily, weekly, monthly")
-                        .status(400)
-                        .build();
-        }
+    private BigDecimal currentUsage(WalletLimit limit) {
+        return RollingLimitTracker.isRolling(limit.getLimitType())
+                ? rollingLimitTracker.getUsage(limit.getWalletId(), limit.getLimitType())
+                : LimitPeriods.currentUsage(limit.getLimitType(), limit.getCurrentUsage(), limit.getUsageEpoch(),
+                        LocalDate.now());
     }
 
-    private void logAudit(UUID walletId, String action, UUID entityId,
-                          Object oldValue, Object newValue, UUID performedBy) {
-        WalletAuditLog auditLog = WalletAuditLog.builder()
-                .walletId(walletId)
-                .action(action)
-                .entityType("limit")
-                .entityId(entityId)
-                .oldValues(oldValue != null ? oldValue.toString() : null)
-                .newValues(newValue != null ? newValue.toString() : null)
-                .performedBy(performedBy)
+    private ApiException limitExceeded(UUID walletId, Collection<LimitType> limitTypes) {
+        return ApiException.builder()
+                .message("Limit exceeded")
+                .description("Transaction would exceed wallet limits " + limitTypes + " for wallet ID: " + walletId)
+                .status(403)
                 .build();
+    }
 
-        auditLogRepository.save(auditLog);
+    private void logAudit(UUID walletId, String action, UUID entityId,
+                          Object oldValue, Object newValue, UUID performedBy) {
+        auditLogWriter.write(walletId, action, "limit", entityId, oldValue, newValue, performedBy);
     }
 }
\ No newline at end of file
@@ -1,9 +1,8 @@
 package com.interswitch.core.services;
 
-import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import com.interswitch.core.audit.AuditLogWriter;
 import com.interswitch.infra.repositories.WalletRepository;
 import com.interswitch.model.entities.Wallet;
-import com.interswitch.model.entities.WalletAuditLog;
 import com.interswitch.model.enums.WalletStatus;
 import com.interswitch.model.enums.WalletType;
 import com.interswitch.shared.exceptions.ApiException;
@@ -27,7 +26,7 @@ import java.util.UUID;
 public class WalletService {
 
     private final WalletRepository walletRepository;
-    private final WalletAuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
 
     public Wallet createWallet(UUID userId, UUID accountId, WalletType walletType, 
                               String currency, String walletName, String description, 
@@ -332,17 +331,7 @@ public class WalletService {
 
     private void logAudit(UUID walletId, String action, UUID userId, Object oldValue, Object newValue, UUID performedBy) {
         try {
-            WalletAuditLog auditLog = WalletAuditLog.builder()
-                .walletId(walletId)
-                .action(action)
-                .entityType("wallet")
-                .entityId(walletId)
-                .oldValues(oldValue != null ? oldValue.toString() : null)
-                .newValues(newValue != null ? newValue.toString() : null)
-                .performedBy(performedBy)
-                .build();
-
-            auditLogRepository.save(auditLog);
+            auditLogWriter.write(walletId, action, "wallet", walletId, oldValue, newValue, performedBy);
         } catch (Exception e) {
             log.error("Failed to log audit for wallet: {}, action: {}", walletId, action, e);
         }
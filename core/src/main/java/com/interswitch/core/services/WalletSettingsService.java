@@ -1,20 +1,24 @@
 package com.interswitch.core.services;
 
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.policy.WalletPolicy;
+import com.interswitch.core.policy.WalletPolicyCache;
 import com.interswitch.infra.repositories.WalletSettingsRepository;
-import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import com.interswitch.infra.settings.BulkSettingsRepository;
 import com.interswitch.model.entities.WalletSettings;
-import com.interswitch.model.entities.WalletAuditLog;
 import com.interswitch.shared.exceptions.ApiException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -23,7 +27,9 @@ import java.util.stream.Collectors;
 public class WalletSettingsService {
 
     private final WalletSettingsRepository settingsRepository;
-    private final WalletAuditLogRepository auditLogRepository;
+    private final BulkSettingsRepository bulkSettingsRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final WalletPolicyCache walletPolicyCache;
 
     public WalletSettings createSetting(UUID walletId, String settingKey, String settingValue, 
                                        Boolean isEncrypted, UUID performedBy) {
@@ -39,12 +45,14 @@ public class WalletSettingsService {
         }
 
         WalletSettings setting = WalletSettings.builder()
+            .walletId(walletId)
             .settingKey(settingKey)
             .settingValue(settingValue)
             .isEncrypted(isEncrypted != null ? isEncrypted : false)
             .build();
 
         setting = settingsRepository.save(setting);
+        walletPolicyCache.invalidate(walletId);
 
         // Log audit
         logAudit(walletId, "SETTING_CREATED", setting.getId(), null, setting, performedBy);
@@ -83,8 +91,15 @@ public class WalletSettingsService {
     public String getWalletSettingValue(UUID walletId, String settingKey) {
         log.info("Getting setting value for wallet: {} with key: {}", walletId, settingKey);
         
-        WalletSettings setting = getWalletSettingByKey(walletId, settingKey);
-        return setting.getSettingValue();
+        WalletPolicy policy = walletPolicyCache.get(walletId);
+        if (!policy.hasSetting(settingKey)) {
+            throw ApiException.builder()
+                .message("Setting not found")
+                .description("Setting with key '" + settingKey + "' not found for wallet: " + walletId)
+                .status(404)
+                .build();
+        }
+        return policy.setting(settingKey);
     }
 
     public String getWalletSettingValueOrDefault(UUID walletId, String settingKey, String defaultValue) {
@@ -103,12 +118,10 @@ public class WalletSettingsService {
     public Map<String, String> getWalletSettingsAsMap(UUID walletId) {
         log.info("Getting settings map for wallet: {}", walletId);
         
-        List<WalletSettings> settings = getWalletSettings(walletId);
-        return settings.stream()
-            .collect(Collectors.toMap(
-                WalletSettings::getSettingKey,
-                setting -> setting.getSettingValue() != null ? setting.getSettingValue() : ""
-            ));
+        Map<String, String> settings = new HashMap<>();
+        walletPolicyCache.get(walletId).settings()
+            .forEach((key, value) -> settings.put(key, value != null ? value : ""));
+        return settings;
     }
 
     public WalletSettings updateSetting(UUID settingId, String settingValue, Boolean isEncrypted, UUID performedBy) {
@@ -127,15 +140,16 @@ public class WalletSettingsService {
         }
         
         setting = settingsRepository.save(setting);
+        walletPolicyCache.invalidate(setting.getWalletId());
         
         // Log audit for value change
         if (!java.util.Objects.equals(oldValue, settingValue)) {
-            logAudit(setting.getWallet().getId(), "SETTING_VALUE_UPDATED", settingId, oldValue, settingValue, performedBy);
+            logAudit(setting.getWalletId(), "SETTING_VALUE_UPDATED", settingId, oldValue, settingValue, performedBy);
         }
         
         // Log audit for encryption change
         if (!java.util.Objects.equals(oldEncrypted, isEncrypted)) {
-            logAudit(setting.getWallet().getId(), "SETTING_ENCRYPTION_UPDATED", settingId, oldEncrypted, isEncrypted, performedBy);
+            logAudit(setting.getWalletId(), "SETTING_ENCRYPTION_UPDATED", settingId, oldEncrypted, isEncrypted, performedBy);
         }
         
         log.info("Setting updated successfully: {}", settingId);
@@ -166,19 +180,58 @@ public class WalletSettingsService {
         }
     }
 
+    // Set-based: one query for the keys that exist, one multi-row upsert and one batch of audit records,
+    // with the same audit actions createOrUpdateSetting records per key
     public List<WalletSettings> createOrUpdateBatch(UUID walletId, Map<String, String> settings, UUID performedBy) {
         log.info("Batch creating/updating {} settings for wallet: {}", settings.size(), walletId);
         
-        List<WalletSettings> updatedSettings = new ArrayList<>();
+        if (settings.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<String, Object[]> existing = new HashMap<>();
+        for (Object[] row : settingsRepository.findSettingStates(walletId, settings.keySet())) {
+            existing.put((String) row[0], row);
+        }
         
+        LocalDateTime now = LocalDateTime.now();
+        List<WalletSettings> updatedSettings = new ArrayList<>(settings.size());
+        List<AuditLogWriter.Event> audits = new ArrayList<>();
         for (Map.Entry<String, String> entry : settings.entrySet()) {
-            WalletSettings setting = createOrUpdateSetting(
-                walletId, entry.getKey(), entry.getValue(), false, performedBy
-            );
+            Object[] current = existing.get(entry.getKey());
+            WalletSettings setting = WalletSettings.builder()
+                .id(current != null ? (UUID) current[1] : UUID.randomUUID())
+                .createdAt(current != null ? (LocalDateTime) current[4] : now)
+                .updatedAt(now)
+                .walletId(walletId)
+                .settingKey(entry.getKey())
+                .settingValue(entry.getValue())
+                .isEncrypted(false)
+                .build();
             updatedSettings.add(setting);
+            
+            if (current == null) {
+                audits.add(auditEvent(walletId, "SETTING_CREATED", setting.getId(), null, setting, performedBy));
+                continue;
+            }
+            if (!Objects.equals(current[2], entry.getValue())) {
+                audits.add(auditEvent(walletId, "SETTING_VALUE_UPDATED", setting.getId(), current[2], entry.getValue(), performedBy));
+            }
+            if (!Objects.equals(current[3], false)) {
+                audits.add(auditEvent(walletId, "SETTING_ENCRYPTION_UPDATED", setting.getId(), current[3], false, performedBy));
+            }
         }
         
-        log.info("Batch operation completed for {} settings", updatedSettings.size());
+        bulkSettingsRepository.upsert(updatedSettings);
+        walletPolicyCache.invalidate(walletId);
+        
+        try {
+            auditLogWriter.writeAll(audits);
+        } catch (Exception e) {
+            log.error("Failed to log {} audit records for settings batch on wallet: {}", audits.size(), walletId, e);
+        }
+        
+        log.info("Batch operation completed for {} settings ({} existed)", updatedSettings.size(), existing.size());
         return updatedSettings;
     }
 
@@ -186,12 +239,13 @@ public class WalletSettingsService {
         log.info("Deleting setting: {}", settingId);
         
         WalletSettings setting = getSetting(settingId);
-        UUID walletId = setting.getWallet().getId();
+        UUID walletId = setting.getWalletId();
         
         // Log audit before deletion
         logAudit(walletId, "SETTING_DELETED", settingId, setting, null, performedBy);
         
         settingsRepository.delete(setting);
+        walletPolicyCache.invalidate(walletId);
         
         log.info("Setting deleted successfully: {}", settingId);
     }
@@ -228,23 +282,19 @@ public class WalletSettingsService {
         }
         
         settingsRepository.deleteByWalletId(walletId);
+        walletPolicyCache.invalidate(walletId);
         
         log.info("Deleted {} settings for wallet: {}", settings.size(), walletId);
     }
 
+    private static AuditLogWriter.Event auditEvent(UUID walletId, String action, UUID entityId, Object oldValue,
+                                                   Object newValue, UUID performedBy) {
+        return new AuditLogWriter.Event(walletId, action, "setting", entityId, oldValue, newValue, performedBy);
+    }
+
     private void logAudit(UUID walletId, String action, UUID entityId, Object oldValue, Object newValue, UUID performedBy) {
         try {
-            WalletAuditLog auditLog = WalletAuditLog.builder()
-                .walletId(walletId)
-                .action(action)
-                .entityType("setting")
-                .entityId(entityId)
-                .oldValues(oldValue != null ? oldValue.toString() : null)
-                .newValues(newValue != null ? newValue.toString() : null)
-                .performedBy(performedBy)
-                .build();
-
-            auditLogRepository.save(auditLog);
+            auditLogWriter.write(walletId, action, "setting", entityId, oldValue, newValue, performedBy);
         } catch (Exception e) {
             log.error("Failed to log audit for setting: {}, action: {}", entityId, action, e);
         }
@@ -0,0 +1,152 @@
+package com.interswitch.core.services;
+
+import com.interswitch.core.archive.TransactionArchiveService;
+import com.interswitch.infra.repositories.WalletBalanceAdjustmentRepository;
+import com.interswitch.infra.repositories.WalletBalanceRepository;
+import com.interswitch.infra.repositories.WalletTransactionRepository;
+import com.interswitch.model.dtos.response.StatementVerificationResponse;
+import com.interswitch.model.entities.WalletBalance;
+import com.interswitch.model.entities.WalletBalanceAdjustment;
+import com.interswitch.model.entities.WalletTransaction;
+import com.interswitch.model.enums.TransactionType;
+import com.interswitch.shared.exceptions.ApiException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Verifies a wallet statement incrementally: each posting after the stored checkpoint must carry the next
+// sequence number, start from the previous posting's balanceAfter and move it by exactly its amount. Postings
+// are transactions (hot or archived) and balance adjustments, which share the wallet's posting sequence.
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class WalletStatementService {
+
+    private final WalletBalanceRepository balanceRepository;
+    private final WalletTransactionRepository transactionRepository;
+    private final WalletBalanceAdjustmentRepository adjustmentRepository;
+    private final TransactionArchiveService transactionArchiveService;
+
+    @Value("${wallet.statement.verify-chunk-size:1000}")
+    private int chunkSize;
+
+    public StatementVerificationResponse verifyStatement(UUID walletId) {
+        log.info("Verifying statement for wallet: {}", walletId);
+
+        WalletBalance balance = balanceRepository.findByWalletId(walletId)
+            .orElseThrow(() -> ApiException.builder()
+                .message("Balance not found")
+                .description("Wallet balance not found for wallet ID: " + walletId)
+                .status(404)
+                .build());
+
+        long fromSequence = balance.getVerifiedSequence();
+        long lastSequence = balance.getLastPostingSequence();
+        long expected = fromSequence + 1;
+        BigDecimal running = balance.getVerifiedBalance();
+        long checked = 0;
+        Long brokenAt = null;
+        String failure = null;
+        NavigableMap<Long, WalletTransaction> archived = null;
+
+        while (failure == null && expected <= lastSequence) {
+            long windowEnd = Math.min(expected + chunkSize, lastSequence + 1);
+            Map<Long, Posting> postings = new HashMap<>();
+            for (WalletTransaction transaction : transactionRepository.findPostingsInRange(walletId, expected, windowEnd)) {
+                postings.put(transaction.getPostingSequence(), Posting.of(transaction));
+            }
+            for (WalletBalanceAdjustment adjustment : adjustmentRepository.findPostingsInRange(walletId, expected, windowEnd)) {
+                postings.put(adjustment.getPostingSequence(), new Posting(adjustment.getBalanceBefore(),
+                    adjustment.getAmount(), adjustment.getBalanceAfter()));
+            }
+
+            // Postings missing from the hot tables may have been moved to the archive
+            if (postings.size() < windowEnd - expected) {
+                if (archived == null) {
+                    archived = loadArchivedPostings(walletId);
+                }
+                for (WalletTransaction transaction : archived.subMap(expected, true, windowEnd, false).values()) {
+                    postings.putIfAbsent(transaction.getPostingSequence(), Posting.of(transaction));
+                }
+            }
+
+            for (; expected < windowEnd; expected++) {
+                Posting posting = postings.get(expected);
+                if (posting == null) {
+                    brokenAt = expected;
+                    failure = "Posting sequence " + expected + " is missing";
+                    break;
+                }
+                if (posting.balanceBefore() == null || posting.balanceBefore().compareTo(running) != 0) {
+                    brokenAt = expected;
+                    failure = "Balance before " + posting.balanceBefore() + " does not continue from " + running;
+                    break;
+                }
+                BigDecimal balanceAfter = posting.balanceBefore().add(posting.amount());
+                if (posting.balanceAfter() == null || posting.balanceAfter().compareTo(balanceAfter) != 0) {
+                    brokenAt = expected;
+                    failure = "Balance after " + posting.balanceAfter() + " does not equal " + balanceAfter;
+                    break;
+                }
+                running = posting.balanceAfter();
+                checked++;
+            }
+        }
+
+        long verifiedSequence = expected - 1;
+        if (verifiedSequence > fromSequence) {
+            balanceRepository.advanceVerifiedSequence(walletId, verifiedSequence, running);
+        }
+        if (failure != null) {
+            log.warn("Statement verification for wallet {} failed at sequence {}: {}", walletId, brokenAt, failure);
+        }
+
+        return StatementVerificationResponse.builder()
+            .walletId(walletId)
+            .fromSequence(fromSequence)
+            .verifiedSequence(verifiedSequence)
+            .lastPostingSequence(balance.getLastPostingSequence())
+            .postingsChecked(checked)
+            .verifiedBalance(running)
+            .availableBalance(balance.getAvailableBalance())
+            .bookBalance(balance.getAvailableBalance().add(balance.getReservedBalance()))
+            .consistent(failure == null)
+            .brokenAtSequence(brokenAt)
+            .failureReason(failure)
+            .build();
+    }
+
+    // Helper methods
+    // A posting's effect on the available balance, whichever table it came from
+    private record Posting(BigDecimal balanceBefore, BigDecimal amount, BigDecimal balanceAfter) {
+
+        static Posting of(WalletTransaction transaction) {
+            BigDecimal signedAmount = transaction.getTransactionType() == TransactionType.DEBIT
+                ? transaction.getAmount().negate()
+                : transaction.getAmount();
+            return new Posting(transaction.getBalanceBefore(), signedAmount, transaction.getBalanceAfter());
+        }
+    }
+
+    private NavigableMap<Long, WalletTransaction> loadArchivedPostings(UUID walletId) {
+        NavigableMap<Long, WalletTransaction> postings = new TreeMap<>();
+        if (transactionArchiveService.hasArchive(walletId)) {
+            for (WalletTransaction transaction : transactionArchiveService.findTransactions(walletId, null, null)) {
+                if (transaction.getPostingSequence() != null) {
+                    postings.put(transaction.getPostingSequence(), transaction);
+                }
+            }
+        }
+        return postings;
+    }
+}
@@ -1,10 +1,17 @@
 package com.interswitch.core.services;
 
+import com.interswitch.core.activity.RecentTransactions;
+import com.interswitch.core.archive.TransactionArchiveService;
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.debit.DebitGate;
+import com.interswitch.core.fraud.DuplicateCheck;
+import com.interswitch.core.fraud.DuplicateTransactionDetector;
+import com.interswitch.core.fraud.TransactionVelocityEngine;
+import com.interswitch.core.outbox.OutboxPublisher;
 import com.interswitch.infra.repositories.WalletTransactionRepository;
-import com.interswitch.infra.repositories.WalletAuditLogRepository;
 import com.interswitch.infra.repositories.WalletBalanceRepository;
+import com.interswitch.model.dtos.response.DebitEligibilityResponse;
 import com.interswitch.model.entities.WalletTransaction;
-import com.interswitch.model.entities.WalletAuditLog;
 import com.interswitch.model.entities.WalletBalance;
 import com.interswitch.model.enums.TransactionStatus;
 import com.interswitch.model.enums.TransactionType;
@@ -13,14 +20,21 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @Transactional
@@ -28,10 +42,21 @@ import java.util.UUID;
 @Slf4j
 public class WalletTransactionService {
 
+    private static final Comparator<WalletTransaction> NEWEST_FIRST = Comparator
+        .comparing(WalletTransaction::getCreatedAt, Comparator.reverseOrder())
+        .thenComparing(WalletTransaction::getId, Comparator.reverseOrder());
+
     private final WalletTransactionRepository transactionRepository;
     private final WalletBalanceRepository balanceRepository;
-    private final WalletAuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final WalletBalanceService walletBalanceService;
+    private final TransactionArchiveService transactionArchiveService;
+    private final DuplicateTransactionDetector duplicateTransactionDetector;
+    private final TransactionVelocityEngine transactionVelocityEngine;
+    private final OutboxPublisher outboxPublisher;
+    private final RecentTransactions recentTransactions;
+    private final DebitGate debitGate;
+    private final WalletLimitService walletLimitService;
 
     public WalletTransaction createTransaction(UUID walletId, UUID externalTransactionId, 
                                              TransactionType transactionType, BigDecimal amount, 
@@ -39,18 +64,38 @@ public class WalletTransactionService {
                                              Map<String, String> metadata, UUID performedBy) {
         log.info("Creating transaction for wallet: {} with type: {}", walletId, transactionType);
 
-        // Get current balance
-        WalletBalance balance = balanceRepository.findByWalletId(walletId)
-            .orElseThrow(() -> ApiException.builder()
+        if (!balanceRepository.existsByWalletId(walletId)) {
+            throw ApiException.builder()
                 .message("Balance not found")
                 .description("Wallet balance not found for wallet ID: " + walletId)
                 .status(404)
-                .build());
+                .build();
+        }
 
-        BigDecimal balanceBefore = balance.getAvailableBalance();
-        BigDecimal balanceAfter = calculateBalanceAfter(balanceBefore, amount, transactionType);
+        if (externalTransactionId != null && transactionRepository.existsByExternalTransactionId(externalTransactionId)) {
+            throw ApiException.builder()
+                .message("Duplicate external transaction")
+                .description("A transaction already exists for external transaction ID: " + externalTransactionId)
+                .status(409)
+                .build();
+        }
+
+        // Screen against recent submissions; exact repeats can be held for review instead of posted
+        DuplicateCheck duplicateCheck = duplicateTransactionDetector.check(walletId, amount, transactionType, referenceId);
+        TransactionStatus initialStatus = TransactionStatus.PENDING;
+        if (duplicateCheck.isFlagged()) {
+            metadata = metadata != null ? new HashMap<>(metadata) : new HashMap<>();
+            metadata.put("duplicateCheck", duplicateCheck.getVerdict().name());
+            if (duplicateCheck.getOriginalTransactionId() != null) {
+                metadata.put("duplicateOf", duplicateCheck.getOriginalTransactionId().toString());
+            }
+            if (duplicateCheck.isHold()) {
+                initialStatus = TransactionStatus.ON_HOLD;
+            }
+            log.warn("Possible duplicate transaction for wallet {}: {}", walletId, duplicateCheck);
+        }
 
-        // Create transaction
+        // Running balance and posting sequence are stamped when the transaction is posted
         WalletTransaction transaction = WalletTransaction.builder()
             .walletId(walletId)
             .externalTransactionId(externalTransactionId)
@@ -60,15 +105,16 @@ public class WalletTransactionService {
             .referenceId(referenceId)
             .description(description)
             .metadata(metadata)
-            .status(TransactionStatus.PENDING)
-            .balanceBefore(balanceBefore)
-            .balanceAfter(balanceAfter)
+            .status(initialStatus)
             .build();
 
         transaction = transactionRepository.save(transaction);
+        duplicateTransactionDetector.record(transaction.getId(), walletId, amount, transactionType, referenceId);
 
         // Log audit
         logAudit(walletId, "TRANSACTION_CREATED", transaction.getId(), null, transaction, performedBy);
+        publishTransactionEvent(transaction, "TRANSACTION_CREATED");
+        recentTransactions.record(transaction);
 
         log.info("Transaction created successfully: {}", transaction.getId());
         return transaction;
@@ -87,23 +133,40 @@ public class WalletTransactionService {
 
     public Page<WalletTransaction> getWalletTransactions(UUID walletId, Pageable pageable) {
         log.info("Getting transactions for wallet: {}", walletId);
-        return transactionRepository.findByWalletIdOrderByCreatedAtDesc(walletId, pageable);
+        return mergeWithArchive(walletId, pageable, null, null, null, null,
+                page -> transactionRepository.findByWalletIdOrderByCreatedAtDesc(walletId, page));
+    }
+
+    // Latest transactions are served from memory; the database is only read to seed the buffer or beyond it
+    public List<WalletTransaction> getRecentTransactions(int limit) {
+        log.debug("Getting recent transactions with limit: {}", limit);
+        return recentTransactions.recent(limit, count -> transactionRepository
+            .findAll(PageRequest.of(0, count, Sort.by(Sort.Direction.DESC, "createdAt"))).getContent());
+    }
+
+    public List<WalletTransaction> getRecentWalletTransactions(UUID walletId, int limit) {
+        log.debug("Getting recent transactions for wallet: {} with limit: {}", walletId, limit);
+        return recentTransactions.recent(walletId, limit, count -> transactionRepository
+            .findByWalletIdOrderByCreatedAtDesc(walletId, PageRequest.of(0, count)).getContent());
     }
 
     public Page<WalletTransaction> getWalletTransactionsByType(UUID walletId, TransactionType transactionType, Pageable pageable) {
         log.info("Getting transactions for wallet: {} with type: {}", walletId, transactionType);
-        return transactionRepository.findByWalletIdAndTransactionTypeOrderByCreatedAtDesc(walletId, transactionType, pageable);
+        return mergeWithArchive(walletId, pageable, null, null, transactionType, null,
+                page -> transactionRepository.findByWalletIdAndTransactionTypeOrderByCreatedAtDesc(walletId, transactionType, page));
     }
 
     public Page<WalletTransaction> getWalletTransactionsByStatus(UUID walletId, TransactionStatus status, Pageable pageable) {
         log.info("Getting transactions for wallet: {} with status: {}", walletId, status);
-        return transactionRepository.findByWalletIdAndStatusOrderByCreatedAtDesc(walletId, status, pageable);
+        return mergeWithArchive(walletId, pageable, null, null, null, status,
+                page -> transactionRepository.findByWalletIdAndStatusOrderByCreatedAtDesc(walletId, status, page));
     }
 
     public Page<WalletTransaction> getWalletTransactionsByDateRange(UUID walletId, LocalDateTime startDate, 
                                                                    LocalDateTime endDate, Pageable pageable) {
         log.info("Getting transactions for wallet: {} between {} and {}", walletId, startDate, endDate);
-        return transactionRepository.findByWalletIdAndCreatedAtBetweenOrderByCreatedAtDesc(walletId, startDate, endDate, pageable);
+        return mergeWithArchive(walletId, pageable, startDate, endDate, null, null,
+                page -> transactionRepository.findByWalletIdAndCreatedAtBetweenOrderByCreatedAtDesc(walletId, startDate, endDate, page));
     }
 
     public WalletTransaction getTransactionByReference(String referenceId) {
@@ -132,6 +195,8 @@ public class WalletTransactionService {
         
         // Log audit
         logAudit(transaction.getWalletId(), "TRANSACTION_STATUS_UPDATED", transactionId, oldStatus, status, performedBy);
+        publishTransactionEvent(transaction, "TRANSACTION_STATUS_UPDATED");
+        recentTransactions.record(transaction);
         
         log.info("Transaction status updated successfully: {} -> {}", oldStatus, status);
         return transaction;
@@ -150,21 +215,49 @@ public class WalletTransactionService {
                 .build();
         }
         
+        DebitEligibilityResponse decision = null;
+        if (transaction.getTransactionType() == TransactionType.DEBIT) {
+            decision = debitGate.check(transaction.getWalletId(), transaction.getAmount());
+        }
+
+        if (transactionVelocityEngine.isBlockOnBreach()
+                && transactionVelocityEngine.wouldBreach(transaction.getWalletId(), transaction.getAmount())) {
+            throw ApiException.builder()
+                .message("Velocity limit exceeded")
+                .description("Transaction velocity threshold exceeded for wallet ID: " + transaction.getWalletId())
+                .status(403)
+                .build();
+        }
+
+        // Consumed atomically; a concurrent debit that took the remaining room makes this one fail and roll back
+        if (decision != null) {
+            walletLimitService.consumeLimits(transaction.getWalletId(), transaction.getAmount(),
+                decision.getCheckedLimits());
+        }
+
         // Update wallet balance based on transaction type
         BigDecimal amount = transaction.getTransactionType() == TransactionType.DEBIT 
             ? transaction.getAmount().negate() 
             : transaction.getAmount();
             
-        walletBalanceService.updateBalance(transaction.getWalletId(), amount, performedBy);
-        
+        WalletBalance balance = walletBalanceService.postTransaction(transaction.getWalletId(), amount, performedBy);
+
+        // Stamp the running balance from the locked balance row
+        transaction.setPostingSequence(balance.getLastPostingSequence());
+        transaction.setBalanceAfter(balance.getAvailableBalance());
+        transaction.setBalanceBefore(balance.getAvailableBalance().subtract(amount));
+
         // Update transaction status
         transaction.setStatus(TransactionStatus.COMPLETED);
         transaction.setProcessedAt(LocalDateTime.now());
         transaction = transactionRepository.save(transaction);
+        transactionVelocityEngine.record(transaction.getWalletId(), transaction.getAmount());
         
         // Log audit
         logAudit(transaction.getWalletId(), "TRANSACTION_PROCESSED", transactionId, 
                 TransactionStatus.PENDING, TransactionStatus.COMPLETED, performedBy);
+        publishTransactionEvent(transaction, "TRANSACTION_PROCESSED");
+        recentTransactions.record(transaction);
         
         log.info("Transaction processed successfully: {}", transactionId);
         return transaction;
@@ -172,7 +265,20 @@ public class WalletTransactionService {
 
     public BigDecimal getWalletBalanceFromTransactions(UUID walletId) {
         log.info("Calculating wallet balance from transactions: {}", walletId);
-        return transactionRepository.calculateWalletBalance(walletId);
+        BigDecimal balance = transactionRepository.calculateWalletBalance(walletId);
+        if (!transactionArchiveService.hasArchive(walletId)) {
+            return balance;
+        }
+
+        BigDecimal archived = BigDecimal.ZERO;
+        for (WalletTransaction transaction : transactionArchiveService.findTransactions(walletId, null, null)) {
+            if (transaction.getStatus() == TransactionStatus.COMPLETED) {
+                archived = transaction.getTransactionType() == TransactionType.CREDIT
+                    ? archived.add(transaction.getAmount())
+                    : archived.subtract(transaction.getAmount());
+            }
+        }
+        return (balance != null ? balance : BigDecimal.ZERO).add(archived);
     }
 
     public Object getWalletTransactionSummary(UUID walletId, LocalDateTime startDate, LocalDateTime endDate) {
@@ -202,6 +308,26 @@ public class WalletTransactionService {
             walletId, TransactionStatus.COMPLETED, effectiveStartDate, effectiveEndDate);
         long failedCount = transactionRepository.countByWalletIdAndStatusAndCreatedAtBetween(
             walletId, TransactionStatus.FAILED, effectiveStartDate, effectiveEndDate);
+
+        // Fold in archived months that overlap the period
+        if (transactionArchiveService.hasArchive(walletId)) {
+            totalCredits = totalCredits != null ? totalCredits : BigDecimal.ZERO;
+            totalDebits = totalDebits != null ? totalDebits : BigDecimal.ZERO;
+            for (WalletTransaction transaction : transactionArchiveService.findTransactions(walletId, effectiveStartDate, effectiveEndDate)) {
+                if (transaction.getTransactionType() == TransactionType.CREDIT) {
+                    creditCount++;
+                    totalCredits = totalCredits.add(transaction.getAmount());
+                } else {
+                    debitCount++;
+                    totalDebits = totalDebits.add(transaction.getAmount());
+                }
+                if (transaction.getStatus() == TransactionStatus.COMPLETED) {
+                    completedCount++;
+                } else if (transaction.getStatus() == TransactionStatus.FAILED) {
+                    failedCount++;
+                }
+            }
+        }
         
         summary.put("period", Map.of("startDate", effectiveStartDate, "endDate", effectiveEndDate));
         summary.put("transactions", Map.of(
@@ -225,25 +351,61 @@ public class WalletTransactionService {
     }
 
     // Helper methods
-    private BigDecimal calculateBalanceAfter(BigDecimal balanceBefore, BigDecimal amount, TransactionType type) {
-        return type == TransactionType.CREDIT 
-            ? balanceBefore.add(amount) 
-            : balanceBefore.subtract(amount);
+    // Archived rows are usually older than the hot ones, but not always: a transaction still pending when its
+    // month was archived stays hot. The first offset + size rows of both sides are therefore merged newest first
+    // and the requested page is sliced from the result.
+    private Page<WalletTransaction> mergeWithArchive(UUID walletId, Pageable pageable, LocalDateTime startDate,
+                                                     LocalDateTime endDate, TransactionType transactionType,
+                                                     TransactionStatus status,
+                                                     Function<Pageable, Page<WalletTransaction>> hotQuery) {
+        Page<WalletTransaction> hot = hotQuery.apply(pageable);
+        if (!transactionArchiveService.hasArchive(walletId)) {
+            return hot;
+        }
+
+        // The total comes from segment directories; only the newest segments needed for this page are inflated
+        long archivedTotal = transactionArchiveService.countTransactions(walletId, startDate, endDate,
+            transactionType, status);
+        if (archivedTotal == 0) {
+            return hot;
+        }
+
+        if (pageable.isUnpaged()) {
+            List<WalletTransaction> content = new ArrayList<>(hot.getContent());
+            content.addAll(transactionArchiveService.findNewestTransactions(walletId, startDate, endDate,
+                transactionType, status, Integer.MAX_VALUE));
+            content.sort(NEWEST_FIRST);
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        int end = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        List<WalletTransaction> merged = new ArrayList<>(pageable.getOffset() == 0 ? hot.getContent()
+            : hotQuery.apply(PageRequest.of(0, end, pageable.getSort())).getContent());
+        merged.addAll(transactionArchiveService.findNewestTransactions(walletId, startDate, endDate,
+            transactionType, status, end));
+        merged.sort(NEWEST_FIRST);
+
+        int from = (int) Math.min(merged.size(), pageable.getOffset());
+        List<WalletTransaction> content = new ArrayList<>(merged.subList(from, Math.min(end, merged.size())));
+        return new PageImpl<>(content, pageable, hot.getTotalElements() + archivedTotal);
+    }
+
+    private void publishTransactionEvent(WalletTransaction transaction, String eventType) {
+        outboxPublisher.publish(transaction.getWalletId(), OutboxPublisher.TRANSACTION, transaction.getId(), eventType,
+                OutboxPublisher.fields(
+                        "externalTransactionId", transaction.getExternalTransactionId(),
+                        "transactionType", transaction.getTransactionType(),
+                        "amount", transaction.getAmount(),
+                        "currency", transaction.getCurrency(),
+                        "referenceId", transaction.getReferenceId(),
+                        "status", transaction.getStatus(),
+                        "postingSequence", transaction.getPostingSequence(),
+                        "balanceAfter", transaction.getBalanceAfter()));
     }
 
     private void logAudit(UUID walletId, String action, UUID entityId, Object oldValue, Object newValue, UUID performedBy) {
         try {
-            WalletAuditLog auditLog = WalletAuditLog.builder()
-                .walletId(walletId)
-                .action(action)
-                .entityType("transaction")
-                .entityId(entityId)
-                .oldValues(oldValue != null ? oldValue.toString() : null)
-                .newValues(newValue != null ? newValue.toString() : null)
-                .performedBy(performedBy)
-                .build();
-
-            auditLogRepository.save(auditLog);
+            auditLogWriter.write(walletId, action, "transaction", entityId, oldValue, newValue, performedBy);
         } catch (Exception e) {
             log.error("Failed to log audit for transaction: {}, action: {}", entityId, action, e);
         }
@@ -0,0 +1,41 @@
+package com.interswitch.infra.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+// Removes the metadata rows of archived transactions. fk_transaction_metadata_transaction has no cascade, so
+// these have to go before the transactions themselves, in the same database transaction.
+@Repository
+@RequiredArgsConstructor
+public class ArchivedMetadataRepository {
+
+    private static final String DELETE = "DELETE FROM wallet_transaction_metadata WHERE transaction_id IN (";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int deleteByTransactionIds(List<UUID> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(transactionIds.size());
+        for (UUID transactionId : transactionIds) {
+            args.add(bytes(transactionId));
+        }
+        return jdbcTemplate.update(DELETE + String.join(", ", Collections.nCopies(transactionIds.size(), "?")) + ")",
+                args.toArray());
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
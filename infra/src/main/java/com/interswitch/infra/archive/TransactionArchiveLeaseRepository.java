@@ -0,0 +1,30 @@
+package com.interswitch.infra.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// The single row of transaction_archive_lease, which names the one node allowed to write archive segments
+@Repository
+@RequiredArgsConstructor
+public class TransactionArchiveLeaseRepository {
+
+    private static final String CLAIM = "UPDATE transaction_archive_lease SET owner_node = ?, heartbeat_at = ? "
+            + "WHERE id = 1 AND (owner_node IS NULL OR owner_node = ? OR heartbeat_at IS NULL OR heartbeat_at < ?)";
+    private static final String RELEASE = "UPDATE transaction_archive_lease SET owner_node = NULL, heartbeat_at = NULL "
+            + "WHERE id = 1 AND owner_node = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Takes the lease when it is free or expired, or renews it for its owner; false while another node holds it
+    public boolean claim(String owner, LocalDateTime now, LocalDateTime expiredBefore) {
+        return jdbcTemplate.update(CLAIM, owner, Timestamp.valueOf(now), owner, Timestamp.valueOf(expiredBefore)) == 1;
+    }
+
+    public void release(String owner) {
+        jdbcTemplate.update(RELEASE, owner);
+    }
+}
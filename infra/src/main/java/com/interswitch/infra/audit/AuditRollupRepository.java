@@ -0,0 +1,168 @@
+package com.interswitch.infra.audit;
+
+import com.interswitch.model.converters.AuditDictionary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Access to the hourly audit rollups. audit_hourly_rollups is keyed per wallet and performer and only serves
+// wallet-filtered statistics; unfiltered statistics read audit_hourly_global_rollups (per action and entity
+// type) and audit_hourly_performer_rollups (per performer), which stay small however many wallets there are.
+// Every increment updates all three. Increments are multi-row upserts, so concurrent writers add to the same
+// bucket row instead of racing on read-modify-write; global rows are upserted in key order, so two writers
+// touching the same hot rows lock them in the same order.
+@Repository
+@RequiredArgsConstructor
+public class AuditRollupRepository {
+
+    private static final int UPSERT_CHUNK_SIZE = 1000;
+    private static final String WALLET_TABLE = "audit_hourly_rollups";
+    private static final String GLOBAL_TABLE = "audit_hourly_global_rollups";
+    private static final String PERFORMER_TABLE = "audit_hourly_performer_rollups";
+    private static final String WALLET_COLUMNS = "bucket_start, wallet_id, action_code, entity_type_code, performed_by";
+    private static final String GLOBAL_COLUMNS = "bucket_start, action_code, entity_type_code";
+    private static final String PERFORMER_COLUMNS = "bucket_start, performed_by";
+    private static final String UPSERT_SUFFIX = " AS incoming ON DUPLICATE KEY UPDATE "
+            + "event_count = event_count + incoming.event_count";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditDictionary auditDictionary;
+
+    public record Delta(LocalDateTime bucketStart, UUID walletId, String action, String entityType,
+                        UUID performedBy, long count) {
+    }
+
+    public enum Dimension {
+        ACTION("action_code"),
+        ENTITY_TYPE("entity_type_code"),
+        PERFORMED_BY("performed_by"),
+        DAY("DATE(bucket_start)");
+
+        private final String expression;
+
+        Dimension(String expression) {
+            this.expression = expression;
+        }
+    }
+
+    public static LocalDateTime bucketOf(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    public void increment(Collection<Delta> deltas) {
+        List<Object[]> walletRows = new ArrayList<>(deltas.size());
+        Map<GlobalKey, Long> global = new TreeMap<>();
+        Map<PerformerKey, Long> performers = new TreeMap<>();
+        for (Delta delta : deltas) {
+            LocalDateTime bucket = bucketOf(delta.bucketStart());
+            short action = auditDictionary.register(AuditDictionary.ACTION, delta.action());
+            short entityType = auditDictionary.register(AuditDictionary.ENTITY_TYPE, delta.entityType());
+            walletRows.add(new Object[]{Timestamp.valueOf(bucket), bytes(delta.walletId()), action, entityType,
+                    bytes(delta.performedBy()), delta.count()});
+            global.merge(new GlobalKey(bucket, action, entityType), delta.count(), Long::sum);
+            performers.merge(new PerformerKey(bucket, delta.performedBy()), delta.count(), Long::sum);
+        }
+        upsert(WALLET_TABLE, WALLET_COLUMNS, walletRows);
+        List<Object[]> globalRows = new ArrayList<>(global.size());
+        global.forEach((key, count) -> globalRows.add(new Object[]{Timestamp.valueOf(key.bucketStart()),
+                key.action(), key.entityType(), count}));
+        upsert(GLOBAL_TABLE, GLOBAL_COLUMNS, globalRows);
+        List<Object[]> performerRows = new ArrayList<>(performers.size());
+        performers.forEach((key, count) -> performerRows.add(new Object[]{Timestamp.valueOf(key.bucketStart()),
+                bytes(key.performedBy()), count}));
+        upsert(PERFORMER_TABLE, PERFORMER_COLUMNS, performerRows);
+    }
+
+    // Event counts per dimension value over buckets in [fromBucket, toBucket)
+    public Map<String, Long> countBy(Dimension dimension, UUID walletId, LocalDateTime fromBucket, LocalDateTime toBucket) {
+        String table = walletId != null ? WALLET_TABLE
+                : dimension == Dimension.PERFORMED_BY ? PERFORMER_TABLE : GLOBAL_TABLE;
+        String sql = "SELECT " + dimension.expression + ", SUM(event_count) FROM " + table
+                + " WHERE bucket_start >= ? AND bucket_start < ?"
+                + (walletId != null ? " AND wallet_id = ?" : "")
+                + " GROUP BY " + dimension.expression;
+        Object[] args = walletId != null
+                ? new Object[]{Timestamp.valueOf(fromBucket), Timestamp.valueOf(toBucket), bytes(walletId)}
+                : new Object[]{Timestamp.valueOf(fromBucket), Timestamp.valueOf(toBucket)};
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            String key = switch (dimension) {
+                case ACTION, ENTITY_TYPE -> auditDictionary.decode(rs.getShort(1));
+                case PERFORMED_BY -> uuid(rs.getBytes(1)).toString();
+                case DAY -> rs.getDate(1).toLocalDate().toString();
+            };
+            counts.merge(key, rs.getLong(2), Long::sum);
+        }, args);
+        return counts;
+    }
+
+    // Helper methods
+    private void upsert(String table, String columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int width = rows.get(0).length;
+        String placeholders = "(" + "?, ".repeat(width - 1) + "?)";
+        for (int from = 0; from < rows.size(); from += UPSERT_CHUNK_SIZE) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + UPSERT_CHUNK_SIZE, rows.size()));
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                    .append(" (").append(columns).append(", event_count) VALUES ");
+            Object[] args = new Object[chunk.size() * width];
+            int i = 0;
+            for (Object[] row : chunk) {
+                sql.append(i == 0 ? placeholders : ", " + placeholders);
+                System.arraycopy(row, 0, args, i, width);
+                i += width;
+            }
+            jdbcTemplate.update(sql.append(UPSERT_SUFFIX).toString(), args);
+        }
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private record GlobalKey(LocalDateTime bucketStart, short action, short entityType)
+            implements Comparable<GlobalKey> {
+
+        @Override
+        public int compareTo(GlobalKey other) {
+            int byBucket = bucketStart.compareTo(other.bucketStart);
+            if (byBucket != 0) {
+                return byBucket;
+            }
+            int byAction = Short.compare(action, other.action);
+            return byAction != 0 ? byAction : Short.compare(entityType, other.entityType);
+        }
+    }
+
+    private record PerformerKey(LocalDateTime bucketStart, UUID performedBy) implements Comparable<PerformerKey> {
+
+        @Override
+        public int compareTo(PerformerKey other) {
+            int byBucket = bucketStart.compareTo(other.bucketStart);
+            return byBucket != 0 ? byBucket : performedBy.compareTo(other.performedBy);
+        }
+    }
+}
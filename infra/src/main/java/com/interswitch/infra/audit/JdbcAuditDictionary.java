@@ -0,0 +1,133 @@
+package com.interswitch.infra.audit;
+
+import com.interswitch.model.converters.AuditDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// audit_dictionary cached in memory in both directions. New values are registered on their own autocommit
+// connection, so a code never disappears with a rolled back business transaction that happened to use it first.
+// Only the write paths register; lookups for query parameters never insert, and a miss reloads the table at most
+// once per RELOAD_INTERVAL_MS to pick up values registered by other nodes.
+@Component
+@Slf4j
+public class JdbcAuditDictionary implements AuditDictionary {
+
+    private static final int MAX_CODES = Short.MAX_VALUE;
+    // Column sizes of audit_dictionary.kind and audit_dictionary.value
+    private static final int MAX_KIND_LENGTH = 20;
+    private static final int MAX_VALUE_LENGTH = 50;
+    private static final long RELOAD_INTERVAL_MS = 1000;
+
+    private final DataSource dataSource;
+    private final Map<String, Short> codes = new ConcurrentHashMap<>();
+    private final Map<Short, String> values = new ConcurrentHashMap<>();
+    private volatile long lastReload;
+
+    public JdbcAuditDictionary(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public short encode(String kind, String value) {
+        String key = key(kind, value);
+        Short code = codes.get(key);
+        if (code == null && System.currentTimeMillis() - lastReload >= RELOAD_INTERVAL_MS) {
+            reload();
+            code = codes.get(key);
+        }
+        return code != null ? code : UNKNOWN;
+    }
+
+    @Override
+    public short register(String kind, String value) {
+        Short code = codes.get(key(kind, value));
+        if (code != null) {
+            return code;
+        }
+        if (kind == null || kind.length() > MAX_KIND_LENGTH || value == null || value.length() > MAX_VALUE_LENGTH) {
+            throw new IllegalArgumentException("Audit " + kind + " '" + value + "' cannot be stored in the dictionary, "
+                    + "values are limited to " + MAX_VALUE_LENGTH + " characters");
+        }
+        return insert(kind, value);
+    }
+
+    @Override
+    public String decode(short code) {
+        String value = values.get(code);
+        if (value == null) {
+            reload();
+            value = values.get(code);
+        }
+        return value != null ? value : "UNKNOWN_" + code;
+    }
+
+    // Helper methods
+    private synchronized short insert(String kind, String value) {
+        String key = key(kind, value);
+        Short code = codes.get(key);
+        if (code != null) {
+            return code;
+        }
+        reload();
+        code = codes.get(key);
+        if (code != null) {
+            return code;
+        }
+        if (values.size() >= MAX_CODES) {
+            throw new IllegalStateException("Audit dictionary is full, cannot register " + kind + " " + value);
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT IGNORE INTO audit_dictionary (kind, value) VALUES (?, ?)")) {
+                insert.setString(1, kind);
+                insert.setString(2, value);
+                insert.executeUpdate();
+            }
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT code FROM audit_dictionary WHERE kind = ? AND value = ?")) {
+                select.setString(1, kind);
+                select.setString(2, value);
+                try (ResultSet rows = select.executeQuery()) {
+                    rows.next();
+                    code = rows.getShort(1);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to register audit " + kind + " " + value, e);
+        }
+
+        codes.put(key, code);
+        values.put(code, value);
+        log.info("Registered audit {} {} as code {}", kind, value, code);
+        return code;
+    }
+
+    private synchronized void reload() {
+        lastReload = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT code, kind, value FROM audit_dictionary");
+             ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                short code = rows.getShort(1);
+                codes.put(key(rows.getString(2), rows.getString(3)), code);
+                values.put(code, rows.getString(3));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load audit dictionary", e);
+        }
+    }
+
+    private static String key(String kind, String value) {
+        return kind + '\u0000' + value;
+    }
+}
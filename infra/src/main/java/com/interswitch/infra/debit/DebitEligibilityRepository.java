@@ -0,0 +1,77 @@
+package com.interswitch.infra.debit;
+
+import com.interswitch.model.enums.LimitType;
+import com.interswitch.model.enums.WalletStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Everything a debit pre-check needs about one wallet, read in a single statement: status, balance and
+// active limits joined on the wallet row, plus (optionally) its active freezes as correlated lookups on
+// idx_freeze_active. Freeze status 0 is FreezeStatus.ACTIVE. As in WalletFreezeRepository.getTotalFrozenAmount,
+// only PARTIAL freezes hold back an amount; a FULL freeze blocks the debit outright.
+@Repository
+@RequiredArgsConstructor
+public class DebitEligibilityRepository {
+
+    private static final String SELECT = "SELECT w.status, b.available_balance, "
+            + "l.limit_type, l.limit_amount, l.current_usage, l.usage_epoch";
+    private static final String FREEZE_COLUMNS = ", "
+            + "(SELECT COUNT(*) FROM wallet_freezes f WHERE f.wallet_id = w.id AND f.status = 0 "
+            + "AND f.freeze_type = 'FULL' AND (f.expires_at IS NULL OR f.expires_at > NOW(6))) AS full_freezes, "
+            + "(SELECT COALESCE(SUM(f.frozen_amount), 0) FROM wallet_freezes f WHERE f.wallet_id = w.id "
+            + "AND f.status = 0 AND f.freeze_type = 'PARTIAL' "
+            + "AND (f.expires_at IS NULL OR f.expires_at > NOW(6))) AS frozen_amount";
+    private static final String FROM = " FROM wallets w "
+            + "LEFT JOIN wallet_balances b ON b.wallet_id = w.id "
+            + "LEFT JOIN wallet_limits l ON l.wallet_id = w.id AND l.is_active = 1 "
+            + "WHERE w.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // currentUsage belongs to the period with epoch usageEpoch; it is stale once that period has passed
+    public record Limit(LimitType limitType, BigDecimal limitAmount, BigDecimal currentUsage, long usageEpoch) {
+    }
+
+    // fullyFrozen and frozenAmount are null when freezes were not read
+    public record Snapshot(WalletStatus status, BigDecimal availableBalance, List<Limit> limits,
+                           Boolean fullyFrozen, BigDecimal frozenAmount) {
+    }
+
+    public Optional<Snapshot> find(UUID walletId, boolean includeFreezes) {
+        String sql = SELECT + (includeFreezes ? FREEZE_COLUMNS : "") + FROM;
+        return jdbcTemplate.query(sql, rs -> {
+            if (!rs.next()) {
+                return Optional.empty();
+            }
+            WalletStatus status = WalletStatus.valueOf(rs.getString("status"));
+            BigDecimal availableBalance = rs.getBigDecimal("available_balance");
+            Boolean fullyFrozen = includeFreezes ? rs.getLong("full_freezes") > 0 : null;
+            BigDecimal frozenAmount = includeFreezes ? rs.getBigDecimal("frozen_amount") : null;
+            List<Limit> limits = new ArrayList<>();
+            do {
+                String limitType = rs.getString("limit_type");
+                if (limitType != null) {
+                    limits.add(new Limit(LimitType.valueOf(limitType),
+                            rs.getBigDecimal("limit_amount"), rs.getBigDecimal("current_usage"),
+                            rs.getLong("usage_epoch")));
+                }
+            } while (rs.next());
+            return Optional.of(new Snapshot(status, availableBalance, limits, fullyFrozen, frozenAmount));
+        }, (Object) bytes(walletId));
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
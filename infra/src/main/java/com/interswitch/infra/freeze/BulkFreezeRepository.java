@@ -0,0 +1,53 @@
+package com.interswitch.infra.freeze;
+
+import com.interswitch.model.entities.WalletFreeze;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+// Multi-row inserts of new freezes for bulk sweeps; the caller assigns IDs and timestamps
+@Repository
+@RequiredArgsConstructor
+public class BulkFreezeRepository {
+
+    private static final String INSERT = "INSERT INTO wallet_freezes (id, created_at, updated_at, wallet_id, "
+            + "freeze_type, frozen_amount, reason, created_by, status, expires_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int insert(List<WalletFreeze> freezes) {
+        if (freezes.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(freezes.size() * 10);
+        for (WalletFreeze freeze : freezes) {
+            args.add(bytes(freeze.getId()));
+            args.add(Timestamp.valueOf(freeze.getCreatedAt()));
+            args.add(Timestamp.valueOf(freeze.getUpdatedAt()));
+            args.add(bytes(freeze.getWalletId()));
+            args.add(freeze.getFreezeType().name());
+            args.add(freeze.getFrozenAmount());
+            args.add(freeze.getReason());
+            args.add(bytes(freeze.getCreatedBy()));
+            args.add(freeze.getStatus().ordinal());
+            args.add(freeze.getExpiresAt() != null ? Timestamp.valueOf(freeze.getExpiresAt()) : null);
+        }
+        return jdbcTemplate.update(INSERT + String.join(", ", Collections.nCopies(freezes.size(), ROW)),
+                args.toArray());
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
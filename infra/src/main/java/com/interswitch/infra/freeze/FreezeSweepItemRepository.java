@@ -0,0 +1,79 @@
+package com.interswitch.infra.freeze;
+
+import com.interswitch.model.enums.FreezeSweepOutcome;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+// Wallet IDs staged for a freeze sweep, one row per (sweep, wallet). The primary key de-duplicates the request
+// and orders the keyset walk; outcome stays null until the wallet's chunk has been applied.
+@Repository
+@RequiredArgsConstructor
+public class FreezeSweepItemRepository {
+
+    private static final UUID KEYSET_START = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Stages the wallets with one multi-row INSERT IGNORE per chunk; returns how many were new to the sweep
+    public int insert(UUID sweepId, List<UUID> walletIds, int chunkSize) {
+        byte[] sweep = bytes(sweepId);
+        int inserted = 0;
+        for (int from = 0; from < walletIds.size(); from += chunkSize) {
+            List<UUID> chunk = walletIds.subList(from, Math.min(from + chunkSize, walletIds.size()));
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i * 2] = sweep;
+                args[i * 2 + 1] = bytes(chunk.get(i));
+            }
+            inserted += jdbcTemplate.update("INSERT IGNORE INTO freeze_sweep_items (sweep_id, wallet_id) VALUES "
+                    + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?)")), args);
+        }
+        return inserted;
+    }
+
+    // Next chunk of wallets after the checkpoint, in primary key order
+    public List<UUID> next(UUID sweepId, UUID afterWalletId, int limit) {
+        return jdbcTemplate.query("SELECT wallet_id FROM freeze_sweep_items WHERE sweep_id = ? AND wallet_id > ? "
+                + "ORDER BY wallet_id LIMIT ?", (rs, rowNum) -> uuid(rs.getBytes(1)),
+                bytes(sweepId), bytes(afterWalletId != null ? afterWalletId : KEYSET_START), limit);
+    }
+
+    public int markOutcome(UUID sweepId, Collection<UUID> walletIds, FreezeSweepOutcome outcome) {
+        if (walletIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(walletIds.size() + 2);
+        args.add(outcome.name());
+        args.add(bytes(sweepId));
+        walletIds.forEach(walletId -> args.add(bytes(walletId)));
+        return jdbcTemplate.update("UPDATE freeze_sweep_items SET outcome = ? WHERE sweep_id = ? AND wallet_id IN ("
+                + String.join(", ", Collections.nCopies(walletIds.size(), "?")) + ")", args.toArray());
+    }
+
+    // Wallets with the given outcome, keyset-paginated by wallet ID
+    public List<UUID> findByOutcome(UUID sweepId, FreezeSweepOutcome outcome, UUID afterWalletId, int limit) {
+        return jdbcTemplate.query("SELECT wallet_id FROM freeze_sweep_items WHERE sweep_id = ? AND wallet_id > ? "
+                + "AND outcome = ? ORDER BY wallet_id LIMIT ?", (rs, rowNum) -> uuid(rs.getBytes(1)),
+                bytes(sweepId), bytes(afterWalletId != null ? afterWalletId : KEYSET_START), outcome.name(), limit);
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
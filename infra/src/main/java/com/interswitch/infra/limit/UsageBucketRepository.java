@@ -0,0 +1,90 @@
+package com.interswitch.infra.limit;
+
+import com.interswitch.model.enums.LimitType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Aggregated debit totals per (wallet, rolling limit type, time bucket) in wallet_usage_buckets, and the
+// per-wallet consume sequence in wallet_usage_heads
+@Repository
+@RequiredArgsConstructor
+public class UsageBucketRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Bucket(LimitType limitType, long bucketEpoch, long amountMinor) {
+    }
+
+    // Adds to the wallet's buckets with one multi-row upsert
+    public void add(UUID walletId, List<Bucket> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        byte[] wallet = bytes(walletId);
+        List<Object> args = new ArrayList<>(buckets.size() * 4);
+        for (Bucket bucket : buckets) {
+            args.add(wallet);
+            args.add(bucket.limitType().name());
+            args.add(bucket.bucketEpoch());
+            args.add(bucket.amountMinor());
+        }
+        jdbcTemplate.update("INSERT INTO wallet_usage_buckets (wallet_id, limit_type, bucket_epoch, amount_minor) "
+                + "VALUES " + String.join(", ", Collections.nCopies(buckets.size(), "(?, ?, ?, ?)"))
+                + " ON DUPLICATE KEY UPDATE amount_minor = amount_minor + VALUES(amount_minor)", args.toArray());
+    }
+
+    // Increments the wallet's consume sequence and returns it; the row stays locked until the transaction ends
+    public long advanceSequence(UUID walletId) {
+        byte[] wallet = bytes(walletId);
+        jdbcTemplate.update("INSERT INTO wallet_usage_heads (wallet_id, sequence) VALUES (?, 1) "
+                + "ON DUPLICATE KEY UPDATE sequence = sequence + 1", wallet);
+        return jdbcTemplate.queryForObject("SELECT sequence FROM wallet_usage_heads WHERE wallet_id = ?",
+                Long.class, wallet);
+    }
+
+    public long findSequence(UUID walletId) {
+        List<Long> sequences = jdbcTemplate.queryForList("SELECT sequence FROM wallet_usage_heads WHERE wallet_id = ?",
+                Long.class, bytes(walletId));
+        return sequences.isEmpty() ? 0L : sequences.get(0);
+    }
+
+    // The wallet's buckets at or after the given epoch of each limit type. A locking read returns the latest
+    // committed rows rather than the transaction's snapshot.
+    public List<Bucket> find(UUID walletId, Map<LimitType, Long> fromEpochs, boolean locking) {
+        if (fromEpochs.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(fromEpochs.size() * 2 + 1);
+        List<String> conditions = new ArrayList<>(fromEpochs.size());
+        args.add(bytes(walletId));
+        fromEpochs.forEach((limitType, fromEpoch) -> {
+            conditions.add("(limit_type = ? AND bucket_epoch >= ?)");
+            args.add(limitType.name());
+            args.add(fromEpoch);
+        });
+        return jdbcTemplate.query("SELECT limit_type, bucket_epoch, amount_minor FROM wallet_usage_buckets "
+                + "WHERE wallet_id = ? AND (" + String.join(" OR ", conditions) + ")" + (locking ? " FOR SHARE" : ""),
+                (rs, rowNum) -> new Bucket(LimitType.valueOf(rs.getString(1)), rs.getLong(2), rs.getLong(3)),
+                args.toArray());
+    }
+
+    public int deleteBefore(LimitType limitType, long bucketEpoch, int limit) {
+        return jdbcTemplate.update("DELETE FROM wallet_usage_buckets WHERE limit_type = ? AND bucket_epoch < ? LIMIT ?",
+                limitType.name(), bucketEpoch, limit);
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
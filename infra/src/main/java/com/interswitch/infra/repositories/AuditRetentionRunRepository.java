@@ -0,0 +1,29 @@
+package com.interswitch.infra.repositories;
+
+import com.interswitch.model.entities.AuditRetentionRun;
+import com.interswitch.model.enums.RetentionRunStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AuditRetentionRunRepository extends JpaRepository<AuditRetentionRun, UUID> {
+
+    Optional<AuditRetentionRun> findFirstByStatusOrderByStartedAtDesc(RetentionRunStatus status);
+
+    Page<AuditRetentionRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    // Takes or renews the lease on a running run; 0 while another node holds an unexpired lease
+    @Modifying
+    @Query("UPDATE AuditRetentionRun r SET r.ownerNode = :owner, r.heartbeatAt = :now WHERE r.id = :runId AND r.status = :status AND (r.ownerNode IS NULL OR r.ownerNode = :owner OR r.heartbeatAt IS NULL OR r.heartbeatAt < :expiredBefore)")
+    int claimLease(@Param("runId") UUID runId, @Param("owner") String owner, @Param("now") LocalDateTime now,
+                   @Param("expiredBefore") LocalDateTime expiredBefore, @Param("status") RetentionRunStatus status);
+}
@@ -0,0 +1,29 @@
+package com.interswitch.infra.repositories;
+
+import com.interswitch.model.entities.FreezeSweep;
+import com.interswitch.model.enums.FreezeSweepStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface FreezeSweepRepository extends JpaRepository<FreezeSweep, UUID> {
+
+    List<FreezeSweep> findByStatusOrderByStartedAt(FreezeSweepStatus status);
+
+    Page<FreezeSweep> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    // Takes or renews the lease on a running sweep; 0 while another node holds an unexpired lease
+    @Modifying
+    @Query("UPDATE FreezeSweep s SET s.ownerNode = :owner, s.heartbeatAt = :now WHERE s.id = :sweepId AND s.status = :status AND (s.ownerNode IS NULL OR s.ownerNode = :owner OR s.heartbeatAt IS NULL OR s.heartbeatAt < :expiredBefore)")
+    int claimLease(@Param("sweepId") UUID sweepId, @Param("owner") String owner, @Param("now") LocalDateTime now,
+                   @Param("expiredBefore") LocalDateTime expiredBefore, @Param("status") FreezeSweepStatus status);
+}
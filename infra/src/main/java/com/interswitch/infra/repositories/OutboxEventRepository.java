@@ -0,0 +1,53 @@
+package com.interswitch.infra.repositories;
+
+import com.interswitch.model.entities.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.failedAt IS NULL "
+            + "AND e.eventSequence <= :maxSequence ORDER BY e.eventSequence")
+    List<OutboxEvent> findPendingUpTo(@Param("maxSequence") long maxSequence, Pageable pageable);
+
+    // Committed sequences above the given one, in order, through uk_outbox_event_seq
+    @Query("SELECT e.eventSequence FROM OutboxEvent e WHERE e.eventSequence > :afterSequence ORDER BY e.eventSequence")
+    List<Long> findSequencesAfter(@Param("afterSequence") long afterSequence, Pageable pageable);
+
+    @Query("SELECT MIN(e.eventSequence) FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.failedAt IS NULL")
+    Long findFirstPendingSequence();
+
+    @Query("SELECT MAX(e.eventSequence) FROM OutboxEvent e")
+    Long findLastSequence();
+
+    long countByPublishedAtIsNullAndFailedAtIsNull();
+
+    long countByFailedAtIsNotNull();
+
+    List<OutboxEvent> findByWalletIdOrderByEventSequence(UUID walletId);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<UUID> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    // failedAt is assigned first, MySQL applies the assignments left to right
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.failedAt = CASE WHEN e.attempts + 1 >= :maxAttempts THEN :failedAt ELSE e.failedAt END, "
+            + "e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id IN :ids")
+    int markFailed(@Param("ids") Collection<UUID> ids, @Param("error") String error,
+                   @Param("maxAttempts") int maxAttempts, @Param("failedAt") LocalDateTime failedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,17 @@
+package com.interswitch.infra.repositories;
+
+import com.interswitch.model.entities.ReconciliationMismatch;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ReconciliationMismatchRepository extends JpaRepository<ReconciliationMismatch, UUID> {
+
+    Page<ReconciliationMismatch> findByRunIdOrderByWalletId(UUID runId, Pageable pageable);
+
+    long countByRunId(UUID runId);
+}
@@ -0,0 +1,29 @@
+package com.interswitch.infra.repositories;
+
+import com.interswitch.model.entities.ReconciliationRun;
+import com.interswitch.model.enums.ReconciliationStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, UUID> {
+
+    Optional<ReconciliationRun> findFirstByStatusOrderByStartedAtDesc(ReconciliationStatus status);
+
+    Page<ReconciliationRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    // Takes or renews the lease on a running run; 0 while another node holds an unexpired lease
+    @Modifying
+    @Query("UPDATE ReconciliationRun r SET r.ownerNode = :owner, r.heartbeatAt = :now WHERE r.id = :runId AND r.status = :status AND (r.ownerNode IS NULL OR r.ownerNode = :owner OR r.heartbeatAt IS NULL OR r.heartbeatAt < :expiredBefore)")
+    int claimLease(@Param("runId") UUID runId, @Param("owner") String owner, @Param("now") LocalDateTime now,
+                   @Param("expiredBefore") LocalDateTime expiredBefore, @Param("status") ReconciliationStatus status);
+}
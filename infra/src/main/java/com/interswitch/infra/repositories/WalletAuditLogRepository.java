@@ -132,6 +132,16 @@ public interface WalletAuditLogRepository extends JpaRepository<WalletAuditLog,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
+    // Activity in one pass grouped by every statistics dimension; meant for short ranges such as the current hour
+    @Query("SELECT wal.action, wal.entityType, wal.performedBy, DATE(wal.createdAt), COUNT(wal) FROM WalletAuditLog wal WHERE " +
+            "(:walletId IS NULL OR wal.walletId = :walletId) AND " +
+            "wal.createdAt BETWEEN :startDate AND :endDate " +
+            "GROUP BY wal.action, wal.entityType, wal.performedBy, DATE(wal.createdAt)")
+    List<Object[]> countActivityBetween(
+            @Param("walletId") UUID walletId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
     // Daily activity statistics
     @Query("SELECT DATE(wal.createdAt) as day, COUNT(wal) FROM WalletAuditLog wal WHERE " +
             "wal.walletId = :walletId AND " +
@@ -157,7 +167,7 @@ public interface WalletAuditLogRepository extends JpaRepository<WalletAuditLog,
     List<String> findDistinctEntityTypes();
 
     @Query("SELECT DISTINCT wal.performedBy FROM WalletAuditLog wal ORDER BY wal.performedBy")
-    List<UUID> findDistinctPerformedBy();
+    List<UUID> findDistinctPerformedBy(Pageable pageable);
 
     // Recent audit logs
     @Query("SELECT wal FROM WalletAuditLog wal ORDER BY wal.createdAt DESC")
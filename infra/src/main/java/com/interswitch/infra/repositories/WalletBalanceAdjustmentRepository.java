@@ -0,0 +1,17 @@
+package com.interswitch.infra.repositories;
+
+import com.interswitch.model.entities.WalletBalanceAdjustment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WalletBalanceAdjustmentRepository extends JpaRepository<WalletBalanceAdjustment, UUID> {
+
+    @Query("SELECT a FROM WalletBalanceAdjustment a WHERE a.walletId = :walletId AND a.postingSequence >= :fromSequence AND a.postingSequence < :toSequence ORDER BY a.postingSequence")
+    List<WalletBalanceAdjustment> findPostingsInRange(@Param("walletId") UUID walletId, @Param("fromSequence") Long fromSequence, @Param("toSequence") Long toSequence);
+}
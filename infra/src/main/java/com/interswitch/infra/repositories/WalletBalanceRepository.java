@@ -3,6 +3,7 @@ package com.interswitch.infra.repositories;
 
 import com.interswitch.model.entities.WalletBalance;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
@@ -49,6 +50,20 @@ public interface WalletBalanceRepository extends JpaRepository<WalletBalance, UU
     @Query("SELECT CASE WHEN wb.availableBalance >= :amount THEN true ELSE false END FROM WalletBalance wb WHERE wb.walletId = :walletId")
     boolean hasSufficientBalance(@Param("walletId") UUID walletId, @Param("amount") BigDecimal amount);
     
+    @Modifying
+    @Query("UPDATE WalletBalance wb SET wb.verifiedSequence = :sequence, wb.verifiedBalance = :balance WHERE wb.walletId = :walletId AND wb.verifiedSequence < :sequence")
+    int advanceVerifiedSequence(@Param("walletId") UUID walletId, @Param("sequence") Long sequence, @Param("balance") BigDecimal balance);
+
+    boolean existsByWalletId(UUID walletId);
+
+    // Keyset pages for reconciliation
+    @Query("SELECT wb.walletId FROM WalletBalance wb WHERE wb.walletId > :afterWalletId ORDER BY wb.walletId")
+    List<UUID> findWalletIdsAfter(@Param("afterWalletId") UUID afterWalletId, Pageable pageable);
+
+    // Also picks up wallets whose balance was changed without a posting
+    @Query("SELECT wb.walletId FROM WalletBalance wb WHERE wb.walletId > :afterWalletId AND (wb.lastPostingSequence > wb.verifiedSequence OR wb.availableBalance <> wb.verifiedBalance) ORDER BY wb.walletId")
+    List<UUID> findUnverifiedWalletIdsAfter(@Param("afterWalletId") UUID afterWalletId, Pageable pageable);
+
     @Query("SELECT wb FROM WalletBalance wb WHERE wb.walletId IN :walletIds")
     List<WalletBalance> findByWalletIds(@Param("walletIds") List<UUID> walletIds);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.interswitch.infra.repositories;
 
 import com.interswitch.model.entities.WalletFreeze;
+import com.interswitch.model.enums.FreezeStatus;
 import com.interswitch.model.enums.FreezeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,33 +19,56 @@ import java.util.UUID;
 public interface WalletFreezeRepository extends JpaRepository<WalletFreeze, UUID> {
 
     // Basic queries - using wallet relationship
-    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.wallet.id = :walletId ORDER BY wf.createdAt DESC")
+    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.walletId = :walletId ORDER BY wf.createdAt DESC")
     List<WalletFreeze> findByWalletIdOrderByCreatedAtDesc(@Param("walletId") UUID walletId);
 
-    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.wallet.id = :walletId AND wf.status = :status ORDER BY wf.createdAt DESC")
-    List<WalletFreeze> findByWalletIdAndStatusOrderByCreatedAtDesc(@Param("walletId") UUID walletId, @Param("status") String status);
+    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.status = :status ORDER BY wf.createdAt DESC")
+    List<WalletFreeze> findByWalletIdAndStatusOrderByCreatedAtDesc(@Param("walletId") UUID walletId, @Param("status") FreezeStatus status);
 
-    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.wallet.id = :walletId AND wf.freezeType = :freezeType ORDER BY wf.createdAt DESC")
+    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.freezeType = :freezeType ORDER BY wf.createdAt DESC")
     List<WalletFreeze> findByWalletIdAndFreezeTypeOrderByCreatedAtDesc(@Param("walletId") UUID walletId, @Param("freezeType") FreezeType freezeType);
 
-    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.wallet.id = :walletId AND wf.freezeType = :freezeType AND wf.status = :status ORDER BY wf.createdAt DESC")
-    List<WalletFreeze> findByWalletIdAndFreezeTypeAndStatus(@Param("walletId") UUID walletId, @Param("freezeType") FreezeType freezeType, @Param("status") String status);
+    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.freezeType = :freezeType AND wf.status = :status ORDER BY wf.createdAt DESC")
+    List<WalletFreeze> findByWalletIdAndFreezeTypeAndStatus(@Param("walletId") UUID walletId, @Param("freezeType") FreezeType freezeType, @Param("status") FreezeStatus status);
 
-    // Active freezes (non-expired and status = 'active')
-    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.wallet.id = :walletId AND wf.status = 'active' AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP) ORDER BY wf.createdAt DESC")
+    // Active freezes (non-expired and status = ACTIVE)
+    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP) ORDER BY wf.createdAt DESC")
     List<WalletFreeze> findActiveFreezesForWallet(@Param("walletId") UUID walletId);
 
+    // Active freeze summaries (walletId, id, freezeType, frozenAmount, expiresAt) for the in-memory freeze index
+    @Query("SELECT wf.walletId, wf.id, wf.freezeType, wf.frozenAmount, wf.expiresAt FROM WalletFreeze wf WHERE wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
+    List<Object[]> findActiveFreezeSummaries();
+
+    @Query("SELECT wf.walletId, wf.id, wf.freezeType, wf.frozenAmount, wf.expiresAt FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
+    List<Object[]> findActiveFreezeSummariesForWallet(@Param("walletId") UUID walletId);
+
+    @Query("SELECT wf.walletId, wf.id, wf.freezeType, wf.frozenAmount, wf.expiresAt FROM WalletFreeze wf WHERE wf.walletId IN :walletIds AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
+    List<Object[]> findActiveFreezeSummariesForWallets(@Param("walletIds") Collection<UUID> walletIds);
+
+    // Wallets among the given ones that already hold an active freeze of the type, for bulk sweeps
+    @Query("SELECT DISTINCT wf.walletId FROM WalletFreeze wf WHERE wf.walletId IN :walletIds AND wf.freezeType = :freezeType AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
+    List<UUID> findWalletIdsWithActiveFreeze(@Param("walletIds") Collection<UUID> walletIds, @Param("freezeType") FreezeType freezeType);
+
     // Expired freezes
-    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.expiresAt < CURRENT_TIMESTAMP AND wf.status = 'active'")
+    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.expiresAt < CURRENT_TIMESTAMP AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE")
     List<WalletFreeze> findExpiredActiveFreezes();
 
+    @Query("SELECT wf.id FROM WalletFreeze wf WHERE wf.expiresAt <= CURRENT_TIMESTAMP AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE")
+    List<UUID> findExpiredActiveFreezeIds();
+
+    // Upcoming expiries (id, expiresAt) of active freezes, read through idx_freeze_expires
+    @Query("SELECT wf.id, wf.expiresAt FROM WalletFreeze wf WHERE wf.expiresAt IS NOT NULL AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE ORDER BY wf.expiresAt")
+    List<Object[]> findActiveFreezeExpiries();
+
+    List<WalletFreeze> findByIdInAndRemovedAt(List<UUID> ids, LocalDateTime removedAt);
+
     @Query("SELECT wf FROM WalletFreeze wf WHERE wf.expiresAt < :dateTime AND wf.status = :status ORDER BY wf.expiresAt")
-    List<WalletFreeze> findByExpiresAtBeforeAndStatus(@Param("dateTime") LocalDateTime dateTime, @Param("status") String status);
+    List<WalletFreeze> findByExpiresAtBeforeAndStatus(@Param("dateTime") LocalDateTime dateTime, @Param("status") FreezeStatus status);
 
     // Queries by freeze type
     List<WalletFreeze> findByFreezeTypeOrderByCreatedAtDesc(FreezeType freezeType);
 
-    List<WalletFreeze> findByFreezeTypeAndStatusOrderByCreatedAtDesc(FreezeType freezeType, String status);
+    List<WalletFreeze> findByFreezeTypeAndStatusOrderByCreatedAtDesc(FreezeType freezeType, FreezeStatus status);
 
     // Queries by creator
     List<WalletFreeze> findByCreatedByOrderByCreatedAtDesc(UUID createdBy);
@@ -55,29 +80,29 @@ public interface WalletFreezeRepository extends JpaRepository<WalletFreeze, UUID
     @Query("SELECT wf FROM WalletFreeze wf WHERE wf.createdAt BETWEEN :startDate AND :endDate ORDER BY wf.createdAt DESC")
     List<WalletFreeze> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.wallet.id = :walletId AND wf.createdAt BETWEEN :startDate AND :endDate ORDER BY wf.createdAt DESC")
+    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.createdAt BETWEEN :startDate AND :endDate ORDER BY wf.createdAt DESC")
     List<WalletFreeze> findByWalletIdAndCreatedAtBetween(@Param("walletId") UUID walletId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-    // Check if wallet has active freeze
-    @Query("SELECT CASE WHEN COUNT(wf) > 0 THEN true ELSE false END FROM WalletFreeze wf WHERE wf.wallet.id = :walletId AND wf.status = 'active' AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
+    // Check if wallet has active freeze; frozen checks and sums are answered from idx_freeze_active alone
+    @Query("SELECT CASE WHEN COUNT(wf) > 0 THEN true ELSE false END FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
     boolean hasActiveFreeze(@Param("walletId") UUID walletId);
 
-    @Query("SELECT CASE WHEN COUNT(wf) > 0 THEN true ELSE false END FROM WalletFreeze wf WHERE wf.wallet.id = :walletId AND wf.freezeType = :freezeType AND wf.status = 'active' AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
+    @Query("SELECT CASE WHEN COUNT(wf) > 0 THEN true ELSE false END FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.freezeType = :freezeType AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
     boolean hasActiveFreezeByType(@Param("walletId") UUID walletId, @Param("freezeType") FreezeType freezeType);
 
     // Calculate total frozen amount for partial freezes
-    @Query("SELECT COALESCE(SUM(wf.frozenAmount), 0) FROM WalletFreeze wf WHERE wf.wallet.id = :walletId AND wf.status = 'active' AND wf.freezeType = 'PARTIAL' AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
+    @Query("SELECT COALESCE(SUM(wf.frozenAmount), 0) FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND wf.freezeType = com.interswitch.model.enums.FreezeType.PARTIAL AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
     BigDecimal getTotalFrozenAmount(@Param("walletId") UUID walletId);
 
-    @Query("SELECT COALESCE(SUM(wf.frozenAmount), 0) FROM WalletFreeze wf WHERE wf.wallet.id = :walletId AND wf.freezeType = :freezeType AND wf.status = 'active' AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
+    @Query("SELECT COALESCE(SUM(wf.frozenAmount), 0) FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.freezeType = :freezeType AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND (wf.expiresAt IS NULL OR wf.expiresAt > CURRENT_TIMESTAMP)")
     BigDecimal getTotalFrozenAmountByType(@Param("walletId") UUID walletId, @Param("freezeType") FreezeType freezeType);
 
     // Count queries
-    @Query("SELECT COUNT(wf) FROM WalletFreeze wf WHERE wf.wallet.id = :walletId")
+    @Query("SELECT COUNT(wf) FROM WalletFreeze wf WHERE wf.walletId = :walletId")
     long countByWalletId(@Param("walletId") UUID walletId);
 
-    @Query("SELECT COUNT(wf) FROM WalletFreeze wf WHERE wf.wallet.id = :walletId AND wf.status = :status")
-    long countByWalletIdAndStatus(@Param("walletId") UUID walletId, @Param("status") String status);
+    @Query("SELECT COUNT(wf) FROM WalletFreeze wf WHERE wf.walletId = :walletId AND wf.status = :status")
+    long countByWalletIdAndStatus(@Param("walletId") UUID walletId, @Param("status") FreezeStatus status);
 
     long countByFreezeType(FreezeType freezeType);
 
@@ -85,23 +110,39 @@ public interface WalletFreezeRepository extends JpaRepository<WalletFreeze, UUID
 
     // Update operations
     @Modifying
-    @Query("UPDATE WalletFreeze wf SET wf.status = 'removed', wf.removedAt = CURRENT_TIMESTAMP, wf.removedBy = :removedBy WHERE wf.id = :freezeId")
+    @Query("UPDATE WalletFreeze wf SET wf.status = com.interswitch.model.enums.FreezeStatus.REMOVED, wf.removedAt = CURRENT_TIMESTAMP, wf.removedBy = :removedBy WHERE wf.id = :freezeId")
     int removeFreeze(@Param("freezeId") UUID freezeId, @Param("removedBy") UUID removedBy);
 
     @Modifying
-    @Query("UPDATE WalletFreeze wf SET wf.status = 'removed', wf.removedAt = CURRENT_TIMESTAMP, wf.removedBy = :removedBy WHERE wf.wallet.id = :walletId AND wf.status = 'active'")
+    @Query("UPDATE WalletFreeze wf SET wf.status = com.interswitch.model.enums.FreezeStatus.REMOVED, wf.removedAt = CURRENT_TIMESTAMP, wf.removedBy = :removedBy WHERE wf.walletId = :walletId AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE")
     int removeAllActiveFreezesForWallet(@Param("walletId") UUID walletId, @Param("removedBy") UUID removedBy);
 
+    // Bulk removal for sweeps, stamping removedAt with the caller's time so the removed rows can be read back
     @Modifying
-    @Query("UPDATE WalletFreeze wf SET wf.status = 'expired', wf.removedAt = CURRENT_TIMESTAMP WHERE wf.expiresAt < CURRENT_TIMESTAMP AND wf.status = 'active'")
+    @Query("UPDATE WalletFreeze wf SET wf.status = com.interswitch.model.enums.FreezeStatus.REMOVED, wf.removedAt = :now, wf.removedBy = :removedBy WHERE wf.walletId IN :walletIds AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE")
+    int removeActiveFreezes(@Param("walletIds") Collection<UUID> walletIds, @Param("removedBy") UUID removedBy, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE WalletFreeze wf SET wf.status = com.interswitch.model.enums.FreezeStatus.REMOVED, wf.removedAt = :now, wf.removedBy = :removedBy WHERE wf.walletId IN :walletIds AND wf.freezeType = :freezeType AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE")
+    int removeActiveFreezesByType(@Param("walletIds") Collection<UUID> walletIds, @Param("freezeType") FreezeType freezeType, @Param("removedBy") UUID removedBy, @Param("now") LocalDateTime now);
+
+    List<WalletFreeze> findByWalletIdInAndStatusAndRemovedAtAndRemovedBy(Collection<UUID> walletIds, FreezeStatus status, LocalDateTime removedAt, UUID removedBy);
+
+    @Modifying
+    @Query("UPDATE WalletFreeze wf SET wf.status = com.interswitch.model.enums.FreezeStatus.EXPIRED, wf.removedAt = CURRENT_TIMESTAMP WHERE wf.expiresAt < CURRENT_TIMESTAMP AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE")
     int markExpiredFreezesAsExpired();
 
+    // Expires the given freezes that are still active and due, stamping removedAt with the caller's time
+    @Modifying
+    @Query("UPDATE WalletFreeze wf SET wf.status = com.interswitch.model.enums.FreezeStatus.EXPIRED, wf.removedAt = :now WHERE wf.id IN :ids AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND wf.expiresAt <= :now")
+    int expireFreezes(@Param("ids") List<UUID> ids, @Param("now") LocalDateTime now);
+
     @Modifying
     @Query("UPDATE WalletFreeze wf SET wf.expiresAt = :newExpiryDate WHERE wf.id = :freezeId")
     int updateFreezeExpiry(@Param("freezeId") UUID freezeId, @Param("newExpiryDate") LocalDateTime newExpiryDate);
 
     // Statistics and reporting
-    @Query("SELECT wf.freezeType, COUNT(wf) FROM WalletFreeze wf WHERE wf.status = 'active' GROUP BY wf.freezeType")
+    @Query("SELECT wf.freezeType, COUNT(wf) FROM WalletFreeze wf WHERE wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE GROUP BY wf.freezeType")
     List<Object[]> getActiveFreezeCountByType();
 
     @Query("SELECT wf.status, COUNT(wf) FROM WalletFreeze wf GROUP BY wf.status")
@@ -111,11 +152,11 @@ public interface WalletFreezeRepository extends JpaRepository<WalletFreeze, UUID
     List<Object[]> getDailyFreezeStatistics(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
     // Find freezes expiring soon
-    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.expiresAt BETWEEN CURRENT_TIMESTAMP AND :futureDate AND wf.status = 'active' ORDER BY wf.expiresAt")
+    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.expiresAt BETWEEN CURRENT_TIMESTAMP AND :futureDate AND wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE ORDER BY wf.expiresAt")
     List<WalletFreeze> findFreezesExpiringSoon(@Param("futureDate") LocalDateTime futureDate);
 
     // Find long-running freezes
-    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.status = 'active' AND wf.createdAt < :cutoffDate ORDER BY wf.createdAt")
+    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE AND wf.createdAt < :cutoffDate ORDER BY wf.createdAt")
     List<WalletFreeze> findLongRunningFreezes(@Param("cutoffDate") LocalDateTime cutoffDate);
 
     // Find freezes by user (through wallet relationship)
@@ -123,11 +164,11 @@ public interface WalletFreezeRepository extends JpaRepository<WalletFreeze, UUID
     List<WalletFreeze> findByUserId(@Param("userId") UUID userId);
 
     @Query("SELECT wf FROM WalletFreeze wf JOIN wf.wallet w WHERE w.userId = :userId AND wf.status = :status ORDER BY wf.createdAt DESC")
-    List<WalletFreeze> findByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") String status);
+    List<WalletFreeze> findByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") FreezeStatus status);
 
     // Advanced search
     @Query("SELECT wf FROM WalletFreeze wf WHERE " +
-            "(:walletId IS NULL OR wf.wallet.id = :walletId) AND " +
+            "(:walletId IS NULL OR wf.walletId = :walletId) AND " +
             "(:freezeType IS NULL OR wf.freezeType = :freezeType) AND " +
             "(:status IS NULL OR wf.status = :status) AND " +
             "(:createdBy IS NULL OR wf.createdBy = :createdBy) AND " +
@@ -137,21 +178,21 @@ public interface WalletFreezeRepository extends JpaRepository<WalletFreeze, UUID
     List<WalletFreeze> searchFreezes(
             @Param("walletId") UUID walletId,
             @Param("freezeType") FreezeType freezeType,
-            @Param("status") String status,
+            @Param("status") FreezeStatus status,
             @Param("createdBy") UUID createdBy,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
     // Cleanup operations
     @Modifying
-    @Query("DELETE FROM WalletFreeze wf WHERE wf.status IN ('removed', 'expired') AND wf.removedAt < :cutoffDate")
+    @Query("DELETE FROM WalletFreeze wf WHERE wf.status IN (com.interswitch.model.enums.FreezeStatus.REMOVED, com.interswitch.model.enums.FreezeStatus.EXPIRED) AND wf.removedAt < :cutoffDate")
     long deleteOldFreezesAfterDate(@Param("cutoffDate") LocalDateTime cutoffDate);
 
     // Get most frozen wallets
-    @Query("SELECT wf.wallet.id, COUNT(wf) as freezeCount FROM WalletFreeze wf WHERE wf.status = 'active' GROUP BY wf.wallet.id ORDER BY freezeCount DESC")
+    @Query("SELECT wf.walletId, COUNT(wf) as freezeCount FROM WalletFreeze wf WHERE wf.status = com.interswitch.model.enums.FreezeStatus.ACTIVE GROUP BY wf.walletId ORDER BY freezeCount DESC")
     List<Object[]> getMostFrozenWallets();
 
     // Get freeze history for wallet
-    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.wallet.id = :walletId ORDER BY wf.createdAt DESC")
+    @Query("SELECT wf FROM WalletFreeze wf WHERE wf.walletId = :walletId ORDER BY wf.createdAt DESC")
     List<WalletFreeze> getFreezeHistory(@Param("walletId") UUID walletId);
 }
\ No newline at end of file
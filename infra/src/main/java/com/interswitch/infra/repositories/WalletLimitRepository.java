@@ -9,7 +9,6 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,18 +22,27 @@ public interface WalletLimitRepository extends JpaRepository<WalletLimit, UUID>
     Optional<WalletLimit> findByWalletIdAndLimitType(UUID walletId, LimitType limitType);
     Optional<WalletLimit> findByWalletIdAndLimitTypeAndIsActiveTrue(UUID walletId, LimitType limitType);
     List<WalletLimit> findByLimitType(LimitType limitType);
-    @Query("SELECT wl FROM WalletLimit wl WHERE wl.resetPeriod IS NOT NULL AND wl.lastReset < :resetTime AND wl.isActive = true")
-    List<WalletLimit> findLimitsNeedingReset(@Param("resetTime") LocalDateTime resetTime);
     @Modifying
     @Query("UPDATE WalletLimit wl SET wl.currentUsage = wl.currentUsage + :amount WHERE wl.id = :limitId")
     void updateCurrentUsage(@Param("limitId") UUID limitId, @Param("amount") BigDecimal amount);
+    // Guarded consume: adds the amount only if it stays within the limit, checked against the locked row. Usage
+    // from an earlier period epoch counts as zero and is replaced; currentUsage is assigned before usageEpoch, so
+    // it still sees the old epoch.
+    @Modifying
+    @Query("UPDATE WalletLimit wl SET wl.currentUsage = (CASE WHEN wl.usageEpoch = :epoch THEN wl.currentUsage ELSE 0 END) + :amount, wl.usageEpoch = :epoch WHERE wl.id = :limitId AND (CASE WHEN wl.usageEpoch = :epoch THEN wl.currentUsage ELSE 0 END) + :amount <= wl.limitAmount")
+    int consumeUsage(@Param("limitId") UUID limitId, @Param("amount") BigDecimal amount, @Param("epoch") long epoch);
+    // Guarded consume of every active period limit (DAILY, WEEKLY, MONTHLY) of the wallet in one statement, each
+    // against the current epoch of its period; returns how many limits had room, so fewer than the wallet's
+    // period limit count means one would be exceeded
+    @Modifying
+    @Query("UPDATE WalletLimit wl SET wl.currentUsage = (CASE WHEN wl.usageEpoch = (CASE wl.limitType WHEN com.interswitch.model.enums.LimitType.DAILY THEN :day WHEN com.interswitch.model.enums.LimitType.WEEKLY THEN :week ELSE :month END) THEN wl.currentUsage ELSE 0 END) + :amount, wl.usageEpoch = (CASE wl.limitType WHEN com.interswitch.model.enums.LimitType.DAILY THEN :day WHEN com.interswitch.model.enums.LimitType.WEEKLY THEN :week ELSE :month END) WHERE wl.walletId = :walletId AND wl.isActive = true AND wl.limitType IN (com.interswitch.model.enums.LimitType.DAILY, com.interswitch.model.enums.LimitType.WEEKLY, com.interswitch.model.enums.LimitType.MONTHLY) AND (CASE WHEN wl.usageEpoch = (CASE wl.limitType WHEN com.interswitch.model.enums.LimitType.DAILY THEN :day WHEN com.interswitch.model.enums.LimitType.WEEKLY THEN :week ELSE :month END) THEN wl.currentUsage ELSE 0 END) + :amount <= wl.limitAmount")
+    int consumeWalletUsage(@Param("walletId") UUID walletId, @Param("amount") BigDecimal amount,
+                           @Param("day") long day, @Param("week") long week, @Param("month") long month);
     @Modifying
     @Query("UPDATE WalletLimit wl SET wl.currentUsage = 0, wl.lastReset = CURRENT_TIMESTAMP WHERE wl.id = :limitId")
     void resetUsage(@Param("limitId") UUID limitId);
 //    @Query("SELECT CASE WHEN wl.currentUsage + :amount > wl.limitAmount THEN true ELSE false END FROM WalletLimit wl WHERE wl.limitAmount = :limitId")
 //    boolean isLimitExceeded(@Param("limitId") UUID limitId, @Param("amount") BigDecimal amount);
-    @Query("SELECT wl.limitAmount - wl.currentUsage FROM WalletLimit wl WHERE wl.id = :limitId")
-    BigDecimal getRemainingLimit(@Param("limitId") UUID limitId);
     @Query("SELECT wl FROM WalletLimit wl JOIN Wallet w ON wl.walletId = w.id WHERE w.userId = :userId")
     List<WalletLimit> findByUserId(@Param("userId") UUID userId);
     @Modifying
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,6 +39,12 @@ public interface WalletRepository extends JpaRepository<Wallet, UUID> {
     Page<Wallet> findByStatus(WalletStatus status, Pageable pageable);
     
     boolean existsByUserIdAndCurrency(UUID userId, String currency);
+
+    // IDs among the given ones that exist, for bulk operations
+    @Query("SELECT w.id FROM Wallet w WHERE w.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+    @Query("SELECT w.walletType FROM Wallet w WHERE w.id = :walletId")
+    Optional<WalletType> findWalletTypeById(@Param("walletId") UUID walletId);
     
     long countByUserId(UUID userId);
     
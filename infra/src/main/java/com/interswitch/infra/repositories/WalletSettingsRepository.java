@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +29,10 @@ public interface WalletSettingsRepository extends JpaRepository<WalletSettings,
     
     boolean existsByWalletIdAndSettingKey(UUID walletId, String settingKey);
     
+    // Current state of the given keys as (settingKey, id, settingValue, isEncrypted, createdAt), unmanaged
+    @Query("SELECT ws.settingKey, ws.id, ws.settingValue, ws.isEncrypted, ws.createdAt FROM WalletSettings ws WHERE ws.walletId = :walletId AND ws.settingKey IN :keys")
+    List<Object[]> findSettingStates(@Param("walletId") UUID walletId, @Param("keys") Collection<String> settingKeys);
+    
     @Modifying
     @Query("UPDATE WalletSettings ws SET ws.settingValue = :value, ws.updatedAt = CURRENT_TIMESTAMP WHERE ws.wallet.id = :walletId AND ws.settingKey = :key")
     int updateSettingValue(@Param("walletId") UUID walletId, @Param("key") String settingKey, @Param("value") String settingValue);
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -176,6 +177,24 @@ public interface WalletTransactionRepository extends JpaRepository<WalletTransac
     @Query("DELETE FROM WalletTransaction wt WHERE wt.status = 'FAILED' AND wt.createdAt < :cutoffDate")
     long deleteOldFailedTransactions(@Param("cutoffDate") LocalDateTime cutoffDate);
 
+    // Statement verification
+    @Query("SELECT wt FROM WalletTransaction wt WHERE wt.walletId = :walletId AND wt.postingSequence >= :fromSequence AND wt.postingSequence < :toSequence ORDER BY wt.postingSequence")
+    List<WalletTransaction> findPostingsInRange(@Param("walletId") UUID walletId, @Param("fromSequence") Long fromSequence, @Param("toSequence") Long toSequence);
+
+    // Archive support
+    @Query("SELECT MIN(wt.createdAt) FROM WalletTransaction wt")
+    Optional<LocalDateTime> findOldestCreatedAt();
+
+    @Query("SELECT DISTINCT wt.walletId FROM WalletTransaction wt WHERE wt.createdAt >= :startDate AND wt.createdAt < :endDate AND wt.status IN :statuses")
+    List<UUID> findArchivableWalletIds(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, @Param("statuses") Collection<TransactionStatus> statuses);
+
+    @Query("SELECT DISTINCT wt FROM WalletTransaction wt LEFT JOIN FETCH wt.metadata WHERE wt.walletId = :walletId AND wt.createdAt >= :startDate AND wt.createdAt < :endDate AND wt.status IN :statuses ORDER BY wt.createdAt, wt.id")
+    List<WalletTransaction> findArchivableTransactions(@Param("walletId") UUID walletId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, @Param("statuses") Collection<TransactionStatus> statuses);
+
+    @Modifying
+    @Query("DELETE FROM WalletTransaction wt WHERE wt.id IN :ids")
+    int deleteArchivedByIds(@Param("ids") Collection<UUID> ids);
+
     // Duplicate detection
     @Query("SELECT wt FROM WalletTransaction wt WHERE wt.walletId = :walletId AND wt.amount = :amount AND wt.transactionType = :type AND wt.createdAt BETWEEN :startTime AND :endTime")
     List<WalletTransaction> findPotentialDuplicates(@Param("walletId") UUID walletId, @Param("amount") BigDecimal amount, @Param("type") TransactionType type, @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
@@ -0,0 +1,57 @@
+package com.interswitch.infra.settings;
+
+import com.interswitch.model.entities.WalletSettings;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+// Multi-row upserts of wallet settings on idx_settings_wallet_key (wallet_id, setting_key). The caller assigns
+// IDs and timestamps; for keys that already exist only the value, encryption flag and updated_at change.
+@Repository
+@RequiredArgsConstructor
+public class BulkSettingsRepository {
+
+    private static final String INSERT = "INSERT INTO wallet_settings (id, created_at, updated_at, wallet_id, "
+            + "setting_key, setting_value, is_encrypted) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    // Row alias instead of VALUES(col), which is deprecated since MySQL 8.0.20
+    private static final String ON_DUPLICATE = " AS incoming ON DUPLICATE KEY UPDATE "
+            + "setting_value = incoming.setting_value, is_encrypted = incoming.is_encrypted, "
+            + "updated_at = incoming.updated_at";
+    // Keeps each statement well under the 65,535 placeholder limit of a prepared statement
+    private static final int CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsert(List<WalletSettings> settings) {
+        for (int from = 0; from < settings.size(); from += CHUNK_SIZE) {
+            List<WalletSettings> chunk = settings.subList(from, Math.min(from + CHUNK_SIZE, settings.size()));
+            List<Object> args = new ArrayList<>(chunk.size() * 7);
+            for (WalletSettings setting : chunk) {
+                args.add(bytes(setting.getId()));
+                args.add(Timestamp.valueOf(setting.getCreatedAt()));
+                args.add(Timestamp.valueOf(setting.getUpdatedAt()));
+                args.add(bytes(setting.getWalletId()));
+                args.add(setting.getSettingKey());
+                args.add(setting.getSettingValue());
+                args.add(setting.getIsEncrypted());
+            }
+            jdbcTemplate.update(INSERT + String.join(", ", Collections.nCopies(chunk.size(), ROW)) + ON_DUPLICATE,
+                    args.toArray());
+        }
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,14 @@
+-- DAILY, WEEKLY and MONTHLY limit usage was zeroed by a sweep over every limit row at each period boundary.
+-- Store the period epoch the usage was counted in instead (see LimitPeriods): usage from an older epoch reads
+-- as zero and is overwritten by the next guarded consume. Existing usage is assigned to the period of its last
+-- reset (or of the limit's creation), so usage that missed a reset is already stale.
+ALTER TABLE wallet_limits ADD COLUMN usage_epoch BIGINT NOT NULL DEFAULT 0 AFTER current_usage;
+
+UPDATE wallet_limits
+SET usage_epoch = CASE limit_type
+    WHEN 'DAILY' THEN DATEDIFF(DATE(COALESCE(last_reset, created_at)), '1970-01-01')
+    WHEN 'WEEKLY' THEN DATEDIFF(DATE(COALESCE(last_reset, created_at))
+        - INTERVAL WEEKDAY(COALESCE(last_reset, created_at)) DAY, '1970-01-01')
+    WHEN 'MONTHLY' THEN YEAR(COALESCE(last_reset, created_at)) * 12 + MONTH(COALESCE(last_reset, created_at)) - 1
+    ELSE 0 END
+WHERE limit_type IN ('DAILY', 'WEEKLY', 'MONTHLY');
@@ -0,0 +1,7 @@
+-- Events that keep failing are parked with failed_at set once they reach wallet.outbox.max-attempts, so one
+-- undeliverable event no longer blocks its wallet forever. Pending rows are those with neither timestamp set.
+ALTER TABLE outbox_events ADD COLUMN failed_at DATETIME(6) AFTER published_at;
+
+ALTER TABLE outbox_events
+    DROP INDEX idx_outbox_pending,
+    ADD INDEX idx_outbox_pending (published_at, failed_at, event_seq);
@@ -0,0 +1,33 @@
+-- Balance changes that are not transactions (manual adjustments, reservations, releases) moved the available
+-- balance without a posting, so statement verification broke at the next transaction. They now take a posting
+-- sequence and are recorded here.
+CREATE TABLE wallet_balance_adjustments (
+    id               BINARY(16)     NOT NULL,
+    created_at       DATETIME(6)    NOT NULL,
+    updated_at       DATETIME(6)    NOT NULL,
+    wallet_id        BINARY(16)     NOT NULL,
+    posting_sequence BIGINT         NOT NULL,
+    adjustment_type  VARCHAR(20)    NOT NULL,
+    amount           DECIMAL(20, 8) NOT NULL,
+    balance_before   DECIMAL(20, 8) NOT NULL,
+    balance_after    DECIMAL(20, 8) NOT NULL,
+    performed_by     BINARY(16),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_balance_adjustment_wallet_posting UNIQUE (wallet_id, posting_sequence),
+    CONSTRAINT fk_balance_adjustment_wallet FOREIGN KEY (wallet_id) REFERENCES wallets (id)
+) ENGINE = InnoDB;
+
+-- Opening entry for every existing wallet: it continues from the balance after the last posting (zero for a
+-- wallet without postings) to the current available balance, which covers the untracked changes since then.
+-- Wallets whose last posting is already archived are left out; their chain cannot be continued from here.
+INSERT INTO wallet_balance_adjustments (id, created_at, updated_at, wallet_id, posting_sequence, adjustment_type,
+                                        amount, balance_before, balance_after)
+SELECT UUID_TO_BIN(UUID()), NOW(6), NOW(6), b.wallet_id, b.last_posting_sequence + 1, 'OPENING',
+       b.available_balance - COALESCE(t.balance_after, 0), COALESCE(t.balance_after, 0), b.available_balance
+FROM wallet_balances b
+    LEFT JOIN wallet_transactions t ON t.wallet_id = b.wallet_id AND t.posting_sequence = b.last_posting_sequence
+WHERE b.last_posting_sequence = 0 OR t.id IS NOT NULL;
+
+UPDATE wallet_balances b
+    JOIN wallet_balance_adjustments a ON a.wallet_id = b.wallet_id AND a.adjustment_type = 'OPENING'
+SET b.last_posting_sequence = a.posting_sequence;
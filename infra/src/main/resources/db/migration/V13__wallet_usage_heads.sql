@@ -0,0 +1,8 @@
+-- One row per wallet with rolling-limit usage. Every rolling consume increments sequence in the debit transaction,
+-- which locks the row until commit: consumes of one wallet are serialized across nodes, and a node can tell from
+-- the sequence whether its in-memory usage has seen every consume before this one.
+CREATE TABLE wallet_usage_heads (
+    wallet_id BINARY(16) NOT NULL,
+    sequence  BIGINT     NOT NULL,
+    PRIMARY KEY (wallet_id)
+) ENGINE = InnoDB;
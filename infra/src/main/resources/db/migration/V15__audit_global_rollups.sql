@@ -0,0 +1,26 @@
+-- Hourly audit counts across all wallets, for unfiltered statistics. audit_hourly_rollups keeps one row per
+-- wallet and performer, so summing it for an unfiltered period reads nearly as many rows as the raw log.
+CREATE TABLE audit_hourly_global_rollups (
+    bucket_start     DATETIME    NOT NULL,
+    action_code      SMALLINT    NOT NULL,
+    entity_type_code SMALLINT    NOT NULL,
+    event_count      BIGINT      NOT NULL,
+    PRIMARY KEY (bucket_start, action_code, entity_type_code)
+) ENGINE = InnoDB;
+
+CREATE TABLE audit_hourly_performer_rollups (
+    bucket_start     DATETIME    NOT NULL,
+    performed_by     BINARY(16)  NOT NULL,
+    event_count      BIGINT      NOT NULL,
+    PRIMARY KEY (bucket_start, performed_by)
+) ENGINE = InnoDB;
+
+INSERT INTO audit_hourly_global_rollups (bucket_start, action_code, entity_type_code, event_count)
+SELECT bucket_start, action_code, entity_type_code, SUM(event_count)
+FROM audit_hourly_rollups
+GROUP BY bucket_start, action_code, entity_type_code;
+
+INSERT INTO audit_hourly_performer_rollups (bucket_start, performed_by, event_count)
+SELECT bucket_start, performed_by, SUM(event_count)
+FROM audit_hourly_rollups
+GROUP BY bucket_start, performed_by;
@@ -0,0 +1,15 @@
+-- Reconciliation runs are claimed with a lease, as audit retention runs are (V14): the owning node stamps
+-- owner_node and renews heartbeat_at with every checkpoint, and another node may only take the run over once
+-- the heartbeat has expired. running_slot is 1 for a RUNNING run and NULL otherwise, so its unique index
+-- allows one RUNNING run across all nodes.
+UPDATE reconciliation_runs r
+JOIN (SELECT MAX(started_at) AS started_at FROM reconciliation_runs WHERE status = 'RUNNING') latest
+    ON r.started_at < latest.started_at
+SET r.status = 'FAILED', r.failure_reason = 'Superseded by a newer running run', r.completed_at = NOW(6)
+WHERE r.status = 'RUNNING';
+
+ALTER TABLE reconciliation_runs
+    ADD COLUMN owner_node   VARCHAR(36),
+    ADD COLUMN heartbeat_at DATETIME(6),
+    ADD COLUMN running_slot TINYINT AS (CASE WHEN status = 'RUNNING' THEN 1 END) STORED,
+    ADD UNIQUE INDEX uk_reconciliation_running_slot (running_slot);
@@ -0,0 +1,6 @@
+-- Freeze sweeps are claimed with a lease: the owning node stamps owner_node and renews heartbeat_at with every
+-- chunk checkpoint, and another node may only resume the sweep once the heartbeat has expired. Several sweeps
+-- may run at once, each on one node.
+ALTER TABLE freeze_sweeps
+    ADD COLUMN owner_node   VARCHAR(36),
+    ADD COLUMN heartbeat_at DATETIME(6);
@@ -0,0 +1,10 @@
+-- Every node runs the outbox relay, but only the holder of this lease relays: it stamps owner_node and renews
+-- heartbeat_at before every batch, and another node may only take over once the heartbeat has expired.
+CREATE TABLE outbox_relay_lease (
+    id           TINYINT      NOT NULL,
+    owner_node   VARCHAR(36),
+    heartbeat_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO outbox_relay_lease (id) VALUES (1);
@@ -0,0 +1,10 @@
+-- Every node runs the archive cron, but only the holder of this lease writes segments to the shared archive
+-- directory: it renews heartbeat_at before every segment and in the transaction that purges the segment's rows.
+CREATE TABLE transaction_archive_lease (
+    id           TINYINT      NOT NULL,
+    owner_node   VARCHAR(36),
+    heartbeat_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO transaction_archive_lease (id) VALUES (1);
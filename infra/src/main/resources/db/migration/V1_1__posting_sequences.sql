@@ -0,0 +1,8 @@
+-- Every balance change takes the wallet's next posting sequence under the balance lock and stamps it on the
+-- transaction, so a wallet's postings form a gap-free chain of balance_before/balance_after.
+ALTER TABLE wallet_balances
+    ADD COLUMN last_posting_sequence BIGINT NOT NULL DEFAULT 0 AFTER currency;
+
+ALTER TABLE wallet_transactions
+    ADD COLUMN posting_sequence BIGINT AFTER processed_at,
+    ADD CONSTRAINT uk_transaction_wallet_posting UNIQUE (wallet_id, posting_sequence);
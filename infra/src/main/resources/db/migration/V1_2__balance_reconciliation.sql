@@ -0,0 +1,38 @@
+-- Reconciliation verifies each wallet's postings incrementally from verified_sequence/verified_balance and
+-- records runs and mismatches so an interrupted run can resume after its last wallet.
+ALTER TABLE wallet_balances
+    ADD COLUMN verified_sequence BIGINT         NOT NULL DEFAULT 0 AFTER last_posting_sequence,
+    ADD COLUMN verified_balance  DECIMAL(20, 8) NOT NULL DEFAULT 0 AFTER verified_sequence;
+
+CREATE TABLE reconciliation_runs (
+    id              BINARY(16)   NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    full_run        BIT          NOT NULL,
+    last_wallet_id  BINARY(16),
+    wallets_checked BIGINT       NOT NULL,
+    mismatch_count  BIGINT       NOT NULL,
+    started_at      DATETIME(6)  NOT NULL,
+    completed_at    DATETIME(6),
+    failure_reason  TEXT,
+    PRIMARY KEY (id),
+    INDEX idx_reconciliation_run_status (status)
+) ENGINE = InnoDB;
+
+CREATE TABLE reconciliation_mismatches (
+    id                    BINARY(16)     NOT NULL,
+    created_at            DATETIME(6)    NOT NULL,
+    updated_at            DATETIME(6)    NOT NULL,
+    run_id                BINARY(16)     NOT NULL,
+    wallet_id             BINARY(16)     NOT NULL,
+    book_balance          DECIMAL(20, 8),
+    ledger_balance        DECIMAL(20, 8),
+    difference            DECIMAL(20, 8),
+    verified_sequence     BIGINT,
+    last_posting_sequence BIGINT,
+    reason                TEXT,
+    PRIMARY KEY (id),
+    INDEX idx_mismatch_run (run_id),
+    INDEX idx_mismatch_wallet (wallet_id)
+) ENGINE = InnoDB;
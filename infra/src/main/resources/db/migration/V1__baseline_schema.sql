@@ -0,0 +1,142 @@
+-- Baseline schema, matching the JPA mappings of the released databases Flyway takes over from ddl-auto=update.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script, so
+-- anything added since that release goes in a later migration (V1_1 onwards), never here.
+
+CREATE TABLE wallets (
+    id              BINARY(16)   NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    user_id         BINARY(16)   NOT NULL,
+    account_id      BINARY(16),
+    wallet_type     VARCHAR(20)  NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    currency        VARCHAR(3)   NOT NULL,
+    wallet_name     VARCHAR(100),
+    description     TEXT,
+    is_default      BIT,
+    PRIMARY KEY (id),
+    INDEX idx_wallet_user_currency (user_id, currency),
+    INDEX idx_wallet_status (status)
+) ENGINE = InnoDB;
+
+CREATE TABLE wallet_metadata (
+    wallet_id       BINARY(16)   NOT NULL,
+    metadata_key    VARCHAR(255) NOT NULL,
+    metadata_value  VARCHAR(255),
+    PRIMARY KEY (wallet_id, metadata_key),
+    CONSTRAINT fk_wallet_metadata_wallet FOREIGN KEY (wallet_id) REFERENCES wallets (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE wallet_balances (
+    id                      BINARY(16)     NOT NULL,
+    created_at              DATETIME(6)    NOT NULL,
+    updated_at              DATETIME(6)    NOT NULL,
+    wallet_id               BINARY(16)     NOT NULL,
+    available_balance       DECIMAL(20, 8) NOT NULL,
+    pending_balance         DECIMAL(20, 8) NOT NULL,
+    reserved_balance        DECIMAL(20, 8) NOT NULL,
+    currency                VARCHAR(3)     NOT NULL,
+    version                 INT            NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_balance_wallet UNIQUE (wallet_id),
+    INDEX idx_balance_wallet (wallet_id),
+    CONSTRAINT fk_balance_wallet FOREIGN KEY (wallet_id) REFERENCES wallets (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE wallet_transactions (
+    id                      BINARY(16)     NOT NULL,
+    created_at              DATETIME(6)    NOT NULL,
+    updated_at              DATETIME(6)    NOT NULL,
+    wallet_id               BINARY(16)     NOT NULL,
+    external_transaction_id BINARY(16),
+    transaction_type        VARCHAR(10)    NOT NULL,
+    amount                  DECIMAL(20, 8) NOT NULL,
+    currency                VARCHAR(3)     NOT NULL,
+    reference_id            VARCHAR(100),
+    description             TEXT,
+    status                  VARCHAR(20)    NOT NULL,
+    balance_before          DECIMAL(20, 8),
+    balance_after           DECIMAL(20, 8),
+    processed_at            DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_transaction_wallet_created (wallet_id, created_at),
+    INDEX idx_transaction_status (status),
+    INDEX idx_transaction_reference (reference_id),
+    CONSTRAINT fk_transaction_wallet FOREIGN KEY (wallet_id) REFERENCES wallets (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE wallet_transaction_metadata (
+    transaction_id  BINARY(16)   NOT NULL,
+    metadata_key    VARCHAR(255) NOT NULL,
+    metadata_value  VARCHAR(255),
+    PRIMARY KEY (transaction_id, metadata_key),
+    CONSTRAINT fk_transaction_metadata_transaction FOREIGN KEY (transaction_id) REFERENCES wallet_transactions (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE wallet_audit_logs (
+    id              BINARY(16)   NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    wallet_id       BINARY(16)   NOT NULL,
+    action          VARCHAR(50)  NOT NULL,
+    entity_type     VARCHAR(50)  NOT NULL,
+    entity_id       BINARY(16),
+    old_values      TEXT,
+    new_values      TEXT,
+    performed_by    BINARY(16)   NOT NULL,
+    ip_address      VARCHAR(45),
+    user_agent      TEXT,
+    PRIMARY KEY (id),
+    INDEX idx_audit_wallet_timestamp (wallet_id, created_at),
+    INDEX idx_audit_action (action),
+    INDEX idx_audit_performed_by (performed_by)
+) ENGINE = InnoDB;
+
+CREATE TABLE wallet_freezes (
+    id              BINARY(16)     NOT NULL,
+    created_at      DATETIME(6)    NOT NULL,
+    updated_at      DATETIME(6)    NOT NULL,
+    wallet_id       BINARY(16),
+    freeze_type     VARCHAR(10)    NOT NULL,
+    frozen_amount   DECIMAL(20, 8),
+    reason          TEXT           NOT NULL,
+    created_by      BINARY(16)     NOT NULL,
+    status          VARCHAR(20)    NOT NULL,
+    expires_at      DATETIME(6),
+    removed_at      DATETIME(6),
+    removed_by      BINARY(16),
+    PRIMARY KEY (id),
+    INDEX idx_freeze_wallet_status (wallet_id, status),
+    INDEX idx_freeze_expires (expires_at),
+    CONSTRAINT fk_freeze_wallet FOREIGN KEY (wallet_id) REFERENCES wallets (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE wallet_limits (
+    id              BINARY(16)     NOT NULL,
+    created_at      DATETIME(6)    NOT NULL,
+    updated_at      DATETIME(6)    NOT NULL,
+    wallet_id       BINARY(16)     NOT NULL,
+    limit_type      VARCHAR(20)    NOT NULL,
+    limit_amount    DECIMAL(20, 8) NOT NULL,
+    current_usage   DECIMAL(20, 8) NOT NULL,
+    reset_period    VARCHAR(20),
+    last_reset      DATETIME(6),
+    is_active       BIT,
+    PRIMARY KEY (id),
+    INDEX idx_limit_wallet_type (wallet_id, limit_type),
+    INDEX idx_limit_active (is_active),
+    CONSTRAINT fk_limit_wallet FOREIGN KEY (wallet_id) REFERENCES wallets (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE wallet_settings (
+    id              BINARY(16)   NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    wallet_id       BINARY(16),
+    setting_key     VARCHAR(100) NOT NULL,
+    setting_value   TEXT,
+    is_encrypted    BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT idx_settings_wallet_key UNIQUE (wallet_id, setting_key),
+    CONSTRAINT fk_settings_wallet FOREIGN KEY (wallet_id) REFERENCES wallets (id)
+) ENGINE = InnoDB;
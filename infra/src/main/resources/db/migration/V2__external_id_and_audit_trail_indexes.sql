@@ -0,0 +1,6 @@
+-- Partner status callbacks look transactions up by external ID; one external ID maps to one transaction.
+-- Fails on databases that already hold duplicate external IDs; those rows must be resolved first.
+CREATE UNIQUE INDEX uk_transaction_external_id ON wallet_transactions (external_transaction_id);
+
+-- Entity audit trails filter on entity_id and entity_type and read newest first.
+CREATE INDEX idx_audit_entity_trail ON wallet_audit_logs (entity_id, entity_type, created_at);
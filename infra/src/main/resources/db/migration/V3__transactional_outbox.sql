@@ -0,0 +1,19 @@
+-- Wallet events are written here in the same transaction as the change they describe and relayed to Kafka.
+-- event_seq gives the relay a total insert order; pending rows are read through idx_outbox_pending.
+CREATE TABLE outbox_events (
+    id             BINARY(16)   NOT NULL,
+    created_at     DATETIME(6)  NOT NULL,
+    updated_at     DATETIME(6)  NOT NULL,
+    event_seq      BIGINT       NOT NULL AUTO_INCREMENT,
+    wallet_id      BINARY(16)   NOT NULL,
+    aggregate_type VARCHAR(20)  NOT NULL,
+    aggregate_id   BINARY(16),
+    event_type     VARCHAR(50)  NOT NULL,
+    payload        TEXT         NOT NULL,
+    published_at   DATETIME(6),
+    attempts       INT          NOT NULL,
+    last_error     VARCHAR(500),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_outbox_event_seq (event_seq),
+    INDEX idx_outbox_pending (published_at, event_seq)
+) ENGINE = InnoDB;
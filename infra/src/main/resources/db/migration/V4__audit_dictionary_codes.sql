@@ -0,0 +1,31 @@
+-- Audit actions and entity types are a few dozen distinct strings repeated on every row; store them as
+-- SMALLINT codes into a shared dictionary instead.
+CREATE TABLE audit_dictionary (
+    code  SMALLINT    NOT NULL AUTO_INCREMENT,
+    kind  VARCHAR(20) NOT NULL,
+    value VARCHAR(50) NOT NULL,
+    PRIMARY KEY (code),
+    UNIQUE KEY uk_audit_dictionary_value (kind, value)
+) ENGINE = InnoDB;
+
+INSERT INTO audit_dictionary (kind, value) SELECT DISTINCT 'action', action FROM wallet_audit_logs;
+INSERT INTO audit_dictionary (kind, value) SELECT DISTINCT 'entity_type', entity_type FROM wallet_audit_logs;
+
+ALTER TABLE wallet_audit_logs
+    ADD COLUMN action_code      SMALLINT NOT NULL DEFAULT 0 AFTER wallet_id,
+    ADD COLUMN entity_type_code SMALLINT NOT NULL DEFAULT 0 AFTER action_code;
+
+UPDATE wallet_audit_logs l
+    JOIN audit_dictionary a ON a.kind = 'action' AND a.value = l.action
+    JOIN audit_dictionary e ON e.kind = 'entity_type' AND e.value = l.entity_type
+SET l.action_code = a.code, l.entity_type_code = e.code;
+
+ALTER TABLE wallet_audit_logs
+    DROP INDEX idx_audit_action,
+    DROP INDEX idx_audit_entity_trail,
+    DROP COLUMN action,
+    DROP COLUMN entity_type,
+    ALTER COLUMN action_code DROP DEFAULT,
+    ALTER COLUMN entity_type_code DROP DEFAULT,
+    ADD INDEX idx_audit_action (action_code),
+    ADD INDEX idx_audit_entity_trail (entity_id, entity_type_code, created_at);
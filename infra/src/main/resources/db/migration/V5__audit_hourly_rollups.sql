@@ -0,0 +1,20 @@
+-- Hourly audit counts per wallet, action, entity type and performer, maintained by the audit writer.
+-- Statistics read closed hours from here and only scan wallet_audit_logs for the current partial hour.
+CREATE TABLE audit_hourly_rollups (
+    bucket_start     DATETIME    NOT NULL,
+    wallet_id        BINARY(16)  NOT NULL,
+    action_code      SMALLINT    NOT NULL,
+    entity_type_code SMALLINT    NOT NULL,
+    performed_by     BINARY(16)  NOT NULL,
+    event_count      BIGINT      NOT NULL,
+    PRIMARY KEY (bucket_start, wallet_id, action_code, entity_type_code, performed_by),
+    INDEX idx_audit_rollup_wallet (wallet_id, bucket_start)
+) ENGINE = InnoDB;
+
+INSERT INTO audit_hourly_rollups (bucket_start, wallet_id, action_code, entity_type_code, performed_by, event_count)
+SELECT DATE_FORMAT(created_at, '%Y-%m-%d %H:00:00'), wallet_id, action_code, entity_type_code, performed_by, COUNT(*)
+FROM wallet_audit_logs
+GROUP BY DATE_FORMAT(created_at, '%Y-%m-%d %H:00:00'), wallet_id, action_code, entity_type_code, performed_by;
+
+-- Partial-hour statistics scans and retention walk wallet_audit_logs by creation time
+CREATE INDEX idx_audit_created_at ON wallet_audit_logs (created_at);
@@ -0,0 +1,20 @@
+-- Progress of chunked audit retention runs. The keyset checkpoint and the committed archive length are
+-- updated in the same transaction as each purge batch, so an interrupted run resumes without gaps or duplicates.
+CREATE TABLE audit_retention_runs (
+    id              BINARY(16)   NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    cutoff          DATETIME(6)  NOT NULL,
+    last_created_at DATETIME(6),
+    last_audit_id   BINARY(16),
+    rows_purged     BIGINT       NOT NULL,
+    batches         BIGINT       NOT NULL,
+    archive_file    VARCHAR(255),
+    archive_bytes   BIGINT       NOT NULL,
+    started_at      DATETIME(6)  NOT NULL,
+    completed_at    DATETIME(6),
+    failure_reason  TEXT,
+    PRIMARY KEY (id),
+    INDEX idx_audit_retention_run_status (status)
+) ENGINE = InnoDB;
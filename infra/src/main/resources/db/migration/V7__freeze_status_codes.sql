@@ -0,0 +1,16 @@
+-- Freeze status was a VARCHAR(20) compared as a string in every active-freeze lookup. Store it as a TINYINT
+-- FreezeStatus ordinal (0 = ACTIVE, 1 = REMOVED, 2 = EXPIRED) and replace idx_freeze_wallet_status with an
+-- index that covers the frozen checks and the frozen amount sum, including the expiry filter.
+ALTER TABLE wallet_freezes ADD COLUMN status_code TINYINT NOT NULL DEFAULT 0 AFTER status;
+
+UPDATE wallet_freezes
+SET status_code = CASE status WHEN 'removed' THEN 1 WHEN 'expired' THEN 2 ELSE 0 END;
+
+-- The foreign key on wallet_id needs an index at all times, so add the new one before dropping the old
+CREATE INDEX idx_freeze_active ON wallet_freezes (wallet_id, status_code, expires_at, freeze_type, frozen_amount);
+
+ALTER TABLE wallet_freezes
+    DROP INDEX idx_freeze_wallet_status,
+    DROP COLUMN status,
+    ALTER COLUMN status_code DROP DEFAULT,
+    RENAME COLUMN status_code TO status;
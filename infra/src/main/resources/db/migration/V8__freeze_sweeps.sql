@@ -0,0 +1,33 @@
+-- Bulk freeze and unfreeze sweeps. The requested wallet IDs are staged in freeze_sweep_items, whose primary key
+-- de-duplicates them, and processed in wallet_id keyset chunks; each chunk records its outcomes and advances the
+-- sweep's checkpoint in the same transaction as the freezes it applies, so an interrupted sweep resumes cleanly.
+CREATE TABLE freeze_sweeps (
+    id                BINARY(16)     NOT NULL,
+    created_at        DATETIME(6)    NOT NULL,
+    updated_at        DATETIME(6)    NOT NULL,
+    operation         VARCHAR(10)    NOT NULL,
+    status            VARCHAR(20)    NOT NULL,
+    freeze_type       VARCHAR(10),
+    frozen_amount     DECIMAL(20, 8),
+    reason            TEXT,
+    expires_at        DATETIME(6),
+    performed_by      BINARY(16)     NOT NULL,
+    wallets_requested BIGINT         NOT NULL,
+    wallets_applied   BIGINT         NOT NULL,
+    wallets_skipped   BIGINT         NOT NULL,
+    wallets_not_found BIGINT         NOT NULL,
+    last_wallet_id    BINARY(16),
+    started_at        DATETIME(6)    NOT NULL,
+    completed_at      DATETIME(6),
+    failure_reason    TEXT,
+    PRIMARY KEY (id),
+    INDEX idx_freeze_sweep_status (status)
+) ENGINE = InnoDB;
+
+CREATE TABLE freeze_sweep_items (
+    sweep_id  BINARY(16)  NOT NULL,
+    wallet_id BINARY(16)  NOT NULL,
+    outcome   VARCHAR(10),
+    PRIMARY KEY (sweep_id, wallet_id),
+    CONSTRAINT fk_freeze_sweep_item_sweep FOREIGN KEY (sweep_id) REFERENCES freeze_sweeps (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
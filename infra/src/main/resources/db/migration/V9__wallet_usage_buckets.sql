@@ -0,0 +1,11 @@
+-- Debit totals per wallet and time bucket behind the rolling-window limits (ROLLING_24H, ROLLING_30D). Each
+-- rolling limit type has its own bucket width; bucket_epoch is the bucket start in epoch millis divided by that
+-- width and amount_minor is in minor units. Buckets older than their window are purged periodically.
+CREATE TABLE wallet_usage_buckets (
+    wallet_id    BINARY(16)  NOT NULL,
+    limit_type   VARCHAR(20) NOT NULL,
+    bucket_epoch BIGINT      NOT NULL,
+    amount_minor BIGINT      NOT NULL,
+    PRIMARY KEY (wallet_id, limit_type, bucket_epoch),
+    INDEX idx_usage_bucket_epoch (limit_type, bucket_epoch)
+) ENGINE = InnoDB;
@@ -0,0 +1,25 @@
+package com.interswitch.model.converters;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Instantiated through Spring's bean container, which supplies the dictionary
+@Converter
+public class AuditActionConverter implements AttributeConverter<String, Short> {
+
+    private final AuditDictionary dictionary;
+
+    public AuditActionConverter(AuditDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String action) {
+        return action != null ? dictionary.encode(AuditDictionary.ACTION, action) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short code) {
+        return code != null ? dictionary.decode(code) : null;
+    }
+}
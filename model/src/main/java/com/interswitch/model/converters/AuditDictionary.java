@@ -0,0 +1,19 @@
+package com.interswitch.model.converters;
+
+// Maps low-cardinality audit strings (actions, entity types) to small integer codes stored in their place
+public interface AuditDictionary {
+
+    String ACTION = "action";
+    String ENTITY_TYPE = "entity_type";
+
+    // Never assigned to a value, so a query parameter encoded as UNKNOWN matches no row
+    short UNKNOWN = -1;
+
+    // Lookup only, for query parameters: returns the value's code, or UNKNOWN if it was never registered
+    short encode(String kind, String value);
+
+    // Write paths only: returns the code for the value, registering it on first use
+    short register(String kind, String value);
+
+    String decode(short code);
+}
@@ -0,0 +1,25 @@
+package com.interswitch.model.converters;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Instantiated through Spring's bean container, which supplies the dictionary
+@Converter
+public class AuditEntityTypeConverter implements AttributeConverter<String, Short> {
+
+    private final AuditDictionary dictionary;
+
+    public AuditEntityTypeConverter(AuditDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String entityType) {
+        return entityType != null ? dictionary.encode(AuditDictionary.ENTITY_TYPE, entityType) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short code) {
+        return code != null ? dictionary.decode(code) : null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.interswitch.model.converters;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Compresses large audit payloads into a marked, Base64-encoded deflate stream. Values below the threshold,
+// values that do not shrink and values written before compression existed are stored and read as-is.
+public final class AuditValueCodec {
+
+    public static final int COMPRESS_THRESHOLD = 1024;
+
+    private static final String MARKER = "~z:";
+
+    private AuditValueCodec() {
+    }
+
+    public static String encode(String value) {
+        if (value == null || value.length() < COMPRESS_THRESHOLD) {
+            return value;
+        }
+        byte[] raw = value.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            String encoded = MARKER + Base64.getEncoder().encodeToString(out.toByteArray());
+            return encoded.length() < value.length() ? encoded : value;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decode(String value) {
+        if (value == null || !value.startsWith(MARKER)) {
+            return value;
+        }
+        byte[] compressed = Base64.getDecoder().decode(value.substring(MARKER.length()));
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] chunk = new byte[4096];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(chunk);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed audit value");
+                }
+                out.write(chunk, 0, read);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed audit value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.interswitch.model.converters;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String value) {
+        return AuditValueCodec.encode(value);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String value) {
+        return AuditValueCodec.decode(value);
+    }
+}
@@ -0,0 +1,28 @@
+package com.interswitch.model.dtos.event;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+// Envelope published to the wallet events topic. eventId is stable across redeliveries, so consumers
+// can drop the duplicates that at-least-once relaying may produce.
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class WalletEvent {
+
+    UUID eventId;
+    String eventType;
+    UUID walletId;
+    String aggregateType;
+    UUID aggregateId;
+    LocalDateTime occurredAt;
+    Map<String, Object> data;
+}
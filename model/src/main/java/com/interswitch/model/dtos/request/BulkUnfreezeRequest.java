@@ -0,0 +1,26 @@
+package com.interswitch.model.dtos.request;
+
+import com.interswitch.model.enums.FreezeType;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUnfreezeRequest {
+
+    @NotEmpty(message = "Wallet IDs are required")
+    private List<UUID> walletIds;
+
+    // Lifts only freezes of this type; every active freeze when omitted
+    private FreezeType freezeType;
+
+    @NotNull(message = "Performed by is required")
+    private UUID performedBy;
+}
@@ -0,0 +1,20 @@
+package com.interswitch.model.dtos.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ActivityCountResponse {
+
+    String key;
+    // Occurrences that are certain; equal to the exact figure when counted exactly
+    long count;
+    // The most occurrences there may have been; equal to count when counted exactly
+    long upperBound;
+}
@@ -0,0 +1,32 @@
+package com.interswitch.model.dtos.response;
+
+import com.interswitch.model.enums.DebitDeclineReason;
+import com.interswitch.model.enums.LimitType;
+import com.interswitch.model.enums.WalletStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DebitEligibilityResponse {
+
+    UUID walletId;
+    BigDecimal amount;
+    boolean eligible;
+    List<DebitDeclineReason> reasons;
+    List<LimitType> checkedLimits;
+    List<LimitType> exceededLimits;
+    WalletStatus walletStatus;
+    BigDecimal availableBalance;
+    BigDecimal frozenAmount;
+    BigDecimal effectiveAvailableBalance;
+}
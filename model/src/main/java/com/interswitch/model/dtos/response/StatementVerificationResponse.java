@@ -0,0 +1,29 @@
+package com.interswitch.model.dtos.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StatementVerificationResponse {
+
+    UUID walletId;
+    long fromSequence;
+    long verifiedSequence;
+    long lastPostingSequence;
+    long postingsChecked;
+    BigDecimal verifiedBalance;
+    BigDecimal availableBalance;
+    BigDecimal bookBalance;
+    boolean consistent;
+    Long brokenAtSequence;
+    String failureReason;
+}
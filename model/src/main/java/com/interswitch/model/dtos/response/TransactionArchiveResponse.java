@@ -0,0 +1,24 @@
+package com.interswitch.model.dtos.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransactionArchiveResponse {
+
+    YearMonth month;
+    int segmentCount;
+    int walletCount;
+    long archivedRows;
+    long compressedBytes;
+    List<String> segmentFiles;
+}
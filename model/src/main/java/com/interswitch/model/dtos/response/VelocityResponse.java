@@ -0,0 +1,39 @@
+package com.interswitch.model.dtos.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class VelocityResponse {
+
+    UUID walletId;
+    boolean breached;
+    List<Window> windows;
+
+    @Getter
+    @Setter
+    @ToString
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Window {
+
+        long windowSeconds;
+        long count;
+        BigDecimal amount;
+        long maxCount;
+        BigDecimal maxAmount;
+        boolean breached;
+    }
+}
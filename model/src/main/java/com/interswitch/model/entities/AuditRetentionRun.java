@@ -0,0 +1,72 @@
+package com.interswitch.model.entities;
+
+import com.interswitch.model.enums.RetentionRunStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "audit_retention_runs", indexes = {
+    @Index(name = "idx_audit_retention_run_status", columnList = "status")
+})
+@Getter
+@Setter
+@ToString
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AuditRetentionRun extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    RetentionRunStatus status = RetentionRunStatus.RUNNING;
+
+    // Audit logs created before this instant are archived and purged
+    @Column(name = "cutoff", nullable = false)
+    LocalDateTime cutoff;
+
+    // Keyset checkpoint on (created_at, id): every row up to and including this key has been purged
+    @Column(name = "last_created_at")
+    LocalDateTime lastCreatedAt;
+
+    @Column(name = "last_audit_id")
+    UUID lastAuditId;
+
+    @Column(name = "rows_purged", nullable = false)
+    @Builder.Default
+    Long rowsPurged = 0L;
+
+    @Column(name = "batches", nullable = false)
+    @Builder.Default
+    Long batches = 0L;
+
+    @Column(name = "archive_file", length = 255)
+    String archiveFile;
+
+    // Archive length covering the purged rows; anything written past it belongs to an uncommitted batch
+    @Column(name = "archive_bytes", nullable = false)
+    @Builder.Default
+    Long archiveBytes = 0L;
+
+    @Column(name = "started_at", nullable = false)
+    LocalDateTime startedAt;
+
+    // Lease: the node working the run and when it last checkpointed; others may take over once it expires
+    @Column(name = "owner_node", length = 36)
+    String ownerNode;
+
+    @Column(name = "heartbeat_at")
+    LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    LocalDateTime completedAt;
+
+    @Column(name = "failure_reason", columnDefinition = "TEXT")
+    String failureReason;
+}
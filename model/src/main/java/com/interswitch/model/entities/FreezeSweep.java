@@ -0,0 +1,91 @@
+package com.interswitch.model.entities;
+
+import com.interswitch.model.enums.FreezeSweepOperation;
+import com.interswitch.model.enums.FreezeSweepStatus;
+import com.interswitch.model.enums.FreezeType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "freeze_sweeps", indexes = {
+    @Index(name = "idx_freeze_sweep_status", columnList = "status")
+})
+@Getter
+@Setter
+@ToString
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FreezeSweep extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 10)
+    FreezeSweepOperation operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    FreezeSweepStatus status = FreezeSweepStatus.RUNNING;
+
+    // Freeze type to apply, or to lift (every active freeze when null on an unfreeze)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "freeze_type", length = 10)
+    FreezeType freezeType;
+
+    @Column(name = "frozen_amount", precision = 20, scale = 8)
+    BigDecimal frozenAmount;
+
+    @Column(name = "reason", columnDefinition = "TEXT")
+    String reason;
+
+    @Column(name = "expires_at")
+    LocalDateTime expiresAt;
+
+    @Column(name = "performed_by", nullable = false)
+    UUID performedBy;
+
+    // Distinct wallet IDs in the request
+    @Column(name = "wallets_requested", nullable = false)
+    @Builder.Default
+    Long walletsRequested = 0L;
+
+    @Column(name = "wallets_applied", nullable = false)
+    @Builder.Default
+    Long walletsApplied = 0L;
+
+    // Already frozen (freeze) or without an active freeze (unfreeze)
+    @Column(name = "wallets_skipped", nullable = false)
+    @Builder.Default
+    Long walletsSkipped = 0L;
+
+    @Column(name = "wallets_not_found", nullable = false)
+    @Builder.Default
+    Long walletsNotFound = 0L;
+
+    // Keyset checkpoint: every requested wallet up to and including this ID has been processed
+    @Column(name = "last_wallet_id")
+    UUID lastWalletId;
+
+    @Column(name = "started_at", nullable = false)
+    LocalDateTime startedAt;
+
+    // Lease: the node working the sweep and when it last checkpointed; others may take over once it expires
+    @Column(name = "owner_node", length = 36)
+    String ownerNode;
+
+    @Column(name = "heartbeat_at")
+    LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    LocalDateTime completedAt;
+
+    @Column(name = "failure_reason", columnDefinition = "TEXT")
+    String failureReason;
+}
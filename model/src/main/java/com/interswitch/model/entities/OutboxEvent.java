@@ -0,0 +1,59 @@
+package com.interswitch.model.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_pending", columnList = "published_at, failed_at, event_seq")
+})
+@Getter
+@Setter
+@ToString
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxEvent extends BaseEntity {
+
+    // AUTO_INCREMENT column assigned by the database; gives the relay a total insert order
+    @Column(name = "event_seq", insertable = false, updatable = false)
+    Long eventSequence;
+
+    @Column(name = "wallet_id", nullable = false)
+    UUID walletId;
+
+    @Column(name = "aggregate_type", nullable = false, length = 20)
+    String aggregateType;
+
+    @Column(name = "aggregate_id")
+    UUID aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    String eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    String payload;
+
+    @Column(name = "published_at")
+    LocalDateTime publishedAt;
+
+    // Set instead of published_at once the event has failed wallet.outbox.max-attempts times
+    @Column(name = "failed_at")
+    LocalDateTime failedAt;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    String lastError;
+}
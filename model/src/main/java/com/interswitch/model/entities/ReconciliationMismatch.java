@@ -0,0 +1,51 @@
+package com.interswitch.model.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "reconciliation_mismatches", indexes = {
+    @Index(name = "idx_mismatch_run", columnList = "run_id"),
+    @Index(name = "idx_mismatch_wallet", columnList = "wallet_id")
+})
+@Getter
+@Setter
+@ToString
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReconciliationMismatch extends BaseEntity {
+
+    @Column(name = "run_id", nullable = false)
+    UUID runId;
+
+    @Column(name = "wallet_id", nullable = false)
+    UUID walletId;
+
+    // available + reserved balance on the wallet_balances row
+    @Column(name = "book_balance", precision = 20, scale = 8)
+    BigDecimal bookBalance;
+
+    // Balance derived from the verified posting chain
+    @Column(name = "ledger_balance", precision = 20, scale = 8)
+    BigDecimal ledgerBalance;
+
+    // Available balance minus ledger balance; the posting chain tracks the available balance
+    @Column(name = "difference", precision = 20, scale = 8)
+    BigDecimal difference;
+
+    @Column(name = "verified_sequence")
+    Long verifiedSequence;
+
+    @Column(name = "last_posting_sequence")
+    Long lastPostingSequence;
+
+    @Column(name = "reason", columnDefinition = "TEXT")
+    String reason;
+}
@@ -0,0 +1,62 @@
+package com.interswitch.model.entities;
+
+import com.interswitch.model.enums.ReconciliationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "reconciliation_runs", indexes = {
+    @Index(name = "idx_reconciliation_run_status", columnList = "status")
+})
+@Getter
+@Setter
+@ToString
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReconciliationRun extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    ReconciliationStatus status = ReconciliationStatus.RUNNING;
+
+    // Full runs re-check every wallet; incremental runs only wallets with unverified postings
+    @Column(name = "full_run", nullable = false)
+    @Builder.Default
+    Boolean fullRun = false;
+
+    // Keyset checkpoint: every wallet up to and including this ID has been checked
+    @Column(name = "last_wallet_id")
+    UUID lastWalletId;
+
+    @Column(name = "wallets_checked", nullable = false)
+    @Builder.Default
+    Long walletsChecked = 0L;
+
+    @Column(name = "mismatch_count", nullable = false)
+    @Builder.Default
+    Long mismatchCount = 0L;
+
+    @Column(name = "started_at", nullable = false)
+    LocalDateTime startedAt;
+
+    // Lease: the node working the run and when it last checkpointed; others may take over once it expires
+    @Column(name = "owner_node", length = 36)
+    String ownerNode;
+
+    @Column(name = "heartbeat_at")
+    LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    LocalDateTime completedAt;
+
+    @Column(name = "failure_reason", columnDefinition = "TEXT")
+    String failureReason;
+}
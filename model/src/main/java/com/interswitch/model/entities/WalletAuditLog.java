@@ -1,6 +1,10 @@
 package com.interswitch.model.entities;
 
+import com.interswitch.model.converters.AuditActionConverter;
+import com.interswitch.model.converters.AuditEntityTypeConverter;
+import com.interswitch.model.converters.CompressedTextConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
@@ -13,8 +17,10 @@ import java.util.UUID;
 @Entity
 @Table(name = "wallet_audit_logs", indexes = {
     @Index(name = "idx_audit_wallet_timestamp", columnList = "wallet_id, created_at"),
-    @Index(name = "idx_audit_action", columnList = "action"),
-    @Index(name = "idx_audit_performed_by", columnList = "performed_by")
+    @Index(name = "idx_audit_action", columnList = "action_code"),
+    @Index(name = "idx_audit_performed_by", columnList = "performed_by"),
+    @Index(name = "idx_audit_entity_trail", columnList = "entity_id, entity_type_code, created_at"),
+    @Index(name = "idx_audit_created_at", columnList = "created_at")
 })
 @Getter
 @Setter
@@ -28,18 +34,24 @@ public class WalletAuditLog extends BaseEntity{
     @Column(name = "wallet_id", nullable = false)
     UUID walletId;
     
-    @Column(name = "action", nullable = false, length = 50)
+    // Stored as a dictionary code, see AuditDictionary
+    @Convert(converter = AuditActionConverter.class)
+    @Column(name = "action_code", nullable = false)
     String action;
     
-    @Column(name = "entity_type", nullable = false, length = 50)
+    @Convert(converter = AuditEntityTypeConverter.class)
+    @Column(name = "entity_type_code", nullable = false)
     String entityType;
     
     @Column(name = "entity_id")
     UUID entityId;
     
+    // Compact JSON field diffs, compressed when large
+    @Convert(converter = CompressedTextConverter.class)
     @Column(name = "old_values", columnDefinition = "TEXT")
     String oldValues;
     
+    @Convert(converter = CompressedTextConverter.class)
     @Column(name = "new_values", columnDefinition = "TEXT")
     String newValues;
     
@@ -40,6 +40,20 @@ public class WalletBalance extends BaseEntity{
     @Column(name = "currency", nullable = false, length = 3)
     String currency;
     
+    // Sequence number of the last transaction posted against this balance
+    @Column(name = "last_posting_sequence", nullable = false)
+    @Builder.Default
+    Long lastPostingSequence = 0L;
+
+    // Statement verification checkpoint: postings up to verifiedSequence chain correctly to verifiedBalance
+    @Column(name = "verified_sequence", nullable = false)
+    @Builder.Default
+    Long verifiedSequence = 0L;
+
+    @Column(name = "verified_balance", precision = 20, scale = 8, nullable = false)
+    @Builder.Default
+    BigDecimal verifiedBalance = BigDecimal.ZERO;
+
     @Version
     @Column(name = "version", nullable = false)
     @Builder.Default
@@ -0,0 +1,50 @@
+package com.interswitch.model.entities;
+
+import com.interswitch.model.enums.BalanceAdjustmentType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// A change to a wallet's available balance that is not a transaction: manual adjustments, reservations and
+// releases, and the opening entry. It takes the next posting sequence like a transaction does, so statement
+// verification can chain through it.
+@Entity
+@Table(name = "wallet_balance_adjustments", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_balance_adjustment_wallet_posting", columnNames = {"wallet_id", "posting_sequence"})
+})
+@Getter
+@Setter
+@ToString
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class WalletBalanceAdjustment extends BaseEntity {
+
+    @Column(name = "wallet_id", nullable = false)
+    UUID walletId;
+
+    @Column(name = "posting_sequence", nullable = false)
+    Long postingSequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "adjustment_type", nullable = false, length = 20)
+    BalanceAdjustmentType adjustmentType;
+
+    // Signed change to the available balance
+    @Column(name = "amount", precision = 20, scale = 8, nullable = false)
+    BigDecimal amount;
+
+    @Column(name = "balance_before", precision = 20, scale = 8, nullable = false)
+    BigDecimal balanceBefore;
+
+    @Column(name = "balance_after", precision = 20, scale = 8, nullable = false)
+    BigDecimal balanceAfter;
+
+    @Column(name = "performed_by")
+    UUID performedBy;
+}
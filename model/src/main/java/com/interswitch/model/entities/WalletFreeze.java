@@ -1,5 +1,6 @@
 package com.interswitch.model.entities;
 
+import com.interswitch.model.enums.FreezeStatus;
 import com.interswitch.model.enums.FreezeType;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,7 +13,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "wallet_freezes", indexes = {
-    @Index(name = "idx_freeze_wallet_status", columnList = "wallet_id, status"),
+    @Index(name = "idx_freeze_active", columnList = "wallet_id, status, expires_at, freeze_type, frozen_amount"),
     @Index(name = "idx_freeze_expires", columnList = "expires_at")
 })
 @Getter
@@ -24,6 +25,9 @@ import java.util.UUID;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class WalletFreeze extends BaseEntity{
     
+    @Column(name = "wallet_id", nullable = false)
+    UUID walletId;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "freeze_type", nullable = false, length = 10)
     FreezeType freezeType;
@@ -37,9 +41,10 @@ public class WalletFreeze extends BaseEntity{
     @Column(name = "created_by", nullable = false)
     UUID createdBy;
     
-    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "status", nullable = false, columnDefinition = "TINYINT")
     @Builder.Default
-    String status = "active";
+    FreezeStatus status = FreezeStatus.ACTIVE;
     
     @Column(name = "expires_at")
     LocalDateTime expiresAt;
@@ -37,6 +37,11 @@ public class WalletLimit extends BaseEntity{
     @Column(name = "current_usage", precision = 20, scale = 8, nullable = false)
     @Builder.Default
     BigDecimal currentUsage = BigDecimal.ZERO;
+
+    // Period the current usage was counted in; usage from an older period counts as zero
+    @Column(name = "usage_epoch", nullable = false)
+    @Builder.Default
+    Long usageEpoch = 0L;
     
     @Column(name = "reset_period", length = 20)
     String resetPeriod;
@@ -5,6 +5,8 @@ import lombok.*;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.SuperBuilder;
 
+import java.util.UUID;
+
 @Entity
 @Table(name = "wallet_settings", indexes = {
     @Index(name = "idx_settings_wallet_key", columnList = "wallet_id, setting_key", unique = true)
@@ -18,6 +20,9 @@ import lombok.experimental.SuperBuilder;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class WalletSettings extends BaseEntity{
     
+    @Column(name = "wallet_id", nullable = false)
+    UUID walletId;
+    
     @Column(name = "setting_key", nullable = false, length = 100)
     String settingKey;
     
@@ -16,7 +16,9 @@ import java.util.UUID;
 @Table(name = "wallet_transactions", indexes = {
     @Index(name = "idx_transaction_wallet_created", columnList = "wallet_id, created_at"),
     @Index(name = "idx_transaction_status", columnList = "status"),
-    @Index(name = "idx_transaction_reference", columnList = "reference_id")
+    @Index(name = "idx_transaction_reference", columnList = "reference_id"),
+    @Index(name = "uk_transaction_wallet_posting", columnList = "wallet_id, posting_sequence", unique = true),
+    @Index(name = "uk_transaction_external_id", columnList = "external_transaction_id", unique = true)
 })
 @Getter
 @Setter
@@ -68,6 +70,10 @@ public class WalletTransaction extends BaseEntity{
     
     @Column(name = "processed_at")
     LocalDateTime processedAt;
+
+    // Per-wallet posting order, assigned together with balanceBefore/balanceAfter under the balance row lock
+    @Column(name = "posting_sequence")
+    Long postingSequence;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "wallet_id", insertable = false, updatable = false)
@@ -0,0 +1,5 @@
+package com.interswitch.model.enums;
+
+public enum DebitDeclineReason {
+    WALLET_NOT_FOUND, WALLET_NOT_ACTIVE, WALLET_FROZEN, INSUFFICIENT_BALANCE, LIMIT_EXCEEDED
+}
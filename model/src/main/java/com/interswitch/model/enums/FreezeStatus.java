@@ -0,0 +1,6 @@
+package com.interswitch.model.enums;
+
+// Persisted by ordinal; append new values only
+public enum FreezeStatus {
+    ACTIVE, REMOVED, EXPIRED
+}
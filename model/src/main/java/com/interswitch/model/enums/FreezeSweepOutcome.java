@@ -0,0 +1,5 @@
+package com.interswitch.model.enums;
+
+public enum FreezeSweepOutcome {
+    APPLIED, SKIPPED, NOT_FOUND
+}
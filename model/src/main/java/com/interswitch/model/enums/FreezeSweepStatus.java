@@ -0,0 +1,5 @@
+package com.interswitch.model.enums;
+
+public enum FreezeSweepStatus {
+    RUNNING, COMPLETED, FAILED
+}
@@ -1,5 +1,5 @@
 package com.interswitch.model.enums;
 
 public enum LimitType {
-    DAILY, MONTHLY, TRANSACTION, WEEKLY
-}
\ No newline at end of file
+    DAILY, MONTHLY, TRANSACTION, WEEKLY, ROLLING_24H, ROLLING_30D
+}
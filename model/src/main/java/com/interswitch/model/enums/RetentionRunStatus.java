@@ -0,0 +1,5 @@
+package com.interswitch.model.enums;
+
+public enum RetentionRunStatus {
+    RUNNING, COMPLETED, FAILED
+}
@@ -1,5 +1,5 @@
 package com.interswitch.model.enums;
 
 public enum TransactionStatus {
-    PENDING, COMPLETED, FAILED, CANCELLED
+    PENDING, ON_HOLD, COMPLETED, FAILED, CANCELLED
 }
@@ -0,0 +1,13 @@
+package com.interswitch.shared.exceptions;
+
+import lombok.Getter;
+
+// 429 for a caller that ran out of request tokens; retryAfterSeconds feeds the Retry-After header
+@Getter
+public class RateLimitExceededException extends ApiException {
+    private final long retryAfterSeconds;
+    public RateLimitExceededException(String description, long retryAfterSeconds) {
+        super("Too many requests", description, 429);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
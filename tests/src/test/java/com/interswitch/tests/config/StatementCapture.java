@@ -0,0 +1,44 @@
+package com.interswitch.tests.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Records every statement Hibernate prepares, so tests can inspect the SQL repositories actually issue
+@TestConfiguration
+public class StatementCapture implements StatementInspector {
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCaptureCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    // The single SELECT issued against the table since the last clear()
+    public String selectFrom(String table) {
+        List<String> selects = statements.stream()
+            .filter(sql -> sql.toLowerCase().contains("from " + table))
+            .filter(sql -> sql.toLowerCase().replaceFirst("(?s)^\\s*/\\*.*?\\*/", "").trim().startsWith("select"))
+            .toList();
+        if (selects.size() != 1) {
+            throw new IllegalStateException("Expected one select from " + table + " but captured " + selects);
+        }
+        return selects.get(0);
+    }
+}
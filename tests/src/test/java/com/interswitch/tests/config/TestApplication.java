@@ -4,7 +4,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
-@SpringBootApplication(scanBasePackages = {"com.interswitch.infra.repositories", "com.interswitch.model.entities", "com.interswitch.core.services"})
+@SpringBootApplication(scanBasePackages = {"com.interswitch.infra.repositories", "com.interswitch.infra.audit", "com.interswitch.model.entities", "com.interswitch.core"})
 @EnableJpaRepositories(basePackages = {"com.interswitch.infra.repositories"})
 @EntityScan(basePackages = {"com.interswitch.model.entities"})
 public class TestApplication {
@@ -0,0 +1,128 @@
+package com.interswitch.tests.integration.core;
+
+import com.interswitch.core.outbox.OutboxPublisher;
+import com.interswitch.core.outbox.OutboxRelay;
+import com.interswitch.core.services.WalletBalanceService;
+import com.interswitch.infra.repositories.OutboxEventRepository;
+import com.interswitch.infra.repositories.WalletBalanceRepository;
+import com.interswitch.infra.repositories.WalletRepository;
+import com.interswitch.model.entities.OutboxEvent;
+import com.interswitch.model.entities.Wallet;
+import com.interswitch.model.entities.WalletBalance;
+import com.interswitch.tests.config.BaseIntegrationTest;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EmbeddedKafka(partitions = 3, topics = "wallet-events", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+public class OutboxRelayIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private WalletBalanceService walletBalanceService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private WalletBalanceRepository balanceRepository;
+
+    @Test
+    void shouldRecordOutboxEventsWithBalanceChanges() {
+
+        UUID walletId = createWalletWithBalance(new BigDecimal("100.00"));
+        UUID performedBy = UUID.randomUUID();
+
+
+        walletBalanceService.reserveBalance(walletId, new BigDecimal("40.00"), performedBy);
+        walletBalanceService.releaseReservedBalance(walletId, new BigDecimal("15.00"), performedBy);
+
+
+        List<OutboxEvent> events = outboxEventRepository.findByWalletIdOrderByEventSequence(walletId);
+        assertThat(events).extracting(OutboxEvent::getEventType)
+            .containsExactly("BALANCE_RESERVED", "BALANCE_RELEASED");
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getAggregateType()).isEqualTo(OutboxPublisher.BALANCE);
+            assertThat(event.getPublishedAt()).isNull();
+        });
+        assertThat(events.get(1).getPayload()).contains("\"reservedBalance\":25");
+    }
+
+    @Test
+    void shouldRelayEventsInOrderPerWallet() {
+
+        UUID firstWallet = UUID.randomUUID();
+        UUID secondWallet = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            outboxPublisher.publish(firstWallet, OutboxPublisher.TRANSACTION, UUID.randomUUID(),
+                "EVENT_" + i, OutboxPublisher.fields("index", i));
+            outboxPublisher.publish(secondWallet, OutboxPublisher.TRANSACTION, UUID.randomUUID(),
+                "EVENT_" + i, OutboxPublisher.fields("index", i));
+        }
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-relay-test", "false", embeddedKafka);
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            embeddedKafka.consumeFromAnEmbeddedTopic(consumer, "wallet-events");
+
+
+            int relayed = outboxRelay.drain();
+            ConsumerRecords<String, String> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), 10);
+
+
+            assertThat(relayed).isEqualTo(10);
+            assertThat(outboxRelay.countPending()).isZero();
+
+            Map<String, List<String>> eventsByWallet = new HashMap<>();
+            for (ConsumerRecord<String, String> record : records) {
+                String eventType = new String(record.headers().lastHeader("eventType").value());
+                eventsByWallet.computeIfAbsent(record.key(), key -> new ArrayList<>()).add(eventType);
+            }
+            assertThat(eventsByWallet.get(firstWallet.toString()))
+                .containsExactly("EVENT_0", "EVENT_1", "EVENT_2", "EVENT_3", "EVENT_4");
+            assertThat(eventsByWallet.get(secondWallet.toString()))
+                .containsExactly("EVENT_0", "EVENT_1", "EVENT_2", "EVENT_3", "EVENT_4");
+        }
+    }
+
+    private UUID createWalletWithBalance(BigDecimal available) {
+        Wallet wallet = walletRepository.saveAndFlush(Wallet.builder()
+            .userId(UUID.randomUUID())
+            .currency("NGN")
+            .build());
+        balanceRepository.saveAndFlush(WalletBalance.builder()
+            .walletId(wallet.getId())
+            .availableBalance(available)
+            .currency("NGN")
+            .build());
+        return wallet.getId();
+    }
+}
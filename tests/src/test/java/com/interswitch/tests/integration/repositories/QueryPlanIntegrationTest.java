@@ -0,0 +1,152 @@
+package com.interswitch.tests.integration.repositories;
+
+import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import com.interswitch.infra.repositories.WalletRepository;
+import com.interswitch.infra.repositories.WalletTransactionRepository;
+import com.interswitch.model.converters.AuditDictionary;
+import com.interswitch.model.entities.Wallet;
+import com.interswitch.model.entities.WalletAuditLog;
+import com.interswitch.model.entities.WalletTransaction;
+import com.interswitch.model.enums.TransactionStatus;
+import com.interswitch.model.enums.TransactionType;
+import com.interswitch.tests.config.BaseIntegrationTest;
+import com.interswitch.tests.config.StatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Guards the indexes behind hot lookups: each repository call runs for real, and the statement Hibernate issued
+// for it is EXPLAINed with the same arguments. It must keep resolving through its index rather than falling back
+// to a table scan or filesort.
+@Import(StatementCapture.class)
+public class QueryPlanIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private WalletTransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletAuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditDictionary auditDictionary;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    private final List<UUID> externalIds = new ArrayList<>();
+    private final List<UUID> entityIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        Wallet wallet = walletRepository.saveAndFlush(Wallet.builder()
+            .userId(UUID.randomUUID())
+            .currency("NGN")
+            .build());
+
+        for (int i = 0; i < 50; i++) {
+            UUID externalId = UUID.randomUUID();
+            externalIds.add(externalId);
+            transactionRepository.save(WalletTransaction.builder()
+                .walletId(wallet.getId())
+                .externalTransactionId(externalId)
+                .transactionType(TransactionType.CREDIT)
+                .amount(BigDecimal.TEN)
+                .currency("NGN")
+                .status(TransactionStatus.COMPLETED)
+                .build());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            UUID entityId = UUID.randomUUID();
+            entityIds.add(entityId);
+            auditLogRepository.save(WalletAuditLog.builder()
+                .walletId(wallet.getId())
+                .action("TRANSACTION_CREATED")
+                .entityType(i % 2 == 0 ? "transaction" : "balance")
+                .entityId(entityId)
+                .performedBy(UUID.randomUUID())
+                .build());
+        }
+        transactionRepository.flush();
+        auditLogRepository.flush();
+        statementCapture.clear();
+    }
+
+    @Test
+    void externalTransactionLookupShouldUseUniqueIndex() {
+
+        UUID externalId = externalIds.get(17);
+        assertThat(transactionRepository.findByExternalTransactionId(externalId)).isPresent();
+
+
+        Map<String, Object> plan = explain(statementCapture.selectFrom("wallet_transactions"), bytes(externalId));
+
+
+        assertThat(plan.get("key")).isEqualTo("uk_transaction_external_id");
+        assertThat(plan.get("type")).isEqualTo("const");
+    }
+
+    @Test
+    void externalTransactionExistsCheckShouldBeCoveredByIndex() {
+
+        UUID externalId = externalIds.get(3);
+        assertThat(transactionRepository.existsByExternalTransactionId(externalId)).isTrue();
+
+
+        // Spring Data limits the exists query to one row, bound after the external ID
+        Map<String, Object> plan = explain(statementCapture.selectFrom("wallet_transactions"), bytes(externalId), 1);
+
+
+        assertThat(plan.get("key")).isEqualTo("uk_transaction_external_id");
+        assertThat(plan.get("type")).isNotEqualTo("ALL");
+    }
+
+    @Test
+    void entityAuditTrailShouldUseIndexWithoutFilesort() {
+
+        UUID entityId = entityIds.get(42);
+        assertThat(auditLogRepository.findByEntityIdAndEntityTypeOrderByCreatedAtDesc(entityId, "transaction"))
+            .hasSize(1);
+
+
+        Map<String, Object> plan = explain(statementCapture.selectFrom("wallet_audit_logs"), bytes(entityId),
+            auditDictionary.encode(AuditDictionary.ENTITY_TYPE, "transaction"));
+
+
+        assertThat(plan.get("key")).isEqualTo("idx_audit_entity_trail");
+        assertThat(String.valueOf(plan.get("Extra"))).doesNotContain("filesort");
+    }
+
+    private Map<String, Object> explain(String sql, Object... args) {
+        assertThat(sql.chars().filter(c -> c == '?').count())
+            .as("parameters of %s", sql)
+            .isEqualTo(args.length);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+}
@@ -0,0 +1,127 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.audit.AuditActivityMonitor;
+import com.interswitch.core.audit.HeavyHitterSketch;
+import com.interswitch.model.dtos.response.ActivityCountResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuditActivityMonitorUnitTest {
+
+    private static final long MINUTE = 60_000;
+
+    private AuditActivityMonitor monitor;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new AuditActivityMonitor(60, 10, 16);
+        now = System.currentTimeMillis() + 5 * MINUTE;
+    }
+
+    @Test
+    void shouldFlagIpsAboveThresholdInWindow() {
+
+        for (int i = 0; i < 12; i++) {
+            monitor.record("10.0.0.1", UUID.randomUUID(), UUID.randomUUID(), now);
+        }
+        for (int i = 0; i < 3; i++) {
+            monitor.record("10.0.0.2", UUID.randomUUID(), UUID.randomUUID(), now - MINUTE);
+        }
+
+
+        Optional<List<ActivityCountResponse>> suspicious = monitor.findSuspiciousIps(now - 2 * MINUTE, 5, now);
+
+
+        assertThat(suspicious).isPresent();
+        assertThat(suspicious.get()).extracting(ActivityCountResponse::getKey).containsExactly("10.0.0.1");
+        assertThat(suspicious.get().get(0).getCount()).isEqualTo(12);
+        assertThat(suspicious.get().get(0).getUpperBound()).isEqualTo(12);
+    }
+
+    @Test
+    void shouldNotFlagIpsOnlyTheirUpperBoundPutsAboveThreshold() {
+
+        for (int i = 0; i < 16; i++) {
+            for (int j = 0; j < 10; j++) {
+                monitor.record("10.0.1." + i, null, null, now);
+            }
+        }
+        monitor.record("10.0.0.99", null, null, now);
+
+
+        Optional<List<ActivityCountResponse>> suspicious = monitor.findSuspiciousIps(now - MINUTE, 5, now);
+
+
+        assertThat(suspicious).isPresent();
+        assertThat(suspicious.get()).extracting(ActivityCountResponse::getKey).doesNotContain("10.0.0.99");
+        assertThat(suspicious.get()).allSatisfy(count -> assertThat(count.getUpperBound())
+                .isGreaterThanOrEqualTo(count.getCount()));
+    }
+
+    @Test
+    void shouldRankMostActiveWalletsWithinRange() {
+
+        UUID busy = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+        UUID old = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            monitor.record(null, null, busy, now);
+        }
+        monitor.record(null, null, quiet, now);
+        for (int i = 0; i < 9; i++) {
+            monitor.record(null, null, old, now - 3 * MINUTE);
+        }
+
+
+        Optional<List<ActivityCountResponse>> top = monitor.findMostActiveWallets(now - MINUTE, now, 1, now);
+
+
+        assertThat(top).isPresent();
+        assertThat(top.get()).extracting(ActivityCountResponse::getKey).containsExactly(busy.toString());
+        assertThat(top.get().get(0).getCount()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldDeclineRangesBeyondHorizon() {
+
+        monitor.record("10.0.0.1", UUID.randomUUID(), UUID.randomUUID(), now);
+
+
+        Optional<List<ActivityCountResponse>> tooOld = monitor.findMostActiveUsers(now - 30 * MINUTE, now, 10, now);
+        Optional<List<ActivityCountResponse>> beforeStart =
+                monitor.findSuspiciousIps(System.currentTimeMillis() - MINUTE, 0, now);
+
+
+        assertThat(tooOld).isEmpty();
+        assertThat(beforeStart).isEmpty();
+    }
+
+    @Test
+    void shouldKeepHeavyHittersWithinBoundedCounters() {
+
+        HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(4);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("hot");
+            sketch.add("noise-" + i);
+        }
+
+
+        Map<String, long[]> counters = new HashMap<>();
+        sketch.forEach(counters::put);
+
+
+        assertThat(sketch.size()).isEqualTo(4);
+        assertThat(counters).containsKey("hot");
+        assertThat(counters.get("hot")[0]).isGreaterThanOrEqualTo(100);
+        assertThat(counters.get("hot")[0] - counters.get("hot")[1]).isLessThanOrEqualTo(100);
+    }
+}
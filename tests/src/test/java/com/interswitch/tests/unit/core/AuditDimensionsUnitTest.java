@@ -0,0 +1,101 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.audit.AuditDimensions;
+import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditDimensionsUnitTest {
+
+    @Mock
+    private WalletAuditLogRepository auditLogRepository;
+
+    private AuditDimensions auditDimensions;
+
+    @BeforeEach
+    void setUp() {
+        auditDimensions = new AuditDimensions(auditLogRepository, 3_600_000L, 10_000);
+    }
+
+    @Test
+    void shouldSeedOnceAndMergeRecordedValues() {
+
+        when(auditLogRepository.findDistinctActions()).thenReturn(List.of("WALLET_CREATED", "BALANCE_UPDATED"));
+        auditDimensions.record("FREEZE_CREATED", "freeze", UUID.randomUUID());
+
+
+        List<String> first = auditDimensions.getActions();
+        auditDimensions.record("BALANCE_UPDATED", "balance", UUID.randomUUID());
+        auditDimensions.record("ACCOUNT_CLOSED", "wallet", UUID.randomUUID());
+        List<String> second = auditDimensions.getActions();
+
+
+        assertThat(first).containsExactly("BALANCE_UPDATED", "FREEZE_CREATED", "WALLET_CREATED");
+        assertThat(second).containsExactly("ACCOUNT_CLOSED", "BALANCE_UPDATED", "FREEZE_CREATED", "WALLET_CREATED");
+        verify(auditLogRepository, times(1)).findDistinctActions();
+    }
+
+    @Test
+    void shouldTrackPerformersAndEntityTypesIndependently() {
+
+        UUID performer = UUID.randomUUID();
+        when(auditLogRepository.findDistinctPerformedBy(any(Pageable.class))).thenReturn(List.of(performer));
+        when(auditLogRepository.findDistinctEntityTypes()).thenReturn(List.of());
+
+
+        auditDimensions.record("WALLET_CREATED", "wallet", performer);
+        auditDimensions.record("WALLET_CREATED", "wallet", null);
+
+
+        assertThat(auditDimensions.getPerformers()).containsExactly(performer);
+        assertThat(auditDimensions.getEntityTypes()).containsExactly("wallet");
+        verify(auditLogRepository, never()).findDistinctActions();
+    }
+
+    @Test
+    void shouldReseedAndCarryValuesRecordedBeforeTheSeed() {
+
+        AuditDimensions reseeding = new AuditDimensions(auditLogRepository, 0L, 10_000);
+        when(auditLogRepository.findDistinctActions())
+                .thenReturn(List.of("WALLET_CREATED", "PURGED_ACTION"), List.of("WALLET_CREATED", "OTHER_NODE_ACTION"));
+        reseeding.record("BUFFERED_ACTION", "wallet", null);
+
+
+        List<String> first = reseeding.getActions();
+        List<String> second = reseeding.getActions();
+
+
+        assertThat(first).containsExactly("BUFFERED_ACTION", "PURGED_ACTION", "WALLET_CREATED");
+        assertThat(second).containsExactly("OTHER_NODE_ACTION", "WALLET_CREATED");
+        verify(auditLogRepository, times(2)).findDistinctActions();
+    }
+
+    @Test
+    void shouldCapPerformers() {
+
+        AuditDimensions capped = new AuditDimensions(auditLogRepository, 3_600_000L, 2);
+        when(auditLogRepository.findDistinctPerformedBy(any(Pageable.class)))
+                .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+
+        capped.record("WALLET_CREATED", "wallet", UUID.randomUUID());
+        List<UUID> performers = capped.getPerformers();
+        capped.record("WALLET_CREATED", "wallet", UUID.randomUUID());
+
+
+        assertThat(performers).hasSize(2);
+        assertThat(capped.getPerformers()).hasSize(2);
+    }
+}
@@ -0,0 +1,80 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.audit.AuditPayloads;
+import com.interswitch.model.converters.AuditValueCodec;
+import com.interswitch.model.entities.WalletLimit;
+import com.interswitch.model.entities.WalletTransaction;
+import com.interswitch.model.enums.TransactionStatus;
+import com.interswitch.model.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuditPayloadsUnitTest {
+
+    @Test
+    void shouldSnapshotEntityColumnsWithoutAssociations() {
+
+        WalletTransaction transaction = WalletTransaction.builder()
+            .id(UUID.randomUUID())
+            .walletId(UUID.randomUUID())
+            .transactionType(TransactionType.CREDIT)
+            .amount(new BigDecimal("25.50"))
+            .currency("NGN")
+            .status(TransactionStatus.PENDING)
+            .metadata(Map.of("channel", "USSD"))
+            .build();
+
+
+        String json = AuditPayloads.toJson(AuditPayloads.snapshot(transaction));
+
+
+        assertThat(json)
+            .contains("\"amount\":25.50")
+            .contains("\"status\":\"PENDING\"")
+            .contains("\"metadata\":{\"channel\":\"USSD\"}")
+            .doesNotContain("\"wallet\"")
+            .doesNotContain("null");
+    }
+
+    @Test
+    void shouldKeepOnlyChangedFieldsInDiff() {
+
+        WalletLimit before = WalletLimit.builder()
+            .walletId(UUID.randomUUID())
+            .limitAmount(new BigDecimal("1000.00"))
+            .currentUsage(new BigDecimal("100"))
+            .build();
+        Object oldSnapshot = AuditPayloads.snapshot(before);
+        before.setLimitAmount(new BigDecimal("2000.00"));
+        before.setCurrentUsage(new BigDecimal("100.00"));
+
+
+        Object[] diff = AuditPayloads.diff(oldSnapshot, AuditPayloads.snapshot(before));
+
+
+        assertThat(AuditPayloads.toJson(diff[0])).isEqualTo("{\"limitAmount\":1000.00}");
+        assertThat(AuditPayloads.toJson(diff[1])).isEqualTo("{\"limitAmount\":2000.00}");
+    }
+
+    @Test
+    void shouldCompressOnlyLargeValues() {
+
+        String small = "{\"status\":\"ACTIVE\"}";
+        String large = "{\"description\":\"" + "wallet ".repeat(400) + "\"}";
+
+
+        String encodedSmall = AuditValueCodec.encode(small);
+        String encodedLarge = AuditValueCodec.encode(large);
+
+
+        assertThat(encodedSmall).isEqualTo(small);
+        assertThat(encodedLarge).startsWith("~z:").hasSizeLessThan(large.length() / 4);
+        assertThat(AuditValueCodec.decode(encodedLarge)).isEqualTo(large);
+        assertThat(AuditValueCodec.decode(small)).isEqualTo(small);
+    }
+}
@@ -0,0 +1,100 @@
+package com.interswitch.tests.unit.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.audit.AuditRetentionService;
+import com.interswitch.infra.audit.AuditRollupRepository;
+import com.interswitch.infra.repositories.AuditRetentionRunRepository;
+import com.interswitch.model.converters.AuditDictionary;
+import com.interswitch.model.entities.AuditRetentionRun;
+import com.interswitch.model.enums.RetentionRunStatus;
+import com.interswitch.shared.exceptions.ApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditRetentionServiceUnitTest {
+
+    @Mock
+    private AuditRetentionRunRepository runRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AuditDictionary auditDictionary;
+
+    @Mock
+    private AuditRollupRepository rollupRepository;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditRetentionService auditRetentionService;
+    private AuditRetentionRun interrupted;
+
+    @BeforeEach
+    void setUp() {
+        auditRetentionService = new AuditRetentionService(runRepository, jdbcTemplate, auditDictionary,
+            rollupRepository, auditLogWriter, new ObjectMapper(), transactionManager);
+        ReflectionTestUtils.setField(auditRetentionService, "leaseMillis", 60_000L);
+        interrupted = AuditRetentionRun.builder()
+            .id(UUID.randomUUID())
+            .cutoff(LocalDateTime.of(2025, 1, 1, 0, 0))
+            .archiveFile("audit-20250101-000000.jsonl.gz")
+            .startedAt(LocalDateTime.now().minusHours(1))
+            .build();
+        when(runRepository.findFirstByStatusOrderByStartedAtDesc(RetentionRunStatus.RUNNING))
+            .thenReturn(Optional.of(interrupted));
+    }
+
+    @Test
+    void shouldRejectACutoffThatDoesNotMatchTheInterruptedRun() {
+
+        LocalDateTime otherCutoff = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+
+        assertThatThrownBy(() -> auditRetentionService.startRun(otherCutoff))
+            .isInstanceOf(ApiException.class)
+            .satisfies(e -> assertThat(((ApiException) e).getStatus()).isEqualTo(409));
+
+
+        verify(runRepository, never()).claimLease(any(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void shouldNotResumeARunLeasedByAnotherNode() {
+
+        when(runRepository.claimLease(eq(interrupted.getId()), anyString(), any(), any(),
+            eq(RetentionRunStatus.RUNNING))).thenReturn(0);
+
+
+        assertThatThrownBy(() -> auditRetentionService.startRun(interrupted.getCutoff()))
+            .isInstanceOf(ApiException.class)
+            .satisfies(e -> assertThat(((ApiException) e).getStatus()).isEqualTo(409));
+
+
+        verify(runRepository, never()).save(any(AuditRetentionRun.class));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,99 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.audit.AuditArchiveFile;
+import com.interswitch.core.audit.RetentionThrottle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuditRetentionUnitTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldBackOffUnderPressureAndRecoverGradually() {
+
+        RetentionThrottle throttle = new RetentionThrottle(100, 1000, 200, 500, 2000);
+
+
+        long slowDelete = throttle.next(350, 0, -1);
+        long writerLagging = throttle.next(50, 800, -1);
+        long replicaLagging = throttle.next(50, 0, 5000);
+        long capped = throttle.next(350, 0, -1);
+        long recovering = throttle.next(50, 0, -1);
+
+
+        assertThat(slowDelete).isEqualTo(200);
+        assertThat(writerLagging).isEqualTo(400);
+        assertThat(replicaLagging).isEqualTo(800);
+        assertThat(capped).isEqualTo(1000);
+        assertThat(recovering).isLessThan(capped).isGreaterThan(100);
+        for (int i = 0; i < 20; i++) {
+            throttle.next(50, 0, -1);
+        }
+        assertThat(throttle.getPauseMillis()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldAppendBatchesAsReadableGzipMembers() throws Exception {
+
+        Path file = directory.resolve("audit.jsonl.gz");
+
+
+        long first = AuditArchiveFile.append(file, 0, List.of("{\"id\":1}", "{\"id\":2}"));
+        long second = AuditArchiveFile.append(file, first, List.of("{\"id\":3}"));
+
+
+        assertThat(second).isGreaterThan(first).isEqualTo(Files.size(file));
+        assertThat(read(file)).containsExactly("{\"id\":1}", "{\"id\":2}", "{\"id\":3}");
+    }
+
+    @Test
+    void shouldDiscardUncommittedBatchOnResume() throws Exception {
+
+        Path file = directory.resolve("audit.jsonl.gz");
+        long committed = AuditArchiveFile.append(file, 0, List.of("{\"id\":1}"));
+        AuditArchiveFile.append(file, committed, List.of("{\"id\":2}"));
+
+
+        long resumed = AuditArchiveFile.append(file, committed, List.of("{\"id\":2}", "{\"id\":3}"));
+
+
+        assertThat(resumed).isEqualTo(Files.size(file));
+        assertThat(read(file)).containsExactly("{\"id\":1}", "{\"id\":2}", "{\"id\":3}");
+    }
+
+    @Test
+    void shouldOnlyResumeArchivesHoldingTheCommittedLength() throws Exception {
+
+        Path file = directory.resolve("audit.jsonl.gz");
+        long committed = AuditArchiveFile.append(file, 0, List.of("{\"id\":1}"));
+
+
+        boolean resumable = AuditArchiveFile.isResumable(file, committed);
+        boolean onAnotherNode = AuditArchiveFile.isResumable(directory.resolve("elsewhere.jsonl.gz"), committed);
+        boolean fresh = AuditArchiveFile.isResumable(directory.resolve("new.jsonl.gz"), 0);
+
+
+        assertThat(resumable).isTrue();
+        assertThat(onAnotherNode).isFalse();
+        assertThat(fresh).isTrue();
+    }
+
+    private List<String> read(Path file) throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.audit.AuditRingBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuditRingBufferUnitTest {
+
+    @Test
+    void shouldRejectOffersWhenFullAndAcceptAfterDrain() {
+
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+
+        boolean acceptedWhenFull = buffer.offer(4);
+        List<Integer> drained = new ArrayList<>();
+        int count = buffer.drainTo(drained, 3);
+
+
+        assertThat(acceptedWhenFull).isFalse();
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).containsExactly(0, 1, 2);
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.offer(4)).isTrue();
+    }
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1000);
+
+
+        assertThat(buffer.capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void shouldDeliverEveryElementFromConcurrentProducers() throws Exception {
+
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(256);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+
+        start.countDown();
+        Set<Integer> received = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+            buffer.drainTo(batch, 64);
+            received.addAll(batch);
+            batch.clear();
+        }
+        executor.shutdownNow();
+
+
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.size()).isZero();
+    }
+}
@@ -0,0 +1,89 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.audit.AuditStatisticsService;
+import com.interswitch.infra.audit.AuditRollupRepository;
+import com.interswitch.infra.audit.AuditRollupRepository.Dimension;
+import com.interswitch.infra.repositories.WalletAuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditStatisticsServiceUnitTest {
+
+    @Mock
+    private WalletAuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditRollupRepository rollupRepository;
+
+    private AuditStatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        statisticsService = new AuditStatisticsService(auditLogRepository, rollupRepository, 30, 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadWholeHoursFromRollupsAndEdgesFromRawTable() {
+
+        UUID walletId = UUID.randomUUID();
+        UUID performer = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 9, 30);
+        LocalDateTime end = LocalDateTime.of(2024, 5, 1, 14, 15);
+        LocalDateTime firstBucket = LocalDateTime.of(2024, 5, 1, 10, 0);
+        LocalDateTime lastBucket = LocalDateTime.of(2024, 5, 1, 14, 0);
+
+        when(rollupRepository.countBy(Dimension.ACTION, walletId, firstBucket, lastBucket))
+            .thenReturn(Map.of("BALANCE_UPDATED", 40L));
+        when(rollupRepository.countBy(Dimension.ENTITY_TYPE, walletId, firstBucket, lastBucket))
+            .thenReturn(Map.of("balance", 40L));
+        when(rollupRepository.countBy(Dimension.PERFORMED_BY, walletId, firstBucket, lastBucket))
+            .thenReturn(Map.of(performer.toString(), 40L));
+        when(rollupRepository.countBy(Dimension.DAY, walletId, firstBucket, lastBucket))
+            .thenReturn(Map.of("2024-05-01", 40L));
+        when(auditLogRepository.countActivityBetween(eq(walletId), any(), any()))
+            .thenReturn(List.<Object[]>of(new Object[]{"BALANCE_UPDATED", "balance", performer, LocalDate.of(2024, 5, 1), 2L}));
+
+
+        Map<String, Object> statistics = statisticsService.getStatistics(walletId, start, end);
+
+
+        assertThat(statistics.get("totalCount")).isEqualTo(44L);
+        assertThat((Map<String, Long>) statistics.get("actionStatistics")).containsEntry("BALANCE_UPDATED", 44L);
+        assertThat((Map<String, Long>) statistics.get("userActivityStatistics")).containsEntry(performer.toString(), 44L);
+        assertThat((Map<String, Long>) statistics.get("dailyActivity")).containsEntry("2024-05-01", 44L);
+        verify(auditLogRepository).countActivityBetween(walletId, start, firstBucket.minusNanos(1_000));
+        verify(auditLogRepository).countActivityBetween(walletId, lastBucket, end);
+    }
+
+    @Test
+    void shouldServeRepeatedRequestsFromCache() {
+
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 5, 1, 10, 20);
+        when(auditLogRepository.countActivityBetween(null, start, end)).thenReturn(List.of());
+
+
+        statisticsService.getStatistics(null, start, end);
+        statisticsService.getStatistics(null, start, end);
+
+
+        verify(auditLogRepository, times(1)).countActivityBetween(null, start, end);
+        verifyNoInteractions(rollupRepository);
+    }
+}
@@ -0,0 +1,150 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.reconciliation.BalanceReconciliationService;
+import com.interswitch.core.services.WalletStatementService;
+import com.interswitch.infra.repositories.ReconciliationMismatchRepository;
+import com.interswitch.infra.repositories.ReconciliationRunRepository;
+import com.interswitch.infra.repositories.WalletBalanceRepository;
+import com.interswitch.model.dtos.response.StatementVerificationResponse;
+import com.interswitch.model.entities.ReconciliationMismatch;
+import com.interswitch.model.entities.ReconciliationRun;
+import com.interswitch.model.enums.ReconciliationStatus;
+import com.interswitch.shared.exceptions.ApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BalanceReconciliationServiceUnitTest {
+
+    @Mock
+    private WalletBalanceRepository balanceRepository;
+
+    @Mock
+    private WalletStatementService walletStatementService;
+
+    @Mock
+    private ReconciliationRunRepository runRepository;
+
+    @Mock
+    private ReconciliationMismatchRepository mismatchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BalanceReconciliationService balanceReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(balanceReconciliationService, "chunkSize", 10);
+        ReflectionTestUtils.setField(balanceReconciliationService, "parallelism", 2);
+        ReflectionTestUtils.setField(balanceReconciliationService, "leaseMillis", 60_000L);
+    }
+
+    @Test
+    void shouldRejectAFullRunWhileAnIncrementalRunIsInterrupted() {
+
+        ReconciliationRun interrupted = ReconciliationRun.builder()
+            .id(UUID.randomUUID())
+            .fullRun(false)
+            .startedAt(LocalDateTime.now().minusHours(1))
+            .build();
+        when(runRepository.findFirstByStatusOrderByStartedAtDesc(ReconciliationStatus.RUNNING))
+            .thenReturn(Optional.of(interrupted));
+
+
+        assertThatThrownBy(() -> balanceReconciliationService.startRun(true))
+            .isInstanceOf(ApiException.class)
+            .satisfies(e -> assertThat(((ApiException) e).getStatus()).isEqualTo(409));
+
+
+        verify(runRepository, never()).save(any(ReconciliationRun.class));
+    }
+
+    @Test
+    void shouldNotResumeARunLeasedByAnotherNode() {
+
+        ReconciliationRun interrupted = ReconciliationRun.builder()
+            .id(UUID.randomUUID())
+            .fullRun(false)
+            .startedAt(LocalDateTime.now().minusHours(1))
+            .build();
+        when(runRepository.findFirstByStatusOrderByStartedAtDesc(ReconciliationStatus.RUNNING))
+            .thenReturn(Optional.of(interrupted));
+        when(runRepository.claimLease(eq(interrupted.getId()), anyString(), any(), any(),
+            eq(ReconciliationStatus.RUNNING))).thenReturn(0);
+
+
+        assertThatThrownBy(() -> balanceReconciliationService.startRun(false))
+            .isInstanceOf(ApiException.class)
+            .satisfies(e -> assertThat(((ApiException) e).getStatus()).isEqualTo(409));
+
+
+        verify(runRepository, never()).save(any(ReconciliationRun.class));
+        verifyNoInteractions(balanceRepository);
+    }
+
+    @Test
+    void shouldFlagWalletsWhoseAvailableBalanceLeftThePostingChain() {
+
+        UUID walletId = UUID.randomUUID();
+        when(runRepository.findFirstByStatusOrderByStartedAtDesc(ReconciliationStatus.RUNNING))
+            .thenReturn(Optional.empty());
+        when(runRepository.saveAndFlush(any(ReconciliationRun.class))).thenAnswer(invocation -> {
+            ReconciliationRun run = invocation.getArgument(0);
+            run.setId(UUID.randomUUID());
+            return run;
+        });
+        when(runRepository.save(any(ReconciliationRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(runRepository.claimLease(any(UUID.class), anyString(), any(), any(), eq(ReconciliationStatus.RUNNING)))
+            .thenReturn(1);
+        when(balanceRepository.findUnverifiedWalletIdsAfter(any(UUID.class), any(Pageable.class)))
+            .thenReturn(List.of(walletId), List.of());
+        when(walletStatementService.verifyStatement(walletId)).thenReturn(StatementVerificationResponse.builder()
+            .walletId(walletId)
+            .verifiedSequence(3)
+            .lastPostingSequence(3)
+            .verifiedBalance(new BigDecimal("80.00"))
+            .availableBalance(new BigDecimal("95.00"))
+            .bookBalance(new BigDecimal("95.00"))
+            .consistent(true)
+            .build());
+
+
+        ReconciliationRun run = balanceReconciliationService.startRun(false);
+
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReconciliationMismatch>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mismatchRepository, timeout(5000)).saveAll(captor.capture());
+        assertThat(run.getFullRun()).isFalse();
+        assertThat(captor.getValue()).singleElement().satisfies(mismatch -> {
+            assertThat(mismatch.getWalletId()).isEqualTo(walletId);
+            assertThat(mismatch.getDifference()).isEqualByComparingTo("15.00");
+            assertThat(mismatch.getReason()).contains("Available balance");
+        });
+        verify(balanceRepository, never()).findWalletIdsAfter(any(UUID.class), any(Pageable.class));
+        verify(runRepository, timeout(5000).atLeastOnce()).save(argThat(saved -> saved.getStatus() == ReconciliationStatus.COMPLETED));
+    }
+}
@@ -0,0 +1,154 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.debit.DebitGate;
+import com.interswitch.core.freeze.FreezeIndex;
+import com.interswitch.core.limit.LimitPeriods;
+import com.interswitch.core.limit.RollingLimitTracker;
+import com.interswitch.infra.debit.DebitEligibilityRepository;
+import com.interswitch.model.dtos.response.DebitEligibilityResponse;
+import com.interswitch.model.enums.DebitDeclineReason;
+import com.interswitch.model.enums.FreezeType;
+import com.interswitch.model.enums.LimitType;
+import com.interswitch.model.enums.WalletStatus;
+import com.interswitch.shared.exceptions.ApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DebitGateUnitTest {
+
+    @Mock
+    private DebitEligibilityRepository eligibilityRepository;
+
+    @Mock
+    private FreezeIndex freezeIndex;
+
+    @Mock
+    private RollingLimitTracker rollingLimitTracker;
+
+    @InjectMocks
+    private DebitGate debitGate;
+
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        walletId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldAllowDebitWithinBalanceNetOfFrozenFunds() {
+
+        when(freezeIndex.isLoaded()).thenReturn(true);
+        when(freezeIndex.isFrozen(walletId, FreezeType.FULL)).thenReturn(false);
+        when(freezeIndex.getTotalFrozenAmount(walletId)).thenReturn(new BigDecimal("30"));
+        when(eligibilityRepository.find(walletId, false)).thenReturn(Optional.of(snapshot(WalletStatus.ACTIVE,
+            "100", List.of(limit(LimitType.DAILY, new BigDecimal("500"), BigDecimal.TEN)))));
+
+
+        DebitEligibilityResponse decision = debitGate.evaluate(walletId, new BigDecimal("70"));
+
+
+        assertThat(decision.isEligible()).isTrue();
+        assertThat(decision.getReasons()).isEmpty();
+        assertThat(decision.getEffectiveAvailableBalance()).isEqualByComparingTo("70");
+    }
+
+    @Test
+    void shouldCollectEveryDeclineReason() {
+
+        when(freezeIndex.isLoaded()).thenReturn(false);
+        when(eligibilityRepository.find(walletId, true)).thenReturn(Optional.of(new DebitEligibilityRepository.Snapshot(
+            WalletStatus.SUSPENDED, new BigDecimal("100"),
+            List.of(limit(LimitType.DAILY, new BigDecimal("50"), new BigDecimal("40")),
+                limit(LimitType.MONTHLY, new BigDecimal("1000"), BigDecimal.ZERO)),
+            true, new BigDecimal("20"))));
+
+
+        DebitEligibilityResponse decision = debitGate.evaluate(walletId, new BigDecimal("90"));
+
+
+        assertThat(decision.isEligible()).isFalse();
+        assertThat(decision.getReasons()).containsExactly(DebitDeclineReason.WALLET_NOT_ACTIVE,
+            DebitDeclineReason.WALLET_FROZEN, DebitDeclineReason.INSUFFICIENT_BALANCE, DebitDeclineReason.LIMIT_EXCEEDED);
+        assertThat(decision.getExceededLimits()).containsExactly(LimitType.DAILY);
+        verify(freezeIndex, never()).getTotalFrozenAmount(any());
+    }
+
+    @Test
+    void shouldCheckRollingLimitsAgainstTrackedUsage() {
+
+        when(freezeIndex.isLoaded()).thenReturn(true);
+        when(freezeIndex.isFrozen(walletId, FreezeType.FULL)).thenReturn(false);
+        when(freezeIndex.getTotalFrozenAmount(walletId)).thenReturn(BigDecimal.ZERO);
+        when(rollingLimitTracker.getUsage(walletId, LimitType.ROLLING_24H)).thenReturn(new BigDecimal("450"));
+        when(eligibilityRepository.find(walletId, false)).thenReturn(Optional.of(snapshot(WalletStatus.ACTIVE,
+            "1000", List.of(limit(LimitType.ROLLING_24H, new BigDecimal("500"), BigDecimal.ZERO)))));
+
+
+        DebitEligibilityResponse decision = debitGate.evaluate(walletId, new BigDecimal("60"));
+
+
+        assertThat(decision.isEligible()).isFalse();
+        assertThat(decision.getExceededLimits()).containsExactly(LimitType.ROLLING_24H);
+    }
+
+    @Test
+    void shouldIgnoreUsageFromAnEarlierPeriod() {
+
+        when(freezeIndex.isLoaded()).thenReturn(true);
+        when(freezeIndex.isFrozen(walletId, FreezeType.FULL)).thenReturn(false);
+        when(freezeIndex.getTotalFrozenAmount(walletId)).thenReturn(BigDecimal.ZERO);
+        long yesterday = LimitPeriods.epoch(LimitType.DAILY, LocalDate.now().minusDays(1));
+        when(eligibilityRepository.find(walletId, false)).thenReturn(Optional.of(snapshot(WalletStatus.ACTIVE,
+            "1000", List.of(new DebitEligibilityRepository.Limit(LimitType.DAILY, new BigDecimal("500"),
+                new BigDecimal("480"), yesterday)))));
+
+
+        DebitEligibilityResponse decision = debitGate.evaluate(walletId, new BigDecimal("400"));
+
+
+        assertThat(decision.isEligible()).isTrue();
+        assertThat(decision.getExceededLimits()).isEmpty();
+    }
+
+    @Test
+    void shouldReportShortfallAsInsufficientBalance() {
+
+        when(freezeIndex.isLoaded()).thenReturn(true);
+        when(freezeIndex.getTotalFrozenAmount(walletId)).thenReturn(BigDecimal.ZERO);
+        when(eligibilityRepository.find(walletId, false))
+            .thenReturn(Optional.of(snapshot(WalletStatus.ACTIVE, "10", List.of())));
+
+
+        assertThatThrownBy(() -> debitGate.check(walletId, new BigDecimal("11")))
+            .isInstanceOf(ApiException.class)
+            .hasMessageContaining("Insufficient balance");
+    }
+
+    private static DebitEligibilityRepository.Snapshot snapshot(WalletStatus status, String balance,
+                                                                List<DebitEligibilityRepository.Limit> limits) {
+        return new DebitEligibilityRepository.Snapshot(status, new BigDecimal(balance), limits, null, null);
+    }
+
+    // A limit whose usage was counted in the current period
+    private static DebitEligibilityRepository.Limit limit(LimitType limitType, BigDecimal limitAmount,
+                                                          BigDecimal currentUsage) {
+        return new DebitEligibilityRepository.Limit(limitType, limitAmount, currentUsage,
+            LimitPeriods.epoch(limitType, LocalDate.now()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.fraud.DuplicateCheck;
+import com.interswitch.core.fraud.DuplicateTransactionDetector;
+import com.interswitch.model.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DuplicateTransactionDetectorUnitTest {
+
+    private final DuplicateTransactionDetector detector =
+        new DuplicateTransactionDetector(true, 600, 120, 6, 1 << 16, 4, 1000, true);
+
+    @Test
+    void shouldFlagExactRepeatWithinHorizon() {
+
+        UUID walletId = UUID.randomUUID();
+        UUID originalId = UUID.randomUUID();
+        long now = 1_700_000_000_000L;
+        detector.record(originalId, walletId, new BigDecimal("250.00"), TransactionType.DEBIT, "POS-1", now);
+
+
+        DuplicateCheck check = detector.check(walletId, new BigDecimal("250.00000000"), TransactionType.DEBIT, "POS-1", now + 5_000);
+
+
+        assertThat(check.getVerdict()).isEqualTo(DuplicateCheck.Verdict.DUPLICATE);
+        assertThat(check.getOriginalTransactionId()).isEqualTo(originalId);
+        assertThat(check.isHold()).isTrue();
+    }
+
+    @Test
+    void shouldOnlyFlagExactRepeatWithoutReference() {
+
+        UUID walletId = UUID.randomUUID();
+        long now = 1_700_000_000_000L;
+        detector.record(UUID.randomUUID(), walletId, new BigDecimal("5.00"), TransactionType.DEBIT, null, now);
+
+
+        DuplicateCheck check = detector.check(walletId, new BigDecimal("5.00"), TransactionType.DEBIT, null, now + 5_000);
+
+
+        assertThat(check.getVerdict()).isEqualTo(DuplicateCheck.Verdict.DUPLICATE);
+        assertThat(check.isHold()).isFalse();
+    }
+
+    @Test
+    void shouldOnlySuspectRepeatBeyondExactHorizon() {
+
+        UUID walletId = UUID.randomUUID();
+        long now = 1_700_000_000_000L;
+        detector.record(UUID.randomUUID(), walletId, new BigDecimal("10"), TransactionType.CREDIT, "REF", now);
+        detector.evictExpired(now + 300_000);
+
+
+        DuplicateCheck check = detector.check(walletId, new BigDecimal("10"), TransactionType.CREDIT, "REF", now + 300_000);
+
+
+        assertThat(check.getVerdict()).isEqualTo(DuplicateCheck.Verdict.SUSPECTED);
+        assertThat(check.isHold()).isFalse();
+        assertThat(detector.exactEntries()).isZero();
+    }
+
+    @Test
+    void shouldForgetFingerprintsOutsideWindow() {
+
+        UUID walletId = UUID.randomUUID();
+        long now = 1_700_000_000_000L;
+        detector.record(UUID.randomUUID(), walletId, new BigDecimal("10"), TransactionType.CREDIT, "REF", now);
+
+
+        DuplicateCheck check = detector.check(walletId, new BigDecimal("10"), TransactionType.CREDIT, "REF", now + 1_200_000);
+
+
+        assertThat(check.getVerdict()).isEqualTo(DuplicateCheck.Verdict.UNIQUE);
+    }
+
+    @Test
+    void shouldTreatDifferentReferenceAsUnique() {
+
+        UUID walletId = UUID.randomUUID();
+        long now = 1_700_000_000_000L;
+        detector.record(UUID.randomUUID(), walletId, new BigDecimal("10"), TransactionType.DEBIT, "REF-1", now);
+
+
+        DuplicateCheck check = detector.check(walletId, new BigDecimal("10"), TransactionType.DEBIT, "REF-2", now + 1_000);
+
+
+        assertThat(check.isFlagged()).isFalse();
+    }
+
+    @Test
+    void shouldOnlyRecordCommittedTransactions() {
+
+        UUID walletId = UUID.randomUUID();
+        UUID committedId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            detector.record(UUID.randomUUID(), walletId, new BigDecimal("75"), TransactionType.DEBIT, "ROLLED-BACK");
+            detector.record(committedId, walletId, new BigDecimal("75"), TransactionType.DEBIT, "COMMITTED");
+
+
+            DuplicateCheck beforeCommit = detector.check(walletId, new BigDecimal("75"), TransactionType.DEBIT, "COMMITTED");
+            TransactionSynchronizationManager.getSynchronizations().get(1).afterCommit();
+            DuplicateCheck afterCommit = detector.check(walletId, new BigDecimal("75"), TransactionType.DEBIT, "COMMITTED");
+            DuplicateCheck rolledBack = detector.check(walletId, new BigDecimal("75"), TransactionType.DEBIT, "ROLLED-BACK");
+
+
+            assertThat(beforeCommit.isFlagged()).isFalse();
+            assertThat(afterCommit.getOriginalTransactionId()).isEqualTo(committedId);
+            assertThat(rolledBack.getVerdict()).isEqualTo(DuplicateCheck.Verdict.UNIQUE);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
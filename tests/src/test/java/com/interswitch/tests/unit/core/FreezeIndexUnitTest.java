@@ -0,0 +1,126 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.freeze.FreezeExpiryScheduler;
+import com.interswitch.core.freeze.FreezeIndex;
+import com.interswitch.infra.repositories.WalletFreezeRepository;
+import com.interswitch.model.enums.FreezeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FreezeIndexUnitTest {
+
+    @Mock
+    private WalletFreezeRepository freezeRepository;
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplate;
+
+    @Mock
+    private ObjectProvider<FreezeExpiryScheduler> expiryScheduler;
+
+    private FreezeIndex freezeIndex;
+
+    @BeforeEach
+    void setUp() {
+        freezeIndex = new FreezeIndex(freezeRepository, redisTemplate, expiryScheduler);
+    }
+
+    @Test
+    void shouldAnswerFrozenChecksFromLoadedIndex() {
+
+        UUID walletId = UUID.randomUUID();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(walletId, FreezeType.PARTIAL, new BigDecimal("40.00"), null));
+        rows.add(row(walletId, FreezeType.PARTIAL, new BigDecimal("10.00"), LocalDateTime.now().plusHours(1)));
+        when(freezeRepository.findActiveFreezeSummaries()).thenReturn(rows);
+
+
+        freezeIndex.load();
+
+
+        assertThat(freezeIndex.isLoaded()).isTrue();
+        assertThat(freezeIndex.isFrozen(walletId)).isTrue();
+        assertThat(freezeIndex.isFrozen(walletId, FreezeType.PARTIAL)).isTrue();
+        assertThat(freezeIndex.isFrozen(walletId, FreezeType.FULL)).isFalse();
+        assertThat(freezeIndex.getTotalFrozenAmount(walletId)).isEqualByComparingTo("50.00");
+        assertThat(freezeIndex.isFrozen(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void shouldDropLapsedFreezesOnRead() {
+
+        UUID walletId = UUID.randomUUID();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(walletId, FreezeType.FULL, null, LocalDateTime.now().minusSeconds(1)));
+        rows.add(row(walletId, FreezeType.PARTIAL, new BigDecimal("25.00"), null));
+        when(freezeRepository.findActiveFreezeSummaries()).thenReturn(rows);
+        freezeIndex.load();
+
+
+        boolean fullyFrozen = freezeIndex.isFrozen(walletId, FreezeType.FULL);
+
+
+        assertThat(fullyFrozen).isFalse();
+        assertThat(freezeIndex.isFrozen(walletId)).isTrue();
+        assertThat(freezeIndex.getTotalFrozenAmount(walletId)).isEqualByComparingTo("25.00");
+    }
+
+    @Test
+    void shouldOnlyTotalPartialFreezes() {
+
+        UUID walletId = UUID.randomUUID();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(walletId, FreezeType.FULL, new BigDecimal("500.00"), null));
+        rows.add(row(walletId, FreezeType.PARTIAL, new BigDecimal("20.00"), null));
+        when(freezeRepository.findActiveFreezeSummaries()).thenReturn(rows);
+
+
+        freezeIndex.load();
+
+
+        assertThat(freezeIndex.isFrozen(walletId, FreezeType.FULL)).isTrue();
+        assertThat(freezeIndex.getTotalFrozenAmount(walletId)).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void shouldRefreshWalletOnInvalidation() {
+
+        UUID walletId = UUID.randomUUID();
+        when(freezeRepository.findActiveFreezeSummaries()).thenReturn(List.of());
+        freezeIndex.load();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(walletId, FreezeType.FULL, null, null));
+        when(freezeRepository.findActiveFreezeSummariesForWallet(walletId)).thenReturn(rows, List.of());
+
+
+        freezeIndex.invalidate(walletId);
+        boolean frozenAfterCreate = freezeIndex.isFrozen(walletId);
+        freezeIndex.invalidate(walletId);
+
+
+        assertThat(frozenAfterCreate).isTrue();
+        assertThat(freezeIndex.isFrozen(walletId)).isFalse();
+        assertThat(freezeIndex.walletCount()).isZero();
+        verify(freezeRepository, times(2)).findActiveFreezeSummariesForWallet(walletId);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static Object[] row(UUID walletId, FreezeType freezeType, BigDecimal amount, LocalDateTime expiresAt) {
+        return new Object[]{walletId, UUID.randomUUID(), freezeType, amount, expiresAt};
+    }
+}
@@ -0,0 +1,103 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.freeze.FreezeIndex;
+import com.interswitch.core.freeze.FreezeSweepService;
+import com.interswitch.core.outbox.OutboxPublisher;
+import com.interswitch.infra.freeze.BulkFreezeRepository;
+import com.interswitch.infra.freeze.FreezeSweepItemRepository;
+import com.interswitch.infra.repositories.FreezeSweepRepository;
+import com.interswitch.infra.repositories.WalletFreezeRepository;
+import com.interswitch.infra.repositories.WalletRepository;
+import com.interswitch.model.entities.FreezeSweep;
+import com.interswitch.model.enums.FreezeSweepStatus;
+import com.interswitch.shared.exceptions.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class FreezeSweepServiceUnitTest {
+
+    private static final UUID FIRST = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID SECOND = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Test
+    void shouldReadDistinctWalletIdsFromCsvExport() {
+
+        String file = "wallet_id,holder\n"
+            + "\"" + FIRST + "\",Jane\n"
+            + "\n"
+            + "# flagged by risk\n"
+            + SECOND + "\r\n"
+            + FIRST + "\n";
+
+
+        List<UUID> walletIds = FreezeSweepService.readWalletIds(stream(file));
+
+
+        assertThat(walletIds).containsExactly(FIRST, SECOND);
+    }
+
+    @Test
+    void shouldRejectInvalidWalletIdWithLineNumber() {
+
+        String file = FIRST + "\nnot-a-wallet\n";
+
+
+        assertThatThrownBy(() -> FreezeSweepService.readWalletIds(stream(file)))
+            .isInstanceOf(ApiException.class)
+            .hasMessageContaining("Invalid wallet ID file");
+    }
+
+    @Test
+    void shouldOnlyResumeSweepsWhoseLeaseCanBeTaken() {
+
+        FreezeSweepRepository sweepRepository = mock(FreezeSweepRepository.class);
+        FreezeSweepItemRepository itemRepository = mock(FreezeSweepItemRepository.class);
+        FreezeSweepService service = new FreezeSweepService(sweepRepository, itemRepository,
+            mock(BulkFreezeRepository.class), mock(WalletFreezeRepository.class), mock(WalletRepository.class),
+            mock(AuditLogWriter.class), mock(OutboxPublisher.class), mock(FreezeIndex.class),
+            mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "leaseMillis", 60_000L);
+        FreezeSweep leasedElsewhere = sweep("other-node");
+        FreezeSweep ownedHere = sweep((String) ReflectionTestUtils.getField(service, "nodeId"));
+        when(sweepRepository.findByStatusOrderByStartedAt(FreezeSweepStatus.RUNNING))
+            .thenReturn(List.of(leasedElsewhere, ownedHere));
+        when(sweepRepository.claimLease(eq(leasedElsewhere.getId()), anyString(), any(), any(),
+            eq(FreezeSweepStatus.RUNNING))).thenReturn(0);
+
+
+        service.resume();
+
+
+        verify(sweepRepository, never()).claimLease(eq(ownedHere.getId()), anyString(), any(), any(), any());
+        verifyNoInteractions(itemRepository);
+    }
+
+    private static FreezeSweep sweep(String ownerNode) {
+        return FreezeSweep.builder()
+            .id(UUID.randomUUID())
+            .status(FreezeSweepStatus.RUNNING)
+            .startedAt(LocalDateTime.now().minusMinutes(5))
+            .ownerNode(ownerNode)
+            .heartbeatAt(LocalDateTime.now())
+            .build();
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
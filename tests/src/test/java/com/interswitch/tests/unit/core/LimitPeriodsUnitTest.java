@@ -0,0 +1,49 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.limit.LimitPeriods;
+import com.interswitch.model.enums.LimitType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LimitPeriodsUnitTest {
+
+    @Test
+    void shouldShareAnEpochWithinEachPeriod() {
+
+        LocalDate sunday = LocalDate.of(2026, 3, 1);
+        LocalDate monday = LocalDate.of(2026, 3, 2);
+        LocalDate nextSunday = LocalDate.of(2026, 3, 8);
+
+
+        long sundayWeek = LimitPeriods.epoch(LimitType.WEEKLY, sunday);
+        long mondayWeek = LimitPeriods.epoch(LimitType.WEEKLY, monday);
+        long nextSundayWeek = LimitPeriods.epoch(LimitType.WEEKLY, nextSunday);
+
+
+        assertThat(mondayWeek).isEqualTo(nextSundayWeek).isEqualTo(monday.toEpochDay());
+        assertThat(sundayWeek).isEqualTo(mondayWeek - 7);
+        assertThat(LimitPeriods.epoch(LimitType.DAILY, monday)).isEqualTo(LimitPeriods.epoch(LimitType.DAILY, sunday) + 1);
+        assertThat(LimitPeriods.epoch(LimitType.MONTHLY, LocalDate.of(2026, 1, 1)))
+            .isEqualTo(LimitPeriods.epoch(LimitType.MONTHLY, LocalDate.of(2025, 12, 31)) + 1);
+        assertThat(LimitPeriods.epoch(LimitType.TRANSACTION, monday)).isZero();
+    }
+
+    @Test
+    void shouldTreatUsageFromAnEarlierPeriodAsZero() {
+
+        LocalDate today = LocalDate.of(2026, 3, 2);
+        long thisMonth = LimitPeriods.epoch(LimitType.MONTHLY, today);
+
+
+        BigDecimal current = LimitPeriods.currentUsage(LimitType.MONTHLY, BigDecimal.TEN, thisMonth, today);
+        BigDecimal stale = LimitPeriods.currentUsage(LimitType.MONTHLY, BigDecimal.TEN, thisMonth - 1, today);
+
+
+        assertThat(current).isEqualByComparingTo("10");
+        assertThat(stale).isZero();
+    }
+}
@@ -0,0 +1,164 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.outbox.OutboxRelay;
+import com.interswitch.infra.outbox.OutboxRelayLeaseRepository;
+import com.interswitch.infra.repositories.OutboxEventRepository;
+import com.interswitch.model.entities.OutboxEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayUnitTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxRelayLeaseRepository leaseRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    private final List<String> sentPayloads = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, leaseRepository, kafkaTemplate, transactionManager);
+        ReflectionTestUtils.setField(outboxRelay, "topic", "wallet-events");
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 10);
+        ReflectionTestUtils.setField(outboxRelay, "maxBatchesPerPoll", 5);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMs", 1000);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxRelay, "leaseMillis", 60_000L);
+        ReflectionTestUtils.setField(outboxRelay, "gapGraceMillis", 0L);
+    }
+
+    @Test
+    void shouldNotSendWalletEventsBehindAFailedOne() {
+
+        UUID failingWallet = UUID.randomUUID();
+        UUID healthyWallet = UUID.randomUUID();
+        OutboxEvent first = event(failingWallet, "first");
+        OutboxEvent second = event(failingWallet, "second");
+        OutboxEvent other = event(healthyWallet, "other");
+        when(leaseRepository.claim(anyString(), any(), any())).thenReturn(true);
+        when(outboxEventRepository.findPendingUpTo(anyLong(), any(Pageable.class))).thenReturn(List.of(first, other, second));
+        stubSends("first");
+
+
+        int published = outboxRelay.drain();
+
+
+        assertThat(published).isEqualTo(1);
+        assertThat(sentPayloads).containsExactly("first", "other");
+        verify(outboxEventRepository).markPublished(eq(List.of(other.getId())), any(LocalDateTime.class));
+        verify(outboxEventRepository).markFailed(eq(List.of(first.getId())), contains("broker down"), eq(3),
+            any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldSendAWalletsEventsOneRoundAtATimeInOrder() {
+
+        UUID walletId = UUID.randomUUID();
+        OutboxEvent first = event(walletId, "first");
+        OutboxEvent second = event(walletId, "second");
+        OutboxEvent third = event(walletId, "third");
+        when(leaseRepository.claim(anyString(), any(), any())).thenReturn(true);
+        when(outboxEventRepository.findPendingUpTo(anyLong(), any(Pageable.class))).thenReturn(List.of(first, second, third));
+        stubSends();
+
+
+        int published = outboxRelay.drain();
+
+
+        assertThat(published).isEqualTo(3);
+        assertThat(sentPayloads).containsExactly("first", "second", "third");
+        verify(kafkaTemplate, times(3)).flush();
+        verify(outboxEventRepository).markPublished(eq(List.of(first.getId(), second.getId(), third.getId())),
+            any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).markFailed(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldNotRelayWhileAnotherNodeHoldsTheLease() {
+
+        when(leaseRepository.claim(anyString(), any(), any())).thenReturn(false);
+
+
+        int published = outboxRelay.drain();
+
+
+        assertThat(published).isZero();
+        verify(outboxEventRepository, never()).findPendingUpTo(anyLong(), any(Pageable.class));
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldHoldEventsBehindASequenceGapUntilItsGraceExpires() {
+
+        ReflectionTestUtils.setField(outboxRelay, "gapGraceMillis", 60_000L);
+        ReflectionTestUtils.setField(outboxRelay, "leasedSince", 1L);
+        when(leaseRepository.claim(anyString(), any(), any())).thenReturn(true);
+        when(outboxEventRepository.findFirstPendingSequence()).thenReturn(4L);
+        when(outboxEventRepository.findSequencesAfter(eq(3L), any(Pageable.class))).thenReturn(List.of(4L, 6L));
+        when(outboxEventRepository.findSequencesAfter(eq(4L), any(Pageable.class))).thenReturn(List.of(6L));
+        when(outboxEventRepository.findPendingUpTo(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        outboxRelay.drain();
+
+
+        ((Map<Long, Long>) ReflectionTestUtils.getField(outboxRelay, "gaps")).put(5L, 0L);
+        outboxRelay.drain();
+
+
+        verify(outboxEventRepository).findPendingUpTo(eq(4L), any(Pageable.class));
+        verify(outboxEventRepository).findPendingUpTo(eq(6L), any(Pageable.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubSends(String... failingPayloads) {
+        List<String> failing = List.of(failingPayloads);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            ProducerRecord<String, String> record = invocation.getArgument(0);
+            sentPayloads.add(record.value());
+            return failing.contains(record.value())
+                ? CompletableFuture.failedFuture(new IllegalStateException("broker down"))
+                : CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+    }
+
+    private OutboxEvent event(UUID walletId, String payload) {
+        return OutboxEvent.builder()
+            .id(UUID.randomUUID())
+            .walletId(walletId)
+            .aggregateType("TRANSACTION")
+            .eventType("CREATED")
+            .payload(payload)
+            .build();
+    }
+}
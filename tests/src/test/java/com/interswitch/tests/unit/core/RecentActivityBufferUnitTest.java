@@ -0,0 +1,151 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.activity.RecentActivityBuffer;
+import com.interswitch.core.activity.RecentRing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecentActivityBufferUnitTest {
+
+    @Test
+    void shouldKeepNewestItemsInOrderAndReplaceByID() {
+
+        RecentRing<Event> ring = ring(3);
+        ring.seed(List.of());
+        Event first = event(1, "created");
+
+
+        ring.add(first);
+        ring.add(event(3, "created"));
+        ring.add(event(2, "created"));
+        ring.add(new Event(first.id(), 1, "completed"));
+
+
+        assertThat(ring.newest(3)).hasValueSatisfying(items -> {
+            assertThat(items).extracting(Event::time).containsExactly(3L, 2L, 1L);
+            assertThat(items.get(2).state()).isEqualTo("completed");
+        });
+    }
+
+    @Test
+    void shouldOnlyAnswerWithinItsHorizonOnceItHasDroppedItems() {
+
+        RecentRing<Event> ring = ring(2);
+        ring.seed(List.of());
+
+
+        ring.add(event(1, "created"));
+        ring.add(event(2, "created"));
+        ring.add(event(3, "created"));
+        ring.add(event(0, "created"));
+
+
+        assertThat(ring.newest(2)).hasValueSatisfying(items ->
+            assertThat(items).extracting(Event::time).containsExactly(3L, 2L));
+        assertThat(ring.newest(3)).isEmpty();
+    }
+
+    @Test
+    void shouldRequireSeedingBeforeAnswering() {
+
+        RecentRing<Event> ring = ring(4);
+        Event recorded = event(5, "created");
+        ring.add(recorded);
+
+
+        assertThat(ring.newest(1)).isEmpty();
+        ring.seed(List.of(new Event(recorded.id(), 5, "stale"), event(4, "created")));
+
+
+        assertThat(ring.newest(10)).hasValueSatisfying(items -> {
+            assertThat(items).extracting(Event::time).containsExactly(5L, 4L);
+            assertThat(items.get(0).state()).isEqualTo("created");
+        });
+    }
+
+    @Test
+    void shouldSeedOnceAndLoadOnlyBeyondTheHorizon() {
+
+        RecentActivityBuffer<Event> buffer = new RecentActivityBuffer<>(3, 2, 10, Event::id,
+                Comparator.comparingLong(Event::time));
+        UUID walletId = UUID.randomUUID();
+        List<Event> stored = new ArrayList<>(List.of(event(4, "created"), event(3, "created"),
+                event(2, "created"), event(1, "created")));
+        AtomicInteger loads = new AtomicInteger();
+
+
+        List<Event> first = buffer.recent(walletId, 2, count -> {
+            loads.incrementAndGet();
+            return stored.subList(0, Math.min(count, stored.size()));
+        });
+        buffer.record(walletId, event(5, "created"));
+        List<Event> second = buffer.recent(walletId, 2, count -> {
+            loads.incrementAndGet();
+            return stored;
+        });
+        List<Event> beyond = buffer.recent(walletId, 4, count -> {
+            loads.incrementAndGet();
+            return stored;
+        });
+
+
+        assertThat(first).extracting(Event::time).containsExactly(4L, 3L);
+        assertThat(second).extracting(Event::time).containsExactly(5L, 4L);
+        assertThat(beyond).hasSize(4);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldReseedToPickUpOtherNodesWrites() throws Exception {
+
+        RecentActivityBuffer<Event> buffer = new RecentActivityBuffer<>(3, 2, 10, 1L, Event::id,
+                Comparator.comparingLong(Event::time));
+        Event local = event(2, "created");
+        List<Event> stored = new ArrayList<>(List.of(local, event(1, "created")));
+        buffer.recent(2, count -> stored);
+        Event remote = event(3, "created");
+        stored.add(0, remote);
+        stored.set(1, new Event(local.id(), 2, "completed"));
+        Thread.sleep(5);
+
+
+        List<Event> recent = buffer.recent(2, count -> stored);
+
+
+        assertThat(recent).extracting(Event::id).containsExactly(remote.id(), local.id());
+        assertThat(recent.get(1).state()).isEqualTo("completed");
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedWallets() {
+
+        RecentActivityBuffer<Event> buffer = new RecentActivityBuffer<>(10, 2, 5, Event::id,
+                Comparator.comparingLong(Event::time));
+
+
+        for (int i = 0; i < 20; i++) {
+            buffer.record(UUID.randomUUID(), event(i, "created"));
+        }
+
+
+        assertThat(buffer.walletCount()).isLessThanOrEqualTo(5);
+    }
+
+    private RecentRing<Event> ring(int capacity) {
+        return new RecentRing<>(capacity, Event::id, Comparator.comparingLong(Event::time));
+    }
+
+    private Event event(long time, String state) {
+        return new Event(UUID.randomUUID(), time, state);
+    }
+
+    private record Event(UUID id, long time, String state) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.limit.RollingLimitTracker;
+import com.interswitch.infra.limit.UsageBucketRepository;
+import com.interswitch.model.enums.LimitType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RollingLimitTrackerUnitTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private UsageBucketRepository bucketRepository;
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplate;
+
+    private RollingLimitTracker tracker;
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new RollingLimitTracker(bucketRepository, redisTemplate);
+        ReflectionTestUtils.setField(tracker, "pubSubEnabled", false);
+        ReflectionTestUtils.setField(tracker, "reseedMillis", 300_000L);
+        walletId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldReloadWithLockingReadWhenAnotherNodeConsumedInBetween() {
+
+        when(bucketRepository.findSequence(walletId)).thenReturn(3L);
+        when(bucketRepository.find(eq(walletId), anyMap(), eq(false))).thenReturn(List.of());
+        tracker.getUsage(walletId, LimitType.ROLLING_24H, NOW);
+        when(bucketRepository.advanceSequence(walletId)).thenReturn(5L);
+        when(bucketRepository.find(eq(walletId), anyMap(), eq(true))).thenReturn(List.of(
+                new UsageBucketRepository.Bucket(LimitType.ROLLING_24H, NOW / 300_000L, 90_000L)));
+
+
+        List<LimitType> exceeded = tracker.consume(walletId, new BigDecimal("200.00"),
+                Map.of(LimitType.ROLLING_24H, new BigDecimal("1000.00")), NOW);
+
+
+        assertThat(exceeded).containsExactly(LimitType.ROLLING_24H);
+        verify(bucketRepository).find(eq(walletId), anyMap(), eq(true));
+        verify(bucketRepository).add(walletId, List.of());
+    }
+
+    @Test
+    void shouldTrustTheRingWhenItHasSeenEveryEarlierConsume() {
+
+        when(bucketRepository.findSequence(walletId)).thenReturn(0L);
+        when(bucketRepository.find(eq(walletId), anyMap(), eq(false))).thenReturn(List.of());
+        when(bucketRepository.advanceSequence(walletId)).thenReturn(1L, 2L);
+        Map<LimitType, BigDecimal> limits = Map.of(LimitType.ROLLING_24H, new BigDecimal("1000.00"));
+
+
+        List<LimitType> first = tracker.consume(walletId, new BigDecimal("400.00"), limits, NOW);
+        List<LimitType> second = tracker.consume(walletId, new BigDecimal("700.00"), limits, NOW);
+
+
+        assertThat(first).isEmpty();
+        assertThat(second).containsExactly(LimitType.ROLLING_24H);
+        assertThat(tracker.getUsage(walletId, LimitType.ROLLING_24H, NOW)).isEqualByComparingTo("400.00");
+        verify(bucketRepository, times(0)).find(eq(walletId), anyMap(), eq(true));
+        verify(bucketRepository, times(2)).add(eq(walletId), any());
+    }
+
+    @Test
+    void shouldMarkTheRingStaleWhenABroadcastIsMissed() {
+
+        when(bucketRepository.findSequence(walletId)).thenReturn(1L, 3L);
+        when(bucketRepository.find(eq(walletId), anyMap(), eq(false))).thenReturn(List.of(),
+                List.of(new UsageBucketRepository.Bucket(LimitType.ROLLING_24H, NOW / 300_000L, 25_000L)));
+        tracker.getUsage(walletId, LimitType.ROLLING_24H, NOW);
+
+
+        tracker.onConsume("other-node:" + walletId + ":3:" + NOW + ":10000");
+        BigDecimal usage = tracker.getUsage(walletId, LimitType.ROLLING_24H, NOW);
+
+
+        assertThat(usage).isEqualByComparingTo("250.00");
+    }
+}
@@ -0,0 +1,68 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.freeze.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimingWheelUnitTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void shouldFireTimerWithinOneTickAfterExpiry() {
+
+        TimingWheel<String> wheel = new TimingWheel<>(500, 8, START);
+        wheel.add("soon", START + 1_200);
+
+
+        List<String> early = wheel.advance(START + 1_499);
+        List<String> due = wheel.advance(START + 1_500);
+
+
+        assertThat(early).isEmpty();
+        assertThat(due).containsExactly("soon");
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldCascadeFarTimersDownTheLevels() {
+
+        TimingWheel<String> wheel = new TimingWheel<>(500, 8, START);
+        wheel.add("hours", START + 3 * 3_600_000L + 250);
+        wheel.add("minutes", START + 7 * 60_000L);
+
+
+        List<String> beforeMinutes = wheel.advance(START + 7 * 60_000L - 1);
+        List<String> minutes = wheel.advance(START + 7 * 60_000L + 500);
+        List<String> beforeHours = wheel.advance(START + 3 * 3_600_000L);
+        List<String> hours = wheel.advance(START + 3 * 3_600_000L + 500);
+
+
+        assertThat(beforeMinutes).isEmpty();
+        assertThat(minutes).containsExactly("minutes");
+        assertThat(beforeHours).isEmpty();
+        assertThat(hours).containsExactly("hours");
+    }
+
+    @Test
+    void shouldRescheduleAndCancelTimers() {
+
+        TimingWheel<String> wheel = new TimingWheel<>(500, 8, START);
+        wheel.add("extended", START + 1_000);
+        wheel.add("removed", START + 1_000);
+
+
+        wheel.add("extended", START + 60_000);
+        wheel.cancel("removed");
+        boolean overdue = wheel.add("late", START - 1_000);
+
+
+        assertThat(wheel.advance(START + 30_000)).isEmpty();
+        assertThat(wheel.advance(START + 60_500)).containsExactly("extended");
+        assertThat(overdue).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+}
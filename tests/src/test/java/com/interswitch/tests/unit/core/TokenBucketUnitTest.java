@@ -0,0 +1,83 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.ratelimit.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketUnitTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void shouldAllowBurstThenRefillAtRate() {
+
+        TokenBucket bucket = new TokenBucket(10, 3, 0L);
+
+
+        long first = bucket.tryAcquire(0L);
+        long second = bucket.tryAcquire(0L);
+        long third = bucket.tryAcquire(0L);
+        long refused = bucket.tryAcquire(0L);
+        long refilled = bucket.tryAcquire(SECOND / 10);
+
+
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(refused).isEqualTo(SECOND / 10);
+        assertThat(refilled).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 10)).isPositive();
+    }
+
+    @Test
+    void shouldNotBankTokensBeyondBurstWhileIdle() {
+
+        TokenBucket bucket = new TokenBucket(10, 2, 0L);
+
+
+        int granted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (bucket.tryAcquire(60 * SECOND) == 0) {
+                granted++;
+            }
+        }
+
+
+        assertThat(granted).isEqualTo(2);
+    }
+
+    @Test
+    void shouldGrantExactlyBurstUnderContention() throws InterruptedException {
+
+        TokenBucket bucket = new TokenBucket(0.001, 500, 0L);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 200; j++) {
+                    if (bucket.tryAcquire(0L) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+
+        assertThat(granted.get()).isEqualTo(500);
+    }
+}
@@ -0,0 +1,53 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.archive.TransactionArchiveService;
+import com.interswitch.infra.archive.ArchivedMetadataRepository;
+import com.interswitch.infra.archive.TransactionArchiveLeaseRepository;
+import com.interswitch.infra.repositories.WalletTransactionRepository;
+import com.interswitch.shared.exceptions.ApiException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionArchiveServiceUnitTest {
+
+    @Mock
+    private WalletTransactionRepository transactionRepository;
+
+    @Mock
+    private ArchivedMetadataRepository metadataRepository;
+
+    @Mock
+    private TransactionArchiveLeaseRepository leaseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldNotArchiveWhileAnotherNodeHoldsTheLease() {
+
+        TransactionArchiveService service = new TransactionArchiveService(transactionRepository, metadataRepository,
+            leaseRepository, transactionManager);
+        when(leaseRepository.claim(anyString(), any(), any())).thenReturn(false);
+
+
+        assertThatThrownBy(() -> service.archiveMonth(YearMonth.now().minusMonths(4)))
+            .isInstanceOf(ApiException.class)
+            .satisfies(e -> assertThat(((ApiException) e).getStatus()).isEqualTo(409));
+
+
+        verifyNoInteractions(transactionRepository, metadataRepository);
+        verify(leaseRepository, never()).release(anyString());
+    }
+}
@@ -0,0 +1,157 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.archive.TransactionSegment;
+import com.interswitch.core.archive.TransactionSegmentWriter;
+import com.interswitch.model.entities.WalletTransaction;
+import com.interswitch.model.enums.TransactionStatus;
+import com.interswitch.model.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransactionSegmentUnitTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRoundTripWalletBlocks() throws Exception {
+
+        UUID firstWallet = new UUID(1, 1);
+        UUID secondWallet = new UUID(2, 1);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_000);
+
+        WalletTransaction credit = transaction(firstWallet, TransactionType.CREDIT, "100.50000000", createdAt);
+        credit.setMetadata(Map.of("channel", "USSD"));
+        credit.setPostingSequence(41L);
+        WalletTransaction debit = transaction(firstWallet, TransactionType.DEBIT, "20.25000000", createdAt.plusHours(1));
+        debit.setStatus(TransactionStatus.FAILED);
+        debit.setReferenceId(null);
+        WalletTransaction other = transaction(secondWallet, TransactionType.CREDIT, "5.00000000", createdAt.plusDays(2));
+
+        Path file = directory.resolve("transactions-2024-01-0001.seg");
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file, YearMonth.of(2024, 1))) {
+            writer.appendWallet(firstWallet, List.of(credit, debit));
+            writer.appendWallet(secondWallet, List.of(other));
+            writer.finish();
+        }
+
+
+        TransactionSegment segment = TransactionSegment.open(file);
+
+
+        assertThat(segment.getMonth()).isEqualTo(YearMonth.of(2024, 1));
+        assertThat(segment.getWalletCount()).isEqualTo(2);
+        assertThat(segment.getRowCount()).isEqualTo(3);
+        assertThat(segment.countRows(firstWallet)).isEqualTo(2);
+        assertThat(segment.contains(UUID.randomUUID())).isFalse();
+
+        List<WalletTransaction> rows = segment.read(firstWallet);
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getId()).isEqualTo(credit.getId());
+        assertThat(rows.get(0).getWalletId()).isEqualTo(firstWallet);
+        assertThat(rows.get(0).getAmount()).isEqualByComparingTo("100.5");
+        assertThat(rows.get(0).getCreatedAt()).isEqualTo(createdAt);
+        assertThat(rows.get(0).getMetadata()).containsEntry("channel", "USSD");
+        assertThat(rows.get(0).getPostingSequence()).isEqualTo(41L);
+        assertThat(rows.get(1).getPostingSequence()).isNull();
+        assertThat(rows.get(1).getStatus()).isEqualTo(TransactionStatus.FAILED);
+        assertThat(rows.get(1).getReferenceId()).isNull();
+        assertThat(segment.read(secondWallet)).extracting(WalletTransaction::getId).containsExactly(other.getId());
+    }
+
+    @Test
+    void shouldSkipSegmentsOutsideRequestedRange() throws Exception {
+
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 2, 10, 8, 0);
+
+        Path file = directory.resolve("transactions-2024-02-0001.seg");
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file, YearMonth.of(2024, 2))) {
+            writer.appendWallet(walletId, List.of(transaction(walletId, TransactionType.CREDIT, "1.00000000", createdAt)));
+            writer.finish();
+        }
+
+
+        TransactionSegment segment = TransactionSegment.open(file);
+
+
+        assertThat(segment.overlaps(walletId, createdAt.minusDays(1), createdAt.plusDays(1))).isTrue();
+        assertThat(segment.overlaps(walletId, createdAt.plusDays(1), null)).isFalse();
+        assertThat(segment.overlaps(walletId, null, createdAt.minusDays(1))).isFalse();
+    }
+
+    @Test
+    void shouldCountFilteredRowsAndBoundTimesFromDirectory() throws Exception {
+
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 4, 3, 9, 0);
+        WalletTransaction credit = transaction(walletId, TransactionType.CREDIT, "10.00000000", createdAt);
+        WalletTransaction debit = transaction(walletId, TransactionType.DEBIT, "4.00000000", createdAt.plusDays(1));
+        WalletTransaction failed = transaction(walletId, TransactionType.DEBIT, "2.00000000", createdAt.plusDays(2));
+        failed.setStatus(TransactionStatus.FAILED);
+
+        Path file = directory.resolve("transactions-2024-04-0001.seg");
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file, YearMonth.of(2024, 4))) {
+            writer.appendWallet(walletId, List.of(credit, debit, failed));
+            writer.finish();
+        }
+
+
+        TransactionSegment segment = TransactionSegment.open(file);
+
+
+        assertThat(segment.countRows(walletId, TransactionType.DEBIT, null)).isEqualTo(2);
+        assertThat(segment.countRows(walletId, null, TransactionStatus.FAILED)).isEqualTo(1);
+        assertThat(segment.countRows(walletId, TransactionType.CREDIT, TransactionStatus.FAILED)).isZero();
+        assertThat(segment.countRows(UUID.randomUUID(), TransactionType.DEBIT, null)).isZero();
+        assertThat(segment.latestCreatedAt(walletId)).isEqualTo(createdAt.plusDays(2));
+        assertThat(segment.within(walletId, createdAt, createdAt.plusDays(2))).isTrue();
+        assertThat(segment.within(walletId, createdAt.plusHours(1), null)).isFalse();
+    }
+
+    @Test
+    void shouldRejectWalletsOutOfOrder() throws Exception {
+
+        UUID walletId = new UUID(5, 5);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(
+                directory.resolve("transactions-2024-03-0001.seg"), YearMonth.of(2024, 3))) {
+            writer.appendWallet(walletId, List.of(transaction(walletId, TransactionType.CREDIT, "1.00000000", createdAt)));
+
+            assertThatThrownBy(() -> writer.appendWallet(new UUID(1, 1),
+                    List.of(transaction(new UUID(1, 1), TransactionType.CREDIT, "1.00000000", createdAt))))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private WalletTransaction transaction(UUID walletId, TransactionType type, String amount, LocalDateTime createdAt) {
+        return WalletTransaction.builder()
+            .id(UUID.randomUUID())
+            .walletId(walletId)
+            .externalTransactionId(UUID.randomUUID())
+            .transactionType(type)
+            .amount(new BigDecimal(amount))
+            .currency("NGN")
+            .referenceId("REF-" + UUID.randomUUID())
+            .description("Archived transaction")
+            .status(TransactionStatus.COMPLETED)
+            .balanceBefore(BigDecimal.ZERO)
+            .balanceAfter(new BigDecimal(amount))
+            .createdAt(createdAt)
+            .updatedAt(createdAt)
+            .processedAt(createdAt)
+            .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.fraud.TransactionVelocityEngine;
+import com.interswitch.model.dtos.response.VelocityResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransactionVelocityEngineUnitTest {
+
+    private final TransactionVelocityEngine engine = new TransactionVelocityEngine("60:3:1000,3600:10:5000", 12, true);
+
+    @Test
+    void shouldAccumulateWithinWindow() {
+
+        UUID walletId = UUID.randomUUID();
+        long now = 1_700_000_000_000L;
+        engine.record(walletId, new BigDecimal("100.50"), now);
+        engine.record(walletId, new BigDecimal("200"), now + 10_000);
+
+
+        VelocityResponse snapshot = engine.snapshot(walletId, now + 20_000);
+
+
+        assertThat(snapshot.isBreached()).isFalse();
+        assertThat(snapshot.getWindows().get(0).getCount()).isEqualTo(2);
+        assertThat(snapshot.getWindows().get(0).getAmount()).isEqualByComparingTo("300.50");
+    }
+
+    @Test
+    void shouldReportBreachBeforeItHappens() {
+
+        UUID walletId = UUID.randomUUID();
+        long now = 1_700_000_000_000L;
+        for (int i = 0; i < 3; i++) {
+            engine.record(walletId, BigDecimal.TEN, now + i);
+        }
+
+
+        boolean wouldBreach = engine.wouldBreach(walletId, BigDecimal.TEN, now + 5);
+
+
+        assertThat(wouldBreach).isTrue();
+        assertThat(engine.wouldBreach(walletId, BigDecimal.TEN, now + 120_000)).isFalse();
+    }
+
+    @Test
+    void shouldExpireOldBucketsAsWindowSlides() {
+
+        UUID walletId = UUID.randomUUID();
+        long now = 1_700_000_000_000L;
+        for (int i = 0; i < 4; i++) {
+            engine.record(walletId, BigDecimal.ONE, now);
+        }
+        assertThat(engine.snapshot(walletId, now).isBreached()).isTrue();
+
+
+        VelocityResponse later = engine.snapshot(walletId, now + 90_000);
+
+
+        assertThat(later.isBreached()).isFalse();
+        assertThat(later.getWindows().get(0).getCount()).isZero();
+        assertThat(later.getWindows().get(1).getCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldOnlyRecordCommittedDebits() {
+
+        UUID walletId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.record(walletId, new BigDecimal("40"));
+            engine.record(walletId, new BigDecimal("60"));
+
+
+            VelocityResponse beforeCommit = engine.snapshot(walletId);
+            TransactionSynchronizationManager.getSynchronizations().get(1).afterCommit();
+            VelocityResponse afterCommit = engine.snapshot(walletId);
+
+
+            assertThat(beforeCommit.getWindows().get(0).getCount()).isZero();
+            assertThat(afterCommit.getWindows().get(0).getCount()).isEqualTo(1);
+            assertThat(afterCommit.getWindows().get(0).getAmount()).isEqualByComparingTo("60");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.limit.UsageRing;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UsageRingUnitTest {
+
+    @Test
+    void shouldDropBucketsThatLeaveTheWindow() {
+
+        UsageRing ring = new UsageRing(24);
+        ring.add(100, 500);
+        ring.add(110, 300);
+
+
+        long withinWindow = ring.total(123);
+        long afterFirstBucket = ring.total(124);
+        long afterBoth = ring.total(200);
+
+
+        assertThat(withinWindow).isEqualTo(800);
+        assertThat(afterFirstBucket).isEqualTo(300);
+        assertThat(afterBoth).isZero();
+    }
+
+    @Test
+    void shouldAddLateAndReleasedAmountsToTheirBucket() {
+
+        UsageRing ring = new UsageRing(24);
+        ring.total(130);
+
+
+        ring.add(120, 400);
+        ring.add(100, 900);
+        ring.add(120, -150);
+
+
+        assertThat(ring.total(130)).isEqualTo(250);
+        assertThat(ring.firstEpoch(130)).isEqualTo(107);
+    }
+}
@@ -0,0 +1,96 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.debit.DebitGate;
+import com.interswitch.core.outbox.OutboxPublisher;
+import com.interswitch.core.services.WalletBalanceService;
+import com.interswitch.infra.repositories.WalletBalanceAdjustmentRepository;
+import com.interswitch.infra.repositories.WalletBalanceRepository;
+import com.interswitch.infra.repositories.WalletRepository;
+import com.interswitch.model.entities.WalletBalance;
+import com.interswitch.model.entities.WalletBalanceAdjustment;
+import com.interswitch.model.enums.BalanceAdjustmentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WalletBalanceServiceUnitTest {
+
+    @Mock
+    private WalletBalanceRepository balanceRepository;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletBalanceAdjustmentRepository adjustmentRepository;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private DebitGate debitGate;
+
+    @InjectMocks
+    private WalletBalanceService walletBalanceService;
+
+    private UUID walletId;
+    private WalletBalance balance;
+
+    @BeforeEach
+    void setUp() {
+        walletId = UUID.randomUUID();
+        balance = WalletBalance.builder()
+            .id(UUID.randomUUID())
+            .walletId(walletId)
+            .availableBalance(new BigDecimal("100.00"))
+            .currency("NGN")
+            .lastPostingSequence(4L)
+            .build();
+        when(balanceRepository.findByWalletIdWithLock(walletId)).thenReturn(Optional.of(balance));
+        when(balanceRepository.saveAndFlush(any(WalletBalance.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void shouldRecordEveryNonTransactionChangeAsAPosting() {
+
+        UUID performedBy = UUID.randomUUID();
+
+
+        walletBalanceService.updateBalance(walletId, new BigDecimal("50.00"), performedBy);
+        walletBalanceService.reserveBalance(walletId, new BigDecimal("30.00"), performedBy);
+        walletBalanceService.releaseReservedBalance(walletId, new BigDecimal("10.00"), performedBy);
+
+
+        ArgumentCaptor<WalletBalanceAdjustment> captor = ArgumentCaptor.forClass(WalletBalanceAdjustment.class);
+        verify(adjustmentRepository, times(3)).save(captor.capture());
+        List<WalletBalanceAdjustment> adjustments = captor.getAllValues();
+        assertThat(adjustments).extracting(WalletBalanceAdjustment::getPostingSequence).containsExactly(5L, 6L, 7L);
+        assertThat(adjustments).extracting(WalletBalanceAdjustment::getAdjustmentType).containsExactly(
+            BalanceAdjustmentType.ADJUSTMENT, BalanceAdjustmentType.RESERVE, BalanceAdjustmentType.RELEASE);
+        assertThat(adjustments).extracting(WalletBalanceAdjustment::getAmount).containsExactly(
+            new BigDecimal("50.00"), new BigDecimal("-30.00"), new BigDecimal("10.00"));
+        assertThat(adjustments.get(1).getBalanceBefore()).isEqualByComparingTo(adjustments.get(0).getBalanceAfter());
+        assertThat(adjustments.get(2).getBalanceBefore()).isEqualByComparingTo(adjustments.get(1).getBalanceAfter());
+        assertThat(balance.getAvailableBalance()).isEqualByComparingTo("130.00");
+        assertThat(balance.getReservedBalance()).isEqualByComparingTo("20.00");
+        assertThat(balance.getLastPostingSequence()).isEqualTo(7L);
+    }
+}
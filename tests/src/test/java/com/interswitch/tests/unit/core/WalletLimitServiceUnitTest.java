@@ -0,0 +1,147 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.limit.LimitPeriods;
+import com.interswitch.core.limit.RollingLimitTracker;
+import com.interswitch.core.policy.WalletPolicy;
+import com.interswitch.core.policy.WalletPolicyCache;
+import com.interswitch.core.services.WalletLimitService;
+import com.interswitch.infra.repositories.WalletLimitRepository;
+import com.interswitch.infra.repositories.WalletRepository;
+import com.interswitch.model.entities.WalletLimit;
+import com.interswitch.model.enums.LimitType;
+import com.interswitch.shared.exceptions.ApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WalletLimitServiceUnitTest {
+
+    @Mock
+    private WalletLimitRepository limitRepository;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private RollingLimitTracker rollingLimitTracker;
+
+    @Mock
+    private WalletPolicyCache walletPolicyCache;
+
+    @InjectMocks
+    private WalletLimitService walletLimitService;
+
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        walletId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldConsumeEveryCumulativeLimitInOneStatement() {
+
+        BigDecimal amount = new BigDecimal("25");
+        when(limitRepository.consumeWalletUsage(eq(walletId), eq(amount), anyLong(), anyLong(), anyLong())).thenReturn(2);
+
+
+        assertThatCode(() -> walletLimitService.consumeLimits(walletId, amount,
+            List.of(LimitType.DAILY, LimitType.MONTHLY, LimitType.TRANSACTION)))
+            .doesNotThrowAnyException();
+
+
+        verify(limitRepository).consumeWalletUsage(eq(walletId), eq(amount), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldFailWhenAConcurrentDebitTookTheRemainingRoom() {
+
+        BigDecimal amount = new BigDecimal("25");
+        when(limitRepository.consumeWalletUsage(eq(walletId), eq(amount), anyLong(), anyLong(), anyLong())).thenReturn(1);
+
+
+        assertThatThrownBy(() -> walletLimitService.consumeLimits(walletId, amount,
+            List.of(LimitType.DAILY, LimitType.WEEKLY)))
+            .isInstanceOf(ApiException.class)
+            .hasMessageContaining("Limit exceeded");
+    }
+
+    @Test
+    void shouldSkipConsumptionWithoutCumulativeLimits() {
+
+        walletLimitService.consumeLimits(walletId, BigDecimal.TEN, List.of(LimitType.TRANSACTION));
+
+
+        verify(limitRepository, never()).consumeWalletUsage(any(), any(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldConsumeRollingLimitsThroughTracker() {
+
+        BigDecimal amount = new BigDecimal("25");
+        WalletLimit rolling = WalletLimit.builder()
+            .walletId(walletId)
+            .limitType(LimitType.ROLLING_30D)
+            .limitAmount(new BigDecimal("1000"))
+            .build();
+        when(walletPolicyCache.get(walletId)).thenReturn(policy(rolling));
+        when(rollingLimitTracker.consume(walletId, amount, Map.of(LimitType.ROLLING_30D, new BigDecimal("1000"))))
+            .thenReturn(List.of(LimitType.ROLLING_30D));
+
+
+        assertThatThrownBy(() -> walletLimitService.consumeLimits(walletId, amount, List.of(LimitType.ROLLING_30D)))
+            .isInstanceOf(ApiException.class)
+            .hasMessageContaining("Limit exceeded");
+
+
+        verify(limitRepository, never()).consumeWalletUsage(any(), any(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldReportFullLimitRemainingOnceThePeriodHasPassed() {
+
+        WalletLimit weekly = WalletLimit.builder()
+            .walletId(walletId)
+            .limitType(LimitType.WEEKLY)
+            .limitAmount(new BigDecimal("1000"))
+            .currentUsage(new BigDecimal("900"))
+            .usageEpoch(LimitPeriods.epoch(LimitType.WEEKLY, LocalDate.now().minusWeeks(1)))
+            .build();
+        when(walletPolicyCache.get(walletId)).thenReturn(policy(weekly));
+        when(limitRepository.findByWalletIdAndLimitTypeAndIsActiveTrue(walletId, LimitType.WEEKLY))
+            .thenReturn(Optional.of(weekly));
+
+
+        BigDecimal remaining = walletLimitService.getRemainingLimit(walletId, LimitType.WEEKLY);
+
+
+        assertThat(remaining).isEqualByComparingTo("1000");
+    }
+
+    private WalletPolicy policy(WalletLimit... limits) {
+        return WalletPolicy.of(walletId, 0L, System.currentTimeMillis(), List.of(limits), List.of());
+    }
+}
@@ -0,0 +1,129 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.policy.WalletPolicy;
+import com.interswitch.core.policy.WalletPolicyCache;
+import com.interswitch.infra.repositories.WalletLimitRepository;
+import com.interswitch.infra.repositories.WalletSettingsRepository;
+import com.interswitch.model.entities.WalletLimit;
+import com.interswitch.model.entities.WalletSettings;
+import com.interswitch.model.enums.LimitType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WalletPolicyCacheUnitTest {
+
+    @Mock
+    private WalletLimitRepository limitRepository;
+
+    @Mock
+    private WalletSettingsRepository settingsRepository;
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplate;
+
+    private WalletPolicyCache walletPolicyCache;
+
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        walletPolicyCache = new WalletPolicyCache(limitRepository, settingsRepository, redisTemplate, 60_000L, 100);
+        walletId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldServeWarmWalletsFromOneSnapshot() {
+
+        when(limitRepository.findByWalletIdAndIsActiveTrue(walletId)).thenReturn(List.of(WalletLimit.builder()
+            .walletId(walletId)
+            .limitType(LimitType.DAILY)
+            .limitAmount(new BigDecimal("500"))
+            .build()));
+        when(settingsRepository.findByWalletIdOrderBySettingKey(walletId)).thenReturn(List.of(WalletSettings.builder()
+            .walletId(walletId)
+            .settingKey("notifications")
+            .settingValue("email")
+            .build()));
+
+
+        WalletPolicy first = walletPolicyCache.get(walletId);
+        WalletPolicy second = walletPolicyCache.get(walletId);
+
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.limit(LimitType.DAILY)).get()
+            .extracting(WalletPolicy.Limit::limitAmount)
+            .isEqualTo(new BigDecimal("500"));
+        assertThat(first.limit(LimitType.MONTHLY)).isEmpty();
+        assertThat(first.setting("notifications")).isEqualTo("email");
+        verify(limitRepository, times(1)).findByWalletIdAndIsActiveTrue(walletId);
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+
+        when(limitRepository.findByWalletIdAndIsActiveTrue(walletId)).thenReturn(List.of());
+        when(settingsRepository.findByWalletIdOrderBySettingKey(walletId)).thenReturn(List.of());
+        walletPolicyCache.get(walletId);
+
+
+        walletPolicyCache.invalidate(walletId);
+        walletPolicyCache.get(walletId);
+
+
+        verify(limitRepository, times(2)).findByWalletIdAndIsActiveTrue(walletId);
+    }
+
+    @Test
+    void shouldNotCacheSnapshotLoadedAcrossAnInvalidation() {
+
+        when(limitRepository.findByWalletIdAndIsActiveTrue(walletId)).thenReturn(List.of());
+        when(settingsRepository.findByWalletIdOrderBySettingKey(walletId))
+            .thenAnswer(invocation -> {
+                walletPolicyCache.invalidate(walletId);
+                return List.of();
+            })
+            .thenReturn(List.of());
+
+
+        walletPolicyCache.get(walletId);
+        walletPolicyCache.get(walletId);
+        walletPolicyCache.get(walletId);
+
+
+        verify(limitRepository, times(2)).findByWalletIdAndIsActiveTrue(walletId);
+        assertThat(walletPolicyCache.walletCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCacheSnapshotLoadedAcrossAnotherWalletsInvalidation() {
+
+        when(limitRepository.findByWalletIdAndIsActiveTrue(walletId)).thenReturn(List.of());
+        when(settingsRepository.findByWalletIdOrderBySettingKey(walletId))
+            .thenAnswer(invocation -> {
+                walletPolicyCache.invalidate(UUID.randomUUID());
+                return List.of();
+            });
+
+
+        walletPolicyCache.get(walletId);
+        walletPolicyCache.get(walletId);
+
+
+        verify(limitRepository, times(1)).findByWalletIdAndIsActiveTrue(walletId);
+        assertThat(walletPolicyCache.walletCount()).isEqualTo(1);
+    }
+}
@@ -1,8 +1,8 @@
 package com.interswitch.tests.unit.core;
 
+import com.interswitch.core.audit.AuditLogWriter;
 import com.interswitch.core.services.WalletService;
 import com.interswitch.infra.repositories.WalletRepository;
-import com.interswitch.infra.repositories.WalletAuditLogRepository;
 import com.interswitch.model.entities.Wallet;
 import com.interswitch.model.enums.WalletStatus;
 import com.interswitch.model.enums.WalletType;
@@ -27,7 +27,7 @@ public class WalletServiceUnitTest {
     private WalletRepository walletRepository;
 
     @Mock
-    private WalletAuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
 
     @InjectMocks
     private WalletService walletService;
@@ -60,7 +60,7 @@ public class WalletServiceUnitTest {
         assertThat(result).isNotNull();
         assertThat(result.getUserId()).isEqualTo(userId);
         verify(walletRepository).save(any(Wallet.class));
-        verify(auditLogRepository).save(any());
+        verify(auditLogWriter).write(eq(savedWallet.getId()), eq("WALLET_CREATED"), eq("wallet"), any(), any(), any(), eq(performedBy));
     }
 
     @Test
@@ -0,0 +1,96 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.audit.AuditLogWriter;
+import com.interswitch.core.policy.WalletPolicyCache;
+import com.interswitch.core.services.WalletSettingsService;
+import com.interswitch.infra.repositories.WalletSettingsRepository;
+import com.interswitch.infra.settings.BulkSettingsRepository;
+import com.interswitch.model.entities.WalletSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WalletSettingsServiceUnitTest {
+
+    @Mock
+    private WalletSettingsRepository settingsRepository;
+
+    @Mock
+    private BulkSettingsRepository bulkSettingsRepository;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private WalletPolicyCache walletPolicyCache;
+
+    @InjectMocks
+    private WalletSettingsService walletSettingsService;
+
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        walletId = UUID.randomUUID();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldUpsertBatchInOneStatementAndAuditOnlyChanges() {
+
+        UUID currencyId = UUID.randomUUID();
+        UUID localeId = UUID.randomUUID();
+        LocalDateTime created = LocalDateTime.now().minusDays(3);
+        List<Object[]> states = new ArrayList<>();
+        states.add(new Object[]{"currency", currencyId, "NGN", false, created});
+        states.add(new Object[]{"locale", localeId, "en", false, created});
+        when(settingsRepository.findSettingStates(eq(walletId), any())).thenReturn(states);
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("currency", "USD");
+        settings.put("locale", "en");
+        settings.put("webhook", "https://merchant.example/hooks");
+
+
+        List<WalletSettings> result = walletSettingsService.createOrUpdateBatch(walletId, settings, UUID.randomUUID());
+
+
+        assertThat(result).extracting(WalletSettings::getSettingKey).containsExactly("currency", "locale", "webhook");
+        assertThat(result.get(0).getId()).isEqualTo(currencyId);
+        assertThat(result.get(0).getCreatedAt()).isEqualTo(created);
+        assertThat(result.get(1).getId()).isEqualTo(localeId);
+        assertThat(result.get(2).getId()).isNotNull();
+        verify(bulkSettingsRepository).upsert(result);
+        verify(walletPolicyCache).invalidate(walletId);
+        ArgumentCaptor<List<AuditLogWriter.Event>> audits = ArgumentCaptor.forClass(List.class);
+        verify(auditLogWriter).writeAll(audits.capture());
+        assertThat(audits.getValue()).extracting(AuditLogWriter.Event::action)
+            .containsExactly("SETTING_VALUE_UPDATED", "SETTING_CREATED");
+        verify(settingsRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldSkipEmptyBatch() {
+
+        List<WalletSettings> result = walletSettingsService.createOrUpdateBatch(walletId, Map.of(), UUID.randomUUID());
+
+
+        assertThat(result).isEmpty();
+        verifyNoInteractions(bulkSettingsRepository, auditLogWriter);
+    }
+}
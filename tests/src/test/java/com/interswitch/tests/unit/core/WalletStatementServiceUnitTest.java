@@ -0,0 +1,128 @@
+package com.interswitch.tests.unit.core;
+
+import com.interswitch.core.archive.TransactionArchiveService;
+import com.interswitch.core.services.WalletStatementService;
+import com.interswitch.infra.repositories.WalletBalanceAdjustmentRepository;
+import com.interswitch.infra.repositories.WalletBalanceRepository;
+import com.interswitch.infra.repositories.WalletTransactionRepository;
+import com.interswitch.model.dtos.response.StatementVerificationResponse;
+import com.interswitch.model.entities.WalletBalance;
+import com.interswitch.model.entities.WalletBalanceAdjustment;
+import com.interswitch.model.entities.WalletTransaction;
+import com.interswitch.model.enums.BalanceAdjustmentType;
+import com.interswitch.model.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WalletStatementServiceUnitTest {
+
+    @Mock
+    private WalletBalanceRepository balanceRepository;
+
+    @Mock
+    private WalletTransactionRepository transactionRepository;
+
+    @Mock
+    private WalletBalanceAdjustmentRepository adjustmentRepository;
+
+    @Mock
+    private TransactionArchiveService transactionArchiveService;
+
+    @InjectMocks
+    private WalletStatementService walletStatementService;
+
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(walletStatementService, "chunkSize", 2);
+        walletId = UUID.randomUUID();
+        when(balanceRepository.findByWalletId(walletId)).thenReturn(Optional.of(WalletBalance.builder()
+            .walletId(walletId)
+            .availableBalance(new BigDecimal("70.00"))
+            .reservedBalance(new BigDecimal("30.00"))
+            .currency("NGN")
+            .lastPostingSequence(4L)
+            .build()));
+    }
+
+    @Test
+    void shouldChainThroughAdjustmentsAndTransactions() {
+
+        when(adjustmentRepository.findPostingsInRange(walletId, 1L, 3L)).thenReturn(List.of(
+            adjustment(1, BalanceAdjustmentType.OPENING, "0", "100.00")));
+        when(transactionRepository.findPostingsInRange(walletId, 1L, 3L)).thenReturn(List.of(
+            transaction(2, TransactionType.DEBIT, "100.00", "20.00")));
+        when(adjustmentRepository.findPostingsInRange(walletId, 3L, 5L)).thenReturn(List.of(
+            adjustment(3, BalanceAdjustmentType.RESERVE, "80.00", "-30.00")));
+        when(transactionRepository.findPostingsInRange(walletId, 3L, 5L)).thenReturn(List.of(
+            transaction(4, TransactionType.CREDIT, "50.00", "20.00")));
+
+
+        StatementVerificationResponse response = walletStatementService.verifyStatement(walletId);
+
+
+        assertThat(response.isConsistent()).isTrue();
+        assertThat(response.getVerifiedSequence()).isEqualTo(4L);
+        assertThat(response.getPostingsChecked()).isEqualTo(4L);
+        assertThat(response.getVerifiedBalance()).isEqualByComparingTo("70.00");
+        verify(balanceRepository).advanceVerifiedSequence(eq(walletId), eq(4L), argThat(b -> b.compareTo(new BigDecimal("70.00")) == 0));
+    }
+
+    @Test
+    void shouldReportTheFirstPostingThatDoesNotContinueTheChain() {
+
+        when(adjustmentRepository.findPostingsInRange(walletId, 1L, 3L)).thenReturn(List.of(
+            adjustment(1, BalanceAdjustmentType.OPENING, "0", "100.00")));
+        when(transactionRepository.findPostingsInRange(walletId, 1L, 3L)).thenReturn(List.of(
+            transaction(2, TransactionType.DEBIT, "90.00", "20.00")));
+
+
+        StatementVerificationResponse response = walletStatementService.verifyStatement(walletId);
+
+
+        assertThat(response.isConsistent()).isFalse();
+        assertThat(response.getBrokenAtSequence()).isEqualTo(2L);
+        assertThat(response.getVerifiedSequence()).isEqualTo(1L);
+    }
+
+    private WalletBalanceAdjustment adjustment(long sequence, BalanceAdjustmentType type, String before, String amount) {
+        BigDecimal balanceBefore = new BigDecimal(before);
+        return WalletBalanceAdjustment.builder()
+            .walletId(walletId)
+            .postingSequence(sequence)
+            .adjustmentType(type)
+            .amount(new BigDecimal(amount))
+            .balanceBefore(balanceBefore)
+            .balanceAfter(balanceBefore.add(new BigDecimal(amount)))
+            .build();
+    }
+
+    private WalletTransaction transaction(long sequence, TransactionType type, String before, String amount) {
+        BigDecimal balanceBefore = new BigDecimal(before);
+        BigDecimal signed = type == TransactionType.DEBIT ? new BigDecimal(amount).negate() : new BigDecimal(amount);
+        return WalletTransaction.builder()
+            .walletId(walletId)
+            .postingSequence(sequence)
+            .transactionType(type)
+            .amount(new BigDecimal(amount))
+            .balanceBefore(balanceBefore)
+            .balanceAfter(balanceBefore.add(signed))
+            .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.interswitch.tests.unit.web;
+
+import com.interswitch.core.archive.TransactionArchiveService;
+import com.interswitch.core.ratelimit.TransactionRateLimiter;
+import com.interswitch.core.services.WalletTransactionService;
+import com.interswitch.infra.repositories.WalletRepository;
+import com.interswitch.model.enums.WalletType;
+import com.interswitch.web.controller.WalletTransactionController;
+import com.interswitch.web.exceptions.GlobalExceptionHandler;
+import com.interswitch.web.filter.AuditRequestContextFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class WalletTransactionControllerUnitTest {
+
+    @Mock
+    private WalletTransactionService walletTransactionService;
+
+    @Mock
+    private TransactionArchiveService transactionArchiveService;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplate;
+
+    private MockMvc mockMvc;
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("wallet.rate-limit.client.rate-per-second", "0.1")
+                .withProperty("wallet.rate-limit.client.burst", "1");
+        TransactionRateLimiter rateLimiter = new TransactionRateLimiter(walletRepository, redisTemplate, environment);
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "unknownWalletTtlMillis", 60_000L);
+        ReflectionTestUtils.setField(rateLimiter, "maxUnknownWallets", 100);
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new WalletTransactionController(walletTransactionService, transactionArchiveService,
+                        rateLimiter))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(new AuditRequestContextFilter())
+                .build();
+        walletId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldReturn429WithRetryAfterWhenTheCallerAddressRunsOutOfTokens() throws Exception {
+
+        when(walletRepository.findWalletTypeById(walletId)).thenReturn(Optional.of(WalletType.BUSINESS));
+        mockMvc.perform(createTransaction().header("X-Client-Id", "first"));
+
+
+        mockMvc.perform(createTransaction()
+                        .header("X-Client-Id", "second")
+                        .header("X-Forwarded-For", "203.0.113.9"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.message").value("Too many requests"));
+    }
+
+    @Test
+    void shouldThrottleAuthenticatedCallersByPrincipal() throws Exception {
+
+        when(walletRepository.findWalletTypeById(walletId)).thenReturn(Optional.of(WalletType.BUSINESS));
+        mockMvc.perform(createTransaction().principal(() -> "alice"));
+
+
+        mockMvc.perform(createTransaction().principal(() -> "bob"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(createTransaction().principal(() -> "alice"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void shouldLookUpAnUnknownWalletOnlyOnce() throws Exception {
+
+        when(walletRepository.findWalletTypeById(walletId)).thenReturn(Optional.empty());
+
+
+        mockMvc.perform(createTransaction().principal(() -> "alice"));
+        mockMvc.perform(createTransaction().principal(() -> "bob"));
+
+
+        verify(walletRepository).findWalletTypeById(walletId);
+    }
+
+    // Helper methods
+    private MockHttpServletRequestBuilder createTransaction() {
+        return post("/wallet-transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"walletId\":\"" + walletId + "\",\"transactionType\":\"CREDIT\",\"amount\":10,"
+                        + "\"currency\":\"NGN\",\"performedBy\":\"" + UUID.randomUUID() + "\"}");
+    }
+}
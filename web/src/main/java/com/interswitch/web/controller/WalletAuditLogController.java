@@ -1,6 +1,8 @@
 package com.interswitch.web.controller;
 
 import com.interswitch.core.services.WalletAuditLogService;
+import com.interswitch.model.dtos.response.ActivityCountResponse;
+import com.interswitch.model.entities.AuditRetentionRun;
 import com.interswitch.model.entities.WalletAuditLog;
 import com.interswitch.web.response.SuccessResponse;
 import lombok.RequiredArgsConstructor;
@@ -57,6 +59,24 @@ public class WalletAuditLogController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/wallet/{walletId}/recent")
+    public ResponseEntity<SuccessResponse<List<WalletAuditLog>>> getRecentWalletAuditLogs(
+            @PathVariable UUID walletId,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Getting recent audit logs for wallet: {} with limit: {}", walletId, limit);
+
+        List<WalletAuditLog> auditLogs = auditLogService.getRecentWalletAuditLogs(walletId, limit);
+
+        SuccessResponse<List<WalletAuditLog>> response = SuccessResponse.<List<WalletAuditLog>>builder()
+            .message("Recent audit logs retrieved successfully")
+            .description("Most recent audit logs for the wallet")
+            .statusCode(HttpStatus.OK.value())
+            .data(auditLogs)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/wallet/{walletId}/action/{action}")
     public ResponseEntity<SuccessResponse<Page<WalletAuditLog>>> getWalletAuditLogsByAction(
             @PathVariable UUID walletId,
@@ -171,6 +191,54 @@ public class WalletAuditLogController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/actions")
+    public ResponseEntity<SuccessResponse<List<String>>> getDistinctActions() {
+        log.debug("Getting distinct audit actions");
+
+        List<String> values = auditLogService.getDistinctActions();
+
+        SuccessResponse<List<String>> response = SuccessResponse.<List<String>>builder()
+            .message("Audit actions retrieved successfully")
+            .description("Distinct actions recorded in audit logs")
+            .statusCode(HttpStatus.OK.value())
+            .data(values)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/entity-types")
+    public ResponseEntity<SuccessResponse<List<String>>> getDistinctEntityTypes() {
+        log.debug("Getting distinct audit entity types");
+
+        List<String> values = auditLogService.getDistinctEntityTypes();
+
+        SuccessResponse<List<String>> response = SuccessResponse.<List<String>>builder()
+            .message("Audit entity types retrieved successfully")
+            .description("Distinct entity types recorded in audit logs")
+            .statusCode(HttpStatus.OK.value())
+            .data(values)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/performers")
+    public ResponseEntity<SuccessResponse<List<UUID>>> getDistinctPerformers() {
+        log.debug("Getting distinct audit performers");
+
+        List<UUID> values = auditLogService.getDistinctPerformers();
+
+        SuccessResponse<List<UUID>> response = SuccessResponse.<List<UUID>>builder()
+            .message("Audit performers retrieved successfully")
+            .description("Distinct users that performed audited actions")
+            .statusCode(HttpStatus.OK.value())
+            .data(values)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/recent")
     public ResponseEntity<SuccessResponse<List<WalletAuditLog>>> getRecentAuditLogs(
             @RequestParam(defaultValue = "100") int limit) {
@@ -188,6 +256,62 @@ public class WalletAuditLogController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/suspicious-ips")
+    public ResponseEntity<SuccessResponse<List<ActivityCountResponse>>> getSuspiciousIpActivity(
+            @RequestParam LocalDateTime since,
+            @RequestParam(defaultValue = "100") long threshold) {
+        log.info("Getting IPs with more than {} actions since {}", threshold, since);
+
+        List<ActivityCountResponse> counts = auditLogService.getSuspiciousIpActivity(since, threshold);
+
+        SuccessResponse<List<ActivityCountResponse>> response = SuccessResponse.<List<ActivityCountResponse>>builder()
+            .message("Suspicious IP activity retrieved successfully")
+            .description("IP addresses with more audited actions than the threshold")
+            .statusCode(HttpStatus.OK.value())
+            .data(counts)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/most-active-users")
+    public ResponseEntity<SuccessResponse<List<ActivityCountResponse>>> getMostActiveUsers(
+            @RequestParam LocalDateTime startDate,
+            @RequestParam LocalDateTime endDate,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Getting {} most active users between {} and {}", limit, startDate, endDate);
+
+        List<ActivityCountResponse> counts = auditLogService.getMostActiveUsers(startDate, endDate, limit);
+
+        SuccessResponse<List<ActivityCountResponse>> response = SuccessResponse.<List<ActivityCountResponse>>builder()
+            .message("Most active users retrieved successfully")
+            .description("Users ranked by audited actions in the date range")
+            .statusCode(HttpStatus.OK.value())
+            .data(counts)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/most-active-wallets")
+    public ResponseEntity<SuccessResponse<List<ActivityCountResponse>>> getMostActiveWallets(
+            @RequestParam LocalDateTime startDate,
+            @RequestParam LocalDateTime endDate,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Getting {} most active wallets between {} and {}", limit, startDate, endDate);
+
+        List<ActivityCountResponse> counts = auditLogService.getMostActiveWallets(startDate, endDate, limit);
+
+        SuccessResponse<List<ActivityCountResponse>> response = SuccessResponse.<List<ActivityCountResponse>>builder()
+            .message("Most active wallets retrieved successfully")
+            .description("Wallets ranked by audited actions in the date range")
+            .statusCode(HttpStatus.OK.value())
+            .data(counts)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<SuccessResponse<Page<WalletAuditLog>>> searchAuditLogs(
             @RequestParam(required = false) UUID walletId,
@@ -231,4 +355,53 @@ public class WalletAuditLogController {
             
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/retention-runs")
+    public ResponseEntity<SuccessResponse<AuditRetentionRun>> startRetentionRun(
+            @RequestParam(required = false) LocalDateTime cutoffDate) {
+        log.info("Starting audit retention run (cutoff: {})", cutoffDate);
+
+        AuditRetentionRun run = auditLogService.cleanupOldAuditLogs(cutoffDate);
+
+        SuccessResponse<AuditRetentionRun> response = SuccessResponse.<AuditRetentionRun>builder()
+            .message("Audit retention started")
+            .description("Expired audit logs are being archived and purged in the background")
+            .statusCode(HttpStatus.ACCEPTED.value())
+            .data(run)
+            .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/retention-runs")
+    public ResponseEntity<SuccessResponse<Page<AuditRetentionRun>>> getRetentionRuns(Pageable pageable) {
+        log.info("Getting audit retention runs");
+
+        Page<AuditRetentionRun> runs = auditLogService.getRetentionRuns(pageable);
+
+        SuccessResponse<Page<AuditRetentionRun>> response = SuccessResponse.<Page<AuditRetentionRun>>builder()
+            .message("Audit retention runs retrieved successfully")
+            .description("Audit retention runs, newest first")
+            .statusCode(HttpStatus.OK.value())
+            .data(runs)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/retention-runs/{runId}")
+    public ResponseEntity<SuccessResponse<AuditRetentionRun>> getRetentionRun(@PathVariable UUID runId) {
+        log.info("Getting audit retention run: {}", runId);
+
+        AuditRetentionRun run = auditLogService.getRetentionRun(runId);
+
+        SuccessResponse<AuditRetentionRun> response = SuccessResponse.<AuditRetentionRun>builder()
+            .message("Audit retention run retrieved successfully")
+            .description("Audit retention run progress")
+            .statusCode(HttpStatus.OK.value())
+            .data(run)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
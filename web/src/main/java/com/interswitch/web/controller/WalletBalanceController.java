@@ -1,8 +1,11 @@
 package com.interswitch.web.controller;
 
 import com.interswitch.core.services.WalletBalanceService;
+import com.interswitch.core.services.WalletStatementService;
 import com.interswitch.model.dtos.request.ReserveBalanceRequest;
 import com.interswitch.model.dtos.request.UpdateBalanceRequest;
+import com.interswitch.model.dtos.response.DebitEligibilityResponse;
+import com.interswitch.model.dtos.response.StatementVerificationResponse;
 import com.interswitch.model.entities.WalletBalance;
 import com.interswitch.web.response.SuccessResponse;
 import jakarta.validation.Valid;
@@ -22,6 +25,7 @@ import java.util.UUID;
 public class WalletBalanceController {
 
     private final WalletBalanceService walletBalanceService;
+    private final WalletStatementService walletStatementService;
 
     @GetMapping("/{walletId}")
     public ResponseEntity<SuccessResponse<WalletBalance>> getBalance(@PathVariable UUID walletId) {
@@ -122,6 +126,24 @@ public class WalletBalanceController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{walletId}/debit-eligibility")
+    public ResponseEntity<SuccessResponse<DebitEligibilityResponse>> checkDebitEligibility(
+            @PathVariable UUID walletId,
+            @RequestParam BigDecimal amount) {
+        log.info("Checking debit eligibility for wallet: {}", walletId);
+
+        DebitEligibilityResponse eligibility = walletBalanceService.checkDebitEligibility(walletId, amount);
+
+        SuccessResponse<DebitEligibilityResponse> response = SuccessResponse.<DebitEligibilityResponse>builder()
+            .message("Debit eligibility check completed")
+            .description("Debit eligibility decision with reasons")
+            .statusCode(HttpStatus.OK.value())
+            .data(eligibility)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/user/{userId}/total")
     public ResponseEntity<SuccessResponse<BigDecimal>> getTotalBalanceByUser(
             @PathVariable UUID userId,
@@ -156,4 +178,21 @@ public class WalletBalanceController {
             
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/{walletId}/verify-statement")
+    public ResponseEntity<SuccessResponse<StatementVerificationResponse>> verifyStatement(
+            @PathVariable UUID walletId) {
+        log.info("Verifying statement for wallet: {}", walletId);
+
+        StatementVerificationResponse verification = walletStatementService.verifyStatement(walletId);
+
+        SuccessResponse<StatementVerificationResponse> response = SuccessResponse.<StatementVerificationResponse>builder()
+            .message("Statement verification completed")
+            .description("Postings checked from the last verified sequence")
+            .statusCode(HttpStatus.OK.value())
+            .data(verification)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,18 +1,30 @@
 package com.interswitch.web.controller;
 
 
+import com.interswitch.core.freeze.FreezeSweepService;
 import com.interswitch.core.services.WalletFreezeService;
+import com.interswitch.model.dtos.request.BulkFreezeRequest;
+import com.interswitch.model.dtos.request.BulkUnfreezeRequest;
 import com.interswitch.model.dtos.request.CreateFreezeRequest;
+import com.interswitch.model.entities.FreezeSweep;
 import com.interswitch.model.entities.WalletFreeze;
+import com.interswitch.model.enums.FreezeSweepOutcome;
 import com.interswitch.model.enums.FreezeType;
 import com.interswitch.web.response.SuccessResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -165,4 +177,128 @@ public class WalletFreezeController {
             
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/bulk")
+    public ResponseEntity<SuccessResponse<FreezeSweep>> bulkFreeze(@Valid @RequestBody BulkFreezeRequest request) {
+        log.info("Bulk freezing {} wallets", request.getWalletIds().size());
+
+        FreezeSweep sweep = walletFreezeService.bulkFreeze(
+            request.getWalletIds(),
+            request.getFreezeType(),
+            request.getFrozenAmount(),
+            request.getReason(),
+            request.getExpiresAt(),
+            request.getPerformedBy()
+        );
+
+        return sweepAccepted(sweep, "Bulk freeze started");
+    }
+
+    // Same as /bulk with the wallet IDs uploaded as a file, one per line
+    @PostMapping(value = "/bulk/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<SuccessResponse<FreezeSweep>> bulkFreezeFile(
+            @RequestParam MultipartFile file,
+            @RequestParam FreezeType freezeType,
+            @RequestParam(required = false) BigDecimal frozenAmount,
+            @RequestParam String reason,
+            @RequestParam(required = false) LocalDateTime expiresAt,
+            @RequestParam UUID performedBy) throws IOException {
+        log.info("Bulk freezing wallets from file: {}", file.getOriginalFilename());
+
+        List<UUID> walletIds = FreezeSweepService.readWalletIds(file.getInputStream());
+        FreezeSweep sweep = walletFreezeService.bulkFreeze(
+            walletIds, freezeType, frozenAmount, reason, expiresAt, performedBy);
+
+        return sweepAccepted(sweep, "Bulk freeze started");
+    }
+
+    @PostMapping("/bulk-remove")
+    public ResponseEntity<SuccessResponse<FreezeSweep>> bulkUnfreeze(@Valid @RequestBody BulkUnfreezeRequest request) {
+        log.info("Bulk unfreezing {} wallets", request.getWalletIds().size());
+
+        FreezeSweep sweep = walletFreezeService.bulkUnfreeze(
+            request.getWalletIds(),
+            request.getFreezeType(),
+            request.getPerformedBy()
+        );
+
+        return sweepAccepted(sweep, "Bulk unfreeze started");
+    }
+
+    @PostMapping(value = "/bulk-remove/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<SuccessResponse<FreezeSweep>> bulkUnfreezeFile(
+            @RequestParam MultipartFile file,
+            @RequestParam(required = false) FreezeType freezeType,
+            @RequestParam UUID performedBy) throws IOException {
+        log.info("Bulk unfreezing wallets from file: {}", file.getOriginalFilename());
+
+        List<UUID> walletIds = FreezeSweepService.readWalletIds(file.getInputStream());
+        FreezeSweep sweep = walletFreezeService.bulkUnfreeze(walletIds, freezeType, performedBy);
+
+        return sweepAccepted(sweep, "Bulk unfreeze started");
+    }
+
+    @GetMapping("/sweeps")
+    public ResponseEntity<SuccessResponse<Page<FreezeSweep>>> getFreezeSweeps(Pageable pageable) {
+        log.info("Getting freeze sweeps");
+
+        Page<FreezeSweep> sweeps = walletFreezeService.getFreezeSweeps(pageable);
+
+        SuccessResponse<Page<FreezeSweep>> response = SuccessResponse.<Page<FreezeSweep>>builder()
+            .message("Freeze sweeps retrieved successfully")
+            .description("Bulk freeze and unfreeze sweeps, newest first")
+            .statusCode(HttpStatus.OK.value())
+            .data(sweeps)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/sweeps/{sweepId}")
+    public ResponseEntity<SuccessResponse<FreezeSweep>> getFreezeSweep(@PathVariable UUID sweepId) {
+        log.info("Getting freeze sweep: {}", sweepId);
+
+        FreezeSweep sweep = walletFreezeService.getFreezeSweep(sweepId);
+
+        SuccessResponse<FreezeSweep> response = SuccessResponse.<FreezeSweep>builder()
+            .message("Freeze sweep retrieved successfully")
+            .description("Freeze sweep progress and outcome counts")
+            .statusCode(HttpStatus.OK.value())
+            .data(sweep)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    // Wallet IDs with the given outcome; pass the last ID of a page as "after" to get the next one
+    @GetMapping("/sweeps/{sweepId}/wallets")
+    public ResponseEntity<SuccessResponse<List<UUID>>> getFreezeSweepWallets(
+            @PathVariable UUID sweepId,
+            @RequestParam FreezeSweepOutcome outcome,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "1000") int limit) {
+        log.info("Getting {} wallets of freeze sweep: {}", outcome, sweepId);
+
+        List<UUID> walletIds = walletFreezeService.getFreezeSweepWallets(sweepId, outcome, after, limit);
+
+        SuccessResponse<List<UUID>> response = SuccessResponse.<List<UUID>>builder()
+            .message("Freeze sweep wallets retrieved successfully")
+            .description("Wallets of the sweep with outcome " + outcome)
+            .statusCode(HttpStatus.OK.value())
+            .data(walletIds)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<SuccessResponse<FreezeSweep>> sweepAccepted(FreezeSweep sweep, String message) {
+        SuccessResponse<FreezeSweep> response = SuccessResponse.<FreezeSweep>builder()
+            .message(message)
+            .description(sweep.getWalletsRequested() + " distinct wallets are being processed in the background")
+            .statusCode(HttpStatus.ACCEPTED.value())
+            .data(sweep)
+            .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
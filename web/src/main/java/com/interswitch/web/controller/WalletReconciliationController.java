@@ -0,0 +1,91 @@
+package com.interswitch.web.controller;
+
+import com.interswitch.core.reconciliation.BalanceReconciliationService;
+import com.interswitch.model.entities.ReconciliationMismatch;
+import com.interswitch.model.entities.ReconciliationRun;
+import com.interswitch.web.response.SuccessResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/wallet-reconciliation")
+@RequiredArgsConstructor
+@Slf4j
+public class WalletReconciliationController {
+
+    private final BalanceReconciliationService balanceReconciliationService;
+
+    @PostMapping("/runs")
+    public ResponseEntity<SuccessResponse<ReconciliationRun>> startRun(
+            @RequestParam(defaultValue = "false") boolean full) {
+        log.info("Starting reconciliation run (full: {})", full);
+
+        ReconciliationRun run = balanceReconciliationService.startRun(full);
+
+        SuccessResponse<ReconciliationRun> response = SuccessResponse.<ReconciliationRun>builder()
+            .message("Reconciliation started")
+            .description("Reconciliation run is processing in the background")
+            .statusCode(HttpStatus.ACCEPTED.value())
+            .data(run)
+            .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<SuccessResponse<Page<ReconciliationRun>>> getRuns(Pageable pageable) {
+        log.info("Getting reconciliation runs");
+
+        Page<ReconciliationRun> runs = balanceReconciliationService.getRuns(pageable);
+
+        SuccessResponse<Page<ReconciliationRun>> response = SuccessResponse.<Page<ReconciliationRun>>builder()
+            .message("Reconciliation runs retrieved successfully")
+            .description("Reconciliation runs, newest first")
+            .statusCode(HttpStatus.OK.value())
+            .data(runs)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<SuccessResponse<ReconciliationRun>> getRun(@PathVariable UUID runId) {
+        log.info("Getting reconciliation run: {}", runId);
+
+        ReconciliationRun run = balanceReconciliationService.getRun(runId);
+
+        SuccessResponse<ReconciliationRun> response = SuccessResponse.<ReconciliationRun>builder()
+            .message("Reconciliation run retrieved successfully")
+            .description("Reconciliation run progress")
+            .statusCode(HttpStatus.OK.value())
+            .data(run)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/runs/{runId}/mismatches")
+    public ResponseEntity<SuccessResponse<Page<ReconciliationMismatch>>> getMismatches(
+            @PathVariable UUID runId,
+            Pageable pageable) {
+        log.info("Getting mismatches for reconciliation run: {}", runId);
+
+        Page<ReconciliationMismatch> mismatches = balanceReconciliationService.getMismatches(runId, pageable);
+
+        SuccessResponse<Page<ReconciliationMismatch>> response = SuccessResponse.<Page<ReconciliationMismatch>>builder()
+            .message("Mismatch report retrieved successfully")
+            .description("Wallets whose balance does not match their posting chain")
+            .statusCode(HttpStatus.OK.value())
+            .data(mismatches)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,12 +1,17 @@
 package com.interswitch.web.controller;
 
+import com.interswitch.core.archive.TransactionArchiveService;
+import com.interswitch.core.audit.AuditRequestContext;
+import com.interswitch.core.ratelimit.TransactionRateLimiter;
 import com.interswitch.core.services.WalletTransactionService;
 import com.interswitch.model.dtos.request.CreateTransactionRequest;
 import com.interswitch.model.dtos.request.UpdateTransactionStatusRequest;
+import com.interswitch.model.dtos.response.TransactionArchiveResponse;
 import com.interswitch.model.entities.WalletTransaction;
 import com.interswitch.model.enums.TransactionStatus;
 import com.interswitch.model.enums.TransactionType;
 import com.interswitch.web.response.SuccessResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,7 +22,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.security.Principal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -27,12 +35,23 @@ import java.util.UUID;
 public class WalletTransactionController {
 
     private final WalletTransactionService walletTransactionService;
+    private final TransactionArchiveService transactionArchiveService;
+    private final TransactionRateLimiter transactionRateLimiter;
 
     @PostMapping
     public ResponseEntity<SuccessResponse<WalletTransaction>> createTransaction(
-            @Valid @RequestBody CreateTransactionRequest request) {
+            @Valid @RequestBody CreateTransactionRequest request,
+            Principal principal,
+            HttpServletRequest httpRequest) {
         log.info("Creating transaction for wallet: {}", request.getWalletId());
 
+        // Throttle before any transaction work, per authenticated principal, else per caller address as resolved
+        // by AuditRequestContextFilter (forwarded addresses only behind a trusted proxy)
+        String callerAddress = AuditRequestContext.current().ipAddress();
+        transactionRateLimiter.acquire(request.getWalletId(), principal != null
+            ? "principal:" + principal.getName()
+            : "address:" + (callerAddress != null ? callerAddress : httpRequest.getRemoteAddr()));
+
         WalletTransaction transaction = walletTransactionService.createTransaction(
             request.getWalletId(),
             request.getExternalTransactionId(),
@@ -72,6 +91,41 @@ public class WalletTransactionController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/recent")
+    public ResponseEntity<SuccessResponse<List<WalletTransaction>>> getRecentTransactions(
+            @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Getting recent transactions with limit: {}", limit);
+
+        List<WalletTransaction> transactions = walletTransactionService.getRecentTransactions(limit);
+
+        SuccessResponse<List<WalletTransaction>> response = SuccessResponse.<List<WalletTransaction>>builder()
+            .message("Recent transactions retrieved successfully")
+            .description("Most recent transactions")
+            .statusCode(HttpStatus.OK.value())
+            .data(transactions)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/wallet/{walletId}/recent")
+    public ResponseEntity<SuccessResponse<List<WalletTransaction>>> getRecentWalletTransactions(
+            @PathVariable UUID walletId,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Getting recent transactions for wallet: {} with limit: {}", walletId, limit);
+
+        List<WalletTransaction> transactions = walletTransactionService.getRecentWalletTransactions(walletId, limit);
+
+        SuccessResponse<List<WalletTransaction>> response = SuccessResponse.<List<WalletTransaction>>builder()
+            .message("Recent transactions retrieved successfully")
+            .description("Most recent transactions for the wallet")
+            .statusCode(HttpStatus.OK.value())
+            .data(transactions)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/wallet/{walletId}")
     public ResponseEntity<SuccessResponse<Page<WalletTransaction>>> getWalletTransactions(
             @PathVariable UUID walletId,
@@ -246,4 +300,21 @@ public class WalletTransactionController {
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/archive/{month}")
+    public ResponseEntity<SuccessResponse<TransactionArchiveResponse>> archiveMonth(
+            @PathVariable YearMonth month) {
+        log.info("Archiving transactions for: {}", month);
+
+        TransactionArchiveResponse archive = transactionArchiveService.archiveMonth(month);
+
+        SuccessResponse<TransactionArchiveResponse> response = SuccessResponse.<TransactionArchiveResponse>builder()
+            .message("Transactions archived successfully")
+            .description("Settled transactions for the month have been moved to archive segments")
+            .statusCode(HttpStatus.OK.value())
+            .data(archive)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
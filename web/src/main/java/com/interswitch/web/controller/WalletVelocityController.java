@@ -0,0 +1,54 @@
+package com.interswitch.web.controller;
+
+import com.interswitch.core.fraud.TransactionVelocityEngine;
+import com.interswitch.model.dtos.response.VelocityResponse;
+import com.interswitch.web.response.SuccessResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/wallet-velocity")
+@RequiredArgsConstructor
+@Slf4j
+public class WalletVelocityController {
+
+    private final TransactionVelocityEngine transactionVelocityEngine;
+
+    @GetMapping("/{walletId}")
+    public ResponseEntity<SuccessResponse<VelocityResponse>> getWalletVelocity(@PathVariable UUID walletId) {
+        log.info("Getting velocity for wallet: {}", walletId);
+
+        VelocityResponse velocity = transactionVelocityEngine.snapshot(walletId);
+
+        SuccessResponse<VelocityResponse> response = SuccessResponse.<VelocityResponse>builder()
+            .message("Velocity retrieved successfully")
+            .description("Current transaction velocity for each configured window")
+            .statusCode(HttpStatus.OK.value())
+            .data(velocity)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/breaches")
+    public ResponseEntity<SuccessResponse<List<VelocityResponse>>> getBreaches() {
+        log.info("Getting wallets over velocity thresholds");
+
+        List<VelocityResponse> breaches = transactionVelocityEngine.breaches();
+
+        SuccessResponse<List<VelocityResponse>> response = SuccessResponse.<List<VelocityResponse>>builder()
+            .message("Velocity breaches retrieved successfully")
+            .description("Wallets currently over a velocity threshold")
+            .statusCode(HttpStatus.OK.value())
+            .data(breaches)
+            .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
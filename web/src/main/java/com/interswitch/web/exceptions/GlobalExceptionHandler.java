@@ -2,6 +2,7 @@ package com.interswitch.web.exceptions;
 
 
 import com.interswitch.shared.exceptions.ApiException;
+import com.interswitch.shared.exceptions.RateLimitExceededException;
 import com.interswitch.web.response.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
@@ -30,6 +31,15 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), ex.getDescription(), HttpStatus.BAD_REQUEST, request);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex, HttpServletRequest request) {
+        log.warn("Rate limit exceeded: {}", ex.getDescription());
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(ex.getMessage(), ex.getDescription(), HttpStatus.TOO_MANY_REQUESTS, request);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex, HttpServletRequest request) {
         log.error("Validation Error: ", ex);
@@ -0,0 +1,55 @@
+package com.interswitch.web.filter;
+
+import com.interswitch.core.audit.AuditRequestContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Binds the caller's IP address and user agent to the request thread for audit records
+@Component
+public class AuditRequestContextFilter extends OncePerRequestFilter {
+
+    private static final int MAX_IP_LENGTH = 45;
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+
+    // Only enable behind a proxy that overwrites X-Forwarded-For; clients can set it themselves
+    @Value("${wallet.audit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String userAgent = request.getHeader("User-Agent");
+        if (userAgent != null && userAgent.length() > MAX_USER_AGENT_LENGTH) {
+            userAgent = userAgent.substring(0, MAX_USER_AGENT_LENGTH);
+        }
+        String ipAddress = clientIp(request);
+        if (ipAddress != null && ipAddress.length() > MAX_IP_LENGTH) {
+            ipAddress = ipAddress.substring(0, MAX_IP_LENGTH);
+        }
+        AuditRequestContext.set(ipAddress, userAgent);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            AuditRequestContext.clear();
+        }
+    }
+
+    // Helper methods
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}